@@ -36,7 +36,7 @@
 
 /**
  * Container client metrics that describe how data writes are distributed to
- * pipelines.
+ * pipelines, and how reads are hedged.
  */
 @Metrics(about = "Client Metrics", context = OzoneConsts.OZONE)
 public final class ContainerClientMetrics {
@@ -52,6 +52,11 @@ public final class ContainerClientMetrics {
   private MutableCounterLong totalWriteChunkCalls;
   @Metric
   private MutableCounterLong totalWriteChunkBytes;
+  @Metric(about = "Number of ReadChunk requests sent to another datanode"
+      + " because the first one was slow")
+  private MutableCounterLong hedgedReadOps;
+  @Metric(about = "Number of hedged ReadChunk requests which returned first")
+  private MutableCounterLong hedgedReadWins;
   private MutableQuantiles[] listBlockLatency;
   private MutableQuantiles[] getBlockLatency;
   private MutableQuantiles[] getCommittedBlockLengthLatency;
@@ -187,6 +192,24 @@ public void addGetSmallFileLatency(long latency) {
     }
   }
 
+  public void incHedgedReadOps() {
+    hedgedReadOps.incr();
+  }
+
+  public void incHedgedReadWins() {
+    hedgedReadWins.incr();
+  }
+
+  @VisibleForTesting
+  public long getHedgedReadOps() {
+    return hedgedReadOps.value();
+  }
+
+  @VisibleForTesting
+  public long getHedgedReadWins() {
+    return hedgedReadWins.value();
+  }
+
   @VisibleForTesting
   public MutableCounterLong getTotalWriteChunkBytes() {
     return totalWriteChunkBytes;
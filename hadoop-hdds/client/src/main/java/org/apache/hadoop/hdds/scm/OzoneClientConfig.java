@@ -30,6 +30,9 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Configuration values for Ozone Client.
  */
@@ -225,6 +228,69 @@ public enum ChecksumCombineMode {
       tags = ConfigTag.CLIENT)
   private int ecReconstructStripeWritePoolLimit = 10 * 3;
 
+  @Config(key = "read.pool.limit",
+      defaultValue = "16",
+      description = "Thread pool max size for reading different blocks of"
+          + " a key in parallel, e.g. for the ranges of a vectored read.",
+      tags = ConfigTag.CLIENT)
+  private int readPoolLimit = 16;
+
+  @Config(key = "read.prefetch.blocks",
+      defaultValue = "0",
+      description = "Number of blocks after the one being read which are"
+          + " read ahead in parallel, using the threads of"
+          + " ozone.client.read.pool.limit, when a key is read sequentially."
+          + " 0 disables read-ahead.",
+      tags = { ConfigTag.CLIENT, ConfigTag.PERFORMANCE })
+  private int readPrefetchBlocks = 0;
+
+  @Config(key = "read.prefetch.buffer.size",
+      defaultValue = "64MB",
+      type = ConfigType.SIZE,
+      description = "Maximum size of the data read ahead by each key input"
+          + " stream, shared by the blocks being read ahead, if"
+          + " ozone.client.read.prefetch.blocks is set.",
+      tags = { ConfigTag.CLIENT, ConfigTag.PERFORMANCE })
+  private long readPrefetchBufferSize = 64 * 1024 * 1024;
+
+  @Config(key = "hedged.read.enabled",
+      defaultValue = "false",
+      description = "Whether a ReadChunk request which is slower than the"
+          + " hedged read threshold is also sent to another datanode of the"
+          + " pipeline, using the response which arrives first.",
+      tags = ConfigTag.CLIENT)
+  private boolean hedgedReadEnabled = false;
+
+  @Config(key = "hedged.read.threshold",
+      defaultValue = "50ms",
+      type = ConfigType.TIME,
+      timeUnit = TimeUnit.MILLISECONDS,
+      description = "The minimum time to wait for the response of a"
+          + " ReadChunk request before sending it to another datanode, if"
+          + " hedged reads are enabled.",
+      tags = ConfigTag.CLIENT)
+  private long hedgedReadThreshold = 50;
+
+  @Config(key = "hedged.read.threshold.percentile",
+      defaultValue = "95",
+      type = ConfigType.DOUBLE,
+      description = "Percentile of the latency of recent ReadChunk requests"
+          + " of the client to wait for before sending a hedged read, if"
+          + " longer than ozone.client.hedged.read.threshold. Set to 0 to"
+          + " always use the fixed threshold.",
+      tags = ConfigTag.CLIENT)
+  private double hedgedReadThresholdPercentile = 95;
+
+  @Config(key = "read.short-circuit",
+      defaultValue = "false",
+      description = "Whether blocks with a replica on the datanode running"
+          + " on the same host are read directly from the block file, whose"
+          + " descriptor is passed by the datanode over the domain socket"
+          + " configured by ozone.domain.socket.path.  Falls back to reading"
+          + " via gRPC if the local replica cannot be read this way.",
+      tags = ConfigTag.CLIENT)
+  private boolean shortCircuitRead = false;
+
   @Config(key = "checksum.combine.mode",
       defaultValue = "COMPOSITE_CRC",
       description = "The combined checksum type [MD5MD5CRC / COMPOSITE_CRC] "
@@ -262,6 +328,12 @@ public void validate() {
     Preconditions.checkState(streamBufferFlushSize % streamBufferSize == 0,
         "expected flush size (%s) to be a multiple of buffer size (%s)",
         streamBufferFlushSize, streamBufferSize);
+    Preconditions.checkArgument(readPrefetchBlocks >= 0,
+        "read prefetch blocks (%s) must not be negative", readPrefetchBlocks);
+    Preconditions.checkArgument(hedgedReadThresholdPercentile >= 0
+            && hedgedReadThresholdPercentile <= 100,
+        "hedged read threshold percentile (%s) must be in [0, 100]",
+        hedgedReadThresholdPercentile);
 
     if (bytesPerChecksum <
         OzoneConfigKeys.OZONE_CLIENT_BYTES_PER_CHECKSUM_MIN_SIZE) {
@@ -427,6 +499,62 @@ public int getEcReconstructStripeReadPoolLimit() {
     return ecReconstructStripeReadPoolLimit;
   }
 
+  public void setReadPoolLimit(int poolLimit) {
+    this.readPoolLimit = poolLimit;
+  }
+
+  public int getReadPoolLimit() {
+    return readPoolLimit;
+  }
+
+  public int getReadPrefetchBlocks() {
+    return readPrefetchBlocks;
+  }
+
+  public void setReadPrefetchBlocks(int blocks) {
+    this.readPrefetchBlocks = blocks;
+  }
+
+  public long getReadPrefetchBufferSize() {
+    return readPrefetchBufferSize;
+  }
+
+  public void setReadPrefetchBufferSize(long size) {
+    this.readPrefetchBufferSize = size;
+  }
+
+  public boolean isHedgedReadEnabled() {
+    return hedgedReadEnabled;
+  }
+
+  public void setHedgedReadEnabled(boolean hedgedReadEnabled) {
+    this.hedgedReadEnabled = hedgedReadEnabled;
+  }
+
+  public Duration getHedgedReadThreshold() {
+    return Duration.ofMillis(hedgedReadThreshold);
+  }
+
+  public void setHedgedReadThreshold(Duration threshold) {
+    this.hedgedReadThreshold = threshold.toMillis();
+  }
+
+  public double getHedgedReadThresholdPercentile() {
+    return hedgedReadThresholdPercentile;
+  }
+
+  public void setHedgedReadThresholdPercentile(double percentile) {
+    this.hedgedReadThresholdPercentile = percentile;
+  }
+
+  public boolean isShortCircuitRead() {
+    return shortCircuitRead;
+  }
+
+  public void setShortCircuitRead(boolean shortCircuitRead) {
+    this.shortCircuitRead = shortCircuitRead;
+  }
+
   public void setEcReconstructStripeWritePoolLimit(int poolLimit) {
     this.ecReconstructStripeWritePoolLimit = poolLimit;
   }
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm;
+
+import java.util.Arrays;
+
+/**
+ * Tracks the latency of the recent reads of a client, to decide how long to
+ * wait for a read before hedging it.
+ * <p>
+ * The threshold is the configured percentile of the last {@link #SAMPLES}
+ * latencies, but never less than the configured minimum.  It is recomputed
+ * every {@link #RECOMPUTE_INTERVAL} samples, and is the minimum until enough
+ * samples are collected.
+ */
+final class ReadLatencyTracker {
+
+  static final int SAMPLES = 256;
+  static final int RECOMPUTE_INTERVAL = 32;
+
+  private final long minThresholdMillis;
+  private final double percentile;
+  // ring buffer of the latencies, guarded by this
+  private final long[] latencies = new long[SAMPLES];
+  private int count;
+  private int next;
+  private int sinceRecompute;
+  private volatile long thresholdMillis;
+
+  /**
+   * @param minThresholdMillis the minimum threshold
+   * @param percentile the percentile of the latencies to use as threshold,
+   *                   0 to always use the minimum
+   */
+  ReadLatencyTracker(long minThresholdMillis, double percentile) {
+    this.minThresholdMillis = minThresholdMillis;
+    this.percentile = percentile;
+    this.thresholdMillis = minThresholdMillis;
+  }
+
+  long getThresholdMillis() {
+    return thresholdMillis;
+  }
+
+  void add(long latencyMillis) {
+    if (percentile <= 0) {
+      return;
+    }
+    final long[] sorted;
+    synchronized (this) {
+      latencies[next] = latencyMillis;
+      next = (next + 1) % SAMPLES;
+      if (count < SAMPLES) {
+        count++;
+      }
+      if (++sinceRecompute < RECOMPUTE_INTERVAL) {
+        return;
+      }
+      sinceRecompute = 0;
+      sorted = Arrays.copyOf(latencies, count);
+    }
+    Arrays.sort(sorted);
+    final int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+    thresholdMillis = Math.max(minThresholdMillis,
+        sorted[Math.max(0, index)]);
+  }
+}
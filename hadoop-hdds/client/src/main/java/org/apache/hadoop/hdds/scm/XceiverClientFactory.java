@@ -20,6 +20,7 @@
 import java.io.IOException;
 
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.storage.ShortCircuitReader;
 
 /**
  * Interface to provide XceiverClient when needed.
@@ -42,4 +43,12 @@ XceiverClientSpi acquireClient(Pipeline pipeline, boolean topologyAware)
   void releaseClient(XceiverClientSpi xceiverClient, boolean invalidateClient,
                      boolean topologyAware);
 
+  /**
+   * @return reader of local replicas, or null if short-circuit reads are
+   *         disabled
+   */
+  default ShortCircuitReader getShortCircuitReader() {
+    return null;
+  }
+
 }
@@ -28,9 +28,11 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
@@ -55,6 +57,7 @@
 import org.apache.hadoop.ozone.ClientVersion;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.util.Time;
 import java.util.concurrent.TimeoutException;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -102,6 +105,9 @@ public class XceiverClientGrpc extends XceiverClientSpi {
   // Cache the DN which returned the GetBlock command so that the ReadChunk
   // command can be sent to the same DN.
   private final Map<DatanodeBlockID, DatanodeDetails> getBlockDNcache;
+  // Latency of ReadChunk requests, null if hedged reads are disabled.
+  private final ReadLatencyTracker readChunkLatency;
+  private final ContainerClientMetrics clientMetrics;
 
   private boolean closed = false;
 
@@ -134,6 +140,17 @@ public XceiverClientGrpc(Pipeline pipeline, ConfigurationSource config,
         OzoneConfigKeys.OZONE_NETWORK_TOPOLOGY_AWARE_READ_DEFAULT);
     this.trustManager = trustManager;
     this.getBlockDNcache = new ConcurrentHashMap<>();
+    final OzoneClientConfig clientConfig =
+        config.getObject(OzoneClientConfig.class);
+    if (clientConfig.isHedgedReadEnabled()) {
+      this.readChunkLatency = new ReadLatencyTracker(
+          clientConfig.getHedgedReadThreshold().toMillis(),
+          clientConfig.getHedgedReadThresholdPercentile());
+      this.clientMetrics = ContainerClientMetrics.acquire();
+    } else {
+      this.readChunkLatency = null;
+      this.clientMetrics = null;
+    }
   }
 
   /**
@@ -233,6 +250,9 @@ private boolean isConnected(ManagedChannel channel) {
    */
   @Override
   public synchronized void close() {
+    if (clientMetrics != null && !closed) {
+      ContainerClientMetrics.release();
+    }
     closed = true;
     for (ManagedChannel channel : channels.values()) {
       channel.shutdownNow();
@@ -410,6 +430,13 @@ private XceiverClientReply sendCommandWithRetry(
       datanodeList = sortDatanodeByOperationalState(datanodeList);
     }
 
+    if (readChunkLatency != null && datanodeList.size() > 1
+        && request.getCmdType() == ContainerProtos.Type.ReadChunk) {
+      reply.setResponse(CompletableFuture.completedFuture(
+          sendHedgedRead(request, validators, datanodeList, reply)));
+      return reply;
+    }
+
     for (DatanodeDetails dn : datanodeList) {
       try {
         if (LOG.isDebugEnabled()) {
@@ -473,6 +500,98 @@ private XceiverClientReply sendCommandWithRetry(
     }
   }
 
+  /**
+   * Send the read to the datanodes in order, until one of them returns a
+   * valid response.  If no response arrives within the hedged read
+   * threshold, the read is also sent to the next datanode, without
+   * cancelling the earlier ones, and the first valid response is used.
+   */
+  private ContainerCommandResponseProto sendHedgedRead(
+      ContainerCommandRequestProto request, List<Validator> validators,
+      List<DatanodeDetails> datanodeList, XceiverClientReply reply)
+      throws IOException {
+    final BlockingQueue<HedgedRead> completed = new LinkedBlockingQueue<>();
+    final long threshold = readChunkLatency.getThresholdMillis();
+    IOException ioException = null;
+    int sent = 0;
+    int pending = 0;
+    try {
+      while (sent < datanodeList.size() || pending > 0) {
+        if (pending == 0) {
+          // the earlier datanodes failed, retry on the next one
+          sendRead(request, datanodeList.get(sent++), false, reply, completed);
+          pending++;
+          continue;
+        }
+        final HedgedRead read = sent < datanodeList.size()
+            ? completed.poll(threshold, TimeUnit.MILLISECONDS)
+            : completed.take();
+        if (read == null) {
+          clientMetrics.incHedgedReadOps();
+          sendRead(request, datanodeList.get(sent++), true, reply, completed);
+          pending++;
+          continue;
+        }
+        pending--;
+        try {
+          final ContainerCommandResponseProto response = read.getResponse();
+          if (validators != null) {
+            for (Validator validator : validators) {
+              validator.accept(request, response);
+            }
+          }
+          readChunkLatency.add(read.latency);
+          if (read.hedged) {
+            clientMetrics.incHedgedReadWins();
+          }
+          return response;
+        } catch (SCMSecurityException e) {
+          throw e;
+        } catch (IOException e) {
+          ioException = e;
+          if (LOG.isDebugEnabled()) {
+            LOG.debug("Failed to execute command {} on datanode {}",
+                processForDebug(request), read.datanode, e);
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw (IOException) new InterruptedIOException(
+          "Command " + processForDebug(request) + " was interrupted.")
+          .initCause(e);
+    }
+
+    Objects.requireNonNull(ioException);
+    String message = "Failed to execute command {}";
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(message + " on the pipeline {}.",
+          processForDebug(request), pipeline);
+    } else {
+      LOG.error(message + " on the pipeline {}.",
+          request.getCmdType(), pipeline);
+    }
+    throw ioException;
+  }
+
+  private void sendRead(ContainerCommandRequestProto request,
+      DatanodeDetails dn, boolean hedged, XceiverClientReply reply,
+      BlockingQueue<HedgedRead> completed) throws InterruptedException {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Executing command {} on datanode {}{}",
+          processForDebug(request), dn, hedged ? " (hedged)" : "");
+    }
+    reply.addDatanode(dn);
+    final long startTime = Time.monotonicNow();
+    try {
+      sendCommandAsync(request, dn).getResponse().whenComplete(
+          (response, e) -> completed.add(new HedgedRead(dn, hedged,
+              response, e, Time.monotonicNow() - startTime)));
+    } catch (IOException e) {
+      completed.add(new HedgedRead(dn, hedged, null, e, 0));
+    }
+  }
+
   private static List<DatanodeDetails> sortDatanodeByOperationalState(
       List<DatanodeDetails> datanodeList) {
     List<DatanodeDetails> sortedDatanodeList = new ArrayList<>(datanodeList);
@@ -597,6 +716,38 @@ private void decreasePendingMetricsAndReleaseSemaphore() {
     return new XceiverClientReply(replyFuture);
   }
 
+  /** The result of a ReadChunk request sent to one datanode. */
+  private static final class HedgedRead {
+    private final DatanodeDetails datanode;
+    private final boolean hedged;
+    private final ContainerCommandResponseProto response;
+    private final Throwable error;
+    private final long latency;
+
+    HedgedRead(DatanodeDetails datanode, boolean hedged,
+        ContainerCommandResponseProto response, Throwable error,
+        long latency) {
+      this.datanode = datanode;
+      this.hedged = hedged;
+      this.response = response;
+      this.error = error;
+      this.latency = latency;
+    }
+
+    ContainerCommandResponseProto getResponse() throws IOException {
+      if (error == null) {
+        return response;
+      } else if (error instanceof IOException) {
+        throw (IOException) error;
+      } else if (Status.fromThrowable(error).getCode()
+          == Status.UNAUTHENTICATED.getCode()) {
+        throw new SCMSecurityException("Failed to authenticate with "
+            + "GRPC XceiverServer with Ozone block token.");
+      }
+      throw new IOException(error);
+    }
+  }
+
   private synchronized void checkOpen(DatanodeDetails dn)
       throws IOException {
     if (closed) {
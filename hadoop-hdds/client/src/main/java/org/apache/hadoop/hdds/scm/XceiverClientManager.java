@@ -30,6 +30,8 @@
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.scm.client.ClientTrustManager;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.storage.ShortCircuitReader;
+import org.apache.hadoop.net.unix.DomainSocket;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneSecurityUtil;
 import org.apache.hadoop.security.UserGroupInformation;
@@ -73,6 +75,7 @@ public class XceiverClientManager implements XceiverClientFactory {
   private static XceiverClientMetrics metrics;
   private boolean isSecurityEnabled;
   private final boolean topologyAwareRead;
+  private final ShortCircuitReader shortCircuitReader;
   /**
    * Creates a new XceiverClientManager for non secured ozone cluster.
    * For security enabled ozone cluster, client should use the other constructor
@@ -117,10 +120,37 @@ public void onRemoval(
     topologyAwareRead = conf.getBoolean(
         OzoneConfigKeys.OZONE_NETWORK_TOPOLOGY_AWARE_READ_KEY,
         OzoneConfigKeys.OZONE_NETWORK_TOPOLOGY_AWARE_READ_DEFAULT);
+    shortCircuitReader = createShortCircuitReader(conf);
 
     cacheMetrics = CacheMetrics.create(clientCache, this);
   }
 
+  private static ShortCircuitReader createShortCircuitReader(
+      ConfigurationSource conf) {
+    if (!conf.getObject(OzoneClientConfig.class).isShortCircuitRead()) {
+      return null;
+    }
+    final String socketPath = conf.getTrimmed(
+        OzoneConfigKeys.OZONE_DOMAIN_SOCKET_PATH,
+        OzoneConfigKeys.OZONE_DOMAIN_SOCKET_PATH_DEFAULT);
+    if (socketPath.isEmpty()) {
+      LOG.warn("Short-circuit reads are disabled, as {} is not set",
+          OzoneConfigKeys.OZONE_DOMAIN_SOCKET_PATH);
+      return null;
+    }
+    final String reason = DomainSocket.getLoadingFailureReason();
+    if (reason != null) {
+      LOG.warn("Short-circuit reads are disabled: {}", reason);
+      return null;
+    }
+    return new ShortCircuitReader(socketPath);
+  }
+
+  @Override
+  public ShortCircuitReader getShortCircuitReader() {
+    return shortCircuitReader;
+  }
+
   @VisibleForTesting
   public Cache<String, XceiverClientSpi> getClientCache() {
     return clientCache;
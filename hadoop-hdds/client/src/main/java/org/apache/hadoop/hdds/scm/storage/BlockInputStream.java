@@ -45,6 +45,7 @@
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.security.exception.SCMSecurityException;
 import org.apache.hadoop.hdds.security.token.OzoneBlockTokenIdentifier;
+import org.apache.hadoop.io.IOUtils;
 import org.apache.hadoop.io.retry.RetryPolicy;
 import org.apache.hadoop.security.token.Token;
 
@@ -75,6 +76,8 @@ public class BlockInputStream extends BlockExtendedInputStream {
   private final boolean verifyChecksum;
   private XceiverClientFactory xceiverClientFactory;
   private XceiverClientSpi xceiverClient;
+  // Block file of the local replica, if read by short-circuit
+  private ShortCircuitReader.LocalBlock localBlock;
   private boolean initialized = false;
   // TODO: do we need to change retrypolicy based on exception.
   private final RetryPolicy retryPolicy;
@@ -234,6 +237,10 @@ private void refreshBlockInfo(IOException cause) throws IOException {
    * @return List of chunks in this block.
    */
   protected List<ChunkInfo> getChunkInfoList() throws IOException {
+    final List<ChunkInfo> localChunks = getChunkInfoListFromLocalReplica();
+    if (localChunks != null) {
+      return localChunks;
+    }
     acquireClient();
     try {
       return getChunkInfoListUsingClient();
@@ -256,6 +263,35 @@ protected List<ChunkInfo> getChunkInfoListUsingClient() throws IOException {
     return response.getBlockData().getChunksList();
   }
 
+  /**
+   * Open the block file of the local replica for short-circuit reads.
+   * @return List of chunks in this block, or null to read via datanode.
+   */
+  private List<ChunkInfo> getChunkInfoListFromLocalReplica() {
+    final ShortCircuitReader reader = xceiverClientFactory != null
+        ? xceiverClientFactory.getShortCircuitReader() : null;
+    if (reader == null) {
+      return null;
+    }
+    closeLocalBlock();
+    try {
+      localBlock = reader.open(pipelineRef.get(), blockID, tokenRef.get(),
+          VALIDATORS);
+    } catch (IOException e) {
+      LOG.debug("Failed to open local replica of block {}, reading it from"
+          + " datanode", blockID, e);
+    }
+    return localBlock != null
+        ? localBlock.getResponse().getBlockData().getChunksList() : null;
+  }
+
+  private void closeLocalBlock() {
+    if (localBlock != null) {
+      IOUtils.closeStream(localBlock);
+      localBlock = null;
+    }
+  }
+
   private void setPipeline(Pipeline pipeline) throws IOException {
     if (pipeline == null) {
       return;
@@ -330,6 +366,11 @@ protected synchronized void addStream(ChunkInfo chunkInfo) {
   }
 
   protected ChunkInputStream createChunkInputStream(ChunkInfo chunkInfo) {
+    if (localBlock != null) {
+      return new ShortCircuitChunkInputStream(chunkInfo, blockID,
+          xceiverClientFactory, pipelineRef::get, verifyChecksum,
+          tokenRef::get, localBlock.getChannel());
+    }
     return new ChunkInputStream(chunkInfo, blockID,
         xceiverClientFactory, pipelineRef::get, verifyChecksum, tokenRef::get);
   }
@@ -495,6 +536,7 @@ public boolean seekToNewSource(long targetPos) throws IOException {
   @Override
   public synchronized void close() {
     releaseClient();
+    closeLocalBlock();
     xceiverClientFactory = null;
 
     final List<ChunkInputStream> inputStreams = this.chunkStreams;
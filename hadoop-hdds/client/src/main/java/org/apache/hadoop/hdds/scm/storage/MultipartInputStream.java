@@ -218,7 +218,7 @@ public synchronized void close() throws IOException {
    *
    * @throws IOException if the connection is closed.
    */
-  private void checkOpen() throws IOException {
+  protected void checkOpen() throws IOException {
     if (closed) {
       throw new IOException(
           ": " + FSExceptionMessages.STREAM_IS_CLOSED + " Key: " + key);
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.function.Supplier;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.scm.XceiverClientFactory;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.ChecksumData;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.security.token.Token;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ChunkInputStream} which reads the chunk from the block file of the
+ * local replica (short-circuit read).  If that fails, e.g. due to checksum
+ * mismatch, the chunk is read from the datanode instead, like by
+ * {@link ChunkInputStream}.
+ */
+class ShortCircuitChunkInputStream extends ChunkInputStream {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ShortCircuitChunkInputStream.class);
+
+  private final ChunkInfo chunkInfo;
+  private final BlockID blockID;
+  private final boolean verifyChecksum;
+  /** The block file, or null after falling back to reading via datanode. */
+  private FileChannel channel;
+
+  ShortCircuitChunkInputStream(ChunkInfo chunkInfo, BlockID blockId,
+      XceiverClientFactory xceiverClientFactory,
+      Supplier<Pipeline> pipelineSupplier,
+      boolean verifyChecksum,
+      Supplier<Token<?>> tokenSupplier,
+      FileChannel channel) {
+    super(chunkInfo, blockId, xceiverClientFactory, pipelineSupplier,
+        verifyChecksum, tokenSupplier);
+    this.chunkInfo = chunkInfo;
+    this.blockID = blockId;
+    this.verifyChecksum = verifyChecksum;
+    this.channel = channel;
+  }
+
+  @Override
+  protected synchronized void acquireClient() throws IOException {
+    // the client is only needed after falling back
+    if (channel == null) {
+      super.acquireClient();
+    }
+  }
+
+  @Override
+  protected synchronized ByteBuffer[] readChunk(ChunkInfo readChunkInfo)
+      throws IOException {
+    if (channel != null) {
+      try {
+        return readLocal(readChunkInfo);
+      } catch (IOException e) {
+        LOG.warn("Failed to read chunk {} of block {} from local replica,"
+            + " reading it from datanode", chunkInfo.getChunkName(), blockID,
+            e);
+        channel = null;
+        super.acquireClient();
+      }
+    }
+    return super.readChunk(readChunkInfo);
+  }
+
+  private ByteBuffer[] readLocal(ChunkInfo readChunkInfo) throws IOException {
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(Math.toIntExact(readChunkInfo.getLen()));
+    final long offset = readChunkInfo.getOffset();
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, offset + buffer.position()) < 0) {
+        throw new EOFException("EOF at " + (offset + buffer.position())
+            + " reading chunk " + readChunkInfo.getChunkName() + " offset "
+            + offset + " len " + readChunkInfo.getLen());
+      }
+    }
+    buffer.flip();
+
+    if (verifyChecksum
+        && chunkInfo.getChecksumData().getType() != ChecksumType.NONE) {
+      final ChecksumData checksumData =
+          ChecksumData.getFromProtoBuf(chunkInfo.getChecksumData());
+      // index of the checksum of the first byte read, as in validateChunk
+      final long relativeOffset = offset - chunkInfo.getOffset();
+      final int startIndex =
+          (int) (relativeOffset / checksumData.getBytesPerChecksum());
+      Checksum.verifyChecksum(ChunkBuffer.wrap(buffer.duplicate()),
+          checksumData, startIndex);
+    }
+    return new ByteBuffer[] {buffer.asReadOnlyBuffer()};
+  }
+}
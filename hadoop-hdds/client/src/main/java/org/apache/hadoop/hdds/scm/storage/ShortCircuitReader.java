@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails.Port;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.DatanodeBlockID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetBlockRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetBlockResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.hdds.scm.XceiverClientSpi.Validator;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.net.NetUtils;
+import org.apache.hadoop.net.unix.DomainSocket;
+import org.apache.hadoop.security.token.Token;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opens the block files of replicas on the local datanode, for reading
+ * them without going through the datanode (short-circuit read).
+ * <p>
+ * The datanode listens on a domain socket.  The client sends a GetBlock
+ * request, including the block token, which the datanode executes like any
+ * other request.  If successful, the datanode passes the descriptor of the
+ * block file along with the response.  The client then reads the chunks
+ * from the file at the offsets in the block data.
+ */
+public class ShortCircuitReader {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ShortCircuitReader.class);
+
+  private static final int SOCKET_TIMEOUT_MS = 10_000;
+
+  private final String socketPath;
+  /** Whether the address of a datanode is an address of this host. */
+  private final Map<String, Boolean> localAddresses =
+      new ConcurrentHashMap<>();
+
+  public ShortCircuitReader(String socketPath) {
+    this.socketPath = socketPath;
+  }
+
+  /**
+   * @return the local replica of the block, or null if no datanode of the
+   *         pipeline serves short-circuit reads on this host, or the
+   *         datanode could not pass the block file
+   * @throws IOException if the request failed
+   */
+  public LocalBlock open(Pipeline pipeline, BlockID blockID,
+      Token<?> token, List<Validator> validators) throws IOException {
+    final DatanodeDetails datanode = getLocalDatanode(pipeline);
+    if (datanode == null) {
+      return null;
+    }
+    final String path = DomainSocket.getEffectivePath(socketPath,
+        datanode.getPort(Port.Name.STANDALONE).getValue());
+    if (!new File(path).exists()) {
+      LOG.debug("No short-circuit read socket {} for {}", path, datanode);
+      return null;
+    }
+
+    final DatanodeBlockID.Builder datanodeBlockID =
+        blockID.getDatanodeBlockIDProtobufBuilder();
+    final int replicaIndex = pipeline.getReplicaIndex(datanode);
+    if (replicaIndex > 0) {
+      datanodeBlockID.setReplicaIndex(replicaIndex);
+    }
+    final ContainerCommandRequestProto.Builder builder =
+        ContainerCommandRequestProto.newBuilder()
+            .setCmdType(Type.GetBlock)
+            .setContainerID(blockID.getContainerID())
+            .setDatanodeUuid(datanode.getUuidString())
+            .setGetBlock(GetBlockRequestProto.newBuilder()
+                .setBlockID(datanodeBlockID));
+    if (token != null) {
+      builder.setEncodedToken(token.encodeToUrlString());
+    }
+    final ContainerCommandRequestProto request = builder.build();
+
+    final FileInputStream[] files = new FileInputStream[1];
+    try (DomainSocket socket = DomainSocket.connect(path)) {
+      socket.setAttribute(DomainSocket.SEND_TIMEOUT, SOCKET_TIMEOUT_MS);
+      socket.setAttribute(DomainSocket.RECEIVE_TIMEOUT, SOCKET_TIMEOUT_MS);
+      request.writeDelimitedTo(socket.getOutputStream());
+      // one byte, with the descriptor of the block file attached if any
+      if (socket.recvFileInputStreams(files, new byte[1], 0, 1) < 1) {
+        throw new EOFException("Short-circuit read socket " + path
+            + " closed without response");
+      }
+      final ContainerCommandResponseProto response =
+          ContainerCommandResponseProto.parseDelimitedFrom(
+              socket.getInputStream());
+      if (response == null) {
+        throw new EOFException("Short-circuit read socket " + path
+            + " closed without response");
+      }
+      for (Validator validator : validators) {
+        validator.accept(request, response);
+      }
+      if (files[0] == null) {
+        LOG.debug("Block file of {} not passed by {}", blockID, datanode);
+        return null;
+      }
+      final LocalBlock block =
+          new LocalBlock(response.getGetBlock(), files[0].getChannel());
+      files[0] = null;
+      return block;
+    } finally {
+      IOUtils.closeStream(files[0]);
+    }
+  }
+
+  private DatanodeDetails getLocalDatanode(Pipeline pipeline) {
+    for (DatanodeDetails datanode : pipeline.getNodes()) {
+      if (datanode.getPort(Port.Name.STANDALONE) != null
+          && datanode.getIpAddress() != null
+          && localAddresses.computeIfAbsent(datanode.getIpAddress(),
+              ShortCircuitReader::isLocalAddress)) {
+        return datanode;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isLocalAddress(String address) {
+    try {
+      return NetUtils.isLocalAddress(InetAddress.getByName(address));
+    } catch (UnknownHostException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Block data and file of a local replica.  The file is open until closed.
+   */
+  public static final class LocalBlock implements Closeable {
+    private final GetBlockResponseProto response;
+    private final FileChannel channel;
+
+    LocalBlock(GetBlockResponseProto response, FileChannel channel) {
+      this.response = response;
+      this.channel = channel;
+    }
+
+    public GetBlockResponseProto getResponse() {
+      return response;
+    }
+
+    public FileChannel getChannel() {
+      return channel;
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}
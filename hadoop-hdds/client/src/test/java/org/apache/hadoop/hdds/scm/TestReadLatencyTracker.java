@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm;
+
+import org.junit.jupiter.api.Test;
+
+import static org.apache.hadoop.hdds.scm.ReadLatencyTracker.RECOMPUTE_INTERVAL;
+import static org.apache.hadoop.hdds.scm.ReadLatencyTracker.SAMPLES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test ReadLatencyTracker.
+ */
+public class TestReadLatencyTracker {
+
+  @Test
+  public void testThresholdIsPercentileOfRecentLatencies() {
+    ReadLatencyTracker tracker = new ReadLatencyTracker(5, 90);
+    assertEquals(5, tracker.getThresholdMillis());
+
+    // 1..100 ms
+    for (int i = 1; i <= 100; i++) {
+      tracker.add(i);
+    }
+    // recomputed after 96 samples
+    assertEquals(87, tracker.getThresholdMillis());
+
+    // only the recent samples are used
+    for (int i = 0; i < SAMPLES; i++) {
+      tracker.add(1);
+    }
+    assertEquals(5, tracker.getThresholdMillis());
+    for (int i = 0; i < RECOMPUTE_INTERVAL * 2; i++) {
+      tracker.add(1000);
+    }
+    assertEquals(1000, tracker.getThresholdMillis());
+  }
+
+  @Test
+  public void testFixedThreshold() {
+    ReadLatencyTracker tracker = new ReadLatencyTracker(5, 0);
+    for (int i = 0; i < SAMPLES; i++) {
+      tracker.add(1000);
+    }
+    assertEquals(5, tracker.getThresholdMillis());
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.scm.ByteStringConversion;
+import org.apache.hadoop.hdds.scm.XceiverClientFactory;
+import org.apache.hadoop.hdds.scm.XceiverClientSpi;
+import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.ozone.common.Checksum;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import static org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders.getReadChunkResponse;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ShortCircuitChunkInputStream}.
+ */
+class TestShortCircuitChunkInputStream {
+
+  private static final int CHUNK_SIZE = 100;
+  private static final int CHUNK_OFFSET = 60;
+  private static final int BYTES_PER_CHECKSUM = 20;
+
+  @TempDir
+  private File tempDir;
+
+  private byte[] chunkData;
+  private ChunkInfo chunkInfo;
+  private File blockFile;
+  private FileChannel channel;
+  private XceiverClientFactory clientFactory;
+  private Pipeline pipeline;
+
+  @BeforeEach
+  void setup() throws Exception {
+    pipeline = MockPipeline.createSingleNodePipeline();
+    chunkData = TestChunkInputStream.generateRandomData(CHUNK_SIZE);
+    chunkInfo = ChunkInfo.newBuilder()
+        .setChunkName("chunk")
+        .setOffset(CHUNK_OFFSET)
+        .setLen(CHUNK_SIZE)
+        .setChecksumData(new Checksum(ChecksumType.CRC32, BYTES_PER_CHECKSUM)
+            .computeChecksum(chunkData, 0, CHUNK_SIZE).getProtoBufMessage())
+        .build();
+
+    // the chunk follows an earlier chunk in the block file
+    final byte[] fileData = new byte[CHUNK_OFFSET + CHUNK_SIZE];
+    System.arraycopy(chunkData, 0, fileData, CHUNK_OFFSET, CHUNK_SIZE);
+    blockFile = new File(tempDir, "1.block");
+    Files.write(blockFile.toPath(), fileData);
+    channel = FileChannel.open(blockFile.toPath(), StandardOpenOption.READ);
+
+    clientFactory = mock(XceiverClientFactory.class);
+  }
+
+  @AfterEach
+  void cleanup() throws Exception {
+    channel.close();
+  }
+
+  @Test
+  void readsFromBlockFile() throws Exception {
+    try (ChunkInputStream subject = createStream()) {
+      final byte[] buffer = new byte[CHUNK_SIZE];
+      assertEquals(CHUNK_SIZE, subject.read(buffer));
+      assertArrayEquals(chunkData, buffer);
+
+      // reads at checksum boundaries after seek
+      subject.seek(35);
+      final byte[] part = new byte[30];
+      assertEquals(part.length, subject.read(part));
+      assertArrayEquals(Arrays.copyOfRange(chunkData, 35, 65), part);
+    }
+    verify(clientFactory, never()).acquireClientForReadData(any());
+  }
+
+  @Test
+  void fallsBackToDatanodeOnChecksumMismatch() throws Exception {
+    final byte[] corrupt = chunkData.clone();
+    corrupt[10] ^= 1;
+    try (FileChannel out = FileChannel.open(blockFile.toPath(),
+        StandardOpenOption.WRITE)) {
+      out.write(ByteBuffer.wrap(corrupt), CHUNK_OFFSET);
+    }
+    final XceiverClientSpi client = mock(XceiverClientSpi.class);
+    when(clientFactory.acquireClientForReadData(any())).thenReturn(client);
+    when(client.getPipeline()).thenReturn(pipeline);
+    final ArgumentCaptor<ContainerCommandRequestProto> requestCaptor =
+        ArgumentCaptor.forClass(ContainerCommandRequestProto.class);
+    when(client.sendCommand(requestCaptor.capture(), any()))
+        .thenAnswer(invocation -> getReadChunkResponse(
+            requestCaptor.getValue(),
+            ChunkBuffer.wrap(ByteBuffer.wrap(chunkData)),
+            ByteStringConversion::safeWrap));
+
+    try (ChunkInputStream subject = createStream()) {
+      final byte[] buffer = new byte[CHUNK_SIZE];
+      assertEquals(CHUNK_SIZE, subject.read(buffer));
+      assertArrayEquals(chunkData, buffer);
+    }
+    verify(clientFactory).acquireClientForReadData(pipeline);
+  }
+
+  private ChunkInputStream createStream() {
+    return new ShortCircuitChunkInputStream(chunkInfo, new BlockID(1, 1),
+        clientFactory, () -> pipeline, true, () -> null, channel);
+  }
+}
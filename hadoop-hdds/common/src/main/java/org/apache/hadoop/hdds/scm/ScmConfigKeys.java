@@ -447,6 +447,15 @@ public final class ScmConfigKeys {
       "ozone.scm.sequence.id.batch.size";
   public static final int OZONE_SCM_SEQUENCE_ID_BATCH_SIZE_DEFAULT = 1000;
 
+  /**
+   * Max number of the blocks of one allocateBlock call which are allocated
+   * in the same container.
+   */
+  public static final String OZONE_SCM_BLOCK_ALLOCATION_BLOCKS_PER_CONTAINER =
+      "ozone.scm.block.allocation.blocks.per.container";
+  public static final int
+      OZONE_SCM_BLOCK_ALLOCATION_BLOCKS_PER_CONTAINER_DEFAULT = 1;
+
   // Network topology
   public static final String OZONE_SCM_NETWORK_TOPOLOGY_SCHEMA_FILE =
       "ozone.scm.network.topology.schema.file";
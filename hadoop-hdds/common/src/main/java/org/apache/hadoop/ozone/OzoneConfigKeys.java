@@ -519,9 +519,22 @@ public final class OzoneConfigKeys {
       "ozone.network.topology.aware.read";
   public static final boolean OZONE_NETWORK_TOPOLOGY_AWARE_READ_DEFAULT = true;
 
+  /**
+   * Path of the domain socket over which the datanode passes the descriptors
+   * of block files to local clients for short-circuit reads.  "_PORT" is
+   * replaced by the standalone port of the datanode.
+   */
+  public static final String OZONE_DOMAIN_SOCKET_PATH =
+      "ozone.domain.socket.path";
+  public static final String OZONE_DOMAIN_SOCKET_PATH_DEFAULT = "";
+
   public static final String OZONE_MANAGER_FAIR_LOCK = "ozone.om.lock.fair";
   public static final boolean OZONE_MANAGER_FAIR_LOCK_DEFAULT = false;
 
+  public static final String OZONE_MANAGER_OPTIMISTIC_READ =
+      "ozone.om.lock.optimistic.read";
+  public static final boolean OZONE_MANAGER_OPTIMISTIC_READ_DEFAULT = false;
+
   public static final String OZONE_MANAGER_STRIPED_LOCK_SIZE_PREFIX =
       "ozone.om.lock.stripes.";
 
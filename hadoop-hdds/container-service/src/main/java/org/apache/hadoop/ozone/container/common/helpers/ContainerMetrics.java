@@ -30,6 +30,7 @@
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableQuantiles;
 import org.apache.hadoop.metrics2.lib.MutableRate;
+import org.apache.hadoop.metrics2.lib.MutableStat;
 
 import java.util.EnumMap;
 
@@ -56,12 +57,21 @@ public class ContainerMetrics {
   @Metric private MutableCounterLong containerForceDelete;
   @Metric private MutableCounterLong numReadStateMachine;
   @Metric private MutableCounterLong bytesReadStateMachine;
+  @Metric private MutableCounterLong blockDataCacheHits;
+  @Metric private MutableCounterLong blockDataCacheMisses;
+  @Metric private MutableCounterLong blockDataCacheEvictions;
+  @Metric private MutableCounterLong readAheadHits;
+  @Metric private MutableCounterLong readAheadMisses;
+  @Metric private MutableCounterLong readAheadBytes;
+  @Metric private MutableCounterLong readAheadWastedBytes;
 
 
   private final EnumMap<ContainerProtos.Type, MutableCounterLong> numOpsArray;
   private final EnumMap<ContainerProtos.Type, MutableCounterLong> opsBytesArray;
   private final EnumMap<ContainerProtos.Type, MutableRate> opsLatency;
   private final EnumMap<ContainerProtos.Type, MutableQuantiles[]> opsLatQuantiles;
+  private final MutableStat putBlockBatchSize;
+  private final MutableRate putBlockBatchLatencyNs;
   private MetricsRegistry registry = null;
 
   public ContainerMetrics(int[] intervals) {
@@ -88,6 +98,10 @@ public ContainerMetrics(int[] intervals) {
       }
       opsLatQuantiles.put(type, latQuantiles);
     }
+    this.putBlockBatchSize = registry.newStat("PutBlockBatchSize",
+        "Number of PutBlocks committed in one batch", "Batches", "PutBlocks");
+    this.putBlockBatchLatencyNs = registry.newRate("PutBlockBatchLatencyNs",
+        "Time from queueing a PutBlock until its batch is committed");
   }
 
   public static ContainerMetrics create(ConfigurationSource conf) {
@@ -160,4 +174,71 @@ public void incBytesReadStateMachine(long bytes) {
   public long getBytesReadStateMachine() {
     return bytesReadStateMachine.value();
   }
+
+  public void incBlockDataCacheHits() {
+    blockDataCacheHits.incr();
+  }
+
+  public long getBlockDataCacheHits() {
+    return blockDataCacheHits.value();
+  }
+
+  public void incBlockDataCacheMisses() {
+    blockDataCacheMisses.incr();
+  }
+
+  public long getBlockDataCacheMisses() {
+    return blockDataCacheMisses.value();
+  }
+
+  public void incBlockDataCacheEvictions() {
+    blockDataCacheEvictions.incr();
+  }
+
+  public long getBlockDataCacheEvictions() {
+    return blockDataCacheEvictions.value();
+  }
+
+  /** Sequential chunk read served from read-ahead data. */
+  public void incReadAheadHits() {
+    readAheadHits.incr();
+  }
+
+  public long getReadAheadHits() {
+    return readAheadHits.value();
+  }
+
+  /** Sequential chunk read not served from read-ahead data. */
+  public void incReadAheadMisses() {
+    readAheadMisses.incr();
+  }
+
+  public long getReadAheadMisses() {
+    return readAheadMisses.value();
+  }
+
+  public void incReadAheadBytes(long bytes) {
+    readAheadBytes.incr(bytes);
+  }
+
+  public long getReadAheadBytes() {
+    return readAheadBytes.value();
+  }
+
+  /** Bytes read ahead but discarded without being requested. */
+  public void incReadAheadWastedBytes(long bytes) {
+    readAheadWastedBytes.incr(bytes);
+  }
+
+  public long getReadAheadWastedBytes() {
+    return readAheadWastedBytes.value();
+  }
+
+  public void addPutBlockBatchSize(int size) {
+    putBlockBatchSize.add(size);
+  }
+
+  public void addPutBlockBatchLatency(long latencyNanos) {
+    putBlockBatchLatencyNs.add(latencyNanos);
+  }
 }
@@ -45,6 +45,17 @@ public File getChunkFile(File chunkDir, BlockID blockID, String chunkName) {
     public File getChunkFile(File chunkDir, BlockID blockID, String chunkName) {
       return new File(chunkDir, blockID.getLocalID() + ".block");
     }
+  },
+  /**
+   * Blocks are written to their own file like {@link #FILE_PER_BLOCK}.
+   * Once the container is closed, small blocks are moved into shared
+   * segment files, and their location is kept in the block metadata.
+   */
+  PACKED_BLOCK(3, "Small blocks packed into segment files") {
+    @Override
+    public File getChunkFile(File chunkDir, BlockID blockID, String chunkName) {
+      return FILE_PER_BLOCK.getChunkFile(chunkDir, blockID, chunkName);
+    }
   };
 
   private static final ContainerLayoutVersion
@@ -63,6 +63,8 @@ public class ContainerSet implements Iterable<Container<?>> {
       new ConcurrentSkipListSet<>();
   private final ConcurrentSkipListMap<Long, Long> recoveringContainerMap =
       new ConcurrentSkipListMap<>();
+  private final ConcurrentSkipListSet<Long> compactionCandidateSet =
+      new ConcurrentSkipListSet<>();
   private Clock clock;
   private long recoveringTimeout;
 
@@ -107,6 +109,12 @@ public boolean addContainer(Container<?> container) throws
         recoveringContainerMap.put(
             clock.millis() + recoveringTimeout, containerId);
       }
+      if (container.getContainerData().getLayoutVersion()
+          == ContainerLayoutVersion.PACKED_BLOCK
+          && !container.getContainerData().isOpen()) {
+        // pack the blocks, or finish an interrupted compaction
+        addCompactionCandidate(containerId);
+      }
       return true;
     } else {
       LOG.warn("Container already exists with container Id {}", containerId);
@@ -234,6 +242,23 @@ public Iterator<Map.Entry<Long, Long>> getRecoveringContainerIterator() {
     return recoveringContainerMap.entrySet().iterator();
   }
 
+  /**
+   * Request the files of the container to be compacted in the background.
+   * @param containerId ID of the container
+   */
+  public void addCompactionCandidate(long containerId) {
+    compactionCandidateSet.add(containerId);
+  }
+
+  /**
+   * Return an iterator over the IDs of the containers to compact.  Removing
+   * an ID through the iterator drops the request.
+   * @return {@literal Iterator<Long>}
+   */
+  public Iterator<Long> getCompactionCandidateIterator() {
+    return compactionCandidateSet.iterator();
+  }
+
   /**
    * Return an iterator of containers associated with the specified volume.
    * The iterator is sorted by last data scan timestamp in increasing order.
@@ -21,6 +21,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.List;
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -202,6 +203,30 @@ public abstract void deleteContainer(Container container, boolean force)
   public abstract void deleteBlock(Container container, BlockData blockData)
       throws IOException;
 
+  /**
+   * Called once the deletion of the blocks from the container DB is
+   * committed, to drop any state of the blocks cached meanwhile.
+   *
+   * @param container container whose blocks were deleted
+   * @param localIDs  localIds of the deleted blocks
+   */
+  public void blocksDeleted(Container container, List<Long> localIDs) {
+    // if applicable
+  }
+
+  /**
+   * Reorganizes the files of the closed container after blocks have been
+   * deleted, if the container layout needs it.  Called without the
+   * container lock by the compaction service, implementations lock the
+   * container for each step.
+   *
+   * @param container container to compact
+   * @throws IOException
+   */
+  public void compactContainer(Container container) throws IOException {
+    // if applicable
+  }
+
   /**
    * Deletes the possible onDisk but unreferenced blocks/chunks with localID
    * in the container.
@@ -89,6 +89,53 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
 
   static final boolean WAIT_ON_ALL_FOLLOWERS_DEFAULT = false;
 
+  public static final String READ_HANDLE_CACHE_SIZE_KEY =
+      "hdds.datanode.read.handle.cache.size";
+  static final int READ_HANDLE_CACHE_SIZE_DEFAULT = 256;
+
+  public static final String BLOCK_DATA_CACHE_SIZE_KEY =
+      "hdds.datanode.block.data.cache.size";
+  static final long BLOCK_DATA_CACHE_SIZE_DEFAULT = 64 * 1024 * 1024;
+
+  public static final String PUT_BLOCK_BATCH_MAX_SIZE_KEY =
+      "hdds.datanode.put.block.batch.max.size";
+  static final int PUT_BLOCK_BATCH_MAX_SIZE_DEFAULT = 64;
+
+  public static final String PACKED_BLOCK_MAX_SIZE_KEY =
+      "hdds.datanode.packed.block.max.size";
+  static final long PACKED_BLOCK_MAX_SIZE_DEFAULT = 1024 * 1024;
+  public static final String PACKED_SEGMENT_SIZE_KEY =
+      "hdds.datanode.packed.segment.size";
+  static final long PACKED_SEGMENT_SIZE_DEFAULT = 256 * 1024 * 1024;
+  public static final String PACKED_SEGMENT_DEAD_RATIO_KEY =
+      "hdds.datanode.packed.segment.compaction.dead.ratio";
+  static final double PACKED_SEGMENT_DEAD_RATIO_DEFAULT = 0.5;
+  public static final String PACKED_COMPACTION_WORKERS_KEY =
+      "hdds.datanode.packed.compaction.workers";
+  static final int PACKED_COMPACTION_WORKERS_DEFAULT = 1;
+
+  public static final String CHUNK_SPLIT_IO_ENABLED_KEY =
+      "hdds.datanode.chunk.split.io.enabled";
+  public static final String CHUNK_SPLIT_IO_THREADS_PER_VOLUME_KEY =
+      "hdds.datanode.chunk.split.io.threads.per.volume";
+  static final int CHUNK_SPLIT_IO_THREADS_PER_VOLUME_DEFAULT = 4;
+  public static final String CHUNK_SPLIT_IO_REQUEST_SIZE_KEY =
+      "hdds.datanode.chunk.split.io.request.size";
+  static final long CHUNK_SPLIT_IO_REQUEST_SIZE_DEFAULT = 1024 * 1024;
+  public static final String CHUNK_READ_AHEAD_SIZE_KEY =
+      "hdds.datanode.chunk.read.ahead.size";
+  static final long CHUNK_READ_AHEAD_SIZE_DEFAULT = 4 * 1024 * 1024;
+  public static final String CHUNK_READ_AHEAD_BUFFER_POOL_SIZE_KEY =
+      "hdds.datanode.chunk.read.ahead.buffer.pool.size";
+  static final long CHUNK_READ_AHEAD_BUFFER_POOL_SIZE_DEFAULT =
+      64 * 1024 * 1024;
+  public static final String CHUNK_READ_AHEAD_THREADS_KEY =
+      "hdds.datanode.chunk.read.ahead.threads";
+  static final int CHUNK_READ_AHEAD_THREADS_DEFAULT = 4;
+  public static final String CHUNK_WRITE_SYNC_BATCH_MAX_SIZE_KEY =
+      "hdds.datanode.chunk.write.sync.batch.max.size";
+  static final int CHUNK_WRITE_SYNC_BATCH_MAX_SIZE_DEFAULT = 64;
+
   static final Duration DISK_CHECK_MIN_GAP_DEFAULT = Duration.ofMinutes(10);
 
   static final Duration DISK_CHECK_TIMEOUT_DEFAULT = Duration.ofMinutes(10);
@@ -550,8 +597,356 @@ public void setWaitOnAllFollowers(boolean val) {
   private boolean bCheckEmptyContainerDir =
       OZONE_DATANODE_CHECK_EMPTY_CONTAINER_DIR_ON_DELETE_DEFAULT;
 
+  @Config(key = "read.handle.cache.size",
+      defaultValue = "256",
+      type = ConfigType.INT,
+      tags = { DATANODE },
+      description = "Maximum number of block files kept open for reading on "
+          + "each volume, for containers with FILE_PER_BLOCK layout. This "
+          + "saves an open and close for every ReadChunk of small random "
+          + "reads. Set to 0 to disable the cache."
+  )
+  private int readHandleCacheSize = READ_HANDLE_CACHE_SIZE_DEFAULT;
+
+  @Config(key = "read.handle.cache.idle.timeout",
+      defaultValue = "60s",
+      type = ConfigType.TIME,
+      tags = { DATANODE },
+      description = "Block files not read for this long are closed and "
+          + "removed from the read handle cache. Unit could be defined with "
+          + "postfix (ns,ms,s,m,h,d)."
+  )
+  private Duration readHandleCacheIdleTimeout = Duration.ofSeconds(60);
+
+  @Config(key = "block.data.cache.size",
+      defaultValue = "64MB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE },
+      description = "Estimated heap size of decoded block metadata cached for "
+          + "GetBlock and ReadChunk requests of closed containers, saving a "
+          + "RocksDB lookup and decode per request. Set to 0 to disable the "
+          + "cache."
+  )
+  private long blockDataCacheSize = BLOCK_DATA_CACHE_SIZE_DEFAULT;
+
+  @Config(key = "put.block.batch.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Whether PutBlock updates of schema V3 containers applied "
+          + "concurrently are committed to the volume DB in a single batch. "
+          + "Each PutBlock still completes only after its update is committed."
+  )
+  private boolean putBlockBatchEnabled = false;
+
+  @Config(key = "put.block.batch.max.size",
+      defaultValue = "64",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Maximum number of PutBlock updates committed in one "
+          + "batch, see hdds.datanode.put.block.batch.enabled."
+  )
+  private int putBlockBatchMaxSize = PUT_BLOCK_BATCH_MAX_SIZE_DEFAULT;
+
+  @Config(key = "put.block.batch.window",
+      defaultValue = "0ms",
+      type = ConfigType.TIME,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "How long a PutBlock batch waits for more updates before "
+          + "it is committed. With 0, only updates arriving while the "
+          + "previous batch is being committed are batched, which adds no "
+          + "latency. Unit could be defined with postfix (ns,ms,s,m,h,d)."
+  )
+  private Duration putBlockBatchWindow = Duration.ZERO;
+
+  @Config(key = "packed.block.max.size",
+      defaultValue = "1MB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Blocks of containers with the PACKED_BLOCK layout up to "
+          + "this size are moved from their own block file into the "
+          + "container's segment files once the container is closed."
+  )
+  private long packedBlockMaxSize = PACKED_BLOCK_MAX_SIZE_DEFAULT;
+
+  @Config(key = "packed.segment.size",
+      defaultValue = "256MB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Size after which a new segment file is started when "
+          + "packing blocks of containers with the PACKED_BLOCK layout."
+  )
+  private long packedSegmentSize = PACKED_SEGMENT_SIZE_DEFAULT;
+
+  @Config(key = "packed.segment.compaction.dead.ratio",
+      defaultValue = "0.5",
+      type = ConfigType.DOUBLE,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Segment files of containers with the PACKED_BLOCK layout "
+          + "are rewritten without the deleted blocks once this fraction of "
+          + "their size is taken by deleted blocks. Compaction is done "
+          + "by the container compaction service after blocks are deleted."
+  )
+  private double packedSegmentDeadRatio = PACKED_SEGMENT_DEAD_RATIO_DEFAULT;
+
+  @Config(key = "packed.compaction.interval",
+      defaultValue = "1m",
+      type = ConfigType.TIME,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Time interval of the container compaction service, "
+          + "which packs the blocks of closed containers with the "
+          + "PACKED_BLOCK layout and rewrites their segments after blocks "
+          + "are deleted. Unit could be defined with postfix (ns,ms,s,m,h,d)."
+  )
+  private Duration packedCompactionInterval = Duration.ofMinutes(1);
+
+  @Config(key = "packed.compaction.timeout",
+      defaultValue = "10m",
+      type = ConfigType.TIME,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Compaction of a container taking longer than this is "
+          + "logged as a warning. Unit could be defined with postfix "
+          + "(ns,ms,s,m,h,d)."
+  )
+  private Duration packedCompactionTimeout = Duration.ofMinutes(10);
+
+  @Config(key = "packed.compaction.workers",
+      defaultValue = "1",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Number of containers compacted in parallel by the "
+          + "container compaction service."
+  )
+  private int packedCompactionWorkers = PACKED_COMPACTION_WORKERS_DEFAULT;
+
+  @Config(key = "chunk.split.io.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "If enabled, each chunk read or write of containers with "
+          + "FILE_PER_BLOCK or PACKED_BLOCK layout is split into positional "
+          + "requests of hdds.datanode.chunk.split.io.request.size, which "
+          + "are done in parallel by a few threads per volume, keeping more "
+          + "requests in flight on each disk (e.g. NVMe) for large chunks. "
+          + "The thread handling the chunk still waits for all of them."
+  )
+  private boolean chunkSplitIoEnabled = false;
+
+  @Config(key = "chunk.split.io.threads.per.volume",
+      defaultValue = "4",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Number of threads per volume doing the split chunk I/O "
+          + "requests, see hdds.datanode.chunk.split.io.enabled."
+  )
+  private int chunkSplitIoThreadsPerVolume =
+      CHUNK_SPLIT_IO_THREADS_PER_VOLUME_DEFAULT;
+
+  @Config(key = "chunk.split.io.request.size",
+      defaultValue = "1MB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Size of the I/O requests a chunk read or write is split "
+          + "into, see hdds.datanode.chunk.split.io.enabled."
+  )
+  private long chunkSplitIoRequestSize = CHUNK_SPLIT_IO_REQUEST_SIZE_DEFAULT;
+
+  @Config(key = "chunk.write.direct.io.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Whether chunk data of containers with FILE_PER_BLOCK or "
+          + "PACKED_BLOCK layout is written with direct I/O (O_DIRECT), "
+          + "bypassing the page cache, so that ingest does not evict data "
+          + "being read. Block files are only written directly; the "
+          + "partial 4KB blocks at the ends of each chunk are read back and "
+          + "rewritten. Falls back to normal writes if the JVM or the "
+          + "filesystem does not support direct I/O."
+  )
+  private boolean chunkWriteDirectIoEnabled = false;
+
+  @Config(key = "chunk.drop.cache.on.close",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Whether the cached pages of the chunk files of a "
+          + "container are dropped (posix_fadvise DONTNEED) when the "
+          + "container is closed. Requires the native Hadoop library."
+  )
+  private boolean chunkDropCacheOnClose = false;
+
+  @Config(key = "chunk.read.ahead.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Whether sequential ReadChunk requests of a block of "
+          + "FILE_PER_BLOCK or PACKED_BLOCK containers trigger asynchronous "
+          + "read-ahead of the following data into off-heap buffers, so that "
+          + "the next requests are served from memory. Only reads up to "
+          + "ozone.chunk.read.mapped.buffer.threshold are read ahead, larger "
+          + "ones are memory mapped."
+  )
+  private boolean chunkReadAheadEnabled = false;
+
+  @Config(key = "chunk.read.ahead.size",
+      defaultValue = "4MB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Size of each read-ahead request, see "
+          + "hdds.datanode.chunk.read.ahead.enabled. Up to two requests "
+          + "are kept ahead of each sequential reader."
+  )
+  private long chunkReadAheadSize = CHUNK_READ_AHEAD_SIZE_DEFAULT;
+
+  @Config(key = "chunk.read.ahead.buffer.pool.size",
+      defaultValue = "64MB",
+      type = ConfigType.SIZE,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Total size of the off-heap buffers holding read-ahead "
+          + "data, see hdds.datanode.chunk.read.ahead.enabled. No read-ahead "
+          + "is done while all buffers are in use."
+  )
+  private long chunkReadAheadBufferPoolSize =
+      CHUNK_READ_AHEAD_BUFFER_POOL_SIZE_DEFAULT;
+
+  @Config(key = "chunk.read.ahead.threads",
+      defaultValue = "4",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Number of threads doing read-ahead, see "
+          + "hdds.datanode.chunk.read.ahead.enabled."
+  )
+  private int chunkReadAheadThreads = CHUNK_READ_AHEAD_THREADS_DEFAULT;
+
+  @Config(key = "chunk.write.sync.batch.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "With hdds.container.chunk.write.sync, whether the files "
+          + "of concurrent chunk writes to the same volume are synced "
+          + "together after the writes, instead of syncing each write. Each "
+          + "WriteChunk still completes only after its data is synced. "
+          + "Applies to containers with FILE_PER_BLOCK or PACKED_BLOCK "
+          + "layout."
+  )
+  private boolean chunkWriteSyncBatchEnabled = false;
+
+  @Config(key = "chunk.write.sync.batch.max.size",
+      defaultValue = "64",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Maximum number of chunk writes synced in one round, see "
+          + "hdds.datanode.chunk.write.sync.batch.enabled."
+  )
+  private int chunkWriteSyncBatchMaxSize =
+      CHUNK_WRITE_SYNC_BATCH_MAX_SIZE_DEFAULT;
+
+  @Config(key = "chunk.write.sync.batch.window",
+      defaultValue = "0ms",
+      type = ConfigType.TIME,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "How long a sync round waits for more chunk writes "
+          + "before it starts. With 0, only writes completing while the "
+          + "previous round is in progress are batched, which adds no "
+          + "latency. Unit could be defined with postfix (ns,ms,s,m,h,d)."
+  )
+  private Duration chunkWriteSyncBatchWindow = Duration.ZERO;
+
   @PostConstruct
   public void validate() {
+    if (readHandleCacheSize < 0) {
+      LOG.warn(READ_HANDLE_CACHE_SIZE_KEY +
+              " must be no less than zero and was set to {}. Defaulting to {}",
+          readHandleCacheSize, READ_HANDLE_CACHE_SIZE_DEFAULT);
+      readHandleCacheSize = READ_HANDLE_CACHE_SIZE_DEFAULT;
+    }
+
+    if (blockDataCacheSize < 0) {
+      LOG.warn(BLOCK_DATA_CACHE_SIZE_KEY +
+              " must be no less than zero and was set to {}. Defaulting to {}",
+          blockDataCacheSize, BLOCK_DATA_CACHE_SIZE_DEFAULT);
+      blockDataCacheSize = BLOCK_DATA_CACHE_SIZE_DEFAULT;
+    }
+
+    if (putBlockBatchMaxSize < 1) {
+      LOG.warn(PUT_BLOCK_BATCH_MAX_SIZE_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          putBlockBatchMaxSize, PUT_BLOCK_BATCH_MAX_SIZE_DEFAULT);
+      putBlockBatchMaxSize = PUT_BLOCK_BATCH_MAX_SIZE_DEFAULT;
+    }
+
+    if (packedBlockMaxSize < 0) {
+      LOG.warn(PACKED_BLOCK_MAX_SIZE_KEY +
+              " must be no less than zero and was set to {}. Defaulting to {}",
+          packedBlockMaxSize, PACKED_BLOCK_MAX_SIZE_DEFAULT);
+      packedBlockMaxSize = PACKED_BLOCK_MAX_SIZE_DEFAULT;
+    }
+
+    if (packedSegmentSize < 1) {
+      LOG.warn(PACKED_SEGMENT_SIZE_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          packedSegmentSize, PACKED_SEGMENT_SIZE_DEFAULT);
+      packedSegmentSize = PACKED_SEGMENT_SIZE_DEFAULT;
+    }
+
+    if (packedSegmentDeadRatio <= 0 || packedSegmentDeadRatio > 1) {
+      LOG.warn(PACKED_SEGMENT_DEAD_RATIO_KEY +
+              " must be in (0, 1] and was set to {}. Defaulting to {}",
+          packedSegmentDeadRatio, PACKED_SEGMENT_DEAD_RATIO_DEFAULT);
+      packedSegmentDeadRatio = PACKED_SEGMENT_DEAD_RATIO_DEFAULT;
+    }
+
+    if (packedCompactionWorkers < 1) {
+      LOG.warn(PACKED_COMPACTION_WORKERS_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          packedCompactionWorkers, PACKED_COMPACTION_WORKERS_DEFAULT);
+      packedCompactionWorkers = PACKED_COMPACTION_WORKERS_DEFAULT;
+    }
+
+    if (chunkSplitIoThreadsPerVolume < 1) {
+      LOG.warn(CHUNK_SPLIT_IO_THREADS_PER_VOLUME_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          chunkSplitIoThreadsPerVolume,
+          CHUNK_SPLIT_IO_THREADS_PER_VOLUME_DEFAULT);
+      chunkSplitIoThreadsPerVolume = CHUNK_SPLIT_IO_THREADS_PER_VOLUME_DEFAULT;
+    }
+
+    if (chunkSplitIoRequestSize < 1) {
+      LOG.warn(CHUNK_SPLIT_IO_REQUEST_SIZE_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          chunkSplitIoRequestSize, CHUNK_SPLIT_IO_REQUEST_SIZE_DEFAULT);
+      chunkSplitIoRequestSize = CHUNK_SPLIT_IO_REQUEST_SIZE_DEFAULT;
+    }
+
+    if (chunkReadAheadSize < 1) {
+      LOG.warn(CHUNK_READ_AHEAD_SIZE_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          chunkReadAheadSize, CHUNK_READ_AHEAD_SIZE_DEFAULT);
+      chunkReadAheadSize = CHUNK_READ_AHEAD_SIZE_DEFAULT;
+    }
+
+    if (chunkReadAheadBufferPoolSize < 0) {
+      LOG.warn(CHUNK_READ_AHEAD_BUFFER_POOL_SIZE_KEY +
+              " must be no less than zero and was set to {}. Defaulting to {}",
+          chunkReadAheadBufferPoolSize,
+          CHUNK_READ_AHEAD_BUFFER_POOL_SIZE_DEFAULT);
+      chunkReadAheadBufferPoolSize = CHUNK_READ_AHEAD_BUFFER_POOL_SIZE_DEFAULT;
+    }
+
+    if (chunkReadAheadThreads < 1) {
+      LOG.warn(CHUNK_READ_AHEAD_THREADS_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          chunkReadAheadThreads, CHUNK_READ_AHEAD_THREADS_DEFAULT);
+      chunkReadAheadThreads = CHUNK_READ_AHEAD_THREADS_DEFAULT;
+    }
+
+    if (chunkWriteSyncBatchMaxSize < 1) {
+      LOG.warn(CHUNK_WRITE_SYNC_BATCH_MAX_SIZE_KEY +
+              " must be greater than zero and was set to {}. Defaulting to {}",
+          chunkWriteSyncBatchMaxSize, CHUNK_WRITE_SYNC_BATCH_MAX_SIZE_DEFAULT);
+      chunkWriteSyncBatchMaxSize = CHUNK_WRITE_SYNC_BATCH_MAX_SIZE_DEFAULT;
+    }
+
     if (containerDeleteThreads < 1) {
       LOG.warn(CONTAINER_DELETE_THREADS_MAX_KEY + " must be greater than zero" +
               " and was set to {}. Defaulting to {}",
@@ -910,4 +1305,188 @@ public int getAutoCompactionSmallSstFileNum() {
   public void setAutoCompactionSmallSstFileNum(int num) {
     this.autoCompactionSmallSstFileNum = num;
   }
+
+  public int getReadHandleCacheSize() {
+    return readHandleCacheSize;
+  }
+
+  public void setReadHandleCacheSize(int size) {
+    this.readHandleCacheSize = size;
+  }
+
+  public Duration getReadHandleCacheIdleTimeout() {
+    return readHandleCacheIdleTimeout;
+  }
+
+  public void setReadHandleCacheIdleTimeout(Duration timeout) {
+    this.readHandleCacheIdleTimeout = timeout;
+  }
+
+  public long getBlockDataCacheSize() {
+    return blockDataCacheSize;
+  }
+
+  public void setBlockDataCacheSize(long size) {
+    this.blockDataCacheSize = size;
+  }
+
+  public boolean isPutBlockBatchEnabled() {
+    return putBlockBatchEnabled;
+  }
+
+  public void setPutBlockBatchEnabled(boolean enabled) {
+    this.putBlockBatchEnabled = enabled;
+  }
+
+  public int getPutBlockBatchMaxSize() {
+    return putBlockBatchMaxSize;
+  }
+
+  public void setPutBlockBatchMaxSize(int size) {
+    this.putBlockBatchMaxSize = size;
+  }
+
+  public Duration getPutBlockBatchWindow() {
+    return putBlockBatchWindow;
+  }
+
+  public void setPutBlockBatchWindow(Duration window) {
+    this.putBlockBatchWindow = window;
+  }
+
+  public long getPackedBlockMaxSize() {
+    return packedBlockMaxSize;
+  }
+
+  public void setPackedBlockMaxSize(long size) {
+    this.packedBlockMaxSize = size;
+  }
+
+  public long getPackedSegmentSize() {
+    return packedSegmentSize;
+  }
+
+  public void setPackedSegmentSize(long size) {
+    this.packedSegmentSize = size;
+  }
+
+  public double getPackedSegmentDeadRatio() {
+    return packedSegmentDeadRatio;
+  }
+
+  public void setPackedSegmentDeadRatio(double ratio) {
+    this.packedSegmentDeadRatio = ratio;
+  }
+
+  public Duration getPackedCompactionInterval() {
+    return packedCompactionInterval;
+  }
+
+  public void setPackedCompactionInterval(Duration interval) {
+    this.packedCompactionInterval = interval;
+  }
+
+  public Duration getPackedCompactionTimeout() {
+    return packedCompactionTimeout;
+  }
+
+  public int getPackedCompactionWorkers() {
+    return packedCompactionWorkers;
+  }
+
+  public boolean isChunkSplitIoEnabled() {
+    return chunkSplitIoEnabled;
+  }
+
+  public void setChunkSplitIoEnabled(boolean enabled) {
+    this.chunkSplitIoEnabled = enabled;
+  }
+
+  public int getChunkSplitIoThreadsPerVolume() {
+    return chunkSplitIoThreadsPerVolume;
+  }
+
+  public void setChunkSplitIoThreadsPerVolume(int threads) {
+    this.chunkSplitIoThreadsPerVolume = threads;
+  }
+
+  public long getChunkSplitIoRequestSize() {
+    return chunkSplitIoRequestSize;
+  }
+
+  public void setChunkSplitIoRequestSize(long size) {
+    this.chunkSplitIoRequestSize = size;
+  }
+
+  public boolean isChunkWriteDirectIoEnabled() {
+    return chunkWriteDirectIoEnabled;
+  }
+
+  public void setChunkWriteDirectIoEnabled(boolean enabled) {
+    this.chunkWriteDirectIoEnabled = enabled;
+  }
+
+  public boolean isChunkDropCacheOnClose() {
+    return chunkDropCacheOnClose;
+  }
+
+  public void setChunkDropCacheOnClose(boolean enabled) {
+    this.chunkDropCacheOnClose = enabled;
+  }
+
+  public boolean isChunkReadAheadEnabled() {
+    return chunkReadAheadEnabled;
+  }
+
+  public void setChunkReadAheadEnabled(boolean enabled) {
+    this.chunkReadAheadEnabled = enabled;
+  }
+
+  public long getChunkReadAheadSize() {
+    return chunkReadAheadSize;
+  }
+
+  public void setChunkReadAheadSize(long size) {
+    this.chunkReadAheadSize = size;
+  }
+
+  public long getChunkReadAheadBufferPoolSize() {
+    return chunkReadAheadBufferPoolSize;
+  }
+
+  public void setChunkReadAheadBufferPoolSize(long size) {
+    this.chunkReadAheadBufferPoolSize = size;
+  }
+
+  public int getChunkReadAheadThreads() {
+    return chunkReadAheadThreads;
+  }
+
+  public void setChunkReadAheadThreads(int threads) {
+    this.chunkReadAheadThreads = threads;
+  }
+
+  public boolean isChunkWriteSyncBatchEnabled() {
+    return chunkWriteSyncBatchEnabled;
+  }
+
+  public void setChunkWriteSyncBatchEnabled(boolean enabled) {
+    this.chunkWriteSyncBatchEnabled = enabled;
+  }
+
+  public int getChunkWriteSyncBatchMaxSize() {
+    return chunkWriteSyncBatchMaxSize;
+  }
+
+  public void setChunkWriteSyncBatchMaxSize(int size) {
+    this.chunkWriteSyncBatchMaxSize = size;
+  }
+
+  public Duration getChunkWriteSyncBatchWindow() {
+    return chunkWriteSyncBatchWindow;
+  }
+
+  public void setChunkWriteSyncBatchWindow(Duration window) {
+    this.chunkWriteSyncBatchWindow = window;
+  }
 }
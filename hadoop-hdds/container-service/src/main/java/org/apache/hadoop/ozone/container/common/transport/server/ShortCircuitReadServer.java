@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server;
+
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails.Port.Name;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.net.unix.DomainSocket;
+import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
+import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.interfaces.ContainerDispatcher;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves short-circuit reads of clients on the same host: passes the
+ * descriptor of the block file to the client over a domain socket, so that
+ * the client can read the block without copying it through the datanode.
+ * <p>
+ * Each connection serves one GetBlock request.  The request is dispatched
+ * like requests received via gRPC, verifying the block token.  If
+ * successful, the block file is opened and its descriptor is sent along
+ * with a single byte, otherwise the byte is sent alone.  Then the response
+ * follows, delimited.  Only the block files of
+ * {@link ContainerLayoutVersion#FILE_PER_BLOCK} containers are passed; for
+ * other blocks the client falls back to reading via gRPC.
+ */
+public final class ShortCircuitReadServer {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ShortCircuitReadServer.class);
+
+  private static final int SOCKET_TIMEOUT_MS = 10_000;
+  private static final int MAX_THREADS = 64;
+
+  private final String socketPath;
+  private final DatanodeDetails datanodeDetails;
+  private final ContainerDispatcher dispatcher;
+  private final ContainerSet containerSet;
+  private final ExecutorService executor;
+  private DomainSocket serverSocket;
+  private Thread acceptor;
+  private volatile boolean running;
+
+  public ShortCircuitReadServer(String socketPath,
+      DatanodeDetails datanodeDetails, ContainerDispatcher dispatcher,
+      ContainerSet containerSet) {
+    this.socketPath = socketPath;
+    this.datanodeDetails = datanodeDetails;
+    this.dispatcher = dispatcher;
+    this.containerSet = containerSet;
+    this.executor = new ThreadPoolExecutor(1, MAX_THREADS,
+        60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat(datanodeDetails.threadNamePrefix()
+                + "ShortCircuitRead-%d")
+            .build());
+  }
+
+  /**
+   * Start listening on the socket.  Must be called after the standalone
+   * port of the datanode is known, as the path may depend on it.
+   */
+  public synchronized void start() throws IOException {
+    if (running) {
+      return;
+    }
+    final String reason = DomainSocket.getLoadingFailureReason();
+    if (reason != null) {
+      LOG.warn("Short-circuit reads are disabled: {}", reason);
+      return;
+    }
+    final String path = DomainSocket.getEffectivePath(socketPath,
+        datanodeDetails.getPort(Name.STANDALONE).getValue());
+    serverSocket = DomainSocket.bindAndListen(path);
+    running = true;
+    acceptor = new Thread(this::acceptConnections,
+        datanodeDetails.threadNamePrefix() + "ShortCircuitReadAcceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+    LOG.info("Serving short-circuit reads on {}", path);
+  }
+
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    IOUtils.closeStream(serverSocket);
+    try {
+      acceptor.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    executor.shutdownNow();
+  }
+
+  private void acceptConnections() {
+    while (running) {
+      final DomainSocket socket;
+      try {
+        socket = serverSocket.accept();
+      } catch (IOException e) {
+        if (running && serverSocket.isOpen()) {
+          LOG.warn("Failed to accept short-circuit read connection", e);
+          continue;
+        }
+        return;
+      }
+      try {
+        executor.execute(() -> serve(socket));
+      } catch (RejectedExecutionException e) {
+        LOG.debug("Too many short-circuit read connections, closing {}",
+            socket);
+        IOUtils.closeStream(socket);
+      }
+    }
+  }
+
+  private void serve(DomainSocket socket) {
+    try {
+      socket.setAttribute(DomainSocket.SEND_TIMEOUT, SOCKET_TIMEOUT_MS);
+      socket.setAttribute(DomainSocket.RECEIVE_TIMEOUT, SOCKET_TIMEOUT_MS);
+      final ContainerCommandRequestProto request =
+          ContainerCommandRequestProto.parseDelimitedFrom(
+              socket.getInputStream());
+      if (request == null) {
+        return;
+      }
+      final Reply reply = handle(request);
+      try {
+        final OutputStream out = socket.getOutputStream();
+        if (reply.getFile() != null) {
+          socket.sendFileDescriptors(
+              new FileDescriptor[] {reply.getFile().getFD()},
+              new byte[] {1}, 0, 1);
+        } else {
+          out.write(0);
+        }
+        reply.getResponse().writeDelimitedTo(out);
+      } finally {
+        IOUtils.closeStream(reply.getFile());
+      }
+    } catch (IOException e) {
+      LOG.debug("Failed to serve short-circuit read on {}", socket, e);
+    } finally {
+      IOUtils.closeStream(socket);
+    }
+  }
+
+  /**
+   * Execute the request and open the block file if possible.
+   */
+  @VisibleForTesting
+  Reply handle(ContainerCommandRequestProto request) {
+    if (request.getCmdType() != Type.GetBlock || !request.hasGetBlock()) {
+      return new Reply(ContainerCommandResponseBuilders
+          .unsupportedRequest(request), null);
+    }
+    if (!datanodeDetails.getUuidString().equals(request.getDatanodeUuid())) {
+      return new Reply(ContainerCommandResponseBuilders
+          .getContainerCommandResponse(request, Result.INVALID_ARGUMENT,
+              "Request for " + request.getDatanodeUuid() + " received by "
+                  + datanodeDetails.getUuidString())
+          .build(), null);
+    }
+
+    final ContainerCommandResponseProto response =
+        dispatcher.dispatch(request, null);
+    if (response.getResult() != Result.SUCCESS) {
+      return new Reply(response, null);
+    }
+    final Container<?> container =
+        containerSet.getContainer(request.getContainerID());
+    if (container == null || container.getContainerData().getLayoutVersion()
+        != ContainerLayoutVersion.FILE_PER_BLOCK) {
+      return new Reply(response, null);
+    }
+    try {
+      final File file = ContainerLayoutVersion.FILE_PER_BLOCK.getChunkFile(
+          container.getContainerData(),
+          BlockID.getFromProtobuf(request.getGetBlock().getBlockID()), null);
+      return new Reply(response, new FileInputStream(file));
+    } catch (IOException e) {
+      LOG.debug("Failed to open file of block {} for short-circuit read",
+          request.getGetBlock().getBlockID(), e);
+      return new Reply(response, null);
+    }
+  }
+
+  /**
+   * Response of a request, with the block file to pass if any.
+   */
+  @VisibleForTesting
+  static final class Reply {
+    private final ContainerCommandResponseProto response;
+    private final FileInputStream file;
+
+    Reply(ContainerCommandResponseProto response, FileInputStream file) {
+      this.response = response;
+      this.file = file;
+    }
+
+    ContainerCommandResponseProto getResponse() {
+      return response;
+    }
+
+    FileInputStream getFile() {
+      return file;
+    }
+  }
+}
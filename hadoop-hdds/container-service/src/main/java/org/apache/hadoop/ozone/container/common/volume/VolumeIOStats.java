@@ -35,6 +35,18 @@ public class VolumeIOStats {
   private @Metric MutableCounterLong writeOpCount;
   private @Metric MutableCounterLong readTime;
   private @Metric MutableCounterLong writeTime;
+  private @Metric MutableCounterLong readHandleOpenCount;
+  private @Metric MutableCounterLong readHandleReuseCount;
+  private @Metric MutableCounterLong concurrentReadCount;
+  private @Metric MutableCounterLong readHandleCacheHits;
+  private @Metric MutableCounterLong readHandleCacheMisses;
+  private @Metric MutableCounterLong readHandleCacheEvictions;
+  private @Metric MutableCounterLong directWriteBytes;
+  private @Metric MutableCounterLong directWriteFallbacks;
+  private @Metric MutableCounterLong pageCacheDropBytes;
+  private @Metric MutableCounterLong syncRounds;
+  private @Metric MutableCounterLong syncedWrites;
+  private @Metric MutableCounterLong syncTime;
 
   @Deprecated
   public VolumeIOStats() {
@@ -110,6 +122,92 @@ public void incWriteTime(long time) {
     writeTime.incr(time);
   }
 
+  /**
+   * Increment the number of file handles opened for reading.
+   */
+  public void incReadHandleOpenCount() {
+    readHandleOpenCount.incr();
+  }
+
+  /**
+   * Increment the number of reads served by an already open file handle.
+   */
+  public void incReadHandleReuseCount() {
+    readHandleReuseCount.incr();
+  }
+
+  /**
+   * Increment the number of reads overlapping another read of the same file.
+   */
+  public void incConcurrentReadCount() {
+    concurrentReadCount.incr();
+  }
+
+  /**
+   * Increment the number of reads finding their file in the handle cache.
+   */
+  public void incReadHandleCacheHits() {
+    readHandleCacheHits.incr();
+  }
+
+  /**
+   * Increment the number of reads missing their file in the handle cache.
+   */
+  public void incReadHandleCacheMisses() {
+    readHandleCacheMisses.incr();
+  }
+
+  /**
+   * Increment the number of handles evicted from the cache due to size or
+   * idle timeout.
+   */
+  public void incReadHandleCacheEvictions() {
+    readHandleCacheEvictions.incr();
+  }
+
+  /**
+   * Increment number of bytes written bypassing the page cache.
+   */
+  public void incDirectWriteBytes(long bytes) {
+    directWriteBytes.incr(bytes);
+  }
+
+  /**
+   * Increment the number of files written through the page cache because
+   * direct I/O is not supported.
+   */
+  public void incDirectWriteFallbacks() {
+    directWriteFallbacks.incr();
+  }
+
+  /**
+   * Increment number of bytes advised to be dropped from the page cache.
+   */
+  public void incPageCacheDropBytes(long bytes) {
+    pageCacheDropBytes.incr(bytes);
+  }
+
+  /**
+   * Increment the number of rounds syncing the files of batched writes.
+   */
+  public void incSyncRounds() {
+    syncRounds.incr();
+  }
+
+  /**
+   * Increment the number of writes made durable by batched syncs.
+   */
+  public void incSyncedWrites(long writes) {
+    syncedWrites.incr(writes);
+  }
+
+  /**
+   * Increment the time spent syncing files of batched writes.
+   */
+  public void incSyncTime(long time) {
+    syncTime.incr(time);
+  }
+
   /**
    * Returns total number of bytes read from the volume.
    * @return long
@@ -158,6 +256,103 @@ public long getWriteTime() {
     return writeTime.value();
   }
 
+  /**
+   * Returns number of file handles opened for reading.
+   * @return long
+   */
+  public long getReadHandleOpenCount() {
+    return readHandleOpenCount.value();
+  }
+
+  /**
+   * Returns number of reads served by an already open file handle.
+   * @return long
+   */
+  public long getReadHandleReuseCount() {
+    return readHandleReuseCount.value();
+  }
+
+  /**
+   * Returns number of reads overlapping another read of the same file.
+   * @return long
+   */
+  public long getConcurrentReadCount() {
+    return concurrentReadCount.value();
+  }
+
+  /**
+   * Returns number of reads finding their file in the handle cache.
+   * @return long
+   */
+  public long getReadHandleCacheHits() {
+    return readHandleCacheHits.value();
+  }
+
+  /**
+   * Returns number of reads missing their file in the handle cache.
+   * @return long
+   */
+  public long getReadHandleCacheMisses() {
+    return readHandleCacheMisses.value();
+  }
+
+  /**
+   * Returns number of handles evicted from the cache.
+   * @return long
+   */
+  public long getReadHandleCacheEvictions() {
+    return readHandleCacheEvictions.value();
+  }
+
+  /**
+   * Returns number of bytes written bypassing the page cache.
+   * @return long
+   */
+  public long getDirectWriteBytes() {
+    return directWriteBytes.value();
+  }
+
+  /**
+   * Returns number of files written through the page cache because direct
+   * I/O is not supported.
+   * @return long
+   */
+  public long getDirectWriteFallbacks() {
+    return directWriteFallbacks.value();
+  }
+
+  /**
+   * Returns number of bytes advised to be dropped from the page cache.
+   * @return long
+   */
+  public long getPageCacheDropBytes() {
+    return pageCacheDropBytes.value();
+  }
+
+  /**
+   * Returns number of rounds syncing the files of batched writes.
+   * @return long
+   */
+  public long getSyncRounds() {
+    return syncRounds.value();
+  }
+
+  /**
+   * Returns number of writes made durable by batched syncs.
+   * @return long
+   */
+  public long getSyncedWrites() {
+    return syncedWrites.value();
+  }
+
+  /**
+   * Returns total time spent syncing files of batched writes.
+   * @return long
+   */
+  public long getSyncTime() {
+    return syncTime.value();
+  }
+
   @Metric
   public String getStorageDirectory() {
     return storageDirectory;
@@ -40,12 +40,14 @@
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerLocationUtil;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.PackedExtent;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.Objects;
 
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.slf4j.Logger;
@@ -262,7 +264,14 @@ private ScanResult scanData(DataTransferThrottler throttler,
           if (!result.isHealthy()) {
             if (result.getFailureType() ==
                 ScanResult.FailureType.MISSING_CHUNK_FILE) {
-              if (getBlockDataFromDBWithLock(db, block) != null) {
+              BlockData latest = getBlockDataFromDBWithLock(db, block);
+              if (latest != null && isMoved(block, latest)) {
+                // Block was moved to another file by compaction.
+                result = scanBlock(latest, throttler, canceler);
+                if (!result.isHealthy()) {
+                  return result;
+                }
+              } else if (latest != null) {
                 // Block was not deleted, the failure is legitimate.
                 return result;
               } else {
@@ -337,15 +346,30 @@ private BlockData getBlockDataFromDBWithLock(DBHandle db, BlockData block)
     }
   }
 
+  private static boolean isMoved(BlockData block, BlockData latest) {
+    return !Objects.equals(block.getMetadata().get(PackedExtent.METADATA_KEY),
+        latest.getMetadata().get(PackedExtent.METADATA_KEY));
+  }
+
   private ScanResult scanBlock(BlockData block, DataTransferThrottler throttler,
       Canceler canceler) {
     ContainerLayoutVersion layout = onDiskContainerData.getLayoutVersion();
 
     for (ContainerProtos.ChunkInfo chunk : block.getChunks()) {
       File chunkFile;
+      // offset of the block in the file, for packed blocks
+      long blockOffset = 0;
       try {
-        chunkFile = layout.getChunkFile(onDiskContainerData,
-            block.getBlockID(), chunk.getChunkName());
+        PackedExtent extent = layout == ContainerLayoutVersion.PACKED_BLOCK
+            ? PackedExtent.of(block) : null;
+        if (extent != null) {
+          chunkFile = extent.getSegmentFile(
+              new File(onDiskContainerData.getChunksPath()));
+          blockOffset = extent.getOffset();
+        } else {
+          chunkFile = layout.getChunkFile(onDiskContainerData,
+              block.getBlockID(), chunk.getChunkName());
+        }
       } catch (IOException ex) {
         return ScanResult.unhealthy(
             ScanResult.FailureType.MISSING_CHUNK_FILE,
@@ -364,8 +388,8 @@ chunkFile, new IOException("Missing chunk file " +
         }
       } else if (chunk.getChecksumData().getType()
           != ContainerProtos.ChecksumType.NONE) {
-        ScanResult result = verifyChecksum(block, chunk, chunkFile, layout,
-            throttler, canceler);
+        ScanResult result = verifyChecksum(block, chunk, chunkFile,
+            blockOffset, layout, throttler, canceler);
         if (!result.isHealthy()) {
           return result;
         }
@@ -376,7 +400,7 @@ chunkFile, new IOException("Missing chunk file " +
   }
 
   private static ScanResult verifyChecksum(BlockData block,
-      ContainerProtos.ChunkInfo chunk, File chunkFile,
+      ContainerProtos.ChunkInfo chunk, File chunkFile, long blockOffset,
       ContainerLayoutVersion layout,
       DataTransferThrottler throttler, Canceler canceler) {
     ChecksumData checksumData =
@@ -389,12 +413,14 @@ private static ScanResult verifyChecksum(BlockData block,
     long bytesRead = 0;
     try (FileChannel channel = FileChannel.open(chunkFile.toPath(),
         ChunkUtils.READ_OPTIONS, ChunkUtils.NO_ATTRIBUTES)) {
-      if (layout == ContainerLayoutVersion.FILE_PER_BLOCK) {
-        channel.position(chunk.getOffset());
+      final boolean multipleChunksPerFile =
+          layout != ContainerLayoutVersion.FILE_PER_CHUNK;
+      if (multipleChunksPerFile) {
+        channel.position(blockOffset + chunk.getOffset());
       }
       for (int i = 0; i < checksumCount; i++) {
         // limit last read for FILE_PER_BLOCK, to avoid reading next chunk
-        if (layout == ContainerLayoutVersion.FILE_PER_BLOCK &&
+        if (multipleChunksPerFile &&
             i == checksumCount - 1 &&
             chunk.getLen() % bytesPerChecksum != 0) {
           buffer.limit((int) (chunk.getLen() % bytesPerChecksum));
@@ -81,6 +81,7 @@
 import org.apache.hadoop.ozone.container.common.volume.VolumeSet;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.DirectIo;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil;
 import org.apache.hadoop.ozone.container.keyvalue.impl.BlockManagerImpl;
 import org.apache.hadoop.ozone.container.keyvalue.impl.ChunkManagerFactory;
@@ -138,6 +139,7 @@ public class KeyValueHandler extends Handler {
   private final long maxContainerSize;
   private final Function<ByteBuffer, ByteString> byteBufferToByteString;
   private final boolean validateChunkChecksumData;
+  private final boolean dropCacheOnClose;
   // A striped lock that is held during container creation.
   private final Striped<Lock> containerCreationLocks;
 
@@ -148,11 +150,13 @@ public KeyValueHandler(ConfigurationSource config,
                          ContainerMetrics metrics,
                          IncrementalReportSender<Container> icrSender) {
     super(config, datanodeId, contSet, volSet, metrics, icrSender);
-    blockManager = new BlockManagerImpl(config);
-    validateChunkChecksumData = conf.getObject(
-        DatanodeConfiguration.class).isChunkDataValidationCheck();
+    blockManager = new BlockManagerImpl(config, metrics);
+    final DatanodeConfiguration dnConf =
+        conf.getObject(DatanodeConfiguration.class);
+    validateChunkChecksumData = dnConf.isChunkDataValidationCheck();
+    dropCacheOnClose = dnConf.isChunkDropCacheOnClose();
     chunkManager = ChunkManagerFactory.createChunkManager(config, blockManager,
-        volSet);
+        volSet, metrics);
     try {
       volumeChoosingPolicy = VolumeChoosingPolicyFactory.getPolicy(conf);
     } catch (Exception e) {
@@ -347,7 +351,7 @@ ContainerCommandResponseProto handleCreateContainer(
     long containerID = request.getContainerID();
 
     ContainerLayoutVersion layoutVersion =
-        ContainerLayoutVersion.getConfiguredVersion(conf);
+        VersionedDatanodeFeatures.PackedBlockLayout.chooseLayoutVersion(conf);
     KeyValueContainerData newContainerData = new KeyValueContainerData(
         containerID, layoutVersion, maxContainerSize, request.getPipelineID(),
         getDatanodeId());
@@ -1096,6 +1100,7 @@ public void markContainerUnhealthy(Container container, ScanResult reason)
         LOG.warn("Unexpected error while marking container {} unhealthy",
             containerID, ex);
       } finally {
+        blockManager.releaseContainer(container);
         // Even if the container file is corrupted/missing and the unhealthy
         // update fails, the unhealthy state is kept in memory and sent to
         // SCM. Write a corresponding entry to the container log as well.
@@ -1160,11 +1165,24 @@ public void closeContainer(Container container)
                 .getContainerID() + " while in " + state + " state.", error);
       }
       container.close();
+      chunkManager.releaseContainer(container);
       ContainerLogger.logClosed(container.getContainerData());
       sendICR(container);
+      if (container.getContainerData().getLayoutVersion()
+          == ContainerLayoutVersion.PACKED_BLOCK) {
+        // blocks are packed by the compaction service, not while applying
+        containerSet.addCompactionCandidate(
+            container.getContainerData().getContainerID());
+      }
     } finally {
       container.writeUnlock();
     }
+    if (dropCacheOnClose) {
+      // closed containers are no longer written, no need to hold the lock
+      final KeyValueContainerData data =
+          (KeyValueContainerData) container.getContainerData();
+      DirectIo.dropCache(new File(data.getChunksPath()), data.getVolume());
+    }
   }
 
   @Override
@@ -1180,6 +1198,9 @@ public void deleteContainer(Container container, boolean force)
   @Override
   public void deleteBlock(Container container, BlockData blockData)
       throws IOException {
+    // invalidated again by blocksDeleted, once the block is deleted from
+    // the DB, since reads do not lock the container
+    blockManager.invalidateBlock(container, blockData.getLocalID());
     chunkManager.deleteChunks(container, blockData);
     if (LOG.isDebugEnabled()) {
       for (ContainerProtos.ChunkInfo chunkInfo : blockData.getChunks()) {
@@ -1189,6 +1210,18 @@ public void deleteBlock(Container container, BlockData blockData)
     }
   }
 
+  @Override
+  public void blocksDeleted(Container container, List<Long> localIDs) {
+    for (long localID : localIDs) {
+      blockManager.invalidateBlock(container, localID);
+    }
+  }
+
+  @Override
+  public void compactContainer(Container container) throws IOException {
+    chunkManager.compact((KeyValueContainer) container);
+  }
+
   @Override
   public void deleteUnreferenced(Container container, long localID)
       throws IOException {
@@ -1201,6 +1234,7 @@ public void deleteUnreferenced(Container container, long localID)
     // Only supports the default chunk/block name format now
     switch (layoutVersion) {
     case FILE_PER_BLOCK:
+    case PACKED_BLOCK:
       prefixBuilder.append(localID).append(".block");
       break;
     case FILE_PER_CHUNK:
@@ -1349,6 +1383,8 @@ private void deleteInternal(Container container, boolean force)
         // 5. container content deleted from tmp folder
         try {
           container.markContainerForDelete();
+          chunkManager.releaseContainer(container);
+          blockManager.releaseContainer(container);
           long containerId = container.getContainerData().getContainerID();
           containerSet.removeContainer(containerId);
           ContainerLogger.logDeleted(container.getContainerData(), force);
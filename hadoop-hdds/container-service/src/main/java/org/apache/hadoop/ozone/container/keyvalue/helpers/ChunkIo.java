@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+
+/**
+ * Performs the positional I/O of chunk data on block files already open.
+ */
+public interface ChunkIo {
+
+  /** Blocking I/O done by the calling thread. */
+  ChunkIo SYNC = new SyncChunkIo();
+
+  /**
+   * Write the data to the channel starting at the given offset.  The data
+   * may or may not be consumed.
+   *
+   * @return the number of bytes written
+   */
+  long write(FileChannel channel, ChunkBuffer data, long offset,
+      HddsVolume volume) throws IOException;
+
+  /**
+   * Fill the buffers from the channel starting at the given offset, without
+   * changing the (shared) position of the channel.
+   *
+   * @return the number of bytes read, less than the total remaining
+   *         capacity of the buffers only if the end of file is reached.
+   */
+  long read(FileChannel channel, ByteBuffer[] buffers, long offset,
+      HddsVolume volume) throws IOException;
+
+  /** Release the resources, e.g. threads. */
+  default void shutdown() {
+    // no resources by default
+  }
+
+  /**
+   * @return {@link SplitChunkIo} if enabled by
+   *         {@link DatanodeConfiguration#isChunkSplitIoEnabled()},
+   *         otherwise {@link #SYNC}
+   */
+  static ChunkIo create(DatanodeConfiguration conf) {
+    return conf.isChunkSplitIoEnabled()
+        ? new SplitChunkIo(conf.getChunkSplitIoThreadsPerVolume(),
+            conf.getChunkSplitIoRequestSize())
+        : SYNC;
+  }
+}
@@ -25,6 +25,8 @@
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.file.NoSuchFileException;
@@ -50,6 +52,7 @@
 import org.apache.hadoop.ozone.common.utils.BufferUtils;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
 import org.apache.hadoop.util.Time;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -75,6 +78,8 @@
 public final class ChunkUtils {
 
   private static final Set<Path> LOCKS = ConcurrentHashMap.newKeySet();
+  private static final SharedReadChannels READ_CHANNELS =
+      new SharedReadChannels();
 
   private static final Logger LOG =
       LoggerFactory.getLogger(ChunkUtils.class);
@@ -111,15 +116,33 @@ public static void writeData(File file, ChunkBuffer data,
       throws StorageContainerException {
 
     writeData(data, file.getName(), offset, len, volume,
-        d -> writeDataToFile(file, d, offset, sync));
+        d -> writeDataToFile(file, d, offset, volume, sync));
   }
 
   public static void writeData(FileChannel file, String filename,
       ChunkBuffer data, long offset, long len, HddsVolume volume)
       throws StorageContainerException {
+    writeData(file, filename, data, offset, len, volume, ChunkIo.SYNC);
+  }
+
+  public static void writeData(FileChannel file, String filename,
+      ChunkBuffer data, long offset, long len, HddsVolume volume,
+      ChunkIo chunkIo) throws StorageContainerException {
+
+    writeData(data, filename, offset, len, volume,
+        d -> writeDataToChannel(file, d, offset, volume, chunkIo));
+  }
+
+  /**
+   * Write the data to the file opened for direct I/O, bypassing the page
+   * cache, see {@link DirectIo}.
+   */
+  public static void writeDataDirect(FileChannel file, String filename,
+      ChunkBuffer data, long offset, long len, HddsVolume volume)
+      throws StorageContainerException {
 
     writeData(data, filename, offset, len, volume,
-        d -> writeDataToChannel(file, d, offset));
+        d -> writeDataDirect(file, d, offset, volume));
   }
 
   private static void writeData(ChunkBuffer data, String filename,
@@ -154,7 +177,7 @@ private static void writeData(ChunkBuffer data, String filename,
   }
 
   private static long writeDataToFile(File file, ChunkBuffer data,
-      long offset, boolean sync) {
+      long offset, HddsVolume volume, boolean sync) {
     final Path path = file.toPath();
     try {
       return processFileExclusively(path, () -> {
@@ -163,7 +186,8 @@ private static long writeDataToFile(File file, ChunkBuffer data,
           channel = open(path, WRITE_OPTIONS, NO_ATTRIBUTES);
 
           try (FileLock ignored = channel.lock()) {
-            return writeDataToChannel(channel, data, offset);
+            return writeDataToChannel(channel, data, offset, volume,
+                ChunkIo.SYNC);
           }
         } catch (IOException e) {
           throw new UncheckedIOException(e);
@@ -178,10 +202,18 @@ private static long writeDataToFile(File file, ChunkBuffer data,
   }
 
   private static long writeDataToChannel(FileChannel channel, ChunkBuffer data,
-      long offset) {
+      long offset, HddsVolume volume, ChunkIo chunkIo) {
     try {
-      channel.position(offset);
-      return data.writeTo(channel);
+      return chunkIo.write(channel, data, offset, volume);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static long writeDataDirect(FileChannel channel, ChunkBuffer data,
+      long offset, HddsVolume volume) {
+    try {
+      return DirectIo.write(channel, data, offset, volume);
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -190,6 +222,17 @@ private static long writeDataToChannel(FileChannel channel, ChunkBuffer data,
   public static ChunkBuffer readData(long len, int bufferCapacity,
       File file, long off, HddsVolume volume, int readMappedBufferThreshold)
       throws StorageContainerException {
+    return readData(len, bufferCapacity, file, off, volume,
+        readMappedBufferThreshold, ChunkIo.SYNC);
+  }
+
+  /**
+   * Read the data using the given ChunkIo, unless it is large enough to be
+   * mapped into memory.
+   */
+  public static ChunkBuffer readData(long len, int bufferCapacity,
+      File file, long off, HddsVolume volume, int readMappedBufferThreshold,
+      ChunkIo chunkIo) throws StorageContainerException {
     if (len > readMappedBufferThreshold) {
       return readData(file, bufferCapacity, off, len, volume);
     } else if (len == 0) {
@@ -198,7 +241,8 @@ public static ChunkBuffer readData(long len, int bufferCapacity,
 
     final ByteBuffer[] buffers = BufferUtils.assignByteBuffers(len,
         bufferCapacity);
-    readData(file, off, len, c -> c.position(off).read(buffers), volume);
+    readData(file, off, len, c -> chunkIo.read(c, buffers, off, volume),
+        volume);
     Arrays.stream(buffers).forEach(ByteBuffer::flip);
     return ChunkBuffer.wrap(Arrays.asList(buffers));
   }
@@ -212,19 +256,11 @@ private static void readData(File file, long offset, long len,
     final long bytesRead;
 
     try {
-      bytesRead = processFileExclusively(path, () -> {
-        try (FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES);
-             FileLock ignored = channel.lock(offset, len, true)) {
-          return readMethod.apply(channel);
-        } catch (IOException e) {
-          onFailure(volume);
-          throw new UncheckedIOException(e);
-        }
-      });
-    } catch (UncheckedIOException e) {
+      bytesRead = readShared(path, readMethod, volume);
+    } catch (ClosedByInterruptException e) {
+      throw wrapInStorageContainerException(e);
+    } catch (IOException e) {
       onFailure(volume);
-      throw wrapInStorageContainerException(e.getCause());
-    } catch (InterruptedException e) {
       throw wrapInStorageContainerException(e);
     }
 
@@ -242,6 +278,41 @@ private static void readData(File file, long offset, long len,
     validateReadSize(len, bytesRead);
   }
 
+  /**
+   * Acquire the shared read handle of the file, e.g. to keep it open
+   * between reads.  The caller must close the returned handle.
+   */
+  public static SharedReadChannels.Handle acquireReadHandle(File file,
+      HddsVolume volume) throws IOException {
+    return READ_CHANNELS.acquire(file.toPath(),
+        volume != null ? volume.getVolumeIOStats() : null);
+  }
+
+  /**
+   * Read from the channel shared by all concurrent readers of the file.
+   * If another reader is interrupted, the JDK closes the shared channel
+   * under us, in which case the read is retried once with a new channel.
+   */
+  private static <T> T readShared(Path path,
+      CheckedFunction<FileChannel, T, IOException> readMethod,
+      HddsVolume volume) throws IOException {
+    final VolumeIOStats stats = volume != null
+        ? volume.getVolumeIOStats() : null;
+    for (int attempt = 0;; attempt++) {
+      try (SharedReadChannels.Handle handle =
+               READ_CHANNELS.acquire(path, stats)) {
+        return handle.read(readMethod);
+      } catch (ClosedChannelException e) {
+        if (attempt > 0 || e instanceof ClosedByInterruptException
+            || Thread.currentThread().isInterrupted()) {
+          throw e;
+        }
+        LOG.debug("Shared channel of {} closed by another reader, retrying",
+            path);
+      }
+    }
+  }
+
   /**
    * Read data from the given file using
    * {@link FileChannel#map(FileChannel.MapMode, long, long)},
@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.hadoop.io.nativeio.NativeIO;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.sun.nio.file.ExtendedOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+
+/**
+ * Helpers to keep chunk data out of the page cache, so that large
+ * sequential writes do not evict hot data, e.g. RocksDB blocks and data
+ * being read.
+ * <p>
+ * Direct I/O (O_DIRECT) requires the file offset, the length and the
+ * memory address of each write to be aligned.  A file opened for direct
+ * I/O is only written directly, never also through the page cache: data is
+ * copied to aligned off-heap buffers, the partial blocks at both ends of a
+ * write are read back and merged, and the padding past the end of the data
+ * is truncated.  Direct I/O needs JDK 10 or later and a filesystem that
+ * supports it, otherwise files are written normally.
+ */
+public final class DirectIo {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DirectIo.class);
+
+  /** Covers both 512-byte and 4K logical block sizes. */
+  @VisibleForTesting
+  static final int ALIGNMENT = 4096;
+  private static final int BUFFER_SIZE = 256 * ALIGNMENT;
+
+  private static final OpenOption DIRECT = findDirectOption();
+  private static final MethodHandle ALIGNED_SLICE = findAlignedSlice();
+
+  private static final ThreadLocal<ByteBuffer> BUFFERS =
+      ThreadLocal.withInitial(DirectIo::allocateAligned);
+  private static final Set<HddsVolume> UNSUPPORTED = newKeySet();
+
+  private DirectIo() {
+  }
+
+  public static boolean isAvailable() {
+    return DIRECT != null && ALIGNED_SLICE != null;
+  }
+
+  /**
+   * Open the file for direct I/O.
+   *
+   * @return the channel, or null if direct I/O is not supported, in which
+   * case the file should be opened and written normally
+   */
+  public static FileChannel openForWrite(File file, boolean sync,
+      HddsVolume volume) {
+    if (!isAvailable() || (volume != null && UNSUPPORTED.contains(volume))) {
+      incFallbacks(volume);
+      return null;
+    }
+    final Set<OpenOption> options = new HashSet<>();
+    options.add(StandardOpenOption.CREATE);
+    options.add(StandardOpenOption.READ);
+    options.add(StandardOpenOption.WRITE);
+    options.add(DIRECT);
+    if (sync) {
+      options.add(StandardOpenOption.SYNC);
+    }
+    try {
+      return FileChannel.open(file.toPath(), options);
+    } catch (IOException | UnsupportedOperationException e) {
+      if (volume == null || UNSUPPORTED.add(volume)) {
+        LOG.warn("Direct I/O is not supported for {}, writing through the "
+            + "page cache", volume != null ? volume : file, e);
+      }
+      incFallbacks(volume);
+      return null;
+    }
+  }
+
+  /**
+   * Write the data at the given offset to the channel opened by
+   * {@link #openForWrite}.  Writes to the same file must not be concurrent,
+   * since the partial blocks at their ends are read, merged and rewritten.
+   *
+   * @return the number of bytes written
+   */
+  public static long write(FileChannel channel, ChunkBuffer data,
+      long offset, HddsVolume volume) throws IOException {
+    final long len = data.remaining();
+    final long end = offset + len;
+    final long size = channel.size();
+    final List<ByteBuffer> source = new ArrayList<>();
+    for (ByteBuffer b : data.asByteBufferList()) {
+      if (b.hasRemaining()) {
+        source.add(b.duplicate());
+      }
+    }
+
+    final ByteBuffer buffer = BUFFERS.get();
+    long position = alignDown(offset);
+    while (position < end) {
+      final long bufferEnd = Math.min(alignUp(end),
+          position + buffer.capacity());
+      final int dataStart = (int) (Math.max(offset, position) - position);
+      final int dataEnd = (int) (Math.min(end, bufferEnd) - position);
+      final int length = (int) (bufferEnd - position);
+      // keep the existing data of the partial blocks at both ends
+      if (dataStart > 0) {
+        readBlock(channel, buffer, 0, position, size);
+      }
+      final int lastBlock = length - ALIGNMENT;
+      if (dataEnd < length && (lastBlock > 0 || dataStart == 0)) {
+        readBlock(channel, buffer, lastBlock, position + lastBlock, size);
+      }
+      buffer.limit(dataEnd);
+      buffer.position(dataStart);
+      copy(source, buffer);
+      buffer.limit(length);
+      buffer.position(0);
+      SyncChunkIo.writeFully(channel, buffer, position);
+      position = bufferEnd;
+    }
+    if (end > size && end % ALIGNMENT != 0) {
+      // drop the padding of the last block
+      channel.truncate(end);
+    }
+    if (volume != null && volume.getVolumeIOStats() != null) {
+      volume.getVolumeIOStats().incDirectWriteBytes(len);
+    }
+    return len;
+  }
+
+  /**
+   * Read the block of the file at the offset into the buffer at the given
+   * position, with zeros past the end of the file.
+   */
+  private static void readBlock(FileChannel channel, ByteBuffer buffer,
+      int at, long offset, long size) throws IOException {
+    final ByteBuffer block = buffer.duplicate();
+    block.limit(at + ALIGNMENT);
+    block.position(at);
+    while (block.hasRemaining() && offset + block.position() - at < size) {
+      if (channel.read(block, offset + block.position() - at) < 0) {
+        break;
+      }
+    }
+    while (block.hasRemaining()) {
+      block.put((byte) 0);
+    }
+  }
+
+  private static long alignDown(long offset) {
+    return offset - offset % ALIGNMENT;
+  }
+
+  private static long alignUp(long offset) {
+    return alignDown(offset + ALIGNMENT - 1);
+  }
+
+  /**
+   * Advise the kernel to drop the cached pages of the files in the
+   * directory (posix_fadvise DONTNEED), e.g. once a container is closed.
+   * Dirty pages are written back first.  This is a no-op without the
+   * native Hadoop library.
+   */
+  public static void dropCache(File dir, HddsVolume volume) {
+    final File[] files = dir.listFiles();
+    if (files == null || !NativeIO.isAvailable()) {
+      return;
+    }
+    long bytes = 0;
+    for (File file : files) {
+      if (!file.isFile()) {
+        continue;
+      }
+      try (FileInputStream in = new FileInputStream(file)) {
+        final long length = file.length();
+        NativeIO.POSIX.getCacheManipulator().posixFadviseIfPossible(
+            file.getPath(), in.getFD(), 0, length,
+            NativeIO.POSIX.POSIX_FADV_DONTNEED);
+        bytes += length;
+      } catch (IOException e) {
+        LOG.debug("Failed to drop cached pages of {}", file, e);
+      }
+    }
+    if (volume != null && volume.getVolumeIOStats() != null) {
+      volume.getVolumeIOStats().incPageCacheDropBytes(bytes);
+    }
+  }
+
+  /** Fill the buffer from the source buffers, advancing them. */
+  private static void copy(List<ByteBuffer> source, ByteBuffer buffer) {
+    for (ByteBuffer src : source) {
+      if (!buffer.hasRemaining()) {
+        return;
+      }
+      final int n = Math.min(src.remaining(), buffer.remaining());
+      if (n > 0) {
+        final ByteBuffer part = src.duplicate();
+        part.limit(part.position() + n);
+        buffer.put(part);
+        src.position(src.position() + n);
+      }
+    }
+  }
+
+  private static void incFallbacks(HddsVolume volume) {
+    if (volume != null && volume.getVolumeIOStats() != null) {
+      volume.getVolumeIOStats().incDirectWriteFallbacks();
+    }
+  }
+
+  private static ByteBuffer allocateAligned() {
+    try {
+      return (ByteBuffer) ALIGNED_SLICE.invoke(
+          ByteBuffer.allocateDirect(BUFFER_SIZE + ALIGNMENT), ALIGNMENT);
+    } catch (Throwable t) {
+      throw new IllegalStateException("Failed to allocate aligned buffer", t);
+    }
+  }
+
+  /** ExtendedOpenOption.DIRECT is only available since JDK 10. */
+  private static OpenOption findDirectOption() {
+    for (ExtendedOpenOption option : ExtendedOpenOption.values()) {
+      if ("DIRECT".equals(option.name())) {
+        return option;
+      }
+    }
+    return null;
+  }
+
+  /** ByteBuffer.alignedSlice is only available since JDK 9. */
+  private static MethodHandle findAlignedSlice() {
+    try {
+      return MethodHandles.publicLookup().findVirtual(ByteBuffer.class,
+          "alignedSlice", MethodType.methodType(ByteBuffer.class, int.class));
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.CONTAINER_INTERNAL_ERROR;
+
+/**
+ * Location of a block packed into a segment file of a container with
+ * {@link org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion#PACKED_BLOCK}
+ * layout.  The block is stored contiguously, so chunk offsets within the
+ * block are relative to the offset of the extent.
+ * <p>
+ * The extent is kept in the block metadata, so that it is updated
+ * atomically with the rest of the block in the container DB.
+ */
+public final class PackedExtent {
+
+  public static final String METADATA_KEY = "packedExtent";
+  private static final String SEGMENT_SUFFIX = ".segment";
+
+  private final long segmentId;
+  private final long offset;
+  private final long length;
+
+  public PackedExtent(long segmentId, long offset, long length) {
+    this.segmentId = segmentId;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * @return the extent of the block, or null if the block is not packed
+   */
+  public static PackedExtent of(BlockData block)
+      throws StorageContainerException {
+    final String value = block.getMetadata().get(METADATA_KEY);
+    if (value == null) {
+      return null;
+    }
+    final String[] parts = value.split(":");
+    try {
+      if (parts.length == 3) {
+        return new PackedExtent(Long.parseLong(parts[0]),
+            Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+      }
+    } catch (NumberFormatException e) {
+      // fall through
+    }
+    throw new StorageContainerException("Invalid packed extent " + value
+        + " for block " + block.getBlockID(), CONTAINER_INTERNAL_ERROR);
+  }
+
+  /**
+   * @return copy of the block with its extent replaced by this one
+   */
+  public BlockData applyTo(BlockData block) throws IOException {
+    final ContainerProtos.BlockData.Builder builder =
+        block.getProtoBufMessage().toBuilder().clearMetadata();
+    for (Map.Entry<String, String> entry : block.getMetadata().entrySet()) {
+      if (!METADATA_KEY.equals(entry.getKey())) {
+        builder.addMetadata(ContainerProtos.KeyValue.newBuilder()
+            .setKey(entry.getKey())
+            .setValue(entry.getValue()));
+      }
+    }
+    builder.addMetadata(ContainerProtos.KeyValue.newBuilder()
+        .setKey(METADATA_KEY)
+        .setValue(segmentId + ":" + offset + ":" + length));
+    return BlockData.getFromProtoBuf(builder.build());
+  }
+
+  public static File getSegmentFile(File chunkDir, long segmentId) {
+    return new File(chunkDir, segmentId + SEGMENT_SUFFIX);
+  }
+
+  /**
+   * @return the ID of the segment with the given file name, or -1 if the
+   * file is not a segment
+   */
+  public static long getSegmentId(String fileName) {
+    if (!fileName.endsWith(SEGMENT_SUFFIX)) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(fileName.substring(0,
+          fileName.length() - SEGMENT_SUFFIX.length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  public File getSegmentFile(File chunkDir) {
+    return getSegmentFile(chunkDir, segmentId);
+  }
+
+  public long getSegmentId() {
+    return segmentId;
+  }
+
+  public long getOffset() {
+    return offset;
+  }
+
+  public long getLength() {
+    return length;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PackedExtent)) {
+      return false;
+    }
+    final PackedExtent that = (PackedExtent) o;
+    return segmentId == that.segmentId && offset == that.offset
+        && length == that.length;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(segmentId, offset, length);
+  }
+
+  @Override
+  public String toString() {
+    return "segment " + segmentId + " offset " + offset + " length " + length;
+  }
+}
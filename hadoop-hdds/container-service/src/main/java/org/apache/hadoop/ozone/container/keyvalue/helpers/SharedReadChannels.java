@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.ratis.util.function.CheckedFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.NO_ATTRIBUTES;
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.READ_OPTIONS;
+
+/**
+ * Read-only {@link FileChannel}s shared by concurrent readers of the same
+ * file.
+ * <p>
+ * Each channel is reference counted and closed when the last holder releases
+ * it, so readers of the same file neither block each other nor pay for an
+ * extra open.  Since the channel position is shared, readers must only use
+ * positional operations, i.e. {@link FileChannel#read(java.nio.ByteBuffer,
+ * long)} and {@link FileChannel#map(FileChannel.MapMode, long, long)}.
+ */
+public final class SharedReadChannels {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(SharedReadChannels.class);
+
+  private final ConcurrentMap<Path, Handle> handles =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Get a handle for reading the given file, opening it if no other reader
+   * holds it.  The caller must {@link Handle#close()} the handle when done.
+   *
+   * @param path file to read
+   * @param stats for handle open/reuse statistics, may be null
+   */
+  public Handle acquire(Path path, VolumeIOStats stats) throws IOException {
+    try {
+      return handles.compute(path, (p, existing) -> {
+        // A channel shared with a reader that got interrupted is closed
+        // by the JDK, replace it instead of handing it out again.
+        if (existing != null && existing.isOpen()) {
+          existing.refCount++;
+          if (stats != null) {
+            stats.incReadHandleReuseCount();
+          }
+          return existing;
+        }
+        if (stats != null) {
+          stats.incReadHandleOpenCount();
+        }
+        return new Handle(p, open(p), stats);
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  @VisibleForTesting
+  int size() {
+    return handles.size();
+  }
+
+  private void release(Handle handle) {
+    handles.compute(handle.path, (p, current) -> {
+      if (--handle.refCount == 0) {
+        handle.closeChannel();
+        return current == handle ? null : current;
+      }
+      return current;
+    });
+  }
+
+  private static FileChannel open(Path path) {
+    try {
+      return FileChannel.open(path, READ_OPTIONS, NO_ATTRIBUTES);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * A reference to a shared read-only channel.
+   */
+  public final class Handle implements Closeable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final VolumeIOStats stats;
+    private final AtomicInteger activeReads = new AtomicInteger();
+    /** Guarded by the map entry of {@link #path}. */
+    private int refCount = 1;
+
+    private Handle(Path path, FileChannel channel, VolumeIOStats stats) {
+      this.path = path;
+      this.channel = channel;
+      this.stats = stats;
+      LOG.debug("Opened {} for reading", path);
+    }
+
+    /**
+     * Run a positional read on the shared channel.
+     */
+    public <T> T read(CheckedFunction<FileChannel, T, IOException> op)
+        throws IOException {
+      if (activeReads.getAndIncrement() > 0 && stats != null) {
+        // this read would have been serialized by the exclusive path
+        stats.incConcurrentReadCount();
+      }
+      try {
+        return op.apply(channel);
+      } finally {
+        activeReads.decrementAndGet();
+      }
+    }
+
+    public boolean isOpen() {
+      return channel.isOpen();
+    }
+
+    @VisibleForTesting
+    FileChannel getChannel() {
+      return channel;
+    }
+
+    private void closeChannel() {
+      try {
+        channel.close();
+        LOG.debug("Closed {}", path);
+      } catch (IOException e) {
+        LOG.warn("Failed to close {}", path, e);
+      }
+    }
+
+    /**
+     * Release one reference, closing the channel if it was the last one.
+     * Must be called exactly once per
+     * {@link SharedReadChannels#acquire}.
+     */
+    @Override
+    public void close() {
+      release(this);
+    }
+  }
+}
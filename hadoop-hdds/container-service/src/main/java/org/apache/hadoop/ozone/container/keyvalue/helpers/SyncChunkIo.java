@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+
+/**
+ * Blocking I/O done by the calling thread.
+ */
+final class SyncChunkIo implements ChunkIo {
+
+  @Override
+  public long write(FileChannel channel, ChunkBuffer data, long offset,
+      HddsVolume volume) throws IOException {
+    channel.position(offset);
+    return data.writeTo(channel);
+  }
+
+  @Override
+  public long read(FileChannel channel, ByteBuffer[] buffers, long offset,
+      HddsVolume volume) throws IOException {
+    return readFully(channel, buffers, offset);
+  }
+
+  static long readFully(FileChannel channel, ByteBuffer[] buffers,
+      long offset) throws IOException {
+    long readLen = 0;
+    for (ByteBuffer buffer : buffers) {
+      final long n = readFully(channel, buffer, offset + readLen);
+      readLen += n;
+      if (buffer.hasRemaining()) {
+        return readLen;
+      }
+    }
+    return readLen;
+  }
+
+  /** @return bytes read, less than remaining only at end of file */
+  static long readFully(FileChannel channel, ByteBuffer buffer, long offset)
+      throws IOException {
+    long readLen = 0;
+    while (buffer.hasRemaining()) {
+      final int n = channel.read(buffer, offset + readLen);
+      if (n < 0) {
+        break;
+      }
+      readLen += n;
+    }
+    return readLen;
+  }
+
+  /** Write the whole buffer at the given position. */
+  static long writeFully(FileChannel channel, ByteBuffer buffer, long offset)
+      throws IOException {
+    long written = 0;
+    while (buffer.hasRemaining()) {
+      written += channel.write(buffer, offset + written);
+    }
+    return written;
+  }
+
+  @Override
+  public String toString() {
+    return "SyncChunkIo";
+  }
+}
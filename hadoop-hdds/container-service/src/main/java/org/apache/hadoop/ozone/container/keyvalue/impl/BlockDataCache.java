@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Decoded {@link BlockData} keyed by container and local ID, bounded by the
+ * estimated heap size of the cached blocks.
+ * <p>
+ * Cached instances are shared by all readers and must not be modified.
+ */
+final class BlockDataCache {
+
+  /** Rough heap overhead of a BlockData with its BlockID and collections. */
+  private static final int BLOCK_OVERHEAD = 256;
+  /** Rough heap overhead of each ChunkInfo message and its checksums. */
+  private static final int CHUNK_OVERHEAD = 128;
+
+  private final Cache<Key, BlockData> cache;
+  private final ContainerMetrics metrics;
+  // incremented before each invalidation, see putIfAbsent
+  private final AtomicLong invalidations = new AtomicLong();
+
+  BlockDataCache(long maxSizeBytes, ContainerMetrics metrics) {
+    this.metrics = metrics;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(maxSizeBytes)
+        .weigher((Key key, BlockData data) -> estimateSize(data))
+        .<Key, BlockData>removalListener(notification -> {
+          if (notification.wasEvicted() && metrics != null) {
+            metrics.incBlockDataCacheEvictions();
+          }
+        })
+        .build();
+  }
+
+  BlockData get(long containerID, long localID) {
+    final BlockData data = cache.getIfPresent(new Key(containerID, localID));
+    if (metrics != null) {
+      if (data != null) {
+        metrics.incBlockDataCacheHits();
+      } else {
+        metrics.incBlockDataCacheMisses();
+      }
+    }
+    return data;
+  }
+
+  /**
+   * @return the generation to pass to
+   *         {@link #putIfAbsent(long, long, BlockData, long)}, taken before
+   *         reading the block from the DB
+   */
+  long getGeneration() {
+    return invalidations.get();
+  }
+
+  /**
+   * Cache a block read from the DB, unless it has been updated meanwhile,
+   * or anything was invalidated since the generation was taken: the block
+   * may have been read before a concurrent update or delete was committed,
+   * and invalidated before it is cached here.
+   */
+  void putIfAbsent(long containerID, long localID, BlockData data,
+      long generation) {
+    final Key key = new Key(containerID, localID);
+    if (cache.asMap().putIfAbsent(key, data) == null
+        && invalidations.get() != generation) {
+      cache.asMap().remove(key, data);
+    }
+  }
+
+  void invalidate(long containerID, long localID) {
+    invalidations.incrementAndGet();
+    cache.invalidate(new Key(containerID, localID));
+  }
+
+  void invalidateContainer(long containerID) {
+    invalidations.incrementAndGet();
+    cache.asMap().keySet().removeIf(key -> key.containerID == containerID);
+  }
+
+  void invalidateAll() {
+    invalidations.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.size();
+  }
+
+  @VisibleForTesting
+  static int estimateSize(BlockData data) {
+    long size = BLOCK_OVERHEAD;
+    for (ContainerProtos.ChunkInfo chunk : data.getChunks()) {
+      // in-memory messages are about twice the size of their encoding
+      size += CHUNK_OVERHEAD + 2L * chunk.getSerializedSize();
+    }
+    for (Map.Entry<String, String> entry : data.getMetadata().entrySet()) {
+      size += 2L * (entry.getKey().length() + entry.getValue().length());
+    }
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  private static final class Key {
+    private final long containerID;
+    private final long localID;
+
+    Key(long containerID, long localID) {
+      this.containerID = containerID;
+      this.localID = localID;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return containerID == other.containerID && localID == other.localID;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Long.hashCode(containerID) + Long.hashCode(localID);
+    }
+  }
+}
@@ -28,15 +28,20 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import org.apache.ratis.util.function.CheckedConsumer;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.BCSID_MISMATCH;
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.NO_SUCH_BLOCK;
 import org.slf4j.Logger;
@@ -59,6 +64,10 @@ public class BlockManagerImpl implements BlockManager {
   // Default Read Buffer capacity when Checksum is not present
   private final int defaultReadBufferCapacity;
   private final int readMappedBufferThreshold;
+  // Decoded blocks of closed containers, null if disabled
+  private final BlockDataCache blockDataCache;
+  // Group commit of PutBlocks to schema V3 DBs, null if disabled
+  private final PutBlockBatcher putBlockBatcher;
 
   /**
    * Constructs a Block Manager.
@@ -66,6 +75,16 @@ public class BlockManagerImpl implements BlockManager {
    * @param conf - Ozone configuration
    */
   public BlockManagerImpl(ConfigurationSource conf) {
+    this(conf, null);
+  }
+
+  /**
+   * Constructs a Block Manager.
+   *
+   * @param conf - Ozone configuration
+   * @param metrics - for block data cache statistics, may be null
+   */
+  public BlockManagerImpl(ConfigurationSource conf, ContainerMetrics metrics) {
     Preconditions.checkNotNull(conf, "Config cannot be null");
     this.config = conf;
     this.defaultReadBufferCapacity = config.getBufferSize(
@@ -74,6 +93,15 @@ public BlockManagerImpl(ConfigurationSource conf) {
     this.readMappedBufferThreshold = config.getBufferSize(
         ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY,
         ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_DEFAULT);
+    DatanodeConfiguration dnConf =
+        config.getObject(DatanodeConfiguration.class);
+    long blockDataCacheSize = dnConf.getBlockDataCacheSize();
+    this.blockDataCache = blockDataCacheSize > 0
+        ? new BlockDataCache(blockDataCacheSize, metrics) : null;
+    this.putBlockBatcher = dnConf.isPutBlockBatchEnabled()
+        ? new PutBlockBatcher(dnConf.getPutBlockBatchMaxSize(),
+            dnConf.getPutBlockBatchWindow(), metrics)
+        : null;
   }
 
   @Override
@@ -84,16 +112,29 @@ public long putBlock(Container container, BlockData data) throws IOException {
   @Override
   public long putBlock(Container container, BlockData data,
       boolean endOfBlock) throws IOException {
-    return persistPutBlock(
-        (KeyValueContainer) container,
-        data,
-        config,
-        endOfBlock);
+    try {
+      return persistPutBlock(
+          (KeyValueContainer) container,
+          data,
+          config,
+          endOfBlock,
+          putBlockBatcher);
+    } finally {
+      if (blockDataCache != null) {
+        blockDataCache.invalidate(data.getContainerID(), data.getLocalID());
+      }
+    }
   }
 
   public static long persistPutBlock(KeyValueContainer container,
       BlockData data, ConfigurationSource config, boolean endOfBlock)
       throws IOException {
+    return persistPutBlock(container, data, config, endOfBlock, null);
+  }
+
+  private static long persistPutBlock(KeyValueContainer container,
+      BlockData data, ConfigurationSource config, boolean endOfBlock,
+      PutBlockBatcher batcher) throws IOException {
     Preconditions.checkNotNull(data, "BlockData cannot be null for put " +
         "operation.");
     Preconditions.checkState(data.getContainerID() >= 0, "Container Id " +
@@ -133,22 +174,23 @@ public static long persistPutBlock(KeyValueContainer container,
       boolean isBlockInCache = container.isBlockInPendingPutBlockCache(localID);
       boolean incrBlockCount = false;
 
-      // update the blockData as well as BlockCommitSequenceId here
-      try (BatchOperation batch = db.getStore().getBatchHandler()
-          .initBatchOperation()) {
-
-        // If the block does not exist in the pendingPutBlockCache of the
-        // container, then check the DB to ascertain if it exists or not.
-        // If block exists in cache, blockCount should not be incremented.
-        if (!isBlockInCache) {
-          if (db.getStore().getBlockDataTable().get(
-              containerData.getBlockKey(localID)) == null) {
-            // Block does not exist in DB => blockCount needs to be
-            // incremented when the block is added into DB.
-            incrBlockCount = true;
-          }
+      // If the block does not exist in the pendingPutBlockCache of the
+      // container, then check the DB to ascertain if it exists or not.
+      // If block exists in cache, blockCount should not be incremented.
+      if (!isBlockInCache) {
+        if (db.getStore().getBlockDataTable().get(
+            containerData.getBlockKey(localID)) == null) {
+          // Block does not exist in DB => blockCount needs to be
+          // incremented when the block is added into DB.
+          incrBlockCount = true;
         }
+      }
 
+      // update the blockData as well as BlockCommitSequenceId here
+      final boolean newBlock = incrBlockCount;
+      final long bytesUsed = containerData.getBytesUsed();
+      final long blockCount = containerData.getBlockCount() + 1;
+      final CheckedConsumer<BatchOperation, IOException> update = batch -> {
         db.getStore().getBlockDataTable().putWithBatch(
             batch, containerData.getBlockKey(localID), data);
         if (bcsId != 0) {
@@ -163,17 +205,24 @@ public static long persistPutBlock(KeyValueContainer container,
         // is only used to compute the bytes used. This is done to keep the
         // current behavior and avoid DB write during write chunk operation.
         db.getStore().getMetadataTable().putWithBatch(
-            batch, containerData.getBytesUsedKey(),
-            containerData.getBytesUsed());
+            batch, containerData.getBytesUsedKey(), bytesUsed);
 
         // Set Block Count for a container.
-        if (incrBlockCount) {
+        if (newBlock) {
           db.getStore().getMetadataTable().putWithBatch(
-              batch, containerData.getBlockCountKey(),
-              containerData.getBlockCount() + 1);
+              batch, containerData.getBlockCountKey(), blockCount);
+        }
+      };
+
+      if (batcher != null && containerData.hasSchema(OzoneConsts.SCHEMA_V3)) {
+        // the volume DB is shared with other containers
+        batcher.write(db.getStore().getBatchHandler(), update);
+      } else {
+        try (BatchOperation batch = db.getStore().getBatchHandler()
+            .initBatchOperation()) {
+          update.accept(batch);
+          db.getStore().getBatchHandler().commitBatchOperation(batch);
         }
-
-        db.getStore().getBatchHandler().commitBatchOperation(batch);
       }
 
       if (bcsId != 0) {
@@ -212,19 +261,14 @@ public BlockData getBlock(Container container, BlockID blockID) throws IOExcepti
     KeyValueContainerData containerData = (KeyValueContainerData) container
         .getContainerData();
     long bcsId = blockID.getBlockCommitSequenceId();
-    try (DBHandle db = BlockUtils.getDB(containerData, config)) {
-      // This is a post condition that acts as a hint to the user.
-      // Should never fail.
-      Preconditions.checkNotNull(db, DB_NULL_ERR_MSG);
-      BlockData blockData = getBlockByID(db, blockID, containerData);
-      long id = blockData.getBlockID().getBlockCommitSequenceId();
-      if (id < bcsId) {
-        throw new StorageContainerException(
-            "bcsId " + bcsId + " mismatches with existing block Id "
-                + id + " for block " + blockID + ".", BCSID_MISMATCH);
-      }
-      return blockData;
+    BlockData blockData = readBlock(containerData, blockID);
+    long id = blockData.getBlockID().getBlockCommitSequenceId();
+    if (id < bcsId) {
+      throw new StorageContainerException(
+          "bcsId " + bcsId + " mismatches with existing block Id "
+              + id + " for block " + blockID + ".", BCSID_MISMATCH);
     }
+    return blockData;
   }
 
   @Override
@@ -232,13 +276,7 @@ public long getCommittedBlockLength(Container container, BlockID blockID)
       throws IOException {
     KeyValueContainerData containerData = (KeyValueContainerData) container
         .getContainerData();
-    try (DBHandle db = BlockUtils.getDB(containerData, config)) {
-      // This is a post condition that acts as a hint to the user.
-      // Should never fail.
-      Preconditions.checkNotNull(db, DB_NULL_ERR_MSG);
-      BlockData blockData = getBlockByID(db, blockID, containerData);
-      return blockData.getSize();
-    }
+    return readBlock(containerData, blockID).getSize();
   }
 
   @Override
@@ -267,6 +305,22 @@ public void deleteBlock(Container container, BlockID blockID) throws
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public void invalidateBlock(Container container, long localID) {
+    if (blockDataCache != null) {
+      blockDataCache.invalidate(
+          container.getContainerData().getContainerID(), localID);
+    }
+  }
+
+  @Override
+  public void releaseContainer(Container container) {
+    if (blockDataCache != null) {
+      blockDataCache.invalidateContainer(
+          container.getContainerData().getContainerID());
+    }
+  }
+
   @Override
   public List<BlockData> listBlock(Container container, long startLocalID, int
       count) throws IOException {
@@ -303,9 +357,56 @@ public List<BlockData> listBlock(Container container, long startLocalID, int
    */
   @Override
   public void shutdown() {
+    if (blockDataCache != null) {
+      blockDataCache.invalidateAll();
+    }
     BlockUtils.shutdownCache(config);
   }
 
+  @VisibleForTesting
+  BlockDataCache getBlockDataCache() {
+    return blockDataCache;
+  }
+
+  /**
+   * Blocks of closed containers are not written by clients anymore, only
+   * deleted, or rewritten by compaction, e.g. of PACKED_BLOCK containers.
+   * Both invalidate the cached blocks once the DB is updated, and a block
+   * read concurrently is not cached then, see
+   * {@link BlockDataCache#putIfAbsent}.  Schema V1 containers are excluded,
+   * since marking their blocks for deletion renames the block keys outside
+   * of the block manager.
+   */
+  private boolean isCacheable(KeyValueContainerData containerData) {
+    return blockDataCache != null
+        && (containerData.isClosed() || containerData.isQuasiClosed())
+        && !containerData.hasSchema(OzoneConsts.SCHEMA_V1);
+  }
+
+  private BlockData readBlock(KeyValueContainerData containerData,
+      BlockID blockID) throws IOException {
+    final boolean cacheable = isCacheable(containerData);
+    if (cacheable) {
+      BlockData cached = blockDataCache.get(containerData.getContainerID(),
+          blockID.getLocalID());
+      if (cached != null) {
+        return cached;
+      }
+    }
+    final long generation = cacheable ? blockDataCache.getGeneration() : 0;
+    try (DBHandle db = BlockUtils.getDB(containerData, config)) {
+      // This is a post condition that acts as a hint to the user.
+      // Should never fail.
+      Preconditions.checkNotNull(db, DB_NULL_ERR_MSG);
+      BlockData blockData = getBlockByID(db, blockID, containerData);
+      if (cacheable) {
+        blockDataCache.putIfAbsent(containerData.getContainerID(),
+            blockID.getLocalID(), blockData, generation);
+      }
+      return blockData;
+    }
+  }
+
   private BlockData getBlockByID(DBHandle db, BlockID blockID,
       KeyValueContainerData containerData) throws IOException {
     String blockKey = containerData.getBlockKey(blockID.getLocalID());
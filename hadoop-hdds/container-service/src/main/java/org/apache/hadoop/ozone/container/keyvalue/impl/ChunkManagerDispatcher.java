@@ -21,11 +21,14 @@
 import com.google.common.base.Preconditions;
 
 import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
 import org.apache.hadoop.ozone.container.common.volume.VolumeSet;
@@ -46,6 +49,7 @@
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.UNSUPPORTED_REQUEST;
 import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.FILE_PER_BLOCK;
 import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.FILE_PER_CHUNK;
+import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.PACKED_BLOCK;
 
 /**
  * Selects ChunkManager implementation to use for each chunk operation.
@@ -60,10 +64,33 @@ public class ChunkManagerDispatcher implements ChunkManager {
 
   ChunkManagerDispatcher(boolean sync, BlockManager manager,
                          VolumeSet volSet) {
+    this(sync, manager, volSet, new OzoneConfiguration());
+  }
+
+  ChunkManagerDispatcher(boolean sync, BlockManager manager,
+      VolumeSet volSet, ConfigurationSource conf) {
+    this(sync, manager, volSet, conf, null);
+  }
+
+  ChunkManagerDispatcher(boolean sync, BlockManager manager,
+      VolumeSet volSet, ConfigurationSource conf, ContainerMetrics metrics) {
+    this(sync, manager, volSet, new FilePerBlockStrategy(sync, manager,
+        volSet, conf.getObject(DatanodeConfiguration.class), metrics), conf);
+  }
+
+  /**
+   * @param blockFiles handles FILE_PER_BLOCK containers, and the block files
+   *                   of PACKED_BLOCK containers, so that both share its
+   *                   open files, read handles and read-ahead buffers
+   */
+  ChunkManagerDispatcher(boolean sync, BlockManager manager,
+      VolumeSet volSet, FilePerBlockStrategy blockFiles,
+      ConfigurationSource conf) {
     handlers.put(FILE_PER_CHUNK,
         new FilePerChunkStrategy(sync, manager, volSet));
-    handlers.put(FILE_PER_BLOCK,
-        new FilePerBlockStrategy(sync, manager, volSet));
+    handlers.put(FILE_PER_BLOCK, blockFiles);
+    handlers.put(PACKED_BLOCK,
+        new PackedBlockStrategy(blockFiles, manager, conf));
   }
 
   @Override
@@ -89,6 +116,11 @@ public StateMachine.DataChannel getStreamDataChannel(
             .getStreamDataChannel(container, blockID, metrics);
   }
 
+  @Override
+  public void compact(KeyValueContainer kvContainer) throws IOException {
+    selectHandler(kvContainer).compact(kvContainer);
+  }
+
   @Override
   public void finishWriteChunks(KeyValueContainer kvContainer,
       BlockData blockData) throws IOException {
@@ -138,6 +170,11 @@ public void deleteChunks(Container container, BlockData blockData)
     selectHandler(container).deleteChunks(container, blockData);
   }
 
+  @Override
+  public void releaseContainer(Container container) {
+    handlers.values().forEach(h -> h.releaseContainer(container));
+  }
+
   @Override
   public void shutdown() {
     handlers.values().forEach(ChunkManager::shutdown);
@@ -20,6 +20,8 @@
 
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.volume.VolumeSet;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
@@ -50,6 +52,18 @@ private ChunkManagerFactory() {
    */
   public static ChunkManager createChunkManager(ConfigurationSource conf,
       BlockManager manager, VolumeSet volSet) {
+    return createChunkManager(conf, manager, volSet, null);
+  }
+
+  /**
+   * Create a chunk manager.
+   * @param conf     Configuration
+   * @param manager  This parameter will be used only for read data of
+   *                 FILE_PER_CHUNK layout file. Can be null for other cases.
+   * @param metrics  for read-ahead statistics, may be null
+   */
+  public static ChunkManager createChunkManager(ConfigurationSource conf,
+      BlockManager manager, VolumeSet volSet, ContainerMetrics metrics) {
     boolean sync =
         conf.getBoolean(OzoneConfigKeys.HDDS_CONTAINER_CHUNK_WRITE_SYNC_KEY,
             OzoneConfigKeys.HDDS_CONTAINER_CHUNK_WRITE_SYNC_DEFAULT);
@@ -76,6 +90,10 @@ public static ChunkManager createChunkManager(ConfigurationSource conf,
       return new ChunkManagerDummyImpl();
     }
 
-    return new ChunkManagerDispatcher(sync, manager, volSet);
+    final FilePerBlockStrategy blockFiles = new FilePerBlockStrategy(sync,
+        manager, volSet, conf.getObject(DatanodeConfiguration.class),
+        metrics);
+    return new ChunkManagerDispatcher(sync, manager, volSet, blockFiles,
+        conf);
   }
 }
@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkIo;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.SharedReadChannels;
+import org.apache.hadoop.util.Time;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Detects sequential reads of block files and reads the following data
+ * ahead into a bounded pool of off-heap buffers, so that the next reads are
+ * served from memory.
+ * <p>
+ * A file is read sequentially if each read starts where the previous one
+ * ended.  From the second such read on, up to {@link #MAX_WINDOWS} windows
+ * following the last read are kept in flight.  Windows are discarded once
+ * read past, or when the reader seeks elsewhere.
+ * <p>
+ * Only files which are no longer written must be read ahead, since
+ * read-ahead data is not updated by writes.
+ */
+final class ChunkReadAhead {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ChunkReadAhead.class);
+
+  @VisibleForTesting
+  static final int MAX_WINDOWS = 2;
+  private static final Duration STREAM_IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+  private final int windowSize;
+  private final int maxBuffers;
+  private final AtomicInteger allocatedBuffers = new AtomicInteger();
+  private final BlockingQueue<ByteBuffer> freeBuffers;
+  private final ExecutorService executor;
+  private final ContainerMetrics metrics;
+  private final Cache<String, Stream> streams;
+
+  /**
+   * @param windowSize size of each read-ahead request
+   * @param poolSize total size of the read-ahead buffers
+   * @param threads number of threads doing read-ahead
+   * @param metrics for hit/miss statistics, may be null
+   */
+  ChunkReadAhead(long windowSize, long poolSize, int threads,
+      ContainerMetrics metrics) {
+    this.windowSize = Math.toIntExact(
+        Math.min(Integer.MAX_VALUE, Math.max(1, windowSize)));
+    this.maxBuffers = Math.toIntExact(
+        Math.min(Integer.MAX_VALUE, poolSize / this.windowSize));
+    this.freeBuffers = new ArrayBlockingQueue<>(Math.max(1, maxBuffers));
+    this.metrics = metrics;
+    this.executor = Executors.newFixedThreadPool(Math.max(1, threads),
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("ChunkReadAhead-%d")
+            .build());
+    final RemovalListener<String, Stream> onRemove =
+        event -> event.getValue().close();
+    this.streams = CacheBuilder.newBuilder()
+        .maximumSize(Math.max(16, 4L * maxBuffers))
+        .expireAfterAccess(STREAM_IDLE_TIMEOUT)
+        .removalListener(onRemove)
+        .build();
+  }
+
+  /**
+   * Serve the read from read-ahead data if possible, and read ahead of it
+   * if the file is being read sequentially.
+   *
+   * @return the data, or null if it has to be read from the file
+   */
+  ChunkBuffer read(File file, long offset, long len, HddsVolume volume) {
+    final Stream stream;
+    try {
+      stream = streams.get(file.getPath(), Stream::new);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e);
+    }
+
+    final boolean sequential;
+    final Window window;
+    synchronized (stream) {
+      if (stream.closed) {
+        return null;
+      }
+      sequential = offset == stream.nextOffset;
+      stream.nextOffset = offset + len;
+
+      window = stream.find(offset, len);
+      if (window != null) {
+        window.pins++;
+      } else if (!sequential) {
+        stream.discardAll();
+      }
+      if (window != null || sequential) {
+        stream.readAhead(file, offset + len, volume);
+      }
+    }
+    if (window == null) {
+      if (metrics != null && sequential) {
+        metrics.incReadAheadMisses();
+      }
+      return null;
+    }
+
+    // wait for the window without blocking other readers of the file
+    final ChunkBuffer data = window.copy(offset, (int) len);
+    synchronized (stream) {
+      if (data != null) {
+        window.used += len;
+      }
+      if (--window.pins == 0 && window.discarded) {
+        stream.release(window);
+      }
+      if (data == null) {
+        // failed or end of file
+        stream.discardAll();
+      }
+    }
+    if (metrics != null) {
+      if (data != null) {
+        metrics.incReadAheadHits();
+      } else if (sequential) {
+        metrics.incReadAheadMisses();
+      }
+    }
+    return data;
+  }
+
+  /** Discard read-ahead data of the file, e.g. when it is deleted. */
+  void invalidate(File file) {
+    streams.invalidate(file.getPath());
+  }
+
+  /** Discard read-ahead data of all files in the directory. */
+  void invalidateDirectory(String dir) {
+    final String prefix = dir + File.separator;
+    streams.invalidateAll(streams.asMap().keySet().stream()
+        .filter(path -> path.startsWith(prefix))
+        .collect(Collectors.toList()));
+  }
+
+  void shutdown() {
+    executor.shutdown();
+    streams.invalidateAll();
+  }
+
+  @VisibleForTesting
+  int getAllocatedBuffers() {
+    return allocatedBuffers.get();
+  }
+
+  @VisibleForTesting
+  int getFreeBuffers() {
+    return freeBuffers.size();
+  }
+
+  /** @return a buffer from the pool, or null if all are in use */
+  private ByteBuffer acquireBuffer() {
+    final ByteBuffer buffer = freeBuffers.poll();
+    if (buffer != null) {
+      return buffer;
+    }
+    if (allocatedBuffers.incrementAndGet() > maxBuffers) {
+      allocatedBuffers.decrementAndGet();
+      return null;
+    }
+    return ByteBuffer.allocateDirect(windowSize);
+  }
+
+  private void releaseBuffer(ByteBuffer buffer) {
+    buffer.clear();
+    if (!freeBuffers.offer(buffer)) {
+      allocatedBuffers.decrementAndGet();
+    }
+  }
+
+  private int load(File file, Window window, HddsVolume volume) {
+    final ByteBuffer buffer = window.buffer.duplicate();
+    buffer.limit(window.length);
+    final long startTime = Time.monotonicNow();
+    final long bytesRead;
+    try (SharedReadChannels.Handle handle =
+             ChunkUtils.acquireReadHandle(file, volume)) {
+      bytesRead = handle.read(channel -> ChunkIo.SYNC.read(
+          channel, new ByteBuffer[] {buffer}, window.offset, volume));
+    } catch (IOException e) {
+      LOG.debug("Failed to read ahead {} at offset {}", file, window.offset,
+          e);
+      throw new UncheckedIOException(e);
+    }
+    final VolumeIOStats stats = volume != null
+        ? volume.getVolumeIOStats() : null;
+    if (stats != null) {
+      stats.incReadTime(Time.monotonicNow() - startTime);
+      stats.incReadOpCount();
+      stats.incReadBytes(bytesRead);
+    }
+    if (metrics != null) {
+      metrics.incReadAheadBytes(bytesRead);
+    }
+    return (int) bytesRead;
+  }
+
+  /** State of the reader of a file. */
+  private final class Stream {
+    /** Windows in file order, guarded by this. */
+    private final Deque<Window> windows = new ArrayDeque<>(MAX_WINDOWS);
+    private long nextOffset = -1;
+    private boolean closed;
+
+    /** @return the window covering the range if read ahead, or null */
+    private Window find(long offset, long len) {
+      while (!windows.isEmpty() && windows.peekFirst().end() <= offset) {
+        discard(windows.pollFirst());
+      }
+      final Window window = windows.peekFirst();
+      return window != null && window.covers(offset, len) ? window : null;
+    }
+
+    /** Keep the windows following the given offset in flight. */
+    private void readAhead(File file, long offset, HddsVolume volume) {
+      if (windows.size() >= MAX_WINDOWS) {
+        return;
+      }
+      long start = windows.isEmpty() ? offset : windows.peekLast().end();
+      final long fileLength = file.length();
+      while (windows.size() < MAX_WINDOWS && start < fileLength) {
+        final ByteBuffer buffer = acquireBuffer();
+        if (buffer == null) {
+          return;
+        }
+        final Window window = new Window(start,
+            (int) Math.min(windowSize, fileLength - start), buffer);
+        try {
+          window.loaded = CompletableFuture.supplyAsync(
+              () -> load(file, window, volume), executor);
+        } catch (RejectedExecutionException e) {
+          // shutting down
+          releaseBuffer(buffer);
+          return;
+        }
+        windows.addLast(window);
+        start = window.end();
+      }
+    }
+
+    private void discardAll() {
+      while (!windows.isEmpty()) {
+        discard(windows.pollFirst());
+      }
+    }
+
+    /**
+     * Return the buffer of the window to the pool once loaded, and no
+     * longer being copied by readers.
+     */
+    private void discard(Window window) {
+      window.discarded = true;
+      if (window.pins == 0) {
+        release(window);
+      }
+    }
+
+    private void release(Window window) {
+      final long used = window.used;
+      window.loaded.whenComplete((bytesRead, e) -> {
+        if (metrics != null && bytesRead != null && bytesRead > used) {
+          metrics.incReadAheadWastedBytes(bytesRead - used);
+        }
+        releaseBuffer(window.buffer);
+      });
+    }
+
+    private synchronized void close() {
+      closed = true;
+      discardAll();
+    }
+  }
+
+  /** Part of a file being read ahead. */
+  private static final class Window {
+    private final long offset;
+    private final int length;
+    private final ByteBuffer buffer;
+    private CompletableFuture<Integer> loaded;
+    /** Bytes served from this window, guarded by the stream. */
+    private long used;
+    /** Readers copying from this window, guarded by the stream. */
+    private int pins;
+    /** Whether the window was removed from the stream. */
+    private boolean discarded;
+
+    Window(long offset, int length, ByteBuffer buffer) {
+      this.offset = offset;
+      this.length = length;
+      this.buffer = buffer;
+    }
+
+    long end() {
+      return offset + length;
+    }
+
+    boolean covers(long start, long len) {
+      return start >= offset && start + len <= end();
+    }
+
+    /**
+     * Wait for the window to be loaded.  The window must be pinned, so that
+     * its buffer is not reused meanwhile.
+     *
+     * @return a copy of the data, or null if it could not be loaded
+     */
+    ChunkBuffer copy(long start, int len) {
+      final int bytesRead;
+      try {
+        bytesRead = Uninterruptibles.getUninterruptibly(loaded);
+      } catch (ExecutionException e) {
+        return null;
+      }
+      final int position = (int) (start - offset);
+      if (position + len > bytesRead) {
+        return null;
+      }
+      final ByteBuffer source = buffer.duplicate();
+      source.position(position);
+      source.limit(position + len);
+      final ByteBuffer copy = ByteBuffer.allocate(len);
+      copy.put(source);
+      copy.flip();
+      return ChunkBuffer.wrap(copy);
+    }
+  }
+}
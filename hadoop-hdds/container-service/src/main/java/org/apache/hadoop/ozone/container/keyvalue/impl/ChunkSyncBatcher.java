@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.hadoop.util.Time;
+
+/**
+ * Group commit of chunk writes to the same volume: instead of syncing each
+ * write, writers queue the file they have written, and the files written
+ * by concurrent writers are synced together, see {@link GroupCommit}.
+ * Each file is synced once per batch, in the order of the writes.  Every
+ * writer returns only after its own file is synced, so callers see the
+ * same durability as with synchronous writes.  Callers must keep the file
+ * open until then.
+ */
+final class ChunkSyncBatcher {
+
+  private final int maxBatchSize;
+  private final long windowNanos;
+  private final Map<HddsVolume, Group> groups = new ConcurrentHashMap<>();
+
+  ChunkSyncBatcher(int maxBatchSize, Duration window) {
+    this.maxBatchSize = maxBatchSize;
+    this.windowNanos = window.toNanos();
+  }
+
+  /**
+   * Sync the data and metadata of the file written to, batched with
+   * concurrent writes to the same volume.
+   */
+  void sync(FileChannel channel, HddsVolume volume) throws IOException {
+    if (volume == null) {
+      channel.force(true);
+      return;
+    }
+    groups.computeIfAbsent(volume, Group::new).submit(new Pending(channel));
+  }
+
+  /**
+   * Writes pending to be synced on one volume.
+   */
+  private final class Group extends GroupCommit<Pending> {
+    private final VolumeIOStats stats;
+
+    Group(HddsVolume volume) {
+      super(maxBatchSize, windowNanos);
+      this.stats = volume.getVolumeIOStats();
+    }
+
+    @Override
+    protected void commit(List<Pending> batch) {
+      final long startTime = Time.monotonicNow();
+      // each file once, in the order of the writes
+      final Map<FileChannel, IOException> results = new LinkedHashMap<>();
+      for (Pending p : batch) {
+        results.put(p.channel, null);
+      }
+      try {
+        for (Map.Entry<FileChannel, IOException> entry : results.entrySet()) {
+          try {
+            entry.getKey().force(true);
+          } catch (IOException e) {
+            entry.setValue(e);
+          } catch (RuntimeException e) {
+            entry.setValue(new IOException("Failed to sync file", e));
+          }
+        }
+      } finally {
+        for (Pending p : batch) {
+          final IOException e = results.get(p.channel);
+          if (e != null) {
+            p.setFailure(
+                new IOException("Batched sync of chunk write failed", e));
+          }
+        }
+        if (stats != null) {
+          stats.incSyncRounds();
+          stats.incSyncedWrites(batch.size());
+          stats.incSyncTime(Time.monotonicNow() - startTime);
+        }
+      }
+    }
+  }
+
+  /**
+   * A write waiting for its file to be synced.
+   */
+  private static final class Pending extends GroupCommit.Entry {
+    private final FileChannel channel;
+
+    Pending(FileChannel channel) {
+      this.channel = channel;
+    }
+  }
+}
@@ -22,6 +22,7 @@
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.hdds.client.BlockID;
@@ -31,12 +32,18 @@
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.common.volume.VolumeSet;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkIo;
 import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.DirectIo;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.SharedReadChannels;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
@@ -53,15 +60,21 @@
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.UNSUPPORTED_REQUEST;
 import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.FILE_PER_BLOCK;
+import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.PACKED_BLOCK;
 import static org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext.WriteChunkStage.COMMIT_DATA;
 import static org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil.onFailure;
 import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.limitReadSize;
 import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.validateChunkForOverwrite;
 import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.verifyChunkFileExists;
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.wrapInStorageContainerException;
 
 /**
  * This class is for performing chunk related operations.
@@ -72,24 +85,57 @@ public class FilePerBlockStrategy implements ChunkManager {
       LoggerFactory.getLogger(FilePerBlockStrategy.class);
 
   private final boolean doSyncWrite;
-  private final OpenFiles files = new OpenFiles();
+  private final OpenFiles files;
+  private final ReadHandles readHandles;
   private final int defaultReadBufferCapacity;
   private final int readMappedBufferThreshold;
   private final VolumeSet volumeSet;
+  private final ChunkIo chunkIo;
+  // null if disabled
+  private final ChunkReadAhead readAhead;
+  // syncs the files of sync writes in batches, null if disabled
+  private final ChunkSyncBatcher syncBatcher;
 
   public FilePerBlockStrategy(boolean sync, BlockManager manager,
                               VolumeSet volSet) {
+    this(sync, manager, volSet, new DatanodeConfiguration());
+  }
+
+  public FilePerBlockStrategy(boolean sync, BlockManager manager,
+      VolumeSet volSet, DatanodeConfiguration dnConf) {
+    this(sync, manager, volSet, dnConf, null);
+  }
+
+  public FilePerBlockStrategy(boolean sync, BlockManager manager,
+      VolumeSet volSet, DatanodeConfiguration dnConf,
+      ContainerMetrics metrics) {
     doSyncWrite = sync;
     this.defaultReadBufferCapacity = manager == null ? 0 :
         manager.getDefaultReadBufferCapacity();
     this.readMappedBufferThreshold = manager == null ? 0
         : manager.getReadMappedBufferThreshold();
     this.volumeSet = volSet;
+    this.readHandles = new ReadHandles(dnConf.getReadHandleCacheSize(),
+        dnConf.getReadHandleCacheIdleTimeout());
+    this.chunkIo = ChunkIo.create(dnConf);
+    this.files = new OpenFiles(dnConf.isChunkWriteDirectIoEnabled());
+    this.readAhead = dnConf.isChunkReadAheadEnabled()
+        ? new ChunkReadAhead(dnConf.getChunkReadAheadSize(),
+            dnConf.getChunkReadAheadBufferPoolSize(),
+            dnConf.getChunkReadAheadThreads(), metrics)
+        : null;
+    this.syncBatcher = sync && dnConf.isChunkWriteSyncBatchEnabled()
+        ? new ChunkSyncBatcher(dnConf.getChunkWriteSyncBatchMaxSize(),
+            dnConf.getChunkWriteSyncBatchWindow())
+        : null;
   }
 
   private static void checkLayoutVersion(Container container) {
+    final ContainerLayoutVersion layout =
+        container.getContainerData().getLayoutVersion();
+    // blocks of PACKED_BLOCK containers are written the same way
     Preconditions.checkArgument(
-        container.getContainerData().getLayoutVersion() == FILE_PER_BLOCK);
+        layout == FILE_PER_BLOCK || layout == PACKED_BLOCK);
   }
 
   @Override
@@ -138,20 +184,37 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
         .getContainerData();
 
     final File chunkFile = getChunkFile(container, blockID);
-    long len = info.getLen();
-    long offset = info.getOffset();
-
     HddsVolume volume = containerData.getVolume();
 
-    FileChannel channel = null;
-    boolean overwrite;
+    final OpenFile openFile;
     try {
-      channel = files.getChannel(chunkFile, doSyncWrite);
-      overwrite = validateChunkForOverwrite(channel, info);
+      // with batched syncs, the file is synced after the write instead
+      openFile = files.get(chunkFile, doSyncWrite && syncBatcher == null,
+          volume);
     } catch (IOException e) {
       onFailure(volume);
       throw e;
     }
+    // keep the file open until synced, even if evicted meanwhile
+    final boolean overwrite;
+    try {
+      overwrite = writeChunk(openFile, chunkFile, info, data, stage, volume);
+    } finally {
+      openFile.release();
+    }
+
+    containerData.updateWriteStats(info.getLen(), overwrite);
+  }
+
+  /** @return whether the chunk was overwritten */
+  private boolean writeChunk(OpenFile openFile, File chunkFile,
+      ChunkInfo info, ChunkBuffer data,
+      DispatcherContext.WriteChunkStage stage, HddsVolume volume)
+      throws StorageContainerException {
+    final long len = info.getLen();
+    final long offset = info.getOffset();
+    final FileChannel channel = openFile.getChannel();
+    final boolean overwrite = validateChunkForOverwrite(channel, info);
 
     if (LOG.isDebugEnabled()) {
       LOG.debug("Writing chunk {} (overwrite: {}) in stage {} to file {}",
@@ -163,10 +226,26 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
       ChunkUtils.validateChunkSize(channel, info, chunkFile.getName());
     }
 
-    ChunkUtils
-        .writeData(channel, chunkFile.getName(), data, offset, len, volume);
+    if (openFile.isDirect()) {
+      // writes share the partial blocks at their ends
+      synchronized (openFile) {
+        ChunkUtils.writeDataDirect(channel, chunkFile.getName(), data,
+            offset, len, volume);
+      }
+    } else {
+      ChunkUtils.writeData(channel, chunkFile.getName(), data, offset, len,
+          volume, chunkIo);
+    }
 
-    containerData.updateWriteStats(len, overwrite);
+    if (syncBatcher != null) {
+      try {
+        syncBatcher.sync(channel, volume);
+      } catch (IOException e) {
+        onFailure(volume);
+        throw wrapInStorageContainerException(e);
+      }
+    }
+    return overwrite;
   }
 
   @Override
@@ -189,13 +268,35 @@ public ChunkBuffer readChunk(Container container, BlockID blockID,
     HddsVolume volume = containerData.getVolume();
 
     final File chunkFile = getChunkFile(container, blockID);
+    // block files of open containers may still be written
+    final boolean immutable = containerData.isClosed()
+        || containerData.isQuasiClosed();
+    return readData(chunkFile, info.getOffset(), info, volume, immutable);
+  }
 
-    final long len = info.getLen();
-    long offset = info.getOffset();
+  /**
+   * Read the chunk from the given file at the given offset, keeping the
+   * file open for further reads.
+   *
+   * @param immutable whether the file is no longer written, so it can be
+   *                  read ahead
+   */
+  ChunkBuffer readData(File file, long offset, ChunkInfo info,
+      HddsVolume volume, boolean immutable) throws StorageContainerException {
     int bufferCapacity =  ChunkManager.getBufferCapacityForChunkRead(info,
         defaultReadBufferCapacity);
-    return ChunkUtils.readData(len, bufferCapacity, chunkFile, offset, volume,
-        readMappedBufferThreshold);
+    // larger reads are memory mapped instead
+    if (readAhead != null && immutable
+        && info.getLen() <= readMappedBufferThreshold) {
+      final ChunkBuffer data = readAhead.read(file, offset, info.getLen(),
+          volume);
+      if (data != null) {
+        return data;
+      }
+    }
+    readHandles.keepOpen(file, volume);
+    return ChunkUtils.readData(info.getLen(), bufferCapacity, file, offset,
+        volume, readMappedBufferThreshold, chunkIo);
   }
 
   @Override
@@ -210,6 +311,25 @@ public void deleteChunks(Container container, BlockData blockData)
     deleteChunk(container, blockData.getBlockID(), null, false);
   }
 
+  @Override
+  public void releaseContainer(Container container) {
+    KeyValueContainerData containerData =
+        (KeyValueContainerData) container.getContainerData();
+    readHandles.invalidateContainer(containerData);
+    if (readAhead != null && containerData.getChunksPath() != null) {
+      readAhead.invalidateDirectory(containerData.getChunksPath());
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    readHandles.invalidateAll();
+    chunkIo.shutdown();
+    if (readAhead != null) {
+      readAhead.shutdown();
+    }
+  }
+
   @Override
   public void finishWriteChunks(KeyValueContainer container,
       BlockData blockData) throws IOException {
@@ -231,6 +351,11 @@ private void deleteChunk(Container container, BlockID blockID,
     Preconditions.checkNotNull(blockID, "Block ID cannot be null.");
 
     final File file = getChunkFile(container, blockID);
+    readHandles.invalidate(file,
+        container.getContainerData().getVolume());
+    if (readAhead != null) {
+      readAhead.invalidate(file);
+    }
 
     // if the chunk file does not exist, it might have already been deleted.
     // The call might be because of reapply of transactions on datanode
@@ -250,7 +375,8 @@ private void deleteChunk(Container container, BlockID blockID,
     LOG.info("Deleted block file: {}", file);
   }
 
-  private static File getChunkFile(Container container, BlockID blockID) throws StorageContainerException {
+  static File getChunkFile(Container container, BlockID blockID)
+      throws StorageContainerException {
     return FILE_PER_BLOCK.getChunkFile(container.getContainerData(), blockID, null);
   }
 
@@ -275,12 +401,26 @@ private static final class OpenFiles {
         .expireAfterAccess(Duration.ofMinutes(10))
         .removalListener(ON_REMOVE)
         .build();
+    private final boolean directIo;
+
+    OpenFiles(boolean directIo) {
+      this.directIo = directIo;
+    }
 
-    public FileChannel getChannel(File file, boolean sync)
+    /**
+     * @return the open file, which the caller must release once done
+     */
+    public OpenFile get(File file, boolean sync, HddsVolume volume)
         throws StorageContainerException {
       try {
-        return files.get(file.getPath(),
-            () -> open(file, sync)).getChannel();
+        while (true) {
+          final OpenFile openFile = files.get(file.getPath(),
+              () -> open(file, sync, directIo, volume));
+          if (openFile.retain()) {
+            return openFile;
+          }
+          // evicted meanwhile, open it again
+        }
       } catch (ExecutionException e) {
         if (e.getCause() instanceof IOException) {
           throw new UncheckedIOException((IOException) e.getCause());
@@ -290,9 +430,10 @@ public FileChannel getChannel(File file, boolean sync)
       }
     }
 
-    private static OpenFile open(File file, boolean sync) {
+    private static OpenFile open(File file, boolean sync, boolean directIo,
+        HddsVolume volume) {
       try {
-        return new OpenFile(file, sync);
+        return new OpenFile(file, sync, directIo, volume);
       } catch (FileNotFoundException e) {
         throw new UncheckedIOException(e);
       }
@@ -309,7 +450,7 @@ private static void close(String filename, OpenFile openFile) {
         if (LOG.isDebugEnabled()) {
           LOG.debug("Closing file {}", filename);
         }
-        openFile.close();
+        openFile.release();
       } else {
         if (LOG.isDebugEnabled()) {
           LOG.debug("File {} not open", filename);
@@ -318,27 +459,164 @@ private static void close(String filename, OpenFile openFile) {
     }
   }
 
-  private static final class OpenFile {
+  /**
+   * Per-volume LRU caches of block files open for reading.  A cached entry
+   * only holds a reference to the channel shared by concurrent readers
+   * (see {@link ChunkUtils#acquireReadHandle}), keeping it open between
+   * reads of the same block.
+   */
+  private static final class ReadHandles {
+
+    private final int maxSizePerVolume;
+    private final Duration idleTimeout;
+    private final Map<HddsVolume, Cache<String, SharedReadChannels.Handle>>
+        caches = new ConcurrentHashMap<>();
+
+    ReadHandles(int maxSizePerVolume, Duration idleTimeout) {
+      this.maxSizePerVolume = maxSizePerVolume;
+      this.idleTimeout = idleTimeout;
+    }
+
+    private boolean isEnabled() {
+      return maxSizePerVolume > 0;
+    }
+
+    private Cache<String, SharedReadChannels.Handle> getCache(
+        HddsVolume volume) {
+      return caches.computeIfAbsent(volume, v -> {
+        final VolumeIOStats stats = v.getVolumeIOStats();
+        final RemovalListener<String, SharedReadChannels.Handle> onRemove =
+            event -> {
+              if (event.wasEvicted() && stats != null) {
+                stats.incReadHandleCacheEvictions();
+              }
+              event.getValue().close();
+            };
+        return CacheBuilder.newBuilder()
+            .maximumSize(maxSizePerVolume)
+            .expireAfterAccess(idleTimeout)
+            .removalListener(onRemove)
+            .build();
+      });
+    }
+
+    /**
+     * Keep the file open until evicted or invalidated.  Failures are
+     * ignored here: the read itself reports them.
+     */
+    void keepOpen(File file, HddsVolume volume) {
+      if (!isEnabled() || volume == null) {
+        return;
+      }
+      final Cache<String, SharedReadChannels.Handle> cache = getCache(volume);
+      final VolumeIOStats stats = volume.getVolumeIOStats();
+      final String key = file.getPath();
+      final SharedReadChannels.Handle cached = cache.getIfPresent(key);
+      if (cached != null) {
+        if (cached.isOpen()) {
+          if (stats != null) {
+            stats.incReadHandleCacheHits();
+          }
+          return;
+        }
+        cache.invalidate(key);
+      }
+      try {
+        cache.get(key, () -> {
+          if (stats != null) {
+            stats.incReadHandleCacheMisses();
+          }
+          return ChunkUtils.acquireReadHandle(file, volume);
+        });
+      } catch (ExecutionException | UncheckedExecutionException e) {
+        LOG.debug("Failed to open {} for reading", file, e.getCause());
+      }
+    }
+
+    void invalidate(File file, HddsVolume volume) {
+      final Cache<String, SharedReadChannels.Handle> cache =
+          volume != null ? caches.get(volume) : null;
+      if (cache != null) {
+        cache.invalidate(file.getPath());
+      }
+    }
+
+    void invalidateContainer(KeyValueContainerData containerData) {
+      final HddsVolume volume = containerData.getVolume();
+      final Cache<String, SharedReadChannels.Handle> cache =
+          volume != null ? caches.get(volume) : null;
+      if (cache == null || containerData.getChunksPath() == null) {
+        return;
+      }
+      final String prefix = containerData.getChunksPath() + File.separator;
+      cache.invalidateAll(cache.asMap().keySet().stream()
+          .filter(path -> path.startsWith(prefix))
+          .collect(Collectors.toList()));
+    }
 
-    private final RandomAccessFile file;
+    void invalidateAll() {
+      caches.values().forEach(Cache::invalidateAll);
+    }
+  }
+
+  /**
+   * A block file open for writing, either with direct I/O or through the
+   * page cache, never both.  The file is closed once removed from the
+   * cache and released by all writers, so that it stays open until their
+   * batched syncs are done.
+   */
+  private static final class OpenFile {
 
-    private OpenFile(File file, boolean sync) throws FileNotFoundException {
-      String mode = sync ? "rws" : "rw";
-      this.file = new RandomAccessFile(file, mode);
+    private final FileChannel channel;
+    private final boolean direct;
+    // held by the cache and by each writer
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private OpenFile(File file, boolean sync, boolean directIo,
+        HddsVolume volume) throws FileNotFoundException {
+      final FileChannel directChannel = directIo
+          ? DirectIo.openForWrite(file, sync, volume) : null;
+      if (directChannel != null) {
+        this.channel = directChannel;
+        this.direct = true;
+      } else {
+        String mode = sync ? "rws" : "rw";
+        this.channel = new RandomAccessFile(file, mode).getChannel();
+        this.direct = false;
+      }
       if (LOG.isDebugEnabled()) {
-        LOG.debug("Opened file {}", file);
+        LOG.debug("Opened file {} (direct: {})", file, direct);
       }
     }
 
     public FileChannel getChannel() {
-      return file.getChannel();
+      return channel;
     }
 
-    public void close() {
-      try {
-        file.close();
-      } catch (IOException e) {
-        throw new UncheckedIOException(e);
+    public boolean isDirect() {
+      return direct;
+    }
+
+    /** @return whether the file was retained, false if already closed */
+    boolean retain() {
+      while (true) {
+        final int n = references.get();
+        if (n == 0) {
+          return false;
+        }
+        if (references.compareAndSet(n, n + 1)) {
+          return true;
+        }
+      }
+    }
+
+    void release() {
+      if (references.decrementAndGet() == 0) {
+        try {
+          channel.close();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
       }
     }
   }
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit: writers queue entries, and the entries of concurrent
+ * writers are committed together.
+ * <p>
+ * A writer which finds no commit in progress becomes the leader: it
+ * optionally waits up to the window for more entries, and commits the
+ * queued ones (up to the max batch size).  Writers arriving meanwhile are
+ * queued for the next batch.  Every writer returns only after its own entry
+ * is committed, so callers see the same semantics as with separate commits.
+ *
+ * @param <E> type of the entries
+ */
+abstract class GroupCommit<E extends GroupCommit.Entry> {
+
+  private final int maxBatchSize;
+  private final long windowNanos;
+  private List<E> queue = new ArrayList<>();
+  private boolean committing;
+
+  GroupCommit(int maxBatchSize, long windowNanos) {
+    this.maxBatchSize = Math.max(1, maxBatchSize);
+    this.windowNanos = windowNanos;
+  }
+
+  /**
+   * Commit the entries of the batch, in queue order, and set the failure of
+   * each entry which failed.
+   */
+  protected abstract void commit(List<E> batch);
+
+  /**
+   * Queue the entry and wait until it is committed, by this thread or by
+   * another writer.
+   *
+   * @throws IOException if the entry failed to commit
+   */
+  final void submit(E queued) throws IOException {
+    final Entry entry = queued;
+    // the entry may already be part of a batch being committed, so it
+    // cannot be withdrawn; wait for the commit and restore the interrupt
+    boolean interrupted = false;
+    try {
+      synchronized (this) {
+        queue.add(queued);
+        if (queue.size() >= maxBatchSize) {
+          notifyAll();
+        }
+      }
+      while (true) {
+        final List<E> batch;
+        synchronized (this) {
+          while (committing && !entry.done) {
+            try {
+              wait();
+            } catch (InterruptedException e) {
+              interrupted = true;
+            }
+          }
+          if (entry.done) {
+            break;
+          }
+          committing = true;
+          interrupted |= awaitWindow();
+          batch = takeBatch();
+        }
+        commitAndNotify(batch);
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (entry.failure != null) {
+      throw entry.failure;
+    }
+  }
+
+  /** Take up to max batch size entries from the head of the queue. */
+  private List<E> takeBatch() {
+    if (queue.size() <= maxBatchSize) {
+      final List<E> batch = queue;
+      queue = new ArrayList<>();
+      return batch;
+    }
+    final List<E> head = queue.subList(0, maxBatchSize);
+    final List<E> batch = new ArrayList<>(head);
+    head.clear();
+    return batch;
+  }
+
+  /**
+   * Wait for more entries to batch, up to the window.
+   * @return whether the thread was interrupted
+   */
+  private boolean awaitWindow() {
+    long remaining = windowNanos;
+    final long deadline = System.nanoTime() + remaining;
+    while (remaining > 0 && queue.size() < maxBatchSize) {
+      try {
+        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+      } catch (InterruptedException e) {
+        return true;
+      }
+      remaining = deadline - System.nanoTime();
+    }
+    return false;
+  }
+
+  private void commitAndNotify(List<E> batch) {
+    try {
+      commit(batch);
+    } catch (RuntimeException e) {
+      for (Entry entry : batch) {
+        if (entry.failure == null) {
+          entry.setFailure(new IOException("Failed to commit batch", e));
+        }
+      }
+    } finally {
+      synchronized (this) {
+        for (Entry entry : batch) {
+          entry.done = true;
+        }
+        committing = false;
+        notifyAll();
+      }
+    }
+  }
+
+  /**
+   * An entry waiting for its batch to be committed.
+   */
+  static class Entry {
+    // guarded by the group commit
+    private boolean done;
+    // set by the committing thread before done
+    private IOException failure;
+
+    void setFailure(IOException failure) {
+      this.failure = failure;
+    }
+  }
+}
@@ -0,0 +1,499 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.interfaces.BlockIterator;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.PackedExtent;
+import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
+import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.ratis.statemachine.StateMachine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.limitReadSize;
+import static org.apache.hadoop.ozone.container.keyvalue.impl.FilePerBlockStrategy.getChunkFile;
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.wrapInStorageContainerException;
+
+/**
+ * Chunk manager for the PACKED_BLOCK layout.
+ * <p>
+ * Blocks are written to their own file, exactly like with FILE_PER_BLOCK.
+ * Once the container is closed, blocks up to a configured size are appended
+ * to the container's segment files ({@code <id>.segment} in the chunks
+ * directory), and their {@link PackedExtent} is recorded in the block
+ * metadata in the container DB.  This saves a file (and an open and a seek
+ * on read) per small block.
+ * <p>
+ * Deleted blocks leave dead space in the segments.  After blocks are
+ * deleted, segments with too much dead space are rewritten with only the
+ * live blocks.
+ * <p>
+ * Files are only ever replaced after the DB points to their replacement:
+ * new segments are synced before the DB update is committed, and the old
+ * files are deleted after.  Readers which looked up a block before the
+ * update find the old file gone, and look the block up again.  Compaction
+ * is done by the container compaction service, off the write path.
+ */
+public class PackedBlockStrategy implements ChunkManager {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(PackedBlockStrategy.class);
+  // a block is moved at most once per compaction step
+  private static final int MAX_READ_ATTEMPTS = 3;
+
+  private final FilePerBlockStrategy blockFiles;
+  private final BlockManager blockManager;
+  private final ConfigurationSource conf;
+  private final long maxPackedBlockSize;
+  private final long segmentSize;
+  private final double deadRatio;
+
+  /**
+   * @param blockFiles reads and writes the block files, shared with
+   *                   FILE_PER_BLOCK containers
+   */
+  public PackedBlockStrategy(FilePerBlockStrategy blockFiles,
+      BlockManager manager, ConfigurationSource conf) {
+    final DatanodeConfiguration dnConf =
+        conf.getObject(DatanodeConfiguration.class);
+    this.blockFiles = blockFiles;
+    this.blockManager = manager;
+    this.conf = conf;
+    this.maxPackedBlockSize = dnConf.getPackedBlockMaxSize();
+    this.segmentSize = dnConf.getPackedSegmentSize();
+    this.deadRatio = dnConf.getPackedSegmentDeadRatio();
+  }
+
+  @Override
+  public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
+      ChunkBuffer data, DispatcherContext dispatcherContext)
+      throws StorageContainerException {
+    blockFiles.writeChunk(container, blockID, info, data, dispatcherContext);
+  }
+
+  @Override
+  public String streamInit(Container container, BlockID blockID)
+      throws StorageContainerException {
+    return blockFiles.streamInit(container, blockID);
+  }
+
+  @Override
+  public StateMachine.DataChannel getStreamDataChannel(Container container,
+      BlockID blockID, ContainerMetrics metrics)
+      throws StorageContainerException {
+    return blockFiles.getStreamDataChannel(container, blockID, metrics);
+  }
+
+  @Override
+  public void finishWriteChunks(KeyValueContainer container,
+      BlockData blockData) throws IOException {
+    blockFiles.finishWriteChunks(container, blockData);
+  }
+
+  @Override
+  public void deleteChunk(Container container, BlockID blockID,
+      ChunkInfo info) throws StorageContainerException {
+    blockFiles.deleteChunk(container, blockID, info);
+  }
+
+  @Override
+  public void releaseContainer(Container container) {
+    blockFiles.releaseContainer(container);
+  }
+
+  @Override
+  public ChunkBuffer readChunk(Container container, BlockID blockID,
+      ChunkInfo info, DispatcherContext dispatcherContext)
+      throws StorageContainerException {
+    final KeyValueContainerData containerData =
+        (KeyValueContainerData) container.getContainerData();
+    // blocks are only packed after the container is closed
+    if (blockManager == null || info.getLen() <= 0
+        || containerData.isOpen() || containerData.isClosing()) {
+      return blockFiles.readChunk(container, blockID, info,
+          dispatcherContext);
+    }
+
+    limitReadSize(info.getLen());
+    final File chunkDir = new File(containerData.getChunksPath());
+    for (int attempt = 1;; attempt++) {
+      final PackedExtent extent = PackedExtent.of(getBlock(container, blockID));
+      final File file = extent == null ? getChunkFile(container, blockID)
+          : extent.getSegmentFile(chunkDir);
+      try {
+        if (extent == null) {
+          return blockFiles.readChunk(container, blockID, info,
+              dispatcherContext);
+        }
+        // segments are never modified once written
+        return blockFiles.readData(file,
+            extent.getOffset() + info.getOffset(), info,
+            containerData.getVolume(), true);
+      } catch (StorageContainerException e) {
+        if (attempt >= MAX_READ_ATTEMPTS || file.exists()) {
+          throw e;
+        }
+        // moved by a concurrent compaction, look the block up again, it
+        // may have been cached before it was moved
+        LOG.debug("{} of block {} was removed, retrying", file, blockID);
+        blockManager.invalidateBlock(container, blockID.getLocalID());
+      }
+    }
+  }
+
+  private BlockData getBlock(Container container, BlockID blockID)
+      throws StorageContainerException {
+    try {
+      return blockManager.getBlock(container, blockID);
+    } catch (StorageContainerException e) {
+      throw e;
+    } catch (IOException e) {
+      throw wrapInStorageContainerException(e);
+    }
+  }
+
+  @Override
+  public void deleteChunks(Container container, BlockData blockData)
+      throws StorageContainerException {
+    if (PackedExtent.of(blockData) == null) {
+      blockFiles.deleteChunks(container, blockData);
+    }
+    // packed blocks are removed from segments by compaction
+  }
+
+  /**
+   * Pack small blocks and rewrite segments with too much dead space.
+   * Only closed containers are compacted, since blocks of other containers
+   * may still change.
+   * <p>
+   * The blocks to move are found under the container read lock, then each
+   * new segment is written and committed under the write lock, which is
+   * released in between.  Blocks deleted meanwhile are skipped.  Files left
+   * behind by an interrupted compaction (segments not referenced by the DB,
+   * block files of packed blocks) are removed.
+   */
+  @Override
+  public void compact(KeyValueContainer container) throws IOException {
+    final KeyValueContainerData containerData = container.getContainerData();
+    final File chunkDir = new File(containerData.getChunksPath());
+    final Plan plan;
+    container.readLock();
+    try {
+      if (!containerData.isClosed()) {
+        return;
+      }
+      plan = plan(container, chunkDir);
+    } finally {
+      container.readUnlock();
+    }
+    if (plan.isEmpty()) {
+      return;
+    }
+
+    long segmentId = plan.firstSegment;
+    int next = 0;
+    while (next < plan.toMove.size()) {
+      container.writeLock();
+      try {
+        if (!containerData.isClosed()) {
+          // e.g. marked unhealthy, the next compaction starts over
+          return;
+        }
+        next = moveSegment(container, chunkDir, plan.toMove, next,
+            segmentId++);
+      } finally {
+        container.writeUnlock();
+      }
+    }
+
+    container.writeLock();
+    try {
+      if (!containerData.isClosed()) {
+        return;
+      }
+      // no block refers to these files anymore
+      releaseCaches(container);
+      for (File file : plan.orphans) {
+        Files.deleteIfExists(file.toPath());
+      }
+      for (long id : plan.obsolete) {
+        Files.deleteIfExists(
+            PackedExtent.getSegmentFile(chunkDir, id).toPath());
+      }
+    } finally {
+      container.writeUnlock();
+    }
+    LOG.info("Compacted container {}: packed {} blocks, removed {} segments "
+            + "and {} orphan block files", containerData.getContainerID(),
+        plan.unpacked, plan.obsolete.size(), plan.orphans.size());
+  }
+
+  /**
+   * Find the blocks to move: small blocks not packed yet, and blocks of
+   * segments with too much dead space.
+   */
+  private Plan plan(KeyValueContainer container, File chunkDir)
+      throws IOException {
+    final KeyValueContainerData containerData = container.getContainerData();
+    final NavigableMap<Long, Long> segments = listSegments(chunkDir);
+    final Map<Long, Long> liveBytes = new HashMap<>();
+    final Map<Long, List<BlockData>> packed = new HashMap<>();
+    final Plan plan = new Plan(segments.isEmpty() ? 1
+        : segments.lastKey() + 1);
+
+    try (DBHandle db = BlockUtils.getDB(containerData, conf);
+         BlockIterator<BlockData> blocks = db.getStore()
+             .getBlockIterator(containerData.getContainerID())) {
+      while (blocks.hasNext()) {
+        final BlockData block = blocks.nextBlock();
+        final PackedExtent extent = PackedExtent.of(block);
+        final File blockFile = getChunkFile(container, block.getBlockID());
+        if (extent != null) {
+          liveBytes.merge(extent.getSegmentId(), extent.getLength(),
+              Long::sum);
+          packed.computeIfAbsent(extent.getSegmentId(),
+              k -> new ArrayList<>()).add(block);
+          if (blockFile.exists()) {
+            // packed, but not deleted before a restart
+            plan.orphans.add(blockFile);
+          }
+        } else {
+          final long length = blockFile.length();
+          if (length > 0 && length <= maxPackedBlockSize) {
+            plan.toMove.add(block);
+            plan.unpacked++;
+          }
+        }
+      }
+    }
+
+    for (Map.Entry<Long, Long> segment : segments.entrySet()) {
+      final long id = segment.getKey();
+      final long length = segment.getValue();
+      final long live = liveBytes.getOrDefault(id, 0L);
+      // segments without live blocks include the ones written by an
+      // interrupted compaction, which are not referenced by the DB
+      if (live == 0 || length - live >= deadRatio * length) {
+        plan.obsolete.add(id);
+        plan.toMove.addAll(packed.getOrDefault(id, Collections.emptyList()));
+      }
+    }
+    return plan;
+  }
+
+  /**
+   * Move blocks to a new segment, starting from the given one, as long as
+   * they fit in the segment.  Blocks deleted or moved since planning are
+   * skipped.  Must be called with the container write lock held.
+   *
+   * @return index of the first block not moved
+   */
+  private int moveSegment(KeyValueContainer container, File chunkDir,
+      List<BlockData> toMove, int next, long segmentId) throws IOException {
+    final KeyValueContainerData containerData = container.getContainerData();
+    final List<File> packedFiles = new ArrayList<>();
+    int i = next;
+    try (DBHandle db = BlockUtils.getDB(containerData, conf);
+         SegmentWriter writer = new SegmentWriter(chunkDir, segmentId);
+         BatchOperation batch =
+             db.getStore().getBatchHandler().initBatchOperation()) {
+      final Table<String, BlockData> blockTable =
+          db.getStore().getBlockDataTable();
+      for (; i < toMove.size(); i++) {
+        final BlockData planned = toMove.get(i);
+        final String key = containerData.getBlockKey(planned.getLocalID());
+        final BlockData block = blockTable.get(key);
+        final PackedExtent source = PackedExtent.of(planned);
+        if (block == null
+            || !Objects.equals(source, PackedExtent.of(block))) {
+          continue;
+        }
+        final File file;
+        final long offset;
+        final long length;
+        if (source == null) {
+          file = getChunkFile(container, block.getBlockID());
+          offset = 0;
+          length = file.length();
+        } else {
+          file = source.getSegmentFile(chunkDir);
+          offset = source.getOffset();
+          length = source.getLength();
+        }
+        if (!writer.fits(length)) {
+          break;
+        }
+        blockTable.putWithBatch(batch, key,
+            writer.append(file, offset, length).applyTo(block));
+        if (source == null) {
+          packedFiles.add(file);
+        }
+      }
+      // the DB must only point to synced segments
+      writer.finish();
+      db.getStore().getBatchHandler().commitBatchOperation(batch);
+    }
+
+    releaseCaches(container);
+    for (File file : packedFiles) {
+      Files.deleteIfExists(file.toPath());
+    }
+    return i;
+  }
+
+  private void releaseCaches(KeyValueContainer container) {
+    if (blockManager != null) {
+      blockManager.releaseContainer(container);
+    }
+    blockFiles.releaseContainer(container);
+  }
+
+  /**
+   * @return length of each segment file by segment ID
+   */
+  @VisibleForTesting
+  static NavigableMap<Long, Long> listSegments(File chunkDir) {
+    final NavigableMap<Long, Long> segments = new TreeMap<>();
+    final File[] files = chunkDir.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        final long id = PackedExtent.getSegmentId(file.getName());
+        if (id >= 0 && file.isFile()) {
+          segments.put(id, file.length());
+        }
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * Blocks to move by a compaction, and files to remove after.
+   */
+  private static final class Plan {
+    private final long firstSegment;
+    private final List<BlockData> toMove = new ArrayList<>();
+    private final List<Long> obsolete = new ArrayList<>();
+    private final List<File> orphans = new ArrayList<>();
+    private int unpacked;
+
+    Plan(long firstSegment) {
+      this.firstSegment = firstSegment;
+    }
+
+    boolean isEmpty() {
+      return toMove.isEmpty() && obsolete.isEmpty() && orphans.isEmpty();
+    }
+  }
+
+  /**
+   * Appends blocks to a new segment file, which is only created with the
+   * first block.
+   */
+  private final class SegmentWriter implements Closeable {
+    private final File file;
+    private final long segmentId;
+    private FileChannel channel;
+    private long position;
+
+    SegmentWriter(File chunkDir, long segmentId) {
+      this.file = PackedExtent.getSegmentFile(chunkDir, segmentId);
+      this.segmentId = segmentId;
+    }
+
+    /** @return whether a block of the given length fits in the segment */
+    boolean fits(long length) {
+      return position == 0 || position + length <= segmentSize;
+    }
+
+    PackedExtent append(File source, long offset, long length)
+        throws IOException {
+      if (channel == null) {
+        channel = FileChannel.open(file.toPath(),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+      }
+      try (FileChannel in = FileChannel.open(source.toPath(),
+          StandardOpenOption.READ)) {
+        long copied = 0;
+        while (copied < length) {
+          final long n = in.transferTo(offset + copied, length - copied,
+              channel);
+          if (n <= 0) {
+            throw new EOFException("Unexpected end of " + source + " at "
+                + (offset + copied) + ", expected length " + length);
+          }
+          copied += n;
+        }
+      }
+      final PackedExtent extent =
+          new PackedExtent(segmentId, position, length);
+      position += length;
+      return extent;
+    }
+
+    /** Sync and close the segment. */
+    void finish() throws IOException {
+      if (channel != null) {
+        try {
+          channel.force(true);
+        } finally {
+          channel.close();
+          channel = null;
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      finish();
+    }
+  }
+}
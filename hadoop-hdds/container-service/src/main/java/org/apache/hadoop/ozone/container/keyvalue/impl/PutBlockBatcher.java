@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.BatchOperationHandler;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.ratis.util.function.CheckedConsumer;
+
+/**
+ * Group commit of PutBlock updates to DBs shared by many containers, i.e.
+ * the per-volume DB of schema V3 containers.
+ * <p>
+ * The updates of concurrent writers to the same DB are committed in a
+ * single batch, see {@link GroupCommit}.  A batch which fails to commit is
+ * retried update by update, so only the failing updates are reported.
+ */
+final class PutBlockBatcher {
+
+  private final int maxBatchSize;
+  private final long windowNanos;
+  private final ContainerMetrics metrics;
+  // weak keys to not keep closed DBs around
+  private final Cache<BatchOperationHandler, Group> groups =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  PutBlockBatcher(int maxBatchSize, Duration window,
+      ContainerMetrics metrics) {
+    this.maxBatchSize = maxBatchSize;
+    this.windowNanos = window.toNanos();
+    this.metrics = metrics;
+  }
+
+  /**
+   * Apply the update to the DB, batched with concurrent updates.  If the
+   * batch fails, its updates are retried individually, so the update may
+   * be applied to more than one batch; it must only add writes.
+   *
+   * @param db handler of the DB to write to
+   * @param update adds the writes to the batch, must not read from it
+   */
+  void write(BatchOperationHandler db,
+      CheckedConsumer<BatchOperation, IOException> update)
+      throws IOException {
+    final Group group;
+    try {
+      group = groups.get(db, () -> new Group(db));
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e);
+    }
+    group.submit(new Pending(update));
+  }
+
+  /**
+   * Updates pending for one DB.
+   */
+  private final class Group extends GroupCommit<Pending> {
+    private final BatchOperationHandler db;
+
+    Group(BatchOperationHandler db) {
+      super(maxBatchSize, windowNanos);
+      this.db = db;
+    }
+
+    @Override
+    protected void commit(List<Pending> batch) {
+      try {
+        commitOrRetry(batch);
+      } finally {
+        final long now = System.nanoTime();
+        if (metrics != null) {
+          metrics.addPutBlockBatchSize(batch.size());
+          for (Pending p : batch) {
+            metrics.addPutBlockBatchLatency(now - p.startNanos);
+          }
+        }
+      }
+    }
+
+    /**
+     * Commit the batch.  If that fails, commit its updates one by one, so
+     * that a failing update (e.g. of another container) fails only itself.
+     */
+    private void commitOrRetry(List<Pending> batch) {
+      final IOException failure = tryCommit(batch);
+      if (failure == null) {
+        return;
+      }
+      if (batch.size() == 1) {
+        batch.get(0).fail(failure);
+        return;
+      }
+      for (Pending p : batch) {
+        final IOException e = tryCommit(Collections.singletonList(p));
+        if (e != null) {
+          p.fail(e);
+        }
+      }
+    }
+
+    private IOException tryCommit(List<Pending> batch) {
+      try (BatchOperation operation = db.initBatchOperation()) {
+        for (Pending p : batch) {
+          p.update.accept(operation);
+        }
+        db.commitBatchOperation(operation);
+        return null;
+      } catch (IOException e) {
+        return e;
+      } catch (RuntimeException e) {
+        return new IOException("Failed to commit batched PutBlock", e);
+      }
+    }
+  }
+
+  /**
+   * An update waiting for its batch to be committed.
+   */
+  private static final class Pending extends GroupCommit.Entry {
+    private final CheckedConsumer<BatchOperation, IOException> update;
+    private final long startNanos = System.nanoTime();
+
+    Pending(CheckedConsumer<BatchOperation, IOException> update) {
+      this.update = update;
+    }
+
+    void fail(IOException e) {
+      setFailure(new IOException("Batched PutBlock commit failed", e));
+    }
+  }
+}
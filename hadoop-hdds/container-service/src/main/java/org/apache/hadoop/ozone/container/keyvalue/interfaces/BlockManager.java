@@ -69,6 +69,26 @@ long putBlock(Container container, BlockData data, boolean endOfBlock)
    */
   void deleteBlock(Container container, BlockID blockID) throws IOException;
 
+  /**
+   * Drop any cached state of a block which is being deleted.
+   *
+   * @param container - Container of the block.
+   * @param localID - Local ID of the block.
+   */
+  default void invalidateBlock(Container container, long localID) {
+    // if applicable
+  }
+
+  /**
+   * Drop any cached state of the container's blocks, e.g. when the
+   * container is deleted.
+   *
+   * @param container - Container being released.
+   */
+  default void releaseContainer(Container container) {
+    // if applicable
+  }
+
   /**
    * List blocks in a container.
    *
@@ -101,6 +101,23 @@ default void shutdown() {
     // if applicable
   }
 
+  /**
+   * Release resources (e.g. open files) held for the container.  Called
+   * when the container is closed or deleted.
+   */
+  default void releaseContainer(Container container) {
+    // if applicable
+  }
+
+  /**
+   * Reorganize the files of a closed container, e.g. to reclaim the space
+   * of deleted blocks, if applicable for the layout.  Called without the
+   * container lock, which is taken for each step of the compaction.
+   */
+  default void compact(KeyValueContainer kvContainer) throws IOException {
+    // if applicable
+  }
+
   default void finishWriteChunks(KeyValueContainer kvContainer,
       BlockData blockData) throws IOException {
     // no-op
@@ -38,6 +38,7 @@
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.BlockDeletingServiceMetrics;
 import org.apache.hadoop.ozone.container.common.impl.BlockDeletingService;
+import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
 import org.apache.hadoop.ozone.container.common.interfaces.Handler;
@@ -133,6 +134,12 @@ public BackgroundTaskResult call() throws Exception {
       blocksToDelete -= crr.getSize();
       result.addAll(crr.getDeletedBlocks());
     }
+    if (result.getSize() > 0 && containerData.getLayoutVersion()
+        == ContainerLayoutVersion.PACKED_BLOCK) {
+      // reclaim the space of the deleted blocks in the background
+      ozoneContainer.getContainerSet().addCompactionCandidate(
+          containerData.getContainerID());
+    }
     return result;
   }
 
@@ -196,6 +203,7 @@ public ContainerBackgroundTaskResult deleteViaSchema1(
       }
 
       List<String> succeedBlocks = new LinkedList<>();
+      List<Long> succeedLocalIDs = new ArrayList<>();
       LOG.debug("Container : {}, To-Delete blocks : {}",
           containerData.getContainerID(), toDeleteBlocks.size());
 
@@ -217,6 +225,7 @@ public ContainerBackgroundTaskResult deleteViaSchema1(
           releasedBytes += KeyValueContainerUtil.getBlockLength(
               entry.getValue());
           succeedBlocks.add(blockName);
+          succeedLocalIDs.add(entry.getValue().getLocalID());
         } catch (InvalidProtocolBufferException e) {
           LOG.error("Failed to parse block info for block {}", blockName, e);
         } catch (IOException e) {
@@ -256,6 +265,7 @@ public ContainerBackgroundTaskResult deleteViaSchema1(
         metrics.incrSuccessCount(deletedBlocksCount);
         metrics.incrSuccessBytes(releasedBytes);
       }
+      handler.blocksDeleted(container, succeedLocalIDs);
 
       if (!succeedBlocks.isEmpty()) {
         LOG.debug("Container: {}, deleted blocks: {}, space reclaimed: {}, " +
@@ -402,6 +412,10 @@ private ContainerBackgroundTaskResult deleteViaTransactionStore(
         metrics.incrSuccessCount(deletedBlocksCount);
         metrics.incrSuccessBytes(releasedBytes);
       }
+      final List<Long> deletedLocalIDs = new ArrayList<>();
+      deletedBlocksTxs.forEach(tx -> deletedLocalIDs.addAll(
+          tx.getLocalIDList()));
+      handler.blocksDeleted(container, deletedLocalIDs);
 
       LOG.debug("Container: {}, deleted blocks: {}, space reclaimed: {}, " +
               "task elapsed time: {}ms", containerData.getContainerID(),
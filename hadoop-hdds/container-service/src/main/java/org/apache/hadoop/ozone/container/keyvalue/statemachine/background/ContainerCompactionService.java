@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.statemachine.background;
+
+import org.apache.hadoop.hdds.utils.BackgroundService;
+import org.apache.hadoop.hdds.utils.BackgroundTask;
+import org.apache.hadoop.hdds.utils.BackgroundTaskQueue;
+import org.apache.hadoop.hdds.utils.BackgroundTaskResult;
+import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.ozoneimpl.ContainerController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A per-datanode service which compacts the files of the containers queued
+ * in the {@link ContainerSet}, e.g. packs the blocks of closed containers
+ * with the PACKED_BLOCK layout, and rewrites their segments after blocks are
+ * deleted.  This keeps compaction off the Ratis apply path and the block
+ * deleting service; the container is only locked for each step.
+ */
+public class ContainerCompactionService extends BackgroundService {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ContainerCompactionService.class);
+
+  private final ContainerSet containerSet;
+  private final ContainerController controller;
+  // containers being compacted, which stay queued if requested again
+  private final Set<Long> inProgress = ConcurrentHashMap.newKeySet();
+
+  public ContainerCompactionService(long interval, TimeUnit unit,
+      int threadPoolSize, long serviceTimeout, ContainerSet containerSet,
+      ContainerController controller) {
+    super("ContainerCompactionService",
+        interval, unit, threadPoolSize, serviceTimeout);
+    this.containerSet = containerSet;
+    this.controller = controller;
+  }
+
+  @Override
+  public BackgroundTaskQueue getTasks() {
+    BackgroundTaskQueue backgroundTaskQueue = new BackgroundTaskQueue();
+    Iterator<Long> it = containerSet.getCompactionCandidateIterator();
+    while (it.hasNext()) {
+      long containerID = it.next();
+      if (inProgress.add(containerID)) {
+        it.remove();
+        backgroundTaskQueue.add(new ContainerCompactionTask(containerID));
+      }
+    }
+    return backgroundTaskQueue;
+  }
+
+  private class ContainerCompactionTask implements BackgroundTask {
+    private final long containerID;
+
+    ContainerCompactionTask(long containerID) {
+      this.containerID = containerID;
+    }
+
+    @Override
+    public BackgroundTaskResult call() {
+      try {
+        controller.compactContainer(containerID);
+      } catch (IOException e) {
+        // blocks remain readable from their current files
+        LOG.warn("Failed to compact container {}", containerID, e);
+      } finally {
+        inProgress.remove(containerID);
+      }
+      return new BackgroundTaskResult.EmptyTaskResult();
+    }
+  }
+}
@@ -159,6 +159,19 @@ public void closeContainer(final long containerId) throws IOException {
     getHandler(container).closeContainer(container);
   }
 
+  /**
+   * Compacts the files of a container given its Id, if its layout needs it.
+   *
+   * @param containerId Id of the container to compact
+   * @throws IOException in case of exception
+   */
+  public void compactContainer(final long containerId) throws IOException {
+    final Container container = containerSet.getContainer(containerId);
+    if (container != null) {
+      getHandler(container).compactContainer(container);
+    }
+  }
+
   public Container importContainer(
       final ContainerData containerData,
       final InputStream rawContainerStream,
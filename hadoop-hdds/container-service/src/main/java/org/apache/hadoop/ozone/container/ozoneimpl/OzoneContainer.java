@@ -45,6 +45,7 @@
 import org.apache.hadoop.ozone.container.common.report.IncrementalReportSender;
 import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.statemachine.StateContext;
+import org.apache.hadoop.ozone.container.common.transport.server.ShortCircuitReadServer;
 import org.apache.hadoop.ozone.container.common.transport.server.XceiverServerGrpc;
 import org.apache.hadoop.ozone.container.common.transport.server.XceiverServerSpi;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.XceiverServerRatis;
@@ -55,6 +56,7 @@
 import org.apache.hadoop.ozone.container.common.volume.StorageVolume;
 import org.apache.hadoop.ozone.container.common.volume.StorageVolume.VolumeType;
 import org.apache.hadoop.ozone.container.common.volume.StorageVolumeChecker;
+import org.apache.hadoop.ozone.container.keyvalue.statemachine.background.ContainerCompactionService;
 import org.apache.hadoop.ozone.container.keyvalue.statemachine.background.StaleRecoveringContainerScrubbingService;
 import org.apache.hadoop.ozone.container.replication.ContainerImporter;
 import org.apache.hadoop.ozone.container.replication.ReplicationServer;
@@ -81,6 +83,8 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_BLOCK_DELETING_SERVICE_TIMEOUT_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_BLOCK_DELETING_SERVICE_WORKERS;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_BLOCK_DELETING_SERVICE_WORKERS_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_DOMAIN_SOCKET_PATH;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_DOMAIN_SOCKET_PATH_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_RECOVERING_CONTAINER_SCRUBBING_SERVICE_TIMEOUT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_RECOVERING_CONTAINER_SCRUBBING_SERVICE_TIMEOUT_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_RECOVERING_CONTAINER_SCRUBBING_SERVICE_WORKERS;
@@ -109,6 +113,7 @@ public class OzoneContainer {
   private final ContainerSet containerSet;
   private final XceiverServerSpi writeChannel;
   private final XceiverServerSpi readChannel;
+  private final ShortCircuitReadServer shortCircuitReadServer;
   private final ContainerController controller;
   private BackgroundContainerMetadataScanner metadataScanner;
   private List<BackgroundContainerDataScanner> dataScanners;
@@ -116,6 +121,7 @@ public class OzoneContainer {
   private final BlockDeletingService blockDeletingService;
   private final StaleRecoveringContainerScrubbingService
       recoveringContainerScrubbingService;
+  private final ContainerCompactionService compactionService;
   private final GrpcTlsConfig tlsClientConfig;
   private final AtomicReference<InitializingStatus> initializingStatus;
   private final ReplicationServer replicationServer;
@@ -220,6 +226,11 @@ public OzoneContainer(
 
     readChannel = new XceiverServerGrpc(
         datanodeDetails, config, hddsDispatcher, certClient);
+    final String domainSocketPath = config.getTrimmed(
+        OZONE_DOMAIN_SOCKET_PATH, OZONE_DOMAIN_SOCKET_PATH_DEFAULT);
+    shortCircuitReadServer = domainSocketPath.isEmpty() ? null
+        : new ShortCircuitReadServer(domainSocketPath, datanodeDetails,
+            hddsDispatcher, containerSet);
     Duration blockDeletingSvcInterval = conf.getObject(
         DatanodeConfiguration.class).getBlockDeletionInterval();
 
@@ -258,6 +269,13 @@ public OzoneContainer(
             recoveringContainerScrubbingServiceTimeout,
             containerSet);
 
+    DatanodeConfiguration dnConf = conf.getObject(DatanodeConfiguration.class);
+    compactionService = new ContainerCompactionService(
+        dnConf.getPackedCompactionInterval().toMillis(),
+        TimeUnit.MILLISECONDS, dnConf.getPackedCompactionWorkers(),
+        dnConf.getPackedCompactionTimeout().toMillis(), containerSet,
+        controller);
+
     if (certClient != null && secConf.isGrpcTlsEnabled()) {
       tlsClientConfig = new GrpcTlsConfig(
           certClient.getClientKeyStoresFactory().getKeyManagers()[0],
@@ -464,10 +482,15 @@ public void start(String clusterId) throws IOException {
 
     writeChannel.start();
     readChannel.start();
+    if (shortCircuitReadServer != null) {
+      // after the read channel, which sets the standalone port
+      shortCircuitReadServer.start();
+    }
     hddsDispatcher.init();
     hddsDispatcher.setClusterId(clusterId);
     blockDeletingService.start();
     recoveringContainerScrubbingService.start();
+    compactionService.start();
 
     // mark OzoneContainer as INITIALIZED.
     initializingStatus.set(InitializingStatus.INITIALIZED);
@@ -483,6 +506,9 @@ public void stop() {
     replicationServer.stop();
     writeChannel.stop();
     readChannel.stop();
+    if (shortCircuitReadServer != null) {
+      shortCircuitReadServer.stop();
+    }
     this.handlers.values().forEach(Handler::stop);
     hddsDispatcher.shutdown();
     volumeChecker.shutdownAndWait(0, TimeUnit.SECONDS);
@@ -493,6 +519,7 @@ public void stop() {
     }
     blockDeletingService.shutdown();
     recoveringContainerScrubbingService.shutdown();
+    compactionService.shutdown();
     ContainerMetrics.remove();
   }
 
@@ -22,6 +22,7 @@
 import org.apache.hadoop.hdds.upgrade.HDDSLayoutFeature;
 import org.apache.hadoop.hdds.upgrade.HDDSLayoutVersionManager;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
 import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.volume.StorageVolume;
 
@@ -166,4 +167,22 @@ public static boolean isFinalizedAndEnabled(ConfigurationSource conf) {
       return false;
     }
   }
+
+  /**
+   * Utilities for the PACKED_BLOCK container layout feature.
+   * Older datanodes cannot read containers with this layout, so it is only
+   * used for new containers after finalization, and FILE_PER_BLOCK before.
+   */
+  public static class PackedBlockLayout {
+    public static ContainerLayoutVersion chooseLayoutVersion(
+        ConfigurationSource conf) {
+      ContainerLayoutVersion configured =
+          ContainerLayoutVersion.getConfiguredVersion(conf);
+      if (configured == ContainerLayoutVersion.PACKED_BLOCK
+          && !isFinalized(HDDSLayoutFeature.PACKED_BLOCK_CONTAINER_LAYOUT)) {
+        return ContainerLayoutVersion.FILE_PER_BLOCK;
+      }
+      return configured;
+    }
+  }
 }
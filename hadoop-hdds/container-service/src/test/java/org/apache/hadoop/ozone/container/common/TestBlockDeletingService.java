@@ -104,7 +104,7 @@
 import static org.apache.hadoop.ozone.container.common.ContainerTestUtils.COMMIT_STAGE;
 import static org.apache.hadoop.ozone.container.common.ContainerTestUtils.WRITE_STAGE;
 import static org.apache.hadoop.ozone.container.common.ContainerTestUtils.createDbInstancesForTestIfNeeded;
-import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.FILE_PER_BLOCK;
+import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.FILE_PER_CHUNK;
 import static org.apache.hadoop.ozone.container.common.states.endpoint.VersionEndpointTask.LOG;
 import static org.apache.hadoop.ozone.container.keyvalue.helpers.KeyValueContainerUtil.isSameSchemaVersion;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -167,10 +167,10 @@ private void createToDeleteBlocks(ContainerSet containerSet,
   private KeyValueContainerData createToDeleteBlocks(ContainerSet containerSet,
       int numOfBlocksPerContainer, int numOfChunksPerBlock) throws IOException {
     ChunkManager chunkManager;
-    if (layout == FILE_PER_BLOCK) {
-      chunkManager = new FilePerBlockStrategy(true, null, null);
-    } else {
+    if (layout == FILE_PER_CHUNK) {
       chunkManager = new FilePerChunkStrategy(true, null, null);
+    } else {
+      chunkManager = new FilePerBlockStrategy(true, null, null);
     }
     byte[] arr = randomAlphanumeric(1048576).getBytes(UTF_8);
     ChunkBuffer buffer = ChunkBuffer.wrap(ByteBuffer.wrap(arr));
@@ -705,10 +705,10 @@ public void testWithUnrecordedBlocks(ContainerTestVersionInfo versionInfo)
         String chunkName;
         for (int indexOfChunk = 0; indexOfChunk < numOfChunksPerBlock;
              indexOfChunk++) {
-          if (layout == FILE_PER_BLOCK) {
-            chunkName = localId + ".block";
-          } else {
+          if (layout == FILE_PER_CHUNK) {
             chunkName = localId + "_chunk_" + indexOfChunk;
+          } else {
+            chunkName = localId + ".block";
           }
           File chunkFile = new File(chunkDir, chunkName);
           unrecordedChunks.add(chunkFile);
@@ -23,6 +23,7 @@
 
 import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.FILE_PER_BLOCK;
 import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.FILE_PER_CHUNK;
+import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.PACKED_BLOCK;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -32,7 +33,7 @@ public class TestContainerLayoutVersion {
 
   @Test
   public void testVersionCount() {
-    assertEquals(2, ContainerLayoutVersion.getAllVersions().size());
+    assertEquals(3, ContainerLayoutVersion.getAllVersions().size());
   }
 
   @Test
@@ -46,4 +47,9 @@ public void testV2() {
     assertEquals(2, FILE_PER_BLOCK.getVersion());
   }
 
+  @Test
+  public void testV3() {
+    assertEquals(3, PACKED_BLOCK.getVersion());
+  }
+
 }
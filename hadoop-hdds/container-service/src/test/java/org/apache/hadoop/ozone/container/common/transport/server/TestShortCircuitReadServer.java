@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.GetBlockRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
+import org.apache.hadoop.hdds.scm.protocolPB.ContainerCommandResponseBuilders;
+import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
+import org.apache.hadoop.ozone.container.common.impl.ContainerSet;
+import org.apache.hadoop.ozone.container.common.interfaces.Container;
+import org.apache.hadoop.ozone.container.common.interfaces.ContainerDispatcher;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ShortCircuitReadServer}, without the domain socket,
+ * which needs the native library.
+ */
+class TestShortCircuitReadServer {
+
+  private static final long CONTAINER_ID = 1;
+  private static final BlockID BLOCK_ID = new BlockID(CONTAINER_ID, 5);
+
+  @TempDir
+  private File chunksDir;
+
+  private DatanodeDetails datanode;
+  private ContainerDispatcher dispatcher;
+  private ContainerSet containerSet;
+  private ShortCircuitReadServer server;
+
+  @BeforeEach
+  void setup() {
+    datanode = MockDatanodeDetails.randomDatanodeDetails();
+    dispatcher = mock(ContainerDispatcher.class);
+    when(dispatcher.dispatch(any(), any())).thenAnswer(invocation ->
+        ContainerCommandResponseBuilders.getSuccessResponse(
+            invocation.getArgument(0)));
+    containerSet = mock(ContainerSet.class);
+    server = new ShortCircuitReadServer("/unused", datanode, dispatcher,
+        containerSet);
+  }
+
+  @Test
+  void opensBlockFile() throws Exception {
+    addContainer(ContainerLayoutVersion.FILE_PER_BLOCK);
+    final File blockFile = ContainerLayoutVersion.FILE_PER_BLOCK
+        .getChunkFile(chunksDir, BLOCK_ID, null);
+    Files.write(blockFile.toPath(), "data".getBytes(StandardCharsets.UTF_8));
+
+    final ShortCircuitReadServer.Reply reply =
+        server.handle(getBlock(datanode.getUuidString()));
+
+    assertEquals(Result.SUCCESS, reply.getResponse().getResult());
+    assertNotNull(reply.getFile());
+    try {
+      assertEquals("data",
+          IOUtils.toString(reply.getFile(), StandardCharsets.UTF_8));
+    } finally {
+      reply.getFile().close();
+    }
+  }
+
+  @Test
+  void noFileForOtherLayout() {
+    addContainer(ContainerLayoutVersion.FILE_PER_CHUNK);
+
+    final ShortCircuitReadServer.Reply reply =
+        server.handle(getBlock(datanode.getUuidString()));
+
+    assertEquals(Result.SUCCESS, reply.getResponse().getResult());
+    assertNull(reply.getFile());
+  }
+
+  @Test
+  void noFileIfRequestFails() {
+    addContainer(ContainerLayoutVersion.FILE_PER_BLOCK);
+    doAnswer(invocation ->
+        ContainerCommandResponseBuilders.getContainerCommandResponse(
+            invocation.getArgument(0),
+            Result.BLOCK_TOKEN_VERIFICATION_FAILED, "denied").build())
+        .when(dispatcher).dispatch(any(), any());
+
+    final ShortCircuitReadServer.Reply reply =
+        server.handle(getBlock(datanode.getUuidString()));
+
+    assertEquals(Result.BLOCK_TOKEN_VERIFICATION_FAILED,
+        reply.getResponse().getResult());
+    assertNull(reply.getFile());
+  }
+
+  @Test
+  void rejectsRequestForOtherDatanode() {
+    final ShortCircuitReadServer.Reply reply = server.handle(getBlock(
+        MockDatanodeDetails.randomDatanodeDetails().getUuidString()));
+
+    assertEquals(Result.INVALID_ARGUMENT, reply.getResponse().getResult());
+    assertNull(reply.getFile());
+    verify(dispatcher, never()).dispatch(any(), any());
+  }
+
+  @Test
+  void rejectsOtherRequests() {
+    final ShortCircuitReadServer.Reply reply = server.handle(
+        ContainerCommandRequestProto.newBuilder()
+            .setCmdType(Type.ReadChunk)
+            .setContainerID(CONTAINER_ID)
+            .setDatanodeUuid(datanode.getUuidString())
+            .build());
+
+    assertEquals(Result.UNSUPPORTED_REQUEST, reply.getResponse().getResult());
+    assertNull(reply.getFile());
+    verify(dispatcher, never()).dispatch(any(), any());
+  }
+
+  private void addContainer(ContainerLayoutVersion layout) {
+    final KeyValueContainerData data = new KeyValueContainerData(CONTAINER_ID,
+        layout, 1024, "pipeline", datanode.getUuidString());
+    data.setChunksPath(chunksDir.getAbsolutePath());
+    final Container<?> container = mock(Container.class);
+    doReturn(data).when(container).getContainerData();
+    doReturn(container).when(containerSet).getContainer(CONTAINER_ID);
+  }
+
+  private static ContainerCommandRequestProto getBlock(String datanodeUuid) {
+    return ContainerCommandRequestProto.newBuilder()
+        .setCmdType(Type.GetBlock)
+        .setContainerID(CONTAINER_ID)
+        .setDatanodeUuid(datanodeUuid)
+        .setGetBlock(GetBlockRequestProto.newBuilder()
+            .setBlockID(BLOCK_ID.getDatanodeBlockIDProtobuf()))
+        .build();
+  }
+}
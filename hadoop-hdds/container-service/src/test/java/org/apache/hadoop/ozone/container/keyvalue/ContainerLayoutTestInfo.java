@@ -22,6 +22,7 @@
 import org.apache.hadoop.ozone.container.keyvalue.impl.ChunkManagerDummyImpl;
 import org.apache.hadoop.ozone.container.keyvalue.impl.FilePerBlockStrategy;
 import org.apache.hadoop.ozone.container.keyvalue.impl.FilePerChunkStrategy;
+import org.apache.hadoop.ozone.container.keyvalue.impl.PackedBlockStrategy;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -98,6 +99,25 @@ public void validateFileCount(File dir, long blockCount, long chunkCount) {
     public ContainerLayoutVersion getLayout() {
       return ContainerLayoutVersion.FILE_PER_BLOCK;
     }
+  },
+
+  PACKED_BLOCK {
+    @Override
+    public ChunkManager createChunkManager(boolean sync, BlockManager manager) {
+      return new PackedBlockStrategy(
+          new FilePerBlockStrategy(sync, manager, null),
+          manager, new OzoneConfiguration());
+    }
+
+    @Override
+    public void validateFileCount(File dir, long blockCount, long chunkCount) {
+      assertFileCount(dir, blockCount);
+    }
+
+    @Override
+    public ContainerLayoutVersion getLayout() {
+      return ContainerLayoutVersion.PACKED_BLOCK;
+    }
   };
 
   public abstract ChunkManager createChunkManager(boolean sync,
@@ -76,12 +76,8 @@ void initTestData(ContainerTestVersionInfo versionInfo) throws Exception {
     this.conf = new OzoneConfiguration();
     ContainerTestVersionInfo.setTestSchemaVersion(
         versionInfo.getSchemaVersion(), conf);
-    if (versionInfo.getLayout()
-        .equals(ContainerLayoutVersion.FILE_PER_BLOCK)) {
-      containerLayoutTestInfo = ContainerLayoutTestInfo.FILE_PER_BLOCK;
-    } else {
-      containerLayoutTestInfo = ContainerLayoutTestInfo.FILE_PER_CHUNK;
-    }
+    containerLayoutTestInfo =
+        ContainerLayoutTestInfo.valueOf(versionInfo.getLayout().name());
     setup();
   }
 
@@ -297,6 +297,7 @@ public void inspectThenRepairOnIncorrectContainer(
     int createdFiles = 0;
     switch (getChunkLayout()) {
     case FILE_PER_BLOCK:
+    case PACKED_BLOCK:
       createdFiles = createdBlocks;
       break;
     case FILE_PER_CHUNK:
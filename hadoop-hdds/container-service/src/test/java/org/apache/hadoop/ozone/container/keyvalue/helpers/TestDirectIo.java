@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.hadoop.io.nativeio.NativeIO;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.DirectIo.ALIGNMENT;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link DirectIo}.
+ */
+class TestDirectIo {
+
+  @TempDir
+  private File tempDir;
+
+  private VolumeIOStats stats;
+  private HddsVolume volume;
+
+  @BeforeEach
+  void setup() {
+    stats = new VolumeIOStats(UUID.randomUUID().toString(),
+        tempDir.getPath());
+    volume = mock(HddsVolume.class);
+    when(volume.getVolumeIOStats()).thenReturn(stats);
+  }
+
+  @AfterEach
+  void cleanup() {
+    stats.unregister();
+  }
+
+  @Test
+  void unalignedTailIsWrittenDirectly() throws Exception {
+    final byte[] data = randomBytes(3 * ALIGNMENT + 100);
+    final File file = new File(tempDir, "block");
+    final long written = write(file, data, 0, 2);
+
+    assertEquals(data.length, written);
+    assertArrayEquals(data, Files.readAllBytes(file.toPath()));
+    assertEquals(data.length, stats.getDirectWriteBytes());
+    assertEquals(0, stats.getDirectWriteFallbacks());
+  }
+
+  @Test
+  void appendAtUnalignedOffset() throws Exception {
+    final byte[] first = randomBytes(ALIGNMENT + 100);
+    final byte[] second = randomBytes(2 * ALIGNMENT);
+    final File file = new File(tempDir, "block");
+    write(file, first, 0, 1);
+    write(file, second, first.length, 3);
+
+    final byte[] content = Files.readAllBytes(file.toPath());
+    assertEquals(first.length + second.length, content.length);
+    assertArrayEquals(first, Arrays.copyOf(content, first.length));
+    assertArrayEquals(second,
+        Arrays.copyOfRange(content, first.length, content.length));
+    assertEquals(first.length + second.length, stats.getDirectWriteBytes());
+  }
+
+  @Test
+  void overwriteKeepsSurroundingData() throws Exception {
+    final byte[] data = randomBytes(3 * ALIGNMENT);
+    final byte[] update = randomBytes(100);
+    final File file = new File(tempDir, "block");
+    write(file, data, 0, 1);
+    write(file, update, ALIGNMENT + 10, 1);
+
+    System.arraycopy(update, 0, data, ALIGNMENT + 10, update.length);
+    assertArrayEquals(data, Files.readAllBytes(file.toPath()));
+  }
+
+  @Test
+  void dropCache() throws Exception {
+    Files.write(new File(tempDir, "block").toPath(), randomBytes(100));
+
+    DirectIo.dropCache(tempDir, volume);
+
+    assertEquals(NativeIO.isAvailable() ? 100 : 0,
+        stats.getPageCacheDropBytes());
+  }
+
+  /** Write the data split into the given number of buffers. */
+  private long write(File file, byte[] data, long offset, int parts)
+      throws Exception {
+    assumeTrue(DirectIo.isAvailable());
+    final ByteBuffer[] buffers = new ByteBuffer[parts];
+    final int partLen = data.length / parts;
+    for (int i = 0; i < parts; i++) {
+      final int end = i == parts - 1 ? data.length : (i + 1) * partLen;
+      buffers[i] = ByteBuffer.wrap(data, i * partLen, end - i * partLen)
+          .slice();
+    }
+    final ChunkBuffer chunk = ChunkBuffer.wrap(Arrays.asList(buffers));
+    try (FileChannel direct = DirectIo.openForWrite(file, false, volume)) {
+      assumeTrue(direct != null, "direct I/O not supported in " + tempDir);
+      return DirectIo.write(direct, chunk, offset, volume);
+    }
+  }
+
+  private static byte[] randomBytes(int length) {
+    final byte[] data = new byte[length];
+    ThreadLocalRandom.current().nextBytes(data);
+    return data;
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link SharedReadChannels}.
+ */
+class TestSharedReadChannels {
+
+  @TempDir
+  private File tempDir;
+
+  private Path file;
+  private SharedReadChannels channels;
+
+  @BeforeEach
+  void setup() throws Exception {
+    file = tempDir.toPath().resolve("block");
+    Files.write(file, "Hello World".getBytes(UTF_8));
+    channels = new SharedReadChannels();
+  }
+
+  @Test
+  void handleIsSharedUntilLastRelease() throws Exception {
+    SharedReadChannels.Handle first = channels.acquire(file, null);
+    SharedReadChannels.Handle second = channels.acquire(file, null);
+    assertSame(first, second);
+    assertEquals(1, channels.size());
+
+    first.close();
+    assertTrue(second.isOpen());
+    assertEquals(5, (int) second.read(
+        c -> c.read(ByteBuffer.allocate(5), 6)));
+
+    second.close();
+    assertFalse(second.isOpen());
+    assertEquals(0, channels.size());
+  }
+
+  @Test
+  void closedChannelIsReplaced() throws Exception {
+    SharedReadChannels.Handle stale = channels.acquire(file, null);
+    stale.getChannel().close();
+
+    SharedReadChannels.Handle fresh = channels.acquire(file, null);
+    assertNotSame(stale, fresh);
+    assertTrue(fresh.isOpen());
+
+    stale.close();
+    assertEquals(1, channels.size());
+    fresh.close();
+    assertEquals(0, channels.size());
+  }
+
+  @Test
+  void missingFile() {
+    assertThrows(NoSuchFileException.class,
+        () -> channels.acquire(tempDir.toPath().resolve("missing"), null));
+    assertEquals(0, channels.size());
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue.helpers;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link SplitChunkIo}.
+ */
+class TestSplitChunkIo {
+
+  private static final int REQUEST_SIZE = 1000;
+
+  private final SplitChunkIo splitIo =
+      new SplitChunkIo(4, REQUEST_SIZE);
+  private final HddsVolume volume = mock(HddsVolume.class);
+
+  @TempDir
+  private File tempDir;
+
+  @AfterEach
+  void shutdown() {
+    splitIo.shutdown();
+  }
+
+  @Test
+  void split() {
+    final ByteBuffer first = ByteBuffer.allocate(2500);
+    first.position(100);
+    final ByteBuffer second = ByteBuffer.allocate(300);
+
+    final List<SplitChunkIo.Request> requests =
+        splitIo.split(Arrays.asList(first, second), 10_000);
+
+    assertEquals(4, requests.size());
+    assertEquals(10_000, requests.get(0).getOffset());
+    assertEquals(REQUEST_SIZE, requests.get(0).getLength());
+    assertEquals(11_000, requests.get(1).getOffset());
+    assertEquals(REQUEST_SIZE, requests.get(1).getLength());
+    assertEquals(12_000, requests.get(2).getOffset());
+    assertEquals(400, requests.get(2).getLength());
+    assertEquals(12_400, requests.get(3).getOffset());
+    assertEquals(300, requests.get(3).getLength());
+    // the original buffers are not changed
+    assertEquals(100, first.position());
+    assertEquals(0, second.position());
+  }
+
+  @Test
+  void writeAndRead() throws Exception {
+    final byte[] data = new byte[7_500];
+    ThreadLocalRandom.current().nextBytes(data);
+    final ChunkBuffer buffer = ChunkBuffer.wrap(Arrays.asList(
+        ByteBuffer.wrap(data, 0, 2_500).slice(),
+        ByteBuffer.wrap(data, 2_500, 5_000).slice()));
+    final File file = new File(tempDir, "block");
+    final long offset = 123;
+
+    try (FileChannel channel = FileChannel.open(file.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      assertEquals(data.length, splitIo.write(channel, buffer, offset, volume));
+
+      final ByteBuffer[] buffers = {
+          ByteBuffer.allocate(4_000), ByteBuffer.allocate(3_500)};
+      assertEquals(data.length, splitIo.read(channel, buffers, offset, volume));
+      assertFalse(buffers[0].hasRemaining());
+      assertFalse(buffers[1].hasRemaining());
+      assertArrayEquals(Arrays.copyOfRange(data, 0, 4_000),
+          buffers[0].array());
+      assertArrayEquals(Arrays.copyOfRange(data, 4_000, data.length),
+          buffers[1].array());
+    }
+
+    final byte[] written = Files.readAllBytes(file.toPath());
+    assertEquals(offset + data.length, written.length);
+    assertArrayEquals(data,
+        Arrays.copyOfRange(written, (int) offset, written.length));
+  }
+
+  @Test
+  void readPastEndOfFile() throws Exception {
+    final File file = new File(tempDir, "short");
+    Files.write(file.toPath(), new byte[1_500]);
+
+    try (FileChannel channel = FileChannel.open(file.toPath(),
+        StandardOpenOption.READ)) {
+      final ByteBuffer[] buffers = {ByteBuffer.allocate(REQUEST_SIZE * 3)};
+      assertEquals(1_500, splitIo.read(channel, buffers, 0, volume));
+    }
+  }
+
+  @Test
+  void writeWithoutVolumeOrAfterShutdown() throws Exception {
+    final File file = new File(tempDir, "block");
+    try (FileChannel channel = FileChannel.open(file.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      assertEquals(3_000, splitIo.write(channel,
+          ChunkBuffer.wrap(ByteBuffer.allocate(3_000)), 0, null));
+      splitIo.shutdown();
+      assertEquals(3_000, splitIo.write(channel,
+          ChunkBuffer.wrap(ByteBuffer.allocate(3_000)), 3_000, volume));
+    }
+    assertEquals(6_000, file.length());
+  }
+}
@@ -25,7 +25,10 @@
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
 import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
+import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
 import org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.common.volume.RoundRobinVolumeChoosingPolicy;
@@ -38,13 +41,23 @@
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State.CLOSED;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.mock;
@@ -222,4 +235,98 @@ public void testListBlock(ContainerTestVersionInfo versionInfo)
     assertNotNull(listBlockData);
     assertEquals(10, listBlockData.size());
   }
+
+  @ContainerTestVersionInfo.ContainerTest
+  public void testBlockDataCache(ContainerTestVersionInfo versionInfo)
+      throws Exception {
+    initTest(versionInfo);
+    // blocks marked for deletion are renamed outside the block manager
+    assumeFalse(OzoneConsts.SCHEMA_V1.equals(schemaVersion));
+    ContainerMetrics metrics = ContainerMetrics.create(config);
+    try {
+      BlockManagerImpl manager = new BlockManagerImpl(config, metrics);
+      manager.putBlock(keyValueContainer, blockData);
+      manager.putBlock(keyValueContainer, blockData1);
+
+      // blocks of open containers are not cached
+      manager.getBlock(keyValueContainer, blockID);
+      assertEquals(0, manager.getBlockDataCache().size());
+      assertEquals(0, metrics.getBlockDataCacheMisses());
+
+      keyValueContainerData.setState(CLOSED);
+      BlockData first = manager.getBlock(keyValueContainer, blockID);
+      BlockData second = manager.getBlock(keyValueContainer, blockID);
+      assertSame(first, second);
+      assertEquals(blockData.getSize(),
+          manager.getCommittedBlockLength(keyValueContainer, blockID));
+      assertEquals(1, metrics.getBlockDataCacheMisses());
+      assertEquals(2, metrics.getBlockDataCacheHits());
+
+      manager.invalidateBlock(keyValueContainer, blockID.getLocalID());
+      assertNotSame(second, manager.getBlock(keyValueContainer, blockID));
+      assertEquals(2, metrics.getBlockDataCacheMisses());
+
+      manager.getBlock(keyValueContainer, blockID1);
+      assertEquals(2, manager.getBlockDataCache().size());
+      manager.releaseContainer(keyValueContainer);
+      assertEquals(0, manager.getBlockDataCache().size());
+    } finally {
+      ContainerMetrics.remove();
+    }
+  }
+
+  @ContainerTestVersionInfo.ContainerTest
+  public void testBlockDataCacheWithConcurrentDelete(
+      ContainerTestVersionInfo versionInfo) throws Exception {
+    initTest(versionInfo);
+    assumeFalse(OzoneConsts.SCHEMA_V1.equals(schemaVersion));
+    ContainerMetrics metrics = ContainerMetrics.create(config);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      BlockManagerImpl manager = new BlockManagerImpl(config, metrics);
+      BlockDataCache cache = manager.getBlockDataCache();
+      manager.putBlock(keyValueContainer, blockData);
+      keyValueContainerData.setState(CLOSED);
+
+      // a block read before an invalidation is not cached
+      long generation = cache.getGeneration();
+      manager.invalidateBlock(keyValueContainer, blockID.getLocalID());
+      cache.putIfAbsent(blockID.getContainerID(), blockID.getLocalID(),
+          blockData, generation);
+      assertEquals(0, cache.size());
+
+      // read the block while it is deleted, as the BlockDeletingTask does
+      AtomicBoolean deleted = new AtomicBoolean();
+      List<Future<?>> readers = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        readers.add(executor.submit(() -> {
+          while (!deleted.get()) {
+            try {
+              manager.getBlock(keyValueContainer, blockID);
+            } catch (IOException e) {
+              // deleted
+            }
+          }
+          return null;
+        }));
+      }
+      manager.invalidateBlock(keyValueContainer, blockID.getLocalID());
+      try (DBHandle db = BlockUtils.getDB(keyValueContainerData, config)) {
+        db.getStore().getBlockDataTable().delete(
+            keyValueContainerData.getBlockKey(blockID.getLocalID()));
+      }
+      manager.invalidateBlock(keyValueContainer, blockID.getLocalID());
+      deleted.set(true);
+      for (Future<?> reader : readers) {
+        reader.get();
+      }
+
+      // no reader cached the deleted block
+      assertThrows(StorageContainerException.class,
+          () -> manager.getBlock(keyValueContainer, blockID));
+    } finally {
+      executor.shutdownNow();
+      ContainerMetrics.remove();
+    }
+  }
 }
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for {@link ChunkReadAhead}.
+ */
+class TestChunkReadAhead {
+
+  private static final int READ_SIZE = 4 * 1024;
+  private static final int WINDOW_SIZE = 4 * READ_SIZE;
+  private static final int FILE_SIZE = 16 * READ_SIZE;
+
+  @TempDir
+  private File tempDir;
+
+  private File file;
+  private byte[] content;
+  private ContainerMetrics metrics;
+  private ChunkReadAhead readAhead;
+
+  @BeforeEach
+  void setup() throws Exception {
+    content = new byte[FILE_SIZE];
+    ThreadLocalRandom.current().nextBytes(content);
+    file = new File(tempDir, "block");
+    Files.write(file.toPath(), content);
+    metrics = ContainerMetrics.create(new OzoneConfiguration());
+    readAhead = new ChunkReadAhead(WINDOW_SIZE, 4 * WINDOW_SIZE, 2, metrics);
+  }
+
+  @AfterEach
+  void cleanup() {
+    readAhead.shutdown();
+    ContainerMetrics.remove();
+  }
+
+  @Test
+  void sequentialReadsAreServedFromMemory() throws Exception {
+    // the first read cannot be known to be sequential
+    assertNull(readAhead.read(file, 0, READ_SIZE, null));
+    assertNull(readAhead.read(file, READ_SIZE, READ_SIZE, null));
+    for (int offset = 2 * READ_SIZE; offset < FILE_SIZE;
+         offset += READ_SIZE) {
+      final ChunkBuffer data = readAhead.read(file, offset, READ_SIZE, null);
+      assertNotNull(data, "offset " + offset);
+      assertData(offset, data);
+    }
+
+    assertEquals(14, metrics.getReadAheadHits());
+    assertEquals(1, metrics.getReadAheadMisses());
+    assertEquals(FILE_SIZE - 2 * READ_SIZE, metrics.getReadAheadBytes());
+    readAhead.invalidate(file);
+    assertEquals(0, metrics.getReadAheadWastedBytes());
+    assertEquals(readAhead.getAllocatedBuffers(), readAhead.getFreeBuffers());
+  }
+
+  @Test
+  void seekDiscardsReadAhead() throws Exception {
+    readAhead.read(file, 0, READ_SIZE, null);
+    readAhead.read(file, READ_SIZE, READ_SIZE, null);
+    assertEquals(ChunkReadAhead.MAX_WINDOWS, readAhead.getAllocatedBuffers());
+
+    assertNull(readAhead.read(file, 0, READ_SIZE, null));
+    GenericTestUtils.waitFor(() -> readAhead.getFreeBuffers()
+        == readAhead.getAllocatedBuffers(), 10, 10_000);
+    assertEquals(ChunkReadAhead.MAX_WINDOWS * WINDOW_SIZE,
+        metrics.getReadAheadWastedBytes());
+
+    // reading sequentially again reuses the buffers
+    assertNull(readAhead.read(file, READ_SIZE, READ_SIZE, null));
+    assertData(2 * READ_SIZE,
+        readAhead.read(file, 2 * READ_SIZE, READ_SIZE, null));
+    assertEquals(ChunkReadAhead.MAX_WINDOWS, readAhead.getAllocatedBuffers());
+  }
+
+  @Test
+  void concurrentReadersReleaseBuffers() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<?>> readers = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        readers.add(executor.submit(() -> {
+          for (int round = 0; round < 20; round++) {
+            for (int offset = 0; offset < FILE_SIZE; offset += READ_SIZE) {
+              final ChunkBuffer data =
+                  readAhead.read(file, offset, READ_SIZE, null);
+              if (data != null) {
+                assertData(offset, data);
+              }
+            }
+          }
+        }));
+      }
+      for (Future<?> reader : readers) {
+        reader.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    readAhead.invalidate(file);
+    GenericTestUtils.waitFor(() -> readAhead.getFreeBuffers()
+        == readAhead.getAllocatedBuffers(), 10, 10_000);
+  }
+
+  private void assertData(int offset, ChunkBuffer data) {
+    final ByteBuffer expected = ByteBuffer.wrap(content, offset, READ_SIZE);
+    assertEquals(expected, data.toByteString().asReadOnlyByteBuffer());
+  }
+}
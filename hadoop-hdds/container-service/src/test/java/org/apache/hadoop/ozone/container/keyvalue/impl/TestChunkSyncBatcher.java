@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ChunkSyncBatcher}.
+ */
+class TestChunkSyncBatcher {
+
+  private static final int WRITERS = 4;
+
+  @TempDir
+  private File tempDir;
+
+  private VolumeIOStats stats;
+  private HddsVolume volume;
+  private ExecutorService executor;
+  private final List<FileChannel> channels = new ArrayList<>();
+
+  @BeforeEach
+  void setup() throws IOException {
+    stats = new VolumeIOStats(UUID.randomUUID().toString(),
+        tempDir.getPath());
+    volume = mock(HddsVolume.class);
+    when(volume.getVolumeIOStats()).thenReturn(stats);
+    executor = Executors.newFixedThreadPool(WRITERS);
+    for (int i = 0; i < WRITERS; i++) {
+      channels.add(FileChannel.open(new File(tempDir, "block" + i).toPath(),
+          StandardOpenOption.CREATE, StandardOpenOption.WRITE));
+    }
+  }
+
+  @AfterEach
+  void cleanup() throws IOException {
+    executor.shutdownNow();
+    for (FileChannel channel : channels) {
+      channel.close();
+    }
+    stats.unregister();
+  }
+
+  @Test
+  void concurrentWritesAreSyncedTogether() throws Exception {
+    // the window only ends once all writers are queued
+    final ChunkSyncBatcher batcher =
+        new ChunkSyncBatcher(WRITERS, Duration.ofMinutes(1));
+
+    for (Future<Void> future : syncAll(batcher, channels)) {
+      future.get();
+    }
+
+    assertEquals(1, stats.getSyncRounds());
+    assertEquals(WRITERS, stats.getSyncedWrites());
+  }
+
+  @Test
+  void failureOnlyAffectsWritersOfTheFile() throws Exception {
+    final ChunkSyncBatcher batcher =
+        new ChunkSyncBatcher(WRITERS, Duration.ofMinutes(1));
+    channels.get(0).close();
+
+    final List<Future<Void>> futures = syncAll(batcher, channels);
+
+    final ExecutionException e = assertThrows(ExecutionException.class,
+        () -> futures.get(0).get());
+    assertInstanceOf(IOException.class, e.getCause());
+    for (Future<Void> future : futures.subList(1, WRITERS)) {
+      future.get();
+    }
+    assertEquals(1, stats.getSyncRounds());
+  }
+
+  @Test
+  void maxBatchSize() throws Exception {
+    final ChunkSyncBatcher batcher = new ChunkSyncBatcher(1, Duration.ZERO);
+
+    for (Future<Void> future : syncAll(batcher, channels)) {
+      future.get();
+    }
+
+    assertEquals(WRITERS, stats.getSyncRounds());
+    assertEquals(WRITERS, stats.getSyncedWrites());
+  }
+
+  private List<Future<Void>> syncAll(ChunkSyncBatcher batcher,
+      List<FileChannel> files) {
+    final List<Future<Void>> futures = new ArrayList<>();
+    for (FileChannel channel : files) {
+      futures.add(executor.submit(() -> {
+        batcher.sync(channel, volume);
+        return null;
+      }));
+    }
+    return futures;
+  }
+}
@@ -19,20 +19,31 @@
 
 import org.apache.commons.codec.binary.Hex;
 import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.container.ContainerTestHelper;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
 import org.apache.hadoop.ozone.container.keyvalue.ContainerLayoutTestInfo;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
+import org.apache.ozone.test.GenericTestUtils;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import static org.apache.hadoop.hdds.scm.ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY;
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.getChunk;
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.setDataChecksum;
 import static org.apache.hadoop.ozone.container.common.ContainerTestUtils.WRITE_STAGE;
@@ -133,6 +144,169 @@ public void testPartialRead() throws Exception {
         readData2.rewind().toByteString());
   }
 
+  @Test
+  public void testReadHandleCache() throws Exception {
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo info = getChunkInfo();
+    BlockData blockData = new BlockData(blockID);
+    ChunkManager subject = createTestSubject();
+    subject.writeChunk(container, blockID, info, getData(), WRITE_STAGE);
+    subject.finishWriteChunks(container, blockData);
+
+    VolumeIOStats stats = getHddsVolume().getVolumeIOStats();
+    subject.readChunk(container, blockID, info, null);
+    subject.readChunk(container, blockID, info, null);
+    assertEquals(1, stats.getReadHandleCacheMisses());
+    assertEquals(1, stats.getReadHandleCacheHits());
+    assertEquals(1, stats.getReadHandleOpenCount());
+
+    // deleting the block closes the cached handle
+    subject.deleteChunks(container, blockData);
+    rewindBufferToDataStart();
+    subject.writeChunk(container, blockID, info, getData(), WRITE_STAGE);
+    subject.finishWriteChunks(container, blockData);
+    subject.readChunk(container, blockID, info, null);
+    assertEquals(2, stats.getReadHandleCacheMisses());
+    assertEquals(2, stats.getReadHandleOpenCount());
+
+    // so does releasing the container
+    subject.releaseContainer(container);
+    subject.readChunk(container, blockID, info, null);
+    assertEquals(3, stats.getReadHandleCacheMisses());
+    assertEquals(0, stats.getReadHandleCacheEvictions());
+  }
+
+  @Test
+  public void testSplitIo() throws Exception {
+    final int datalen = 64 * 1024;
+    final int chunkCount = 4;
+    OzoneConfiguration conf = new OzoneConfiguration();
+    // read through the split I/O instead of mapping the file
+    conf.set(OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY, "1MB");
+    DatanodeConfiguration dnConf = conf.getObject(DatanodeConfiguration.class);
+    dnConf.setChunkSplitIoEnabled(true);
+    dnConf.setChunkSplitIoThreadsPerVolume(2);
+    dnConf.setChunkSplitIoRequestSize(4096);
+    ChunkManager subject = new FilePerBlockStrategy(true,
+        new BlockManagerImpl(conf), null, dnConf);
+
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ByteString written = ByteString.EMPTY;
+    try {
+      for (int x = 0; x < chunkCount; x++) {
+        ChunkInfo info = getChunk(
+            blockID.getLocalID(), x, (long) x * datalen, datalen);
+        ChunkBuffer data = ContainerTestHelper.getData(datalen);
+        written = written.concat(data.toByteString());
+        subject.writeChunk(container, blockID, info, data, WRITE_STAGE);
+      }
+
+      ChunkInfo largeChunk = getChunk(blockID.getLocalID(), 0, 0,
+          (long) datalen * chunkCount);
+      ChunkBuffer read = subject.readChunk(container, blockID, largeChunk,
+          null);
+      assertEquals(written, read.toByteString());
+    } finally {
+      subject.shutdown();
+    }
+  }
+
+  @Test
+  public void testDirectIoWrite() throws Exception {
+    final int datalen = 64 * 1024 + 100;
+    DatanodeConfiguration dnConf = new DatanodeConfiguration();
+    dnConf.setChunkWriteDirectIoEnabled(true);
+    ChunkManager subject = new FilePerBlockStrategy(true,
+        new BlockManagerImpl(new OzoneConfiguration()), null, dnConf);
+
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo info = getChunk(blockID.getLocalID(), 0, 0, datalen);
+    ChunkBuffer data = ContainerTestHelper.getData(datalen);
+    subject.writeChunk(container, blockID, info, data, WRITE_STAGE);
+    subject.finishWriteChunks(container, new BlockData(blockID));
+
+    assertEquals(data.rewind().toByteString(),
+        subject.readChunk(container, blockID, info, null).toByteString());
+    // either written directly, or fell back to normal writes
+    VolumeIOStats stats = getHddsVolume().getVolumeIOStats();
+    if (stats.getDirectWriteFallbacks() == 0) {
+      assertEquals(datalen, stats.getDirectWriteBytes());
+    } else {
+      assertEquals(0, stats.getDirectWriteBytes());
+    }
+  }
+
+  @Test
+  public void testBatchedSyncWrite() throws Exception {
+    final int datalen = 1024;
+    DatanodeConfiguration dnConf = new DatanodeConfiguration();
+    dnConf.setChunkWriteSyncBatchEnabled(true);
+    ChunkManager subject = new FilePerBlockStrategy(true,
+        new BlockManagerImpl(new OzoneConfiguration()), null, dnConf);
+
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkBuffer data = ContainerTestHelper.getData(2 * datalen);
+    for (int i = 0; i < 2; i++) {
+      ChunkInfo info = getChunk(blockID.getLocalID(), i, i * datalen,
+          datalen);
+      subject.writeChunk(container, blockID, info,
+          data.duplicate(i * datalen, (i + 1) * datalen), WRITE_STAGE);
+    }
+    subject.finishWriteChunks(container, new BlockData(blockID));
+
+    VolumeIOStats stats = getHddsVolume().getVolumeIOStats();
+    assertEquals(2, stats.getSyncedWrites());
+    assertEquals(2, stats.getSyncRounds());
+    ChunkInfo all = getChunk(blockID.getLocalID(), 0, 0, 2 * datalen);
+    assertEquals(data.rewind().toByteString(),
+        subject.readChunk(container, blockID, all, null).toByteString());
+  }
+
+  @Test
+  public void testFileClosedDuringBatchedSync() throws Exception {
+    final int datalen = 1024;
+    DatanodeConfiguration dnConf = new DatanodeConfiguration();
+    dnConf.setChunkWriteSyncBatchEnabled(true);
+    // the first write waits for the second one to be synced together
+    dnConf.setChunkWriteSyncBatchMaxSize(2);
+    dnConf.setChunkWriteSyncBatchWindow(Duration.ofMinutes(1));
+    ChunkManager subject = new FilePerBlockStrategy(true,
+        new BlockManagerImpl(new OzoneConfiguration()), null, dnConf);
+
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID first = getBlockID();
+    BlockID second = new BlockID(first.getContainerID(),
+        first.getLocalID() + 1);
+    ChunkBuffer data = ContainerTestHelper.getData(datalen);
+    CompletableFuture<Void> firstWrite = CompletableFuture.runAsync(() -> {
+      try {
+        subject.writeChunk(container, first,
+            getChunk(first.getLocalID(), 0, 0, datalen), data.duplicate(0,
+                datalen), WRITE_STAGE);
+      } catch (StorageContainerException e) {
+        throw new CompletionException(e);
+      }
+    });
+    File firstFile = FilePerBlockStrategy.getChunkFile(container, first);
+    GenericTestUtils.waitFor(() -> firstFile.length() == datalen, 10,
+        10_000);
+
+    // closes the file, while its sync is pending
+    subject.finishWriteChunks(container, new BlockData(first));
+    subject.writeChunk(container, second,
+        getChunk(second.getLocalID(), 0, 0, datalen),
+        data.duplicate(0, datalen), WRITE_STAGE);
+    firstWrite.get();
+
+    VolumeIOStats stats = getHddsVolume().getVolumeIOStats();
+    assertEquals(2, stats.getSyncedWrites());
+    assertEquals(1, stats.getSyncRounds());
+  }
+
   @Override
   protected ContainerLayoutTestInfo getStrategy() {
     return ContainerLayoutTestInfo.FILE_PER_BLOCK;
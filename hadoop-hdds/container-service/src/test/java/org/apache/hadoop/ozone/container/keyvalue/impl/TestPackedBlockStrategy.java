@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
+import org.apache.hadoop.ozone.container.keyvalue.ContainerLayoutTestInfo;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.BlockUtils;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.PackedExtent;
+import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.hadoop.ozone.container.common.ContainerTestUtils.COMBINED_STAGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test for PackedBlockStrategy.
+ */
+public class TestPackedBlockStrategy extends CommonChunkManagerTestCases {
+
+  private static final int CHUNKS_PER_BLOCK = 3;
+  private static final int CHUNK_LEN = 100;
+
+  @Override
+  protected ContainerLayoutTestInfo getStrategy() {
+    return ContainerLayoutTestInfo.PACKED_BLOCK;
+  }
+
+  @Test
+  public void testOpenContainerIsNotPacked() throws Exception {
+    ChunkManager subject = createTestSubject();
+    KeyValueContainer container = getKeyValueContainer();
+    writeBlock(subject, container, 1);
+
+    subject.compact(container);
+
+    assertEquals(1, chunkDir().list().length);
+    assertNull(PackedExtent.of(getBlock(container, 1)));
+    assertBlockData(subject, container, 1);
+  }
+
+  @Test
+  public void testPackAndCompact() throws Exception {
+    ChunkManager subject = createTestSubject();
+    KeyValueContainer container = getKeyValueContainer();
+    for (long localID = 1; localID <= 3; localID++) {
+      writeBlock(subject, container, localID);
+    }
+    getKeyValueContainerData().setState(
+        ContainerProtos.ContainerDataProto.State.CLOSED);
+
+    subject.compact(container);
+
+    // all blocks are packed into the first segment
+    assertEquals(Arrays.asList("1.segment"),
+        Arrays.asList(chunkDir().list()));
+    for (long localID = 1; localID <= 3; localID++) {
+      PackedExtent extent = PackedExtent.of(getBlock(container, localID));
+      assertNotNull(extent);
+      assertEquals(1, extent.getSegmentId());
+      assertEquals((localID - 1) * CHUNKS_PER_BLOCK * CHUNK_LEN,
+          extent.getOffset());
+      assertBlockData(subject, container, localID);
+    }
+
+    // not enough dead space yet
+    deleteBlock(subject, container, 1);
+    subject.compact(container);
+    assertEquals(Arrays.asList("1.segment"),
+        Arrays.asList(chunkDir().list()));
+
+    deleteBlock(subject, container, 2);
+    subject.compact(container);
+    assertEquals(Arrays.asList("2.segment"),
+        Arrays.asList(chunkDir().list()));
+    assertEquals(CHUNKS_PER_BLOCK * CHUNK_LEN,
+        new File(chunkDir(), "2.segment").length());
+    PackedExtent extent = PackedExtent.of(getBlock(container, 3));
+    assertNotNull(extent);
+    assertEquals(2, extent.getSegmentId());
+    assertEquals(0, extent.getOffset());
+    assertBlockData(subject, container, 3);
+
+    // all blocks deleted
+    deleteBlock(subject, container, 3);
+    subject.compact(container);
+    assertEquals(0, chunkDir().list().length);
+  }
+
+  @Test
+  public void testOrphanFilesAreRemoved() throws Exception {
+    ChunkManager subject = createTestSubject();
+    KeyValueContainer container = getKeyValueContainer();
+    writeBlock(subject, container, 1);
+    getKeyValueContainerData().setState(
+        ContainerProtos.ContainerDataProto.State.CLOSED);
+    subject.compact(container);
+
+    // left by a compaction interrupted before or after its DB update
+    assertTrue(new File(chunkDir(), "2.segment").createNewFile());
+    assertTrue(new File(chunkDir(), "1.block").createNewFile());
+
+    subject.compact(container);
+
+    assertEquals(Arrays.asList("1.segment"),
+        Arrays.asList(chunkDir().list()));
+    assertBlockData(subject, container, 1);
+  }
+
+  @Test
+  public void testListSegments() throws Exception {
+    File dir = chunkDir();
+    assertFalse(new File(dir, "5.segment").exists());
+    assertTrue(new File(dir, "5.segment").createNewFile());
+    assertTrue(new File(dir, "1.block").createNewFile());
+    assertTrue(new File(dir, "x.segment").createNewFile());
+
+    Map<Long, Long> segments = PackedBlockStrategy.listSegments(dir);
+
+    assertEquals(1, segments.size());
+    assertEquals(0L, segments.get(5L));
+  }
+
+  private File chunkDir() {
+    return new File(getKeyValueContainerData().getChunksPath());
+  }
+
+  private void writeBlock(ChunkManager subject, KeyValueContainer container,
+      long localID) throws Exception {
+    BlockID blockID = new BlockID(getBlockID().getContainerID(), localID);
+    BlockData blockData = new BlockData(blockID);
+    for (int i = 0; i < CHUNKS_PER_BLOCK; i++) {
+      ChunkInfo info = new ChunkInfo(localID + ".data." + i,
+          (long) i * CHUNK_LEN, CHUNK_LEN);
+      subject.writeChunk(container, blockID, info,
+          ChunkBuffer.wrap(ByteBuffer.wrap(chunkData(localID, i))),
+          COMBINED_STAGE);
+      blockData.addChunk(info.getProtoBufMessage());
+    }
+    subject.finishWriteChunks(container, blockData);
+    getBlockManager().putBlock(container, blockData);
+  }
+
+  private void assertBlockData(ChunkManager subject,
+      KeyValueContainer container, long localID) throws Exception {
+    BlockID blockID = new BlockID(getBlockID().getContainerID(), localID);
+    for (int i = 0; i < CHUNKS_PER_BLOCK; i++) {
+      ChunkInfo info = new ChunkInfo(localID + ".data." + i,
+          (long) i * CHUNK_LEN, CHUNK_LEN);
+      ByteBuffer read = subject.readChunk(container, blockID, info, null)
+          .toByteString().asReadOnlyByteBuffer();
+      assertEquals(ByteBuffer.wrap(chunkData(localID, i)), read);
+    }
+  }
+
+  private BlockData getBlock(KeyValueContainer container, long localID)
+      throws Exception {
+    return getBlockManager().getBlock(container,
+        new BlockID(getBlockID().getContainerID(), localID));
+  }
+
+  /**
+   * Delete the block like the block deleting service does.
+   */
+  private void deleteBlock(ChunkManager subject, KeyValueContainer container,
+      long localID) throws Exception {
+    KeyValueContainerData containerData = container.getContainerData();
+    subject.deleteChunks(container, getBlock(container, localID));
+    try (DBHandle db = BlockUtils.getDB(containerData,
+        new OzoneConfiguration())) {
+      db.getStore().getBlockDataTable()
+          .delete(containerData.getBlockKey(localID));
+    }
+    getBlockManager().invalidateBlock(container, localID);
+  }
+
+  private static byte[] chunkData(long localID, int index) {
+    byte[] data = new byte[CHUNK_LEN];
+    byte[] prefix = (localID + ":" + index + ":").getBytes(UTF_8);
+    for (int i = 0; i < CHUNK_LEN; i++) {
+      data[i] = prefix[i % prefix.length];
+    }
+    return data;
+  }
+}
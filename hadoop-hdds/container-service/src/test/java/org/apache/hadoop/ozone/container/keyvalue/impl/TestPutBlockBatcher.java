@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.BatchOperationHandler;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link PutBlockBatcher}.
+ */
+class TestPutBlockBatcher {
+
+  private static final String WRITER_PREFIX = "TestPutBlockBatcher-";
+
+  private final List<Integer> batchSizes = new ArrayList<>();
+  private final AtomicInteger applied = new AtomicInteger();
+  private final CountDownLatch firstCommitStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseFirstCommit = new CountDownLatch(1);
+  private volatile boolean failCommit;
+  private ExecutorService executor;
+
+  private final BatchOperationHandler db = new BatchOperationHandler() {
+    @Override
+    public BatchOperation initBatchOperation() {
+      applied.set(0);
+      return () -> { };
+    }
+
+    @Override
+    public void commitBatchOperation(BatchOperation operation)
+        throws IOException {
+      synchronized (batchSizes) {
+        batchSizes.add(applied.getAndSet(0));
+      }
+      firstCommitStarted.countDown();
+      try {
+        releaseFirstCommit.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+      if (failCommit) {
+        throw new IOException("injected");
+      }
+    }
+  };
+
+  @BeforeEach
+  void setup() {
+    AtomicInteger threads = new AtomicInteger();
+    executor = Executors.newCachedThreadPool(
+        r -> new Thread(r, WRITER_PREFIX + threads.incrementAndGet()));
+  }
+
+  @AfterEach
+  void cleanup() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void concurrentWritesAreBatched() throws Exception {
+    PutBlockBatcher batcher = new PutBlockBatcher(64, Duration.ZERO, null);
+
+    Future<?> first = executor.submit(() -> write(batcher));
+    firstCommitStarted.await();
+
+    List<Future<?>> queued = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      queued.add(executor.submit(() -> write(batcher)));
+    }
+    // queued writers wait for the commit in progress
+    GenericTestUtils.waitFor(this::allWriteTasksWaiting, 10, 10_000);
+
+    releaseFirstCommit.countDown();
+    first.get();
+    for (Future<?> f : queued) {
+      f.get();
+    }
+    assertEquals(2, batchSizes.size());
+    assertEquals(1, batchSizes.get(0));
+    assertEquals(3, batchSizes.get(1));
+  }
+
+  @Test
+  void maxBatchSize() throws Exception {
+    PutBlockBatcher batcher = new PutBlockBatcher(2, Duration.ZERO, null);
+
+    Future<?> first = executor.submit(() -> write(batcher));
+    firstCommitStarted.await();
+
+    List<Future<?>> queued = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      queued.add(executor.submit(() -> write(batcher)));
+    }
+    GenericTestUtils.waitFor(this::allWriteTasksWaiting, 10, 10_000);
+
+    releaseFirstCommit.countDown();
+    first.get();
+    for (Future<?> f : queued) {
+      f.get();
+    }
+    assertEquals(4, batchSizes.stream().mapToInt(Integer::intValue).sum());
+    batchSizes.forEach(size -> assertTrue(size <= 2, "batch size " + size));
+  }
+
+  @Test
+  void commitFailureIsReported() throws Exception {
+    PutBlockBatcher batcher = new PutBlockBatcher(64, Duration.ZERO, null);
+    failCommit = true;
+    releaseFirstCommit.countDown();
+
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> executor.submit(() -> write(batcher)).get());
+    assertInstanceOf(IOException.class, e.getCause());
+  }
+
+  @Test
+  void failedUpdateDoesNotFailBatch() throws Exception {
+    PutBlockBatcher batcher = new PutBlockBatcher(64, Duration.ZERO, null);
+
+    Future<?> first = executor.submit(() -> write(batcher));
+    firstCommitStarted.await();
+
+    List<Future<?>> queued = new ArrayList<>();
+    queued.add(executor.submit(() -> write(batcher)));
+    Future<?> failing = executor.submit(() -> {
+      batcher.write(db, batch -> {
+        throw new IOException("injected");
+      });
+      return null;
+    });
+    queued.add(executor.submit(() -> write(batcher)));
+    GenericTestUtils.waitFor(this::allWriteTasksWaiting, 10, 10_000);
+
+    releaseFirstCommit.countDown();
+    first.get();
+    for (Future<?> f : queued) {
+      f.get();
+    }
+    ExecutionException e = assertThrows(ExecutionException.class,
+        failing::get);
+    assertInstanceOf(IOException.class, e.getCause());
+    // the first batch, then the other two updates one by one
+    assertEquals(3, batchSizes.size());
+    assertEquals(1, batchSizes.get(1));
+    assertEquals(1, batchSizes.get(2));
+  }
+
+  private Void write(PutBlockBatcher batcher) throws IOException {
+    batcher.write(db, batch -> applied.incrementAndGet());
+    return null;
+  }
+
+  private boolean allWriteTasksWaiting() {
+    // 1 writer blocked in commit, 3 waiting for it
+    return Thread.getAllStackTraces().keySet().stream()
+        .filter(t -> t.getName().startsWith(WRITER_PREFIX))
+        .filter(t -> t.getState() == Thread.State.WAITING)
+        .count() >= 4;
+  }
+}
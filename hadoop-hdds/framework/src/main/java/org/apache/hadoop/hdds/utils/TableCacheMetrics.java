@@ -35,7 +35,11 @@ private enum MetricsInfos implements MetricsInfo {
     Size("Size of the cache."),
     HitCount("Number of time the lookup methods return a cached value."),
     MissCount("Number of times the requested value is not in the cache."),
-    IterationCount("Number of times the table cache is iterated through.");
+    IterationCount("Number of times the table cache is iterated through."),
+    EvictionConflictCount("Number of times cache cleanup kept an entry, "
+        + "because it was updated concurrently."),
+    HeapBytes("Bytes of heap used by the encoded entries of the cache."),
+    OffHeapBytes("Bytes of direct memory used by the cache.");
 
     private final String desc;
 
@@ -82,7 +86,14 @@ public void getMetrics(MetricsCollector collector, boolean all) {
         .addGauge(MetricsInfos.Size, cache.size())
         .addGauge(MetricsInfos.HitCount, stats.getCacheHits())
         .addGauge(MetricsInfos.MissCount, stats.getCacheMisses())
-        .addGauge(MetricsInfos.IterationCount, stats.getIterationTimes());
+        .addGauge(MetricsInfos.IterationCount, stats.getIterationTimes())
+        .addGauge(MetricsInfos.EvictionConflictCount,
+            stats.getEvictionConflicts())
+        .addGauge(MetricsInfos.OffHeapBytes, cache.getOffHeapBytes());
+    final long heapBytes = cache.getHeapBytes();
+    if (heapBytes >= 0) {
+      recordBuilder.addGauge(MetricsInfos.HeapBytes, heapBytes);
+    }
   }
 
   public void unregister() {
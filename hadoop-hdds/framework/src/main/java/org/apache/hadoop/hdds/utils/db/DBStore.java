@@ -26,6 +26,7 @@
 import java.util.Map;
 
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
+import org.apache.hadoop.hdds.utils.db.cache.OffHeapTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
 import org.apache.ozone.rocksdiff.RocksDBCheckpointDiffer;
 
@@ -76,6 +77,22 @@ <KEY, VALUE> Table<KEY, VALUE> getTable(String name,
       Class<KEY> keyType, Class<VALUE> valueType,
       TableCache.CacheType cacheType) throws IOException;
 
+  /**
+   * Gets an existing TableStore with implicit key/value conversion and
+   * with a {@link TableCache.CacheType#PARTIAL_OFF_HEAP_CACHE}.
+   * @param name - Name of the TableStore to get
+   * @param keyType
+   * @param valueType
+   * @param cacheValueCodec - To encode the cached values.
+   * @param memoryLimit - The limit of the direct memory of the cache.
+   * @return - TableStore.
+   * @throws IOException
+   */
+  <KEY, VALUE> Table<KEY, VALUE> getTable(String name,
+      Class<KEY> keyType, Class<VALUE> valueType,
+      Codec<VALUE> cacheValueCodec,
+      OffHeapTableCache.MemoryLimit memoryLimit) throws IOException;
+
   /**
    * Lists the Known list of Tables in a DB.
    *
@@ -32,6 +32,7 @@
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.utils.IOUtils;
 import org.apache.hadoop.hdds.utils.RocksDBStoreMetrics;
+import org.apache.hadoop.hdds.utils.db.cache.OffHeapTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
 import org.apache.hadoop.hdds.utils.db.RocksDatabase.ColumnFamily;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedCompactRangeOptions;
@@ -309,6 +310,14 @@ public <K, V> Table<K, V> getTable(String name,
         valueType, cacheType, threadNamePrefix);
   }
 
+  @Override
+  public <K, V> Table<K, V> getTable(String name,
+      Class<K> keyType, Class<V> valueType, Codec<V> cacheValueCodec,
+      OffHeapTableCache.MemoryLimit memoryLimit) throws IOException {
+    return new TypedTable<>(getTable(name), codecRegistry, keyType,
+        valueType, cacheValueCodec, memoryLimit, threadNamePrefix);
+  }
+
   @Override
   public ArrayList<Table> listTables() {
     ArrayList<Table> returnList = new ArrayList<>();
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.hadoop.hdds.utils.db;
+
+import java.io.IOException;
+
+import org.apache.hadoop.hdds.annotation.InterfaceStability;
+import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
+
+/**
+ * The read operations of a {@link Table}.  A table exposed only through this
+ * interface cannot be written, e.g. a view of a table with a value codec
+ * which only decodes a part of the values.
+ */
+@InterfaceStability.Evolving
+public interface ReadOnlyTable<KEY, VALUE> {
+
+  /**
+   * @return true if the metadata store is empty.
+   * @throws IOException on Failure
+   */
+  boolean isEmpty() throws IOException;
+
+  /**
+   * Check if a given key exists in Metadata store.
+   * @param key metadata key
+   * @return true if the metadata store contains a key.
+   * @throws IOException on Failure
+   */
+  boolean isExist(KEY key) throws IOException;
+
+  /**
+   * Returns the value mapped to the given key or returns null if the key is
+   * not found.
+   *
+   * @param key metadata key
+   * @throws IOException on Failure
+   */
+  VALUE get(KEY key) throws IOException;
+
+  /**
+   * Like {@link #get}, checking first whether the key may exist.
+   *
+   * @param key metadata key
+   * @throws IOException on Failure
+   */
+  VALUE getIfExist(KEY key) throws IOException;
+
+  /**
+   * Returns the iterator for this metadata store.
+   *
+   * @throws IOException on failure.
+   */
+  TableIterator<KEY, ? extends KeyValue<KEY, VALUE>> iterator()
+      throws IOException;
+
+  /**
+   * Returns a prefixed iterator for this metadata store.
+   * @param prefix
+   */
+  TableIterator<KEY, ? extends KeyValue<KEY, VALUE>> iterator(KEY prefix)
+      throws IOException;
+
+  /**
+   * Returns the Name of this Table.
+   * @return - Table Name.
+   * @throws IOException on failure.
+   */
+  String getName() throws IOException;
+
+  /**
+   * Returns the key count of this Table.  Note the result can be inaccurate.
+   * @return Estimated key count of this Table
+   * @throws IOException on failure
+   */
+  long getEstimatedKeyCount() throws IOException;
+}
@@ -38,7 +38,8 @@
  * different kind of tables.
  */
 @InterfaceStability.Evolving
-public interface Table<KEY, VALUE> extends AutoCloseable {
+public interface Table<KEY, VALUE>
+    extends ReadOnlyTable<KEY, VALUE>, AutoCloseable {
 
   /**
    * Puts a key-value pair into the store.
@@ -35,6 +35,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheResult;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.hdds.utils.db.cache.FullTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.OffHeapTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.PartialTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
@@ -95,6 +96,41 @@ public TypedTable(RDBTable rawTable,
       CodecRegistry codecRegistry, Class<KEY> keyType,
       Class<VALUE> valueType,
       CacheType cacheType, String threadNamePrefix) throws IOException {
+    this(rawTable, codecRegistry, keyType, valueType, cacheType, null,
+        OffHeapTableCache.MemoryLimit.unlimited(), threadNamePrefix);
+  }
+
+  /**
+   * Create an TypedTable from the raw table with a
+   * {@link CacheType#PARTIAL_OFF_HEAP_CACHE}.
+   *
+   * @param rawTable The underlying (untyped) table in RocksDB.
+   * @param codecRegistry To look up codecs.
+   * @param keyType The key type.
+   * @param valueType The value type.
+   * @param cacheValueCodec To encode the cached values, which may keep
+   *                        more than the codec of the table.
+   * @param memoryLimit The limit of the direct memory of the cache.
+   * @param threadNamePrefix
+   * @throws IOException if failed to iterate the raw table.
+   */
+  public TypedTable(RDBTable rawTable,
+      CodecRegistry codecRegistry, Class<KEY> keyType,
+      Class<VALUE> valueType, Codec<VALUE> cacheValueCodec,
+      OffHeapTableCache.MemoryLimit memoryLimit, String threadNamePrefix)
+      throws IOException {
+    this(rawTable, codecRegistry, keyType, valueType,
+        CacheType.PARTIAL_OFF_HEAP_CACHE,
+        Objects.requireNonNull(cacheValueCodec, "cacheValueCodec == null"),
+        memoryLimit, threadNamePrefix);
+  }
+
+  private TypedTable(RDBTable rawTable,
+      CodecRegistry codecRegistry, Class<KEY> keyType,
+      Class<VALUE> valueType, CacheType cacheType,
+      Codec<VALUE> cacheValueCodec,
+      OffHeapTableCache.MemoryLimit memoryLimit, String threadNamePrefix)
+      throws IOException {
     this.rawTable = Objects.requireNonNull(rawTable, "rawTable==null");
     Objects.requireNonNull(codecRegistry, "codecRegistry == null");
 
@@ -125,6 +161,10 @@ public TypedTable(RDBTable rawTable,
               CacheValue.get(EPOCH_DEFAULT, kv.getValue()));
         }
       }
+    } else if (cacheType == CacheType.PARTIAL_OFF_HEAP_CACHE) {
+      cache = new OffHeapTableCache<>(keyCodec,
+          cacheValueCodec != null ? cacheValueCodec : valueCodec,
+          memoryLimit, threadNamePrefix);
     } else {
       cache = new PartialTableCache<>(threadNamePrefix);
     }
@@ -460,7 +500,7 @@ public long getEstimatedKeyCount() throws IOException {
   @Override
   public void close() throws Exception {
     rawTable.close();
-
+    cache.close();
   }
 
   @Override
@@ -24,11 +24,18 @@ public class CacheStats {
   private final long cacheHits;
   private final long cacheMisses;
   private final long iterationTimes;
+  private final long evictionConflicts;
 
   public CacheStats(long cacheHits, long cacheMisses, long iterationTimes) {
+    this(cacheHits, cacheMisses, iterationTimes, 0);
+  }
+
+  public CacheStats(long cacheHits, long cacheMisses, long iterationTimes,
+      long evictionConflicts) {
     this.cacheHits = cacheHits;
     this.cacheMisses = cacheMisses;
     this.iterationTimes = iterationTimes;
+    this.evictionConflicts = evictionConflicts;
   }
 
   public long getCacheHits() {
@@ -42,4 +49,8 @@ public long getCacheMisses() {
   public long getIterationTimes() {
     return iterationTimes;
   }
+
+  public long getEvictionConflicts() {
+    return evictionConflicts;
+  }
 }
@@ -26,6 +26,7 @@ class CacheStatsRecorder {
   private final AtomicLong cacheHits = new AtomicLong(0);
   private final AtomicLong cacheMisses = new AtomicLong(0);
   private final AtomicLong iterationTimes = new AtomicLong(0);
+  private final AtomicLong evictionConflicts = new AtomicLong(0);
 
   public void recordHit() {
     cacheHits.incrementAndGet();
@@ -47,11 +48,20 @@ public void recordIteration() {
     iterationTimes.incrementAndGet();
   }
 
+  /**
+   * Record that cleanup did not evict an entry, because it was updated
+   * concurrently.
+   */
+  public void recordEvictionConflict() {
+    evictionConflicts.incrementAndGet();
+  }
+
   public CacheStats snapshot() {
     return new CacheStats(
         cacheHits.get(),
         cacheMisses.get(),
-        iterationTimes.get()
+        iterationTimes.get(),
+        evictionConflicts.get()
     );
   }
 
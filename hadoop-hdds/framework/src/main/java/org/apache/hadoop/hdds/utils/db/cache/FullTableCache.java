@@ -29,8 +29,6 @@
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -42,6 +40,11 @@
 /**
  * Cache implementation for the table. Full Table cache, where the DB state
  * and cache state will be same for these tables.
+ * <p>
+ * Neither reads nor cleanup take a lock: cleanup removes a delete marker
+ * only if the key is still mapped to the same {@link CacheValue}, i.e.
+ * the same epoch.  If a request updates the key concurrently, the removal
+ * fails and the newer value is kept.
  * @param <KEY>
  * @param <VALUE>
  */
@@ -56,8 +59,6 @@
   private final NavigableMap<Long, Set<CacheKey<KEY>>> epochEntries;
   private final ExecutorService executorService;
 
-  private final ReadWriteLock lock;
-
   private final CacheStatsRecorder statsRecorder;
 
 
@@ -65,15 +66,8 @@ public FullTableCache(String threadNamePrefix) {
     // As for full table cache only we need elements to be inserted in sorted
     // manner, so that list will be easy. But look ups have log(N) time
     // complexity.
-
-    // Here lock is required to protect cache because cleanup is not done
-    // under any ozone level locks like bucket/volume, there is a chance of
-    // cleanup which are not flushed to disks when request processing thread
-    // updates entries.
     cache = new ConcurrentSkipListMap<>();
 
-    lock = new ReentrantReadWriteLock();
-
     epochEntries = new ConcurrentSkipListMap<>();
 
     // Created a singleThreadExecutor, so one cleanup will be running at a
@@ -89,14 +83,9 @@ public FullTableCache(String threadNamePrefix) {
 
   @Override
   public CacheValue<VALUE> get(CacheKey<KEY> cachekey) {
-    try {
-      lock.readLock().lock();
-      CacheValue<VALUE> cachevalue = cache.get(cachekey);
-      statsRecorder.recordValue(cachevalue);
-      return cachevalue;
-    } finally {
-      lock.readLock().unlock();
-    }
+    CacheValue<VALUE> cachevalue = cache.get(cachekey);
+    statsRecorder.recordValue(cachevalue);
+    return cachevalue;
   }
 
   @Override
@@ -110,14 +99,9 @@ public void loadInitial(CacheKey<KEY> key, CacheValue<VALUE> value) {
 
   @Override
   public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
-    try {
-      lock.writeLock().lock();
-      cache.put(cacheKey, value);
-      epochEntries.computeIfAbsent(value.getEpoch(),
-          v -> new CopyOnWriteArraySet<>()).add(cacheKey);
-    } finally {
-      lock.writeLock().unlock();
-    }
+    cache.put(cacheKey, value);
+    epochEntries.computeIfAbsent(value.getEpoch(),
+        v -> new CopyOnWriteArraySet<>()).add(cacheKey);
   }
 
   @Override
@@ -139,44 +123,39 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
   @VisibleForTesting
   @Override
   public void evictCache(List<Long> epochs) {
-    Set<CacheKey<KEY>> currentCacheKeys;
-    CacheKey<KEY> cachekey;
     long lastEpoch = epochs.get(epochs.size() - 1);
     for (long currentEpoch : epochEntries.keySet()) {
-      currentCacheKeys = epochEntries.get(currentEpoch);
-
       // If currentEntry epoch is greater than last epoch provided, we have
       // deleted all entries less than specified epoch. So, we can break.
       if (currentEpoch > lastEpoch) {
         break;
       }
-
-      // Acquire lock to avoid race between cleanup and add to cache entry by
-      // client requests.
-      try {
-        lock.writeLock().lock();
-        if (epochs.contains(currentEpoch)) {
-          for (Iterator<CacheKey<KEY>> iterator = currentCacheKeys.iterator();
-               iterator.hasNext();) {
-            cachekey = iterator.next();
-            cache.computeIfPresent(cachekey, ((k, v) -> {
-              // If cache epoch entry matches with current Epoch, remove entry
-              // from cache.
-              if (v.getCacheValue() == null && v.getEpoch() == currentEpoch) {
-                if (LOG.isDebugEnabled()) {
-                  LOG.debug("CacheKey {} with epoch {} is removed from cache",
-                      k.getCacheKey(), currentEpoch);
-                }
-                return null;
-              }
-              return v;
-            }));
-          }
-          // Remove epoch entry, as the entry is there in epoch list.
+      if (!epochs.contains(currentEpoch)) {
+        continue;
+      }
+      // Remove epoch entry, as the entry is there in epoch list.  Requests
+      // of this epoch are all applied, so no key is added to it any more.
+      final Set<CacheKey<KEY>> currentCacheKeys =
           epochEntries.remove(currentEpoch);
+      if (currentCacheKeys == null) {
+        continue;
+      }
+      for (CacheKey<KEY> cachekey : currentCacheKeys) {
+        final CacheValue<VALUE> cachevalue = cache.get(cachekey);
+        // Only delete markers of this epoch are removed from the cache.
+        if (cachevalue == null || cachevalue.getCacheValue() != null
+            || cachevalue.getEpoch() != currentEpoch) {
+          continue;
+        }
+        if (cache.remove(cachekey, cachevalue)) {
+          if (LOG.isDebugEnabled()) {
+            LOG.debug("CacheKey {} with epoch {} is removed from cache",
+                cachekey.getCacheKey(), currentEpoch);
+          }
+        } else {
+          // updated by a request meanwhile, keep the new value
+          statsRecorder.recordEvictionConflict();
         }
-      } finally {
-        lock.writeLock().unlock();
       }
     }
   }
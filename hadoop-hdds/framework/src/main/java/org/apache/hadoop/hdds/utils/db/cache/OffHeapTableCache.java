@@ -0,0 +1,449 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience.Private;
+import org.apache.hadoop.hdds.annotation.InterfaceStability.Evolving;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Partial table cache, like {@link PartialTableCache}, which stores the
+ * values encoded in direct memory instead of as objects on the heap.
+ * <p>
+ * Keys are kept encoded in heap byte arrays, as the hash index needs stable
+ * key objects, but the values, which are usually much larger, are only
+ * decoded when read.  Every read thus returns a new copy of the value.
+ * <p>
+ * The entries are reference counted: the cache holds a reference until the
+ * value is overridden or evicted, and each reader holds one while decoding,
+ * outside of the map locks.  The buffer of a value is released with the
+ * last reference.
+ * <p>
+ * The direct memory used is bounded by a {@link MemoryLimit}, which may be
+ * shared by several caches.  A partial cache has to keep all its entries,
+ * as they are not yet flushed to the DB, so the values over the limit are
+ * kept encoded on the heap instead.
+ * @param <KEY>
+ * @param <VALUE>
+ */
+@Private
+@Evolving
+public class OffHeapTableCache<KEY, VALUE> implements TableCache<KEY, VALUE> {
+
+  public static final Logger LOG =
+      LoggerFactory.getLogger(OffHeapTableCache.class);
+
+  private final Codec<KEY> keyCodec;
+  private final Codec<VALUE> valueCodec;
+  private final MemoryLimit memoryLimit;
+  private final Map<EncodedKey, Entry> cache = new ConcurrentHashMap<>();
+  private final NavigableMap<Long, Set<EncodedKey>> epochEntries =
+      new ConcurrentSkipListMap<>();
+  private final ExecutorService executorService;
+  private final CacheStatsRecorder statsRecorder = new CacheStatsRecorder();
+  private final AtomicLong heapBytes = new AtomicLong();
+  private final AtomicLong offHeapBytes = new AtomicLong();
+
+  public OffHeapTableCache(Codec<KEY> keyCodec, Codec<VALUE> valueCodec,
+      MemoryLimit memoryLimit, String threadNamePrefix) {
+    this.keyCodec = Objects.requireNonNull(keyCodec, "keyCodec == null");
+    this.valueCodec = Objects.requireNonNull(valueCodec, "valueCodec == null");
+    this.memoryLimit = Objects.requireNonNull(memoryLimit,
+        "memoryLimit == null");
+    // Created a singleThreadExecutor, so one cleanup will be running at a
+    // time.
+    ThreadFactory threadFactory = new ThreadFactoryBuilder()
+        .setDaemon(true)
+        .setNameFormat(threadNamePrefix + "OffHeapTableCache-Cleanup-%d")
+        .build();
+    executorService = Executors.newSingleThreadExecutor(threadFactory);
+  }
+
+  @Override
+  public CacheValue<VALUE> get(CacheKey<KEY> cacheKey) {
+    CacheValue<VALUE> value = read(encodeKey(cacheKey));
+    statsRecorder.recordValue(value);
+    return value;
+  }
+
+  @Override
+  public void loadInitial(CacheKey<KEY> key, CacheValue<VALUE> value) {
+    // Do nothing for partial table cache.
+  }
+
+  @Override
+  public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
+    final EncodedKey key = encodeKey(cacheKey);
+    final Entry entry = new Entry(value.getEpoch(),
+        encodeValue(value.getCacheValue()));
+    final Entry old = cache.put(key, entry);
+    if (old == null) {
+      heapBytes.addAndGet(key.bytes.length);
+    } else {
+      old.release();
+    }
+    epochEntries.computeIfAbsent(value.getEpoch(),
+        v -> ConcurrentHashMap.newKeySet()).add(key);
+  }
+
+  @Override
+  public void cleanup(List<Long> epochs) {
+    executorService.execute(() -> evictCache(epochs));
+  }
+
+  @Override
+  public int size() {
+    return cache.size();
+  }
+
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
+    statsRecorder.recordIteration();
+    // entries evicted while iterating are skipped
+    return Iterators.filter(Iterators.transform(cache.keySet().iterator(),
+        this::readEntry), Objects::nonNull);
+  }
+
+  @VisibleForTesting
+  @Override
+  public void evictCache(List<Long> epochs) {
+    long lastEpoch = epochs.get(epochs.size() - 1);
+    for (Map.Entry<Long, Set<EncodedKey>> epochEntry
+        : epochEntries.entrySet()) {
+      final long currentEpoch = epochEntry.getKey();
+      // If currentEntry epoch is greater than last epoch provided, we have
+      // deleted all entries less than specified epoch. So, we can break.
+      if (currentEpoch > lastEpoch) {
+        break;
+      }
+      if (epochs.contains(currentEpoch)) {
+        for (EncodedKey key : epochEntry.getValue()) {
+          // If cache epoch entry matches with current Epoch, remove entry
+          // from cache.
+          final Entry v = cache.get(key);
+          if (v != null && v.epoch == currentEpoch && cache.remove(key, v)) {
+            if (LOG.isDebugEnabled()) {
+              LOG.debug("CacheKey {} with epoch {} is removed from cache",
+                  decodeKey(key), currentEpoch);
+            }
+            heapBytes.addAndGet(-key.bytes.length);
+            v.release();
+          }
+        }
+        // Remove epoch entry, as the entry is there in epoch list.
+        epochEntries.remove(currentEpoch);
+      }
+    }
+  }
+
+  @Override
+  public CacheResult<VALUE> lookup(CacheKey<KEY> cachekey) {
+    CacheValue<VALUE> cachevalue = read(encodeKey(cachekey));
+    statsRecorder.recordValue(cachevalue);
+    if (cachevalue == null) {
+      return new CacheResult<>(CacheResult.CacheStatus.MAY_EXIST, null);
+    } else if (cachevalue.getCacheValue() != null) {
+      return new CacheResult<>(CacheResult.CacheStatus.EXISTS, cachevalue);
+    } else {
+      // When entity is marked for delete, cacheValue will be set to null.
+      return new CacheResult<>(CacheResult.CacheStatus.NOT_EXIST, null);
+    }
+  }
+
+  @VisibleForTesting
+  @Override
+  public NavigableMap<Long, Set<CacheKey<KEY>>> getEpochEntries() {
+    final NavigableMap<Long, Set<CacheKey<KEY>>> decoded = new TreeMap<>();
+    epochEntries.forEach((epoch, keys) -> decoded.put(epoch,
+        keys.stream().map(k -> new CacheKey<>(decodeKey(k)))
+            .collect(Collectors.toSet())));
+    return decoded;
+  }
+
+  @Override
+  public CacheStats getStats() {
+    return statsRecorder.snapshot();
+  }
+
+  @Override
+  public CacheType getCacheType() {
+    return CacheType.PARTIAL_OFF_HEAP_CACHE;
+  }
+
+  @Override
+  public long getHeapBytes() {
+    return heapBytes.get();
+  }
+
+  @Override
+  public long getOffHeapBytes() {
+    return offHeapBytes.get();
+  }
+
+  @Override
+  public void close() {
+    executorService.shutdown();
+    for (EncodedKey key : cache.keySet()) {
+      final Entry v = cache.remove(key);
+      if (v != null) {
+        heapBytes.addAndGet(-key.bytes.length);
+        v.release();
+      }
+    }
+    epochEntries.clear();
+  }
+
+  /** @return a decoded copy of the cached value, or null if not cached */
+  private CacheValue<VALUE> read(EncodedKey key) {
+    while (true) {
+      final Entry entry = cache.get(key);
+      if (entry == null) {
+        return null;
+      }
+      // the reference keeps the buffer from being released while decoding
+      if (entry.retain()) {
+        try {
+          return entry.value == null ? CacheValue.get(entry.epoch)
+              : CacheValue.get(entry.epoch, decodeValue(entry.value));
+        } finally {
+          entry.release();
+        }
+      }
+      // the entry was just overridden or evicted, read again
+    }
+  }
+
+  private Map.Entry<CacheKey<KEY>, CacheValue<VALUE>> readEntry(
+      EncodedKey key) {
+    final CacheValue<VALUE> value = read(key);
+    return value == null ? null : new AbstractMap.SimpleImmutableEntry<>(
+        new CacheKey<>(decodeKey(key)), value);
+  }
+
+  private EncodedKey encodeKey(CacheKey<KEY> cacheKey) {
+    try {
+      return new EncodedKey(
+          keyCodec.toPersistedFormat(cacheKey.getCacheKey()));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to encode cache key "
+          + cacheKey.getCacheKey(), e);
+    }
+  }
+
+  private KEY decodeKey(EncodedKey key) {
+    try {
+      return keyCodec.fromPersistedFormat(key.bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to decode cache key", e);
+    }
+  }
+
+  /**
+   * @return the encoded value, in direct memory if within the memory limit,
+   *         otherwise on the heap.
+   */
+  private CodecBuffer encodeValue(VALUE value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      if (valueCodec.supportCodecBuffer()) {
+        final CodecBuffer direct = valueCodec.toDirectCodecBuffer(value);
+        if (reserve(direct.readableBytes())) {
+          return direct;
+        }
+        try {
+          return wrapHeap(direct.getArray());
+        } finally {
+          direct.release();
+        }
+      }
+      final byte[] bytes = valueCodec.toPersistedFormat(value);
+      if (reserve(bytes.length)) {
+        return CodecBuffer.allocateDirect(bytes.length)
+            .put(ByteBuffer.wrap(bytes));
+      }
+      return wrapHeap(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to encode cache value", e);
+    }
+  }
+
+  private boolean reserve(int bytes) {
+    if (!memoryLimit.tryReserve(bytes)) {
+      return false;
+    }
+    offHeapBytes.addAndGet(bytes);
+    return true;
+  }
+
+  private CodecBuffer wrapHeap(byte[] bytes) {
+    heapBytes.addAndGet(bytes.length);
+    return CodecBuffer.wrap(bytes);
+  }
+
+  private VALUE decodeValue(CodecBuffer buffer) {
+    try {
+      if (valueCodec.supportCodecBuffer()) {
+        return valueCodec.fromCodecBuffer(buffer);
+      }
+      final ByteBuffer bytes = buffer.asReadOnlyByteBuffer();
+      final byte[] array = new byte[bytes.remaining()];
+      bytes.get(array);
+      return valueCodec.fromPersistedFormat(array);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to decode cache value", e);
+    }
+  }
+
+  private void free(CodecBuffer buffer) {
+    final int bytes = buffer.readableBytes();
+    if (buffer.isDirect()) {
+      offHeapBytes.addAndGet(-bytes);
+      memoryLimit.release(bytes);
+    } else {
+      heapBytes.addAndGet(-bytes);
+    }
+    buffer.release();
+  }
+
+  /**
+   * A limit of the direct memory used by the values of caches.
+   */
+  public static final class MemoryLimit {
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    public MemoryLimit(long maxBytes) {
+      this.maxBytes = maxBytes;
+    }
+
+    /** @return a limit which never rejects a value */
+    public static MemoryLimit unlimited() {
+      return new MemoryLimit(Long.MAX_VALUE);
+    }
+
+    public long getMaxBytes() {
+      return maxBytes;
+    }
+
+    public long getUsedBytes() {
+      return usedBytes.get();
+    }
+
+    boolean tryReserve(long bytes) {
+      long used;
+      do {
+        used = usedBytes.get();
+        if (bytes > maxBytes - used) {
+          return false;
+        }
+      } while (!usedBytes.compareAndSet(used, used + bytes));
+      return true;
+    }
+
+    void release(long bytes) {
+      usedBytes.addAndGet(-bytes);
+    }
+  }
+
+  /** An encoded key, compared by content. */
+  private static final class EncodedKey {
+    private final byte[] bytes;
+    private final int hash;
+
+    EncodedKey(byte[] bytes) {
+      this.bytes = bytes;
+      this.hash = Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      return o instanceof EncodedKey
+          && Arrays.equals(bytes, ((EncodedKey) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /** A cached value, or a delete marker if the value is null. */
+  private final class Entry {
+    private final long epoch;
+    private final CodecBuffer value;
+    // the reference of the cache, plus one per reader decoding the value
+    private final AtomicInteger refs = new AtomicInteger(1);
+
+    Entry(long epoch, CodecBuffer value) {
+      this.epoch = epoch;
+      this.value = value;
+    }
+
+    /** @return false if the value is already released */
+    boolean retain() {
+      int n;
+      do {
+        n = refs.get();
+        if (n == 0) {
+          return false;
+        }
+      } while (!refs.compareAndSet(n, n + 1));
+      return true;
+    }
+
+    void release() {
+      if (refs.decrementAndGet() == 0 && value != null) {
+        free(value);
+      }
+    }
+  }
+}
@@ -110,13 +110,37 @@
    */
   CacheType getCacheType();
 
+  /**
+   * Return the bytes of heap used by the encoded entries, or -1 if the
+   * entries are not stored encoded.
+   */
+  default long getHeapBytes() {
+    return -1;
+  }
+
+  /**
+   * Return the bytes of direct memory used by the entries.
+   */
+  default long getOffHeapBytes() {
+    return 0;
+  }
+
+  /**
+   * Release the memory held by the cache.  The cache must not be used
+   * afterwards.
+   */
+  default void close() {
+  }
+
   /**
    * Cache completeness.
    */
   enum CacheType {
     FULL_CACHE, //  This mean's the table maintains full cache. Cache and DB
     // state are same.
-    PARTIAL_CACHE // This is partial table cache, cache state is partial state
-    // compared to DB state.
+    PARTIAL_CACHE, // This is partial table cache, cache state is partial
+    // state compared to DB state.
+    PARTIAL_OFF_HEAP_CACHE // Partial table cache which stores the values
+    // encoded in direct memory.
   }
 }
@@ -24,11 +24,16 @@
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.hadoop.hdds.utils.db.StringCodec;
 import org.apache.ozone.test.GenericTestUtils;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.slf4j.event.Level;
@@ -49,6 +54,9 @@ public static void setLogLevel() {
   private void createTableCache(TableCache.CacheType cacheType) {
     if (cacheType == TableCache.CacheType.FULL_CACHE) {
       tableCache = new FullTableCache<>("");
+    } else if (cacheType == TableCache.CacheType.PARTIAL_OFF_HEAP_CACHE) {
+      tableCache = new OffHeapTableCache<>(StringCodec.get(),
+          StringCodec.get(), OffHeapTableCache.MemoryLimit.unlimited(), "");
     } else {
       tableCache = new PartialTableCache<>("");
     }
@@ -140,7 +148,7 @@ public void testTableCacheWithRenameKey(TableCache.CacheType cacheType) {
 
     assertEquals(0, tableCache.getEpochEntries().size());
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       assertEquals(0, tableCache.size());
     } else {
       assertEquals(3, tableCache.size());
@@ -178,7 +186,7 @@ public void testPartialTableCacheWithNotContinuousEntries(
     final int count = totalCount;
 
     // If cleanup policy is manual entries should have been removed.
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       assertEquals(count - epochs.size(), tableCache.size());
 
       // Check remaining entries exist or not and deleted entries does not
@@ -240,7 +248,7 @@ public void testPartialTableCacheWithOverrideEntries(
     epochs.add(3L);
     epochs.add(4L);
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
 
       tableCache.evictCache(epochs);
 
@@ -255,7 +263,7 @@ public void testPartialTableCacheWithOverrideEntries(
 
     epochs = new ArrayList<>();
     epochs.add(5L);
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       tableCache.evictCache(epochs);
 
       assertEquals(0, tableCache.size());
@@ -317,7 +325,7 @@ public void testPartialTableCacheWithOverrideAndDelete(
     epochs.add(6L);
 
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       tableCache.evictCache(epochs);
 
       assertEquals(0, tableCache.size());
@@ -339,7 +347,7 @@ public void testPartialTableCacheWithOverrideAndDelete(
     epochs = new ArrayList<>();
     epochs.add(7L);
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       tableCache.evictCache(epochs);
 
       assertEquals(0, tableCache.size());
@@ -404,7 +412,7 @@ public void testPartialTableCacheParallel(
 
     totalCount += value;
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       int deleted = 5;
 
       // cleanup first 5 entries
@@ -523,7 +531,7 @@ public void testTableCacheWithNonConsecutiveEpochList(
 
     tableCache.evictCache(epochs);
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       assertEquals(0, tableCache.size());
       assertEquals(0, tableCache.getEpochEntries().size());
     } else {
@@ -566,6 +574,97 @@ public void testTableCacheStats(TableCache.CacheType cacheType) {
     verifyStats(tableCache, 3, 2, 2);
   }
 
+  @Test
+  public void testFullTableCacheCleanupKeepsConcurrentUpdates()
+      throws Exception {
+    createTableCache(TableCache.CacheType.FULL_CACHE);
+    final CacheKey<String> key = new CacheKey<>("key");
+    final long lastEpoch = 20_000;
+
+    // A request deletes the key in each even epoch and recreates it in the
+    // next one, while cleanup evicts the delete markers of flushed epochs.
+    final AtomicLong appliedEpoch = new AtomicLong(-1);
+    final CompletableFuture<Long> lostUpdates =
+        CompletableFuture.supplyAsync(() -> {
+          long lost = 0;
+          for (long epoch = 0; epoch < lastEpoch; epoch += 2) {
+            tableCache.put(key, CacheValue.get(epoch));
+            appliedEpoch.set(epoch);
+            tableCache.put(key, CacheValue.get(epoch + 1, "v" + epoch));
+            if (tableCache.get(key) == null) {
+              lost++;
+            }
+          }
+          return lost;
+        });
+    for (long epoch = 0; epoch < lastEpoch; epoch += 2) {
+      while (appliedEpoch.get() < epoch) {
+        Thread.yield();
+      }
+      tableCache.evictCache(Collections.singletonList(epoch));
+    }
+
+    assertEquals(0, lostUpdates.get());
+    assertNotNull(tableCache.get(key).getCacheValue());
+  }
+
+  @Test
+  public void testOffHeapMemoryIsReleased() {
+    tableCache = new OffHeapTableCache<>(StringCodec.get(), StringCodec.get(),
+        OffHeapTableCache.MemoryLimit.unlimited(), "");
+    assertEquals(0, tableCache.getOffHeapBytes());
+    assertEquals(0, tableCache.getHeapBytes());
+
+    tableCache.put(new CacheKey<>("a"), CacheValue.get(0, "0123456789"));
+    tableCache.put(new CacheKey<>("b"), CacheValue.get(1));
+    assertEquals(10, tableCache.getOffHeapBytes());
+    assertEquals(2, tableCache.getHeapBytes());
+
+    // overriding releases the old value
+    tableCache.put(new CacheKey<>("a"), CacheValue.get(2, "01234"));
+    assertEquals(5, tableCache.getOffHeapBytes());
+    assertEquals("01234",
+        tableCache.get(new CacheKey<>("a")).getCacheValue());
+    assertNull(tableCache.get(new CacheKey<>("b")).getCacheValue());
+
+    tableCache.evictCache(Arrays.asList(0L, 1L));
+    assertEquals(1, tableCache.size());
+    assertEquals(5, tableCache.getOffHeapBytes());
+    assertEquals(1, tableCache.getHeapBytes());
+
+    tableCache.close();
+    assertEquals(0, tableCache.size());
+    assertEquals(0, tableCache.getOffHeapBytes());
+    assertEquals(0, tableCache.getHeapBytes());
+  }
+
+  @Test
+  public void testOffHeapMemoryLimit() {
+    final OffHeapTableCache.MemoryLimit limit =
+        new OffHeapTableCache.MemoryLimit(10);
+    tableCache = new OffHeapTableCache<>(StringCodec.get(), StringCodec.get(),
+        limit, "");
+
+    tableCache.put(new CacheKey<>("a"), CacheValue.get(0, "012345"));
+    // over the limit, the value is kept on the heap
+    tableCache.put(new CacheKey<>("b"), CacheValue.get(1, "012345"));
+    assertEquals(6, tableCache.getOffHeapBytes());
+    assertEquals(6, limit.getUsedBytes());
+    assertEquals(2 + 6, tableCache.getHeapBytes());
+    assertEquals("012345",
+        tableCache.get(new CacheKey<>("b")).getCacheValue());
+
+    tableCache.evictCache(Collections.singletonList(0L));
+    assertEquals(0, limit.getUsedBytes());
+    tableCache.put(new CacheKey<>("c"), CacheValue.get(2, "0123"));
+    assertEquals(4, tableCache.getOffHeapBytes());
+    assertEquals(4, limit.getUsedBytes());
+
+    tableCache.close();
+    assertEquals(0, limit.getUsedBytes());
+    assertEquals(0, tableCache.getHeapBytes());
+  }
+
   private int writeToCache(int count, int startVal, long sleep)
       throws InterruptedException {
     int counter = 1;
@@ -46,6 +46,23 @@ AllocatedBlock allocateBlock(long size, ReplicationConfig replicationConfig,
       String owner,
       ExcludeList excludeList) throws IOException, TimeoutException;
 
+  /**
+   * Allocates new blocks for a given size.  Consecutive blocks share a
+   * container as long as it has space for them, and the local IDs of all
+   * blocks are reserved at once.
+   * @param size - Block Size
+   * @param num - Number of blocks
+   * @param replicationConfig configuration of the replication method
+   * @param excludeList List of datanodes/containers to exclude during block
+   *                    allocation.
+   * @return the allocated blocks, fewer than requested if no container
+   *         could be found for the rest
+   * @throws IOException
+   */
+  List<AllocatedBlock> allocateBlocks(long size, int num,
+      ReplicationConfig replicationConfig, String owner,
+      ExcludeList excludeList) throws IOException, TimeoutException;
+
   /**
    * Deletes a list of blocks in an atomic operation. Internally, SCM
    * writes these blocks into a {@link DeletedBlockLog} and deletes them
@@ -19,6 +19,8 @@
 import javax.management.ObjectName;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +28,7 @@
 
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.StorageUnit;
@@ -37,6 +40,7 @@
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
 import org.apache.hadoop.hdds.scm.ha.SequenceIdGenerator;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineManager;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineNotFoundException;
 import org.apache.hadoop.hdds.scm.pipeline.WritableContainerFactory;
@@ -65,6 +69,7 @@ public class BlockManagerImpl implements BlockManager, BlockmanagerMXBean {
   private final WritableContainerFactory writableContainerFactory;
 
   private final long containerSize;
+  private final int blocksPerContainer;
 
   private DeletedBlockLog deletedBlockLog;
   private final SCMBlockDeletingService blockDeletingService;
@@ -90,6 +95,9 @@ public BlockManagerImpl(final ConfigurationSource conf,
         ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE,
         ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE_DEFAULT,
         StorageUnit.BYTES);
+    this.blocksPerContainer = Math.max(1, conf.getInt(
+        ScmConfigKeys.OZONE_SCM_BLOCK_ALLOCATION_BLOCKS_PER_CONTAINER,
+        ScmConfigKeys.OZONE_SCM_BLOCK_ALLOCATION_BLOCKS_PER_CONTAINER_DEFAULT));
     this.writableContainerFactory = scm.getWritableContainerFactory();
 
     mxBean = MBeans.register("BlockManager", "BlockManagerImpl", this);
@@ -147,8 +155,35 @@ public AllocatedBlock allocateBlock(final long size,
       ReplicationConfig replicationConfig,
       String owner, ExcludeList excludeList)
       throws IOException {
+    List<AllocatedBlock> blocks =
+        allocateBlocks(size, 1, replicationConfig, owner, excludeList);
+    return blocks.isEmpty() ? null : blocks.get(0);
+  }
+
+  /**
+   * Allocates blocks spread over containers and pipelines: a container is
+   * selected for up to blocksPerContainer of the remaining blocks, as far as
+   * it has space for them, and the next container is selected from another
+   * pipeline, as long as there are open pipelines not used by this call.
+   * The local IDs of all blocks are reserved in one go.
+   *
+   * @param size - Block Size
+   * @param num - Number of blocks
+   * @param replicationConfig - Replication config
+   * @param owner - Owner (service) of the container.
+   * @param excludeList List of datanodes/containers to exclude during block
+   *                    allocation.
+   * @return Allocated blocks, fewer than requested on failure
+   * @throws IOException on failure.
+   */
+  @Override
+  public List<AllocatedBlock> allocateBlocks(final long size, int num,
+      ReplicationConfig replicationConfig,
+      String owner, ExcludeList excludeList)
+      throws IOException {
     if (LOG.isTraceEnabled()) {
-      LOG.trace("Size : {} , replicationConfig: {}", size, replicationConfig);
+      LOG.trace("Size : {} , num : {} , replicationConfig: {}",
+          size, num, replicationConfig);
     }
     if (scm.getScmContext().isInSafeMode()) {
       throw new SCMException("SafeModePrecheck failed for allocateBlock",
@@ -160,46 +195,129 @@ public AllocatedBlock allocateBlock(final long size,
           INVALID_BLOCK_SIZE);
     }
 
-    ContainerInfo containerInfo = writableContainerFactory.getContainer(
-        size, replicationConfig, owner, excludeList);
+    final long[] localIDs = sequenceIdGen.getNextIds(LOCAL_ID, num);
+    List<AllocatedBlock> blocks = new ArrayList<>(num);
+    // the exclude list plus the pipelines already used by this call
+    ExcludeList spreadList = excludeList;
+    // container ID -> bytes of the blocks allocated in it by this call
+    final Map<Long, Long> reserved = new HashMap<>();
+    while (blocks.size() < num) {
+      ContainerInfo containerInfo = writableContainerFactory.getContainer(
+          size, replicationConfig, owner, spreadList);
+      if (containerInfo == null) {
+        // we have tried all strategies we know and but somehow we are not
+        // able to get a container for this block. Log that info and return
+        // the blocks allocated so far.
+        LOG.error("Unable to allocate a block for the size: {}, " +
+            "replicationConfig: {}", size, replicationConfig);
+        break;
+      }
+      final long replicaBytes = getReplicaBytes(containerInfo, size);
+      int count = blocksFitting(containerInfo, replicaBytes,
+          reserved.getOrDefault(containerInfo.getContainerID(), 0L),
+          Math.min(blocksPerContainer, num - blocks.size()));
+      List<AllocatedBlock> allocated = newBlocks(containerInfo,
+          Arrays.copyOfRange(localIDs, blocks.size(), blocks.size() + count));
+      if (allocated.isEmpty()) {
+        break;
+      }
+      reserved.merge(containerInfo.getContainerID(),
+          replicaBytes * allocated.size(), Long::sum);
+      blocks.addAll(allocated);
+      if (blocks.size() < num) {
+        spreadList = excludePipeline(spreadList, excludeList,
+            containerInfo.getPipelineID(), replicationConfig);
+      }
+    }
+    return blocks;
+  }
+
+  /**
+   * @return the exclude list for the next container, which also excludes
+   *         the pipeline just used, unless no open pipeline would be left,
+   *         in which case the original exclude list
+   */
+  private ExcludeList excludePipeline(ExcludeList spreadList,
+      ExcludeList excludeList, PipelineID pipelineID,
+      ReplicationConfig replicationConfig) {
+    final ExcludeList next = new ExcludeList();
+    next.addDatanodes(excludeList.getDatanodes());
+    excludeList.getContainerIds().forEach(next::addConatinerId);
+    spreadList.getPipelineIds().forEach(next::addPipeline);
+    next.addPipeline(pipelineID);
+    // the container provider would ignore the whole exclude list then
+    if (pipelineManager.getPipelines(replicationConfig,
+        Pipeline.PipelineState.OPEN, next.getDatanodes(),
+        next.getPipelineIds()).isEmpty()) {
+      return excludeList;
+    }
+    return next;
+  }
 
-    if (containerInfo != null) {
-      return newBlock(containerInfo);
+  /**
+   * Only the blocks allocated by the current call are counted in addition
+   * to the used bytes: the blocks of earlier calls are usually much smaller
+   * than the block size once written, and are counted by the datanodes in
+   * the used bytes as they are written.
+   *
+   * @param replicaBytes - Bytes of a block in each replica of the container
+   * @param reserved - Bytes allocated in the container by the current call
+   * @return number of blocks (at least 1, at most max) which fit in the
+   *         space left in the container
+   */
+  private int blocksFitting(ContainerInfo containerInfo, long replicaBytes,
+      long reserved, int max) {
+    if (replicaBytes == 0) {
+      return max;
     }
-    // we have tried all strategies we know and but somehow we are not able
-    // to get a container for this block. Log that info and return a null.
-    LOG.error(
-        "Unable to allocate a block for the size: {}, replicationConfig: {}",
-        size, replicationConfig);
-    return null;
+    long free = containerSize - containerInfo.getUsedBytes() - reserved;
+    return (int) Math.max(1, Math.min(max, free / replicaBytes));
   }
 
   /**
-   * newBlock - returns a new block assigned to a container.
+   * newBlocks - returns new blocks assigned to a container.
    *
    * @param containerInfo - Container Info.
-   * @return AllocatedBlock
+   * @param localIDs - local IDs of the blocks.
+   * @return AllocatedBlocks, empty if the pipeline is not found
    */
-  private AllocatedBlock newBlock(ContainerInfo containerInfo)
-      throws SCMException {
+  private List<AllocatedBlock> newBlocks(ContainerInfo containerInfo,
+      long[] localIDs) throws SCMException {
     try {
       final Pipeline pipeline = pipelineManager
           .getPipeline(containerInfo.getPipelineID());
-      long localID = sequenceIdGen.getNextId(LOCAL_ID);
       long containerID = containerInfo.getContainerID();
-      AllocatedBlock.Builder abb =  new AllocatedBlock.Builder()
-          .setContainerBlockID(new ContainerBlockID(containerID, localID))
-          .setPipeline(pipeline);
-      if (LOG.isTraceEnabled()) {
-        LOG.trace("New block allocated : {} Container ID: {}", localID,
-            containerID);
+      List<AllocatedBlock> blocks = new ArrayList<>(localIDs.length);
+      for (long localID : localIDs) {
+        AllocatedBlock.Builder abb =  new AllocatedBlock.Builder()
+            .setContainerBlockID(new ContainerBlockID(containerID, localID))
+            .setPipeline(pipeline);
+        if (LOG.isTraceEnabled()) {
+          LOG.trace("New block allocated : {} Container ID: {}", localID,
+              containerID);
+        }
+        pipelineManager.incNumBlocksAllocatedMetric(pipeline.getId());
+        blocks.add(abb.build());
       }
-      pipelineManager.incNumBlocksAllocatedMetric(pipeline.getId());
-      return abb.build();
+      return blocks;
     } catch (PipelineNotFoundException ex) {
       LOG.error("Pipeline Machine count is zero.", ex);
-      return null;
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * @return bytes of a block in each replica of the container: the block
+   *         itself, or its share of the data for EC
+   */
+  private static long getReplicaBytes(ContainerInfo containerInfo,
+      long size) {
+    final ReplicationConfig config = containerInfo.getReplicationConfig();
+    if (config instanceof ECReplicationConfig) {
+      final int data = ((ECReplicationConfig) config).getData();
+      return (size + data - 1) / data;
     }
+    return size;
   }
 
   /**
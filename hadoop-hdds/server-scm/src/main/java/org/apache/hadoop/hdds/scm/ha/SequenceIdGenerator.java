@@ -120,23 +120,45 @@ public StateManager createStateManager(SCMHAManager scmhaManager,
    * @return : next id of this sequenceId.
    */
   public long getNextId(String sequenceIdName) throws SCMException {
+    return getNextIds(sequenceIdName, 1)[0];
+  }
+
+  /**
+   * Allocate several ids at once.  Ids left in the current batch are used
+   * first, and a single new batch large enough for the rest is allocated
+   * if needed, so that allocating n ids costs at most one update of the
+   * last id.
+   *
+   * @param sequenceIdName : name of the sequenceId
+   * @param count : number of ids to allocate
+   * @return : next ids of this sequenceId, in increasing order.
+   */
+  public long[] getNextIds(String sequenceIdName, int count)
+      throws SCMException {
+    Preconditions.checkArgument(count > 0, "count must be positive");
     lock.lock();
     try {
       Batch batch = sequenceIdToBatchMap.computeIfAbsent(
           sequenceIdName, key -> new Batch());
 
-      if (batch.nextId <= batch.lastId) {
-        return batch.nextId++;
+      final long[] ids = new long[count];
+      int n = 0;
+      while (n < count && batch.nextId <= batch.lastId) {
+        ids[n++] = batch.nextId++;
+      }
+      if (n == count) {
+        return ids;
       }
 
       Preconditions.checkArgument(batch.nextId == batch.lastId + 1);
+      final long size = sequenceIdName.equals(CERTIFICATE_ID)
+          ? count - n : Math.max(batchSize, count - n);
       while (true) {
         Long prevLastId = batch.lastId;
         batch.nextId = prevLastId + 1;
 
-        Preconditions.checkArgument(Long.MAX_VALUE - batch.lastId >= batchSize);
-        long nextLastId = batch.lastId +
-            ((sequenceIdName.equals(CERTIFICATE_ID)) ? 1 : batchSize);
+        Preconditions.checkArgument(Long.MAX_VALUE - batch.lastId >= size);
+        long nextLastId = batch.lastId + size;
 
         if (stateManager.allocateBatch(sequenceIdName,
             prevLastId, nextLastId)) {
@@ -150,8 +172,12 @@ public long getNextId(String sequenceIdName) throws SCMException {
         batch.lastId = stateManager.getLastId(sequenceIdName);
       }
 
-      Preconditions.checkArgument(batch.nextId <= batch.lastId);
-      return batch.nextId++;
+      Preconditions.checkArgument(batch.nextId + (count - n) - 1
+          <= batch.lastId);
+      while (n < count) {
+        ids[n++] = batch.nextId++;
+      }
+      return ids;
 
     } finally {
       lock.unlock();
@@ -24,6 +24,7 @@
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,8 @@
 import org.apache.hadoop.hdds.scm.net.Node;
 import org.apache.hadoop.hdds.scm.net.NodeImpl;
 import org.apache.hadoop.hdds.scm.node.NodeManager;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
 import org.apache.hadoop.hdds.scm.protocolPB.ScmBlockLocationProtocolPB;
 import org.apache.hadoop.hdds.utils.HddsServerUtil;
@@ -206,24 +209,21 @@ public List<AllocatedBlock> allocateBlock(
           num, size, excludeList);
     }
     try {
-      for (int i = 0; i < num; i++) {
-        AllocatedBlock block = scm.getScmBlockManager()
-            .allocateBlock(size, replicationConfig, owner, excludeList);
-        if (block != null) {
-          // Sort the datanodes if client machine is specified
-          final Node client = getClientNode(clientMachine);
-          if (client != null) {
-            final List<DatanodeDetails> nodes = block.getPipeline().getNodes();
-            final List<DatanodeDetails> sorted = scm.getClusterMap()
-                .sortByDistanceCost(client, nodes, nodes.size());
-            if (!Objects.equals(sorted, block.getPipeline().getNodesInOrder())) {
-              block = block.toBuilder()
-                  .setPipeline(block.getPipeline().copyWithNodesInOrder(sorted))
-                  .build();
-            }
+      final List<AllocatedBlock> allocated = scm.getScmBlockManager()
+          .allocateBlocks(size, num, replicationConfig, owner, excludeList);
+      // Sort the datanodes if client machine is specified, once per pipeline
+      final Node client = getClientNode(clientMachine);
+      final Map<PipelineID, Pipeline> sortedPipelines = new HashMap<>();
+      for (AllocatedBlock block : allocated) {
+        if (client != null) {
+          final Pipeline pipeline = block.getPipeline();
+          final Pipeline sorted = sortedPipelines.computeIfAbsent(
+              pipeline.getId(), id -> sortByDistance(client, pipeline));
+          if (sorted != pipeline) {
+            block = block.toBuilder().setPipeline(sorted).build();
           }
-          blocks.add(block);
         }
+        blocks.add(block);
       }
 
       auditMap.put("allocated", String.valueOf(blocks.size()));
@@ -249,6 +249,18 @@ public List<AllocatedBlock> allocateBlock(
     }
   }
 
+  /**
+   * @return the pipeline with its nodes ordered by distance to the client,
+   *         or the pipeline itself if already in that order
+   */
+  private Pipeline sortByDistance(Node client, Pipeline pipeline) {
+    final List<DatanodeDetails> nodes = pipeline.getNodes();
+    final List<DatanodeDetails> sorted = scm.getClusterMap()
+        .sortByDistanceCost(client, nodes, nodes.size());
+    return Objects.equals(sorted, pipeline.getNodesInOrder())
+        ? pipeline : pipeline.copyWithNodesInOrder(sorted);
+  }
+
   /**
    * Delete blocks for a set of object keys.
    *
@@ -22,8 +22,11 @@
 import java.time.Clock;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.ArrayList;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
@@ -32,6 +35,7 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
+import org.apache.hadoop.conf.StorageUnit;
 import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
@@ -215,6 +219,60 @@ public void testAllocateBlock() throws Exception {
     assertNotNull(block);
   }
 
+  @Test
+  public void testAllocateBlocks() throws Exception {
+    try {
+      while (true) {
+        pipelineManager.createPipeline(replicationConfig);
+      }
+    } catch (IOException e) {
+    }
+    HddsTestUtils.openAllRatisPipelines(pipelineManager);
+    List<AllocatedBlock> blocks = blockManager.allocateBlocks(
+        DEFAULT_BLOCK_SIZE, 10, replicationConfig, OzoneConsts.OZONE,
+        new ExcludeList());
+    assertEquals(10, blocks.size());
+    // one block per container at a time, spread over the pipelines, and
+    // the blocks get consecutive local IDs
+    Map<Long, Integer> containers = new HashMap<>();
+    Set<PipelineID> pipelines = new HashSet<>();
+    long localID = blocks.get(0).getBlockID().getLocalID();
+    for (int i = 0; i < blocks.size(); i++) {
+      containers.merge(blocks.get(i).getBlockID().getContainerID(), 1,
+          Integer::sum);
+      pipelines.add(blocks.get(i).getPipeline().getId());
+      assertEquals(localID + i, blocks.get(i).getBlockID().getLocalID());
+    }
+    assertEquals(Math.min(blocks.size(),
+        pipelineManager.getPipelines(replicationConfig).size()),
+        pipelines.size());
+    assertThat(containers.size()).isGreaterThan(pipelines.size());
+  }
+
+  @Test
+  public void testAllocateMoreBlocksThanContainerSize() throws Exception {
+    pipelineManager.createPipeline(replicationConfig);
+    HddsTestUtils.openAllRatisPipelines(pipelineManager);
+    long containerSize = (long) conf.getStorageSize(
+        ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE,
+        ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE_DEFAULT, StorageUnit.BYTES);
+    int count = (int) (containerSize / DEFAULT_BLOCK_SIZE);
+    Set<Long> containers = new HashSet<>();
+    for (int i = 0; i < count; i++) {
+      containers.add(allocateContainer());
+    }
+    // the blocks are not written, so the containers still have space, and
+    // no new container is created
+    for (int i = 0; i < 2 * count; i++) {
+      assertThat(containers).contains(allocateContainer());
+    }
+  }
+
+  private long allocateContainer() throws IOException {
+    return blockManager.allocateBlock(DEFAULT_BLOCK_SIZE, replicationConfig,
+        OzoneConsts.OZONE, new ExcludeList()).getBlockID().getContainerID();
+  }
+
   @Test
   public void testAllocateBlockWithExclusion() throws Exception {
     try {
@@ -30,6 +30,7 @@
 import java.io.File;
 
 import static org.apache.hadoop.hdds.scm.ScmConfigKeys.OZONE_SCM_SEQUENCE_ID_BATCH_SIZE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.anyLong;
@@ -132,6 +133,34 @@ public void testSequenceIDGenUponRatis() throws Exception {
     assertEquals(203, sequenceIdGen.getNextId("otherKey"));
   }
 
+  @Test
+  public void testGetNextIds() throws Exception {
+    OzoneConfiguration conf = SCMTestUtils.getConf(testDir);
+    conf.setInt(OZONE_SCM_SEQUENCE_ID_BATCH_SIZE, 100);
+
+    SCMMetadataStore scmMetadataStore = new SCMMetadataStoreImpl(conf);
+    scmMetadataStore.start(conf);
+
+    SCMHAManager scmHAManager = SCMHAManagerStub.getInstance(true);
+
+    SequenceIdGenerator sequenceIdGen = new SequenceIdGenerator(
+        conf, scmHAManager, scmMetadataStore.getSequenceIdTable());
+
+    // the first batch is [1, 100]
+    assertArrayEquals(new long[] {1, 2, 3},
+        sequenceIdGen.getNextIds("someKey", 3));
+    assertEquals(4L, sequenceIdGen.getNextId("someKey"));
+
+    // the rest of the batch is used first, then a batch of at least the
+    // remaining size is allocated: [101, 250]
+    long[] ids = sequenceIdGen.getNextIds("someKey", 246);
+    for (int i = 0; i < ids.length; i++) {
+      assertEquals(5L + i, ids[i]);
+    }
+    assertEquals(251L, sequenceIdGen.getNextId("someKey"));
+    assertEquals(252L, sequenceIdGen.getNextId("someKey"));
+  }
+
   @Test
   public void testSequenceIDGenUponRatisWhenCurrentScmIsNotALeader()
       throws Exception {
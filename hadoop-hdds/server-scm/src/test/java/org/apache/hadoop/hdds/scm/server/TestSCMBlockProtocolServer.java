@@ -128,6 +128,21 @@ public AllocatedBlock allocateBlock(long size,
       return abb.build();
     }
 
+    @Override
+    public List<AllocatedBlock> allocateBlocks(long size, int num,
+        ReplicationConfig replicationConfig, String owner,
+        ExcludeList excludeList) throws IOException, TimeoutException {
+      List<AllocatedBlock> blocks = new ArrayList<>(num);
+      for (int i = 0; i < num; i++) {
+        AllocatedBlock block =
+            allocateBlock(size, replicationConfig, owner, excludeList);
+        if (block != null) {
+          blocks.add(block);
+        }
+      }
+      return blocks;
+    }
+
     @Override
     public void deleteBlocks(List<BlockGroup> blockIDs) throws IOException {
 
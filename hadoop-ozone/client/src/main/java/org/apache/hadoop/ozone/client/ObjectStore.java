@@ -23,6 +23,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
@@ -193,6 +194,15 @@ public OzoneVolume getVolume(String volumeName) throws IOException {
     return proxy.getVolumeDetails(volumeName);
   }
 
+  /**
+   * Returns the volume information without waiting for the response of OM.
+   * @param volumeName Name of the volume.
+   * @return future of the OzoneVolume
+   */
+  public CompletableFuture<OzoneVolume> getVolumeAsync(String volumeName) {
+    return proxy.getVolumeDetailsAsync(volumeName);
+  }
+
   public OzoneVolume getS3Volume() throws IOException {
     final S3VolumeContext resp = proxy.getS3VolumeContext();
     OmVolumeArgs volume = resp.getOmVolumeArgs();
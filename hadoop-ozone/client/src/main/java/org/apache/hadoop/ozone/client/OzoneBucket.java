@@ -60,6 +60,7 @@
 import java.util.Map;
 import java.util.Stack;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.apache.hadoop.ozone.OzoneConsts.ETAG;
@@ -490,6 +491,41 @@ public OzoneOutputStream createKey(String key, long size,
         .createKey(volumeName, name, key, size, replicationConfig, keyMetadata, tags);
   }
 
+  /**
+   * Creates a new key in the bucket without waiting for the response of OM.
+   *
+   * @param key               Name of the key to be created.
+   * @param size              Size of the data the key will point to.
+   * @param replicationConfig Replication configuration.
+   * @param keyMetadata       Custom key metadata.
+   * @return future of the OzoneOutputStream to which the data has to be
+   *         written.
+   */
+  public CompletableFuture<OzoneOutputStream> createKeyAsync(String key,
+      long size, ReplicationConfig replicationConfig,
+      Map<String, String> keyMetadata) {
+    return createKeyAsync(key, size, replicationConfig, keyMetadata,
+        Collections.emptyMap());
+  }
+
+  /**
+   * Creates a new key in the bucket without waiting for the response of OM.
+   *
+   * @param key               Name of the key to be created.
+   * @param size              Size of the data the key will point to.
+   * @param replicationConfig Replication configuration.
+   * @param keyMetadata       Custom key metadata.
+   * @param tags              Tags used for S3 object tags
+   * @return future of the OzoneOutputStream to which the data has to be
+   *         written.
+   */
+  public CompletableFuture<OzoneOutputStream> createKeyAsync(String key,
+      long size, ReplicationConfig replicationConfig,
+      Map<String, String> keyMetadata, Map<String, String> tags) {
+    return proxy.createKeyAsync(volumeName, name, key, size,
+        replicationConfig, keyMetadata, tags);
+  }
+
   /**
    * Creates a new key in the bucket, with default replication type RATIS and
    * with replication factor THREE.
@@ -566,6 +602,16 @@ public OzoneKeyDetails getKey(String key) throws IOException {
     return proxy.getKeyDetails(volumeName, name, key);
   }
 
+  /**
+   * Returns information about the key without waiting for the response of
+   * OM.
+   * @param key Name of the key.
+   * @return future of the OzoneKeyDetails
+   */
+  public CompletableFuture<OzoneKeyDetails> getKeyAsync(String key) {
+    return proxy.getKeyDetailsAsync(volumeName, name, key);
+  }
+
   /**
    *
    * Returns OzoneKey that contains the application generated/visible
@@ -636,6 +682,22 @@ public Iterator<? extends OzoneKey> listKeys(String keyPrefix, String prevKey,
         .getKeyIterator(keyPrefix, prevKey, bucketLayout, shallow);
   }
 
+  /**
+   * Returns a batch of the keys after prevKey in the bucket without waiting
+   * for the response of OM.  The caller has to make multiple calls to read
+   * all keys.
+   *
+   * @param keyPrefix Bucket prefix to match
+   * @param prevKey Keys will be listed after this key name
+   * @param maxKeys Max number of keys to return
+   * @return future of the keys
+   */
+  public CompletableFuture<List<OzoneKey>> listKeysAsync(String keyPrefix,
+      String prevKey, int maxKeys) {
+    return proxy.listKeysAsync(volumeName, name, keyPrefix, prevKey,
+        maxKeys);
+  }
+
   /**
    * Checks if the bucket is a Link Bucket.
    * @return True if bucket is a link, False otherwise.
@@ -686,6 +748,18 @@ public Map<String, ErrorInfo> deleteKeys(List<String> keyList, boolean quiet) th
     return proxy.deleteKeys(volumeName, name, keyList, quiet);
   }
 
+  /**
+   * Deletes the given list of keys from the bucket without waiting for the
+   * response of OM.
+   * @param keyList List of the key name to be deleted.
+   * @param quiet flag to not fail if delete fails
+   * @return future of the errors of the keys not deleted, if quiet
+   */
+  public CompletableFuture<Map<String, ErrorInfo>> deleteKeysAsync(
+      List<String> keyList, boolean quiet) {
+    return proxy.deleteKeysAsync(volumeName, name, keyList, quiet);
+  }
+
   /**
    * Rename the keyname from fromKeyName to toKeyName.
    * @param fromKeyName The original key name.
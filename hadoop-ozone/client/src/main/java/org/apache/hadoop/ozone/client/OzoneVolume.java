@@ -24,6 +24,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.collections.ListUtils;
 import org.apache.hadoop.hdds.client.OzoneQuota;
@@ -340,6 +341,15 @@ public OzoneBucket getBucket(String bucketName) throws IOException {
     return bucket;
   }
 
+  /**
+   * Get the Bucket from this Volume without waiting for the response of OM.
+   * @param bucketName Name of the Bucket
+   * @return future of the OzoneBucket
+   */
+  public CompletableFuture<OzoneBucket> getBucketAsync(String bucketName) {
+    return proxy.getBucketDetailsAsync(name, bucketName);
+  }
+
   /**
    * Returns Iterator to iterate over all buckets in the volume.
    * The result can be restricted using bucket prefix, will return all
@@ -17,11 +17,20 @@
  */
 package org.apache.hadoop.ozone.client.io;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.hadoop.hdds.client.BlockID;
@@ -36,6 +45,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,9 +60,41 @@ public class KeyInputStream extends MultipartInputStream {
   private static final Logger LOG =
       LoggerFactory.getLogger(KeyInputStream.class);
 
+  // Runs the reads of different blocks in parallel, null to read sequentially
+  private final Supplier<? extends Executor> readExecutor;
+  // Reads ahead when the key is read sequentially, null if disabled
+  private final KeyReadAhead readAhead;
+  // Position of the key if reading ahead, otherwise kept by the part streams
+  private long position;
+  // End of the last read, to detect sequential reads
+  private long lastReadEnd = -1;
+
   public KeyInputStream(String keyName,
                         List<? extends BlockExtendedInputStream> inputStreams) {
+    this(keyName, inputStreams, null);
+  }
+
+  public KeyInputStream(String keyName,
+      List<? extends BlockExtendedInputStream> inputStreams,
+      Supplier<? extends Executor> readExecutor) {
+    this(keyName, inputStreams, readExecutor, null);
+  }
+
+  /**
+   * @param config to read ahead, if {@link
+   *               OzoneClientConfig#getReadPrefetchBlocks()} is positive and
+   *               there is a read executor
+   */
+  public KeyInputStream(String keyName,
+      List<? extends BlockExtendedInputStream> inputStreams,
+      Supplier<? extends Executor> readExecutor, OzoneClientConfig config) {
     super(keyName, inputStreams);
+    this.readExecutor = readExecutor;
+    this.readAhead = readExecutor != null && config != null
+        && config.getReadPrefetchBlocks() > 0 && !inputStreams.isEmpty()
+        ? new KeyReadAhead(getPartStreams(), config.getReadPrefetchBlocks(),
+            config.getReadPrefetchBufferSize(), readExecutor)
+        : null;
   }
 
   private static List<BlockExtendedInputStream> createStreams(
@@ -121,12 +163,13 @@ private static LengthInputStream getFromOmKeyInfo(
       Function<OmKeyInfo, OmKeyInfo> retryFunction,
       BlockInputStreamFactory blockStreamFactory,
       List<OmKeyLocationInfo> locationInfos,
-      OzoneClientConfig config) throws IOException {
+      OzoneClientConfig config,
+      Supplier<? extends Executor> readExecutor) throws IOException {
     List<BlockExtendedInputStream> streams = createStreams(keyInfo,
         locationInfos, xceiverClientFactory, retryFunction,
         blockStreamFactory, config);
-    KeyInputStream keyInputStream =
-        new KeyInputStream(keyInfo.getKeyName(), streams);
+    KeyInputStream keyInputStream = new KeyInputStream(keyInfo.getKeyName(),
+        streams, readExecutor, config);
     return new LengthInputStream(keyInputStream, keyInputStream.getLength());
   }
 
@@ -138,12 +181,28 @@ public static LengthInputStream getFromOmKeyInfo(OmKeyInfo keyInfo,
       Function<OmKeyInfo, OmKeyInfo> retryFunction,
       BlockInputStreamFactory blockStreamFactory,
       OzoneClientConfig config) throws IOException {
+    return getFromOmKeyInfo(keyInfo, xceiverClientFactory, retryFunction,
+        blockStreamFactory, config, null);
+  }
+
+  /**
+   * For each block in keyInfo, add a BlockInputStream to blockStreams.
+   * @param readExecutor used by {@link #readFully(long[], List)} and to read
+   *                     ahead, to read different blocks in parallel
+   */
+  public static LengthInputStream getFromOmKeyInfo(OmKeyInfo keyInfo,
+      XceiverClientFactory xceiverClientFactory,
+      Function<OmKeyInfo, OmKeyInfo> retryFunction,
+      BlockInputStreamFactory blockStreamFactory,
+      OzoneClientConfig config,
+      Supplier<? extends Executor> readExecutor) throws IOException {
 
     List<OmKeyLocationInfo> keyLocationInfos = keyInfo
         .getLatestVersionLocations().getBlocksLatestVersionOnly();
 
     return getFromOmKeyInfo(keyInfo, xceiverClientFactory,
-        retryFunction, blockStreamFactory, keyLocationInfos, config);
+        retryFunction, blockStreamFactory, keyLocationInfos, config,
+        readExecutor);
   }
 
   public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
@@ -166,11 +225,211 @@ public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
     for (List<OmKeyLocationInfo> locationInfo : partsToBlocksMap.values()) {
       lengthInputStreams.add(getFromOmKeyInfo(keyInfo, xceiverClientFactory,
           retryFunction, blockStreamFactory, locationInfo,
-          config));
+          config, null));
     }
     return lengthInputStreams;
   }
 
+  /**
+   * Read each buffer fully, from its position to its limit, with the data of
+   * the key at the corresponding position, without changing the position of
+   * this stream.
+   * <p>
+   * The reads are split at block boundaries.  The reads of each block are
+   * done in order on the stream of the block, while different blocks are
+   * read in parallel, if this stream has a read executor.
+   *
+   * @param positions the offset in the key to read each buffer from
+   * @param buffers the buffers to read into, one for each position
+   */
+  public synchronized void readFully(long[] positions,
+      List<ByteBuffer> buffers) throws IOException {
+    Preconditions.checkArgument(positions.length == buffers.size(),
+        "positions.length = %s != buffers.size() = %s",
+        positions.length, buffers.size());
+    if (readAhead != null) {
+      readAhead.reset();
+    }
+    final List<BlockExtendedInputStream> blocks = getPartStreams();
+    final long[] blockOffsets = new long[blocks.size()];
+    for (int i = 1; i < blocks.size(); i++) {
+      blockOffsets[i] = blockOffsets[i - 1] + blocks.get(i - 1).getLength();
+    }
+
+    // block index -> reads of the block
+    final Map<Integer, List<BlockRead>> reads = new TreeMap<>();
+    for (int i = 0; i < positions.length; i++) {
+      final ByteBuffer buffer = buffers.get(i);
+      long offset = positions[i];
+      if (offset < 0 || offset + buffer.remaining() > getLength()) {
+        throw new EOFException("Cannot read " + buffer.remaining()
+            + " bytes at position " + offset + " of key of length "
+            + getLength());
+      }
+      int block = findBlock(blockOffsets, offset);
+      while (buffer.hasRemaining()) {
+        final long blockOffset = offset - blockOffsets[block];
+        final int length = (int) Math.min(buffer.remaining(),
+            blocks.get(block).getLength() - blockOffset);
+        final ByteBuffer slice = buffer.duplicate();
+        slice.limit(slice.position() + length);
+        buffer.position(buffer.position() + length);
+        reads.computeIfAbsent(block, k -> new ArrayList<>())
+            .add(new BlockRead(blockOffset, slice));
+        offset += length;
+        block++;
+      }
+    }
+
+    final long pos = getPos();
+    try {
+      final Executor executor = readExecutor != null && reads.size() > 1
+          ? readExecutor.get() : Runnable::run;
+      final List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (Map.Entry<Integer, List<BlockRead>> e : reads.entrySet()) {
+        final BlockExtendedInputStream stream = blocks.get(e.getKey());
+        futures.add(CompletableFuture.runAsync(
+            () -> readBlock(stream, e.getValue()), executor));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+          .join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw new IOException("Failed to read key", e.getCause());
+    } finally {
+      // the block streams were moved, restore the position of the key
+      seek(pos);
+    }
+  }
+
+  /**
+   * Read the buffers as {@link #readFully(long[], List)} does, on the read
+   * executor of this stream, if any, otherwise in the calling thread.
+   *
+   * @return the future completed when all the buffers are read
+   */
+  public CompletableFuture<Void> readFullyAsync(long[] positions,
+      List<ByteBuffer> buffers) {
+    final Executor executor = readExecutor != null
+        ? readExecutor.get() : Runnable::run;
+    return CompletableFuture.runAsync(() -> {
+      try {
+        readFully(positions, buffers);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, executor);
+  }
+
+  /** @return the index of the non-empty block containing the offset */
+  static int findBlock(long[] blockOffsets, long offset) {
+    int block = Arrays.binarySearch(blockOffsets, offset);
+    if (block < 0) {
+      block = -block - 2;
+    }
+    // skip empty blocks starting at the same offset
+    while (block + 1 < blockOffsets.length
+        && blockOffsets[block + 1] <= offset) {
+      block++;
+    }
+    return block;
+  }
+
+  private static void readBlock(BlockExtendedInputStream stream,
+      List<BlockRead> reads) {
+    try {
+      for (BlockRead read : reads) {
+        readRange(stream, read.offset, read.buffer);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Read the buffer fully with the data of the block at the offset. */
+  static void readRange(BlockExtendedInputStream stream, long offset,
+      ByteBuffer buffer) throws IOException {
+    stream.seek(offset);
+    while (buffer.hasRemaining()) {
+      if (stream.read(buffer) < 0) {
+        throw new EOFException("Unexpected EOF at position "
+            + stream.getPos() + " of block " + stream.getBlockID());
+      }
+    }
+  }
+
+  /**
+   * Read from the data read ahead if the read follows the previous one, or
+   * is already read ahead.  Other reads are done directly on the block
+   * streams, like without reading ahead.
+   */
+  @Override
+  protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
+      throws IOException {
+    if (readAhead == null) {
+      return super.readWithStrategy(strategy);
+    }
+    Preconditions.checkArgument(strategy != null);
+    checkOpen();
+
+    int totalReadLen = 0;
+    while (strategy.getTargetLength() > 0 && position < getLength()) {
+      final int read;
+      if (position == lastReadEnd || readAhead.contains(position)) {
+        read = readAhead.read(position, strategy);
+      } else {
+        readAhead.reset();
+        super.seek(position);
+        read = super.readWithStrategy(strategy);
+        if (read == EOF) {
+          break;
+        }
+      }
+      position += read;
+      lastReadEnd = position;
+      totalReadLen += read;
+    }
+    return totalReadLen == 0 && position >= getLength() ? EOF : totalReadLen;
+  }
+
+  @Override
+  public synchronized void seek(long pos) throws IOException {
+    if (readAhead == null) {
+      super.seek(pos);
+      return;
+    }
+    // the block streams are moved by the next read not read ahead
+    checkOpen();
+    if (pos < 0 || pos > getLength()) {
+      throw new EOFException("EOF encountered at pos: " + pos
+          + " for key of length " + getLength());
+    }
+    position = pos;
+  }
+
+  @Override
+  public synchronized long getPos() throws IOException {
+    return readAhead == null ? super.getPos() : position;
+  }
+
+  @Override
+  public synchronized void unbuffer() {
+    if (readAhead != null) {
+      readAhead.reset();
+    }
+    super.unbuffer();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (readAhead != null) {
+      readAhead.reset();
+    }
+    super.close();
+  }
+
   @Override
   protected int getNumBytesToRead(ByteReaderStrategy strategy,
                                   PartInputStream current) throws IOException {
@@ -196,4 +455,15 @@ protected void checkPartBytesRead(int numBytesToRead, int numBytesRead,
   public List<BlockExtendedInputStream> getPartStreams() {
     return (List<BlockExtendedInputStream>) super.getPartStreams();
   }
+
+  /** A read of a range of a block. */
+  private static final class BlockRead {
+    private final long offset;
+    private final ByteBuffer buffer;
+
+    BlockRead(long offset, ByteBuffer buffer) {
+      this.offset = offset;
+      this.buffer = buffer;
+    }
+  }
 }
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.hadoop.ozone.client.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.apache.hadoop.fs.ByteBufferReadable;
+import org.apache.hadoop.hdds.scm.storage.BlockExtendedInputStream;
+import org.apache.hadoop.hdds.scm.storage.ByteReaderStrategy;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Reads ahead the data of a key being read sequentially, from the block
+ * being read and the next blocks in parallel.
+ * <p>
+ * The data is read in segments.  The segments of each block are read in
+ * order on the stream of the block, while different blocks are read in
+ * parallel on the executor.  The segments are assigned to the blocks round
+ * robin, starting from the block being read, as long as the size of the
+ * segments not yet consumed fits in the buffer size.  Consuming a segment
+ * frees its space for the next one.
+ * <p>
+ * While reading ahead, the block streams are used by the reads of the
+ * segments, so the caller must {@link #reset} before using them.  Not
+ * thread-safe, guarded by the lock of the {@link KeyInputStream}.
+ */
+final class KeyReadAhead {
+
+  private static final CompletableFuture<?> DONE =
+      CompletableFuture.completedFuture(null);
+
+  private final List<BlockExtendedInputStream> blocks;
+  private final long[] blockOffsets;
+  private final int blocksAhead;
+  private final long bufferSize;
+  private final int segmentSize;
+  private final Supplier<? extends Executor> executor;
+
+  /** Segments read or being read, by offset in the key. */
+  private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+  /** Offset in the key of the next segment to read, by block. */
+  private final Map<Integer, Long> nextOffsets = new HashMap<>();
+  /** The last segment read of each block, which the next one follows. */
+  private final Map<Integer, CompletableFuture<?>> tails = new HashMap<>();
+  private long reservedBytes;
+
+  /**
+   * @param blocksAhead number of blocks after the one being read to read
+   *                    ahead in parallel
+   * @param bufferSize maximum size of the data read ahead
+   */
+  KeyReadAhead(List<BlockExtendedInputStream> blocks, int blocksAhead,
+      long bufferSize, Supplier<? extends Executor> executor) {
+    this.blocks = blocks;
+    this.blockOffsets = new long[blocks.size()];
+    for (int i = 1; i < blocks.size(); i++) {
+      blockOffsets[i] = blockOffsets[i - 1] + blocks.get(i - 1).getLength();
+    }
+    this.blocksAhead = blocksAhead;
+    this.bufferSize = bufferSize;
+    // the block being read and each block ahead can have two segments,
+    // one being consumed while the next is being read
+    this.segmentSize = (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+        bufferSize / (2L * (blocksAhead + 1))));
+    this.executor = executor;
+  }
+
+  /** @return whether the data at the offset in the key is read ahead */
+  boolean contains(long offset) {
+    final Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+    return entry != null && offset < entry.getValue().end();
+  }
+
+  /**
+   * Read data at the offset in the key from the segments read ahead,
+   * starting to read ahead from the offset if not yet.
+   * @return the number of bytes read
+   */
+  int read(long offset, ByteReaderStrategy strategy) throws IOException {
+    if (!contains(offset)) {
+      reset();
+      nextOffsets.put(KeyInputStream.findBlock(blockOffsets, offset), offset);
+      readAhead(offset);
+    }
+    final Segment segment = segments.floorEntry(offset).getValue();
+    final ByteBuffer buffer;
+    try {
+      buffer = segment.data.join().duplicate();
+    } catch (CompletionException e) {
+      reset();
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw new IOException("Failed to read ahead", e.getCause());
+    }
+    buffer.position((int) (offset - segment.offset));
+    final int read = strategy.readFromBlock(new SegmentInputStream(buffer),
+        Math.min(strategy.getTargetLength(), buffer.remaining()));
+
+    // segments up to the offset read are no longer needed
+    final Map<Long, Segment> consumed = offset + read < segment.end()
+        ? segments.headMap(segment.offset, false)
+        : segments.headMap(segment.offset, true);
+    for (Segment s : consumed.values()) {
+      reservedBytes -= s.length;
+    }
+    consumed.clear();
+    readAhead(offset + read);
+    return read;
+  }
+
+  /** Read ahead segments for the offset, as far as the buffer allows. */
+  private void readAhead(long offset) {
+    if (offset >= blockOffsets[blocks.size() - 1]
+        + blocks.get(blocks.size() - 1).getLength()) {
+      return;
+    }
+    final int current = KeyInputStream.findBlock(blockOffsets, offset);
+    nextOffsets.keySet().removeIf(block -> block < current);
+    tails.keySet().removeIf(block -> block < current);
+    final int last = Math.min(blocks.size() - 1, current + blocksAhead);
+    boolean added = true;
+    while (added) {
+      added = false;
+      for (int block = current; block <= last; block++) {
+        final long next =
+            nextOffsets.computeIfAbsent(block, b -> blockOffsets[b]);
+        final long end = blockOffsets[block] + blocks.get(block).getLength();
+        final int length = (int) Math.min(segmentSize, end - next);
+        if (length <= 0) {
+          continue;
+        }
+        if (reservedBytes + length > bufferSize) {
+          return;
+        }
+        addSegment(block, next, length);
+        added = true;
+      }
+    }
+  }
+
+  private void addSegment(int block, long offset, int length) {
+    final BlockExtendedInputStream stream = blocks.get(block);
+    final long blockOffset = offset - blockOffsets[block];
+    // ignore the failure of the previous segment, only the order matters
+    final CompletableFuture<ByteBuffer> data = tails.getOrDefault(block, DONE)
+        .handleAsync((r, e) -> readSegment(stream, blockOffset, length),
+            executor.get());
+    tails.put(block, data);
+    segments.put(offset, new Segment(offset, length, data));
+    nextOffsets.put(block, offset + length);
+    reservedBytes += length;
+  }
+
+  private static ByteBuffer readSegment(BlockExtendedInputStream stream,
+      long offset, int length) {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    try {
+      KeyInputStream.readRange(stream, offset, buffer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Discard the data read ahead, waiting for the reads in progress, so that
+   * the block streams can be used by the caller.
+   */
+  void reset() {
+    for (CompletableFuture<?> tail : tails.values()) {
+      tail.handle((r, e) -> null).join();
+    }
+    tails.clear();
+    segments.clear();
+    nextOffsets.clear();
+    reservedBytes = 0;
+  }
+
+  @VisibleForTesting
+  long getReservedBytes() {
+    return reservedBytes;
+  }
+
+  @VisibleForTesting
+  int getSegmentSize() {
+    return segmentSize;
+  }
+
+  /** A range of the key read ahead. */
+  private static final class Segment {
+    private final long offset;
+    private final int length;
+    private final CompletableFuture<ByteBuffer> data;
+
+    Segment(long offset, int length, CompletableFuture<ByteBuffer> data) {
+      this.offset = offset;
+      this.length = length;
+      this.data = data;
+    }
+
+    long end() {
+      return offset + length;
+    }
+  }
+
+  /** Data of a segment, for {@link ByteReaderStrategy}. */
+  private static final class SegmentInputStream extends InputStream
+      implements ByteBufferReadable {
+    private final ByteBuffer buffer;
+
+    SegmentInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? Byte.toUnsignedInt(buffer.get()) : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (!buffer.hasRemaining()) {
+        return len == 0 ? 0 : -1;
+      }
+      final int n = Math.min(len, buffer.remaining());
+      buffer.get(b, off, n);
+      return n;
+    }
+
+    @Override
+    public int read(ByteBuffer target) {
+      if (!buffer.hasRemaining()) {
+        return target.hasRemaining() ? -1 : 0;
+      }
+      final int n = Math.min(target.remaining(), buffer.remaining());
+      final ByteBuffer slice = buffer.duplicate();
+      slice.limit(slice.position() + n);
+      target.put(slice);
+      buffer.position(buffer.position() + n);
+      return n;
+    }
+  }
+}
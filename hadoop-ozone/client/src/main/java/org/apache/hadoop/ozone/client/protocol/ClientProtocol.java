@@ -22,6 +22,7 @@
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import jakarta.annotation.Nonnull;
 import org.apache.hadoop.crypto.key.KeyProvider;
@@ -136,6 +137,15 @@ void setVolumeQuota(String volumeName, long quotaInNamespace,
   OzoneVolume getVolumeDetails(String volumeName)
       throws IOException;
 
+  /**
+   * Asynchronous variant of {@link #getVolumeDetails(String)}.  The default
+   * implementation returns after the call is completed.
+   */
+  default CompletableFuture<OzoneVolume> getVolumeDetailsAsync(
+      String volumeName) {
+    return CompletedFutures.of(() -> getVolumeDetails(volumeName));
+  }
+
   /**
    * @return Raw GetS3VolumeContextResponse.
    * S3Auth won't be updated with actual userPrincipal by this call.
@@ -305,6 +315,16 @@ void checkBucketAccess(String volumeName, String bucketName)
   OzoneBucket getBucketDetails(String volumeName, String bucketName)
       throws IOException;
 
+  /**
+   * Asynchronous variant of {@link #getBucketDetails(String, String)}.  The
+   * default implementation returns after the call is completed.
+   */
+  default CompletableFuture<OzoneBucket> getBucketDetailsAsync(
+      String volumeName, String bucketName) {
+    return CompletedFutures.of(() ->
+        getBucketDetails(volumeName, bucketName));
+  }
+
   /**
    * Returns the List of Buckets in the Volume that matches the bucketPrefix,
    * size of the returned list depends on maxListResult. The caller has to make
@@ -371,6 +391,21 @@ OzoneOutputStream createKey(String volumeName, String bucketName,
       Map<String, String> metadata, Map<String, String> tags)
       throws IOException;
 
+  /**
+   * Asynchronous variant of
+   * {@link #createKey(String, String, String, long, ReplicationConfig, Map,
+   * Map)}: the future is completed when the key is opened, the data is
+   * written to the stream as usual.  The default implementation returns
+   * after the call is completed.
+   */
+  default CompletableFuture<OzoneOutputStream> createKeyAsync(
+      String volumeName, String bucketName, String keyName, long size,
+      ReplicationConfig replicationConfig, Map<String, String> metadata,
+      Map<String, String> tags) {
+    return CompletedFutures.of(() -> createKey(volumeName, bucketName,
+        keyName, size, replicationConfig, metadata, tags));
+  }
+
   /**
    * Writes a key in an existing bucket.
    * @param volumeName Name of the Volume
@@ -450,6 +485,18 @@ Map<String, ErrorInfo> deleteKeys(String volumeName, String bucketName,
                                     List<String> keyNameList, boolean quiet)
       throws IOException;
 
+  /**
+   * Asynchronous variant of
+   * {@link #deleteKeys(String, String, List, boolean)}.  The default
+   * implementation returns after the call is completed.
+   */
+  default CompletableFuture<Map<String, ErrorInfo>> deleteKeysAsync(
+      String volumeName, String bucketName, List<String> keyNameList,
+      boolean quiet) {
+    return CompletedFutures.of(() ->
+        deleteKeys(volumeName, bucketName, keyNameList, quiet));
+  }
+
   /**
    * Renames an existing key within a bucket.
    * @param volumeName Name of the Volume
@@ -488,6 +535,18 @@ List<OzoneKey> listKeys(String volumeName, String bucketName,
                           String keyPrefix, String prevKey, int maxListResult)
       throws IOException;
 
+  /**
+   * Asynchronous variant of
+   * {@link #listKeys(String, String, String, String, int)}.  The default
+   * implementation returns after the call is completed.
+   */
+  default CompletableFuture<List<OzoneKey>> listKeysAsync(String volumeName,
+      String bucketName, String keyPrefix, String prevKey,
+      int maxListResult) {
+    return CompletedFutures.of(() -> listKeys(volumeName, bucketName,
+        keyPrefix, prevKey, maxListResult));
+  }
+
   /**
    * List trash allows the user to list the keys that were marked as deleted,
    * but not actually deleted by Ozone Manager. This allows a user to recover
@@ -533,6 +592,16 @@ OzoneKeyDetails getKeyDetails(String volumeName, String bucketName,
                                 String keyName)
       throws IOException;
 
+  /**
+   * Asynchronous variant of {@link #getKeyDetails(String, String, String)}.
+   * The default implementation returns after the call is completed.
+   */
+  default CompletableFuture<OzoneKeyDetails> getKeyDetailsAsync(
+      String volumeName, String bucketName, String keyName) {
+    return CompletedFutures.of(() ->
+        getKeyDetails(volumeName, bucketName, keyName));
+  }
+
   /**
    * Close and release the resources.
    */
@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.client.protocol;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.ratis.util.function.CheckedSupplier;
+
+/**
+ * Futures of calls made synchronously, for the default implementations of
+ * the asynchronous methods of {@link ClientProtocol}.
+ */
+final class CompletedFutures {
+
+  private CompletedFutures() {
+  }
+
+  /** @return a future completed by the result of the call, or its failure */
+  static <T> CompletableFuture<T> of(CheckedSupplier<T, IOException> call) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      future.complete(call.get());
+    } catch (IOException | RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+}
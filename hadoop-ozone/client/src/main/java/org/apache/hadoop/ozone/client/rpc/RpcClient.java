@@ -166,6 +166,8 @@
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -199,6 +201,7 @@ public class RpcClient implements ClientProtocol {
   private static final int EC_RECONSTRUCT_STRIPE_READ_POOL_MIN_SIZE = 3;
 
   private static final int WRITE_POOL_MIN_SIZE = 1;
+  private static final int READ_POOL_MIN_SIZE = 1;
 
   private final ConfigurationSource conf;
   private final OzoneManagerClientProtocol ozoneManagerClient;
@@ -222,6 +225,7 @@ public class RpcClient implements ClientProtocol {
   private final MemoizedSupplier<ExecutorService> ecReconstructExecutor;
   private final ContainerClientMetrics clientMetrics;
   private final MemoizedSupplier<ExecutorService> writeExecutor;
+  private final MemoizedSupplier<ExecutorService> readExecutor;
   private final AtomicBoolean isS3GRequest = new AtomicBoolean(false);
 
   /**
@@ -249,6 +253,9 @@ public RpcClient(ConfigurationSource conf, String omServiceId)
         "ec-reconstruct-reader-TID-%d"));
     this.writeExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
         WRITE_POOL_MIN_SIZE, Integer.MAX_VALUE, "client-write-TID-%d"));
+    this.readExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
+        READ_POOL_MIN_SIZE, clientConfig.getReadPoolLimit(),
+        "client-read-TID-%d"));
 
     OmTransport omTransport = createOmTransport(omServiceId);
     OzoneManagerProtocolClientSideTranslatorPB
@@ -510,6 +517,18 @@ public OzoneVolume getVolumeDetails(String volumeName)
     return buildOzoneVolume(volume);
   }
 
+  @Override
+  public CompletableFuture<OzoneVolume> getVolumeDetailsAsync(
+      String volumeName) {
+    try {
+      verifyVolumeName(volumeName);
+    } catch (IOException e) {
+      return failedFuture(e);
+    }
+    return ozoneManagerClient.getVolumeInfoAsync(volumeName)
+        .thenApply(this::buildOzoneVolume);
+  }
+
   @Override
   public S3VolumeContext getS3VolumeContext() throws IOException {
     S3VolumeContext resp = ozoneManagerClient.getS3VolumeContext();
@@ -1316,6 +1335,23 @@ public OzoneBucket getBucketDetails(
     verifyBucketName(bucketName);
     OmBucketInfo bucketInfo =
         ozoneManagerClient.getBucketInfo(volumeName, bucketName);
+    return buildOzoneBucket(bucketInfo);
+  }
+
+  @Override
+  public CompletableFuture<OzoneBucket> getBucketDetailsAsync(
+      String volumeName, String bucketName) {
+    try {
+      verifyVolumeName(volumeName);
+      verifyBucketName(bucketName);
+    } catch (IOException e) {
+      return failedFuture(e);
+    }
+    return ozoneManagerClient.getBucketInfoAsync(volumeName, bucketName)
+        .thenApply(this::buildOzoneBucket);
+  }
+
+  private OzoneBucket buildOzoneBucket(OmBucketInfo bucketInfo) {
     return OzoneBucket.newBuilder(conf, this)
         .setVolumeName(bucketInfo.getVolumeName())
         .setName(bucketInfo.getBucketName())
@@ -1396,6 +1432,49 @@ public OzoneOutputStream createKey(
       String volumeName, String bucketName, String keyName, long size,
       ReplicationConfig replicationConfig,
       Map<String, String> metadata, Map<String, String> tags) throws IOException {
+    OpenKeySession openKey = ozoneManagerClient.openKey(createKeyArgs(
+        volumeName, bucketName, keyName, size, replicationConfig, metadata,
+        tags));
+    return createOutputStream(openKey, size);
+  }
+
+  /**
+   * Opens the key asynchronously, then creates the stream on the client
+   * write executor, with the S3 authentication of the caller.  Creating the
+   * stream may block, e.g. to decrypt the key of an encrypted bucket with
+   * the KMS, so it does not run in the thread completing the OM call.
+   */
+  @Override
+  public CompletableFuture<OzoneOutputStream> createKeyAsync(
+      String volumeName, String bucketName, String keyName, long size,
+      ReplicationConfig replicationConfig, Map<String, String> metadata,
+      Map<String, String> tags) {
+    final OmKeyArgs keyArgs;
+    try {
+      keyArgs = createKeyArgs(volumeName, bucketName, keyName, size,
+          replicationConfig, metadata, tags);
+    } catch (IOException | RuntimeException e) {
+      return failedFuture(e);
+    }
+    final S3Auth s3Auth = getThreadLocalS3Auth();
+    return ozoneManagerClient.openKeyAsync(keyArgs).thenApplyAsync(openKey -> {
+      final S3Auth current = getThreadLocalS3Auth();
+      ozoneManagerClient.setThreadLocalS3Auth(s3Auth);
+      try {
+        return createOutputStream(openKey, size);
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      } finally {
+        ozoneManagerClient.setThreadLocalS3Auth(current);
+      }
+    }, writeExecutor.get());
+  }
+
+  private OmKeyArgs createKeyArgs(
+      String volumeName, String bucketName, String keyName, long size,
+      ReplicationConfig replicationConfig,
+      Map<String, String> metadata, Map<String, String> tags)
+      throws IOException {
     verifyVolumeName(volumeName);
     verifyBucketName(bucketName);
     if (checkKeyNameEnabled) {
@@ -1435,8 +1514,11 @@ public OzoneOutputStream createKey(
         .setAcls(getAclList())
         .setLatestVersionLocation(getLatestVersionLocation)
         .setOwnerName(ownerName);
+    return builder.build();
+  }
 
-    OpenKeySession openKey = ozoneManagerClient.openKey(builder.build());
+  private OzoneOutputStream createOutputStream(OpenKeySession openKey,
+      long size) throws IOException {
     // For bucket with layout OBJECT_STORE, when create an empty file (size=0),
     // OM will set DataSize to OzoneConfigKeys#OZONE_SCM_BLOCK_SIZE,
     // which will cause S3G's atomic write length check to fail,
@@ -1654,6 +1736,22 @@ public Map<String, ErrorInfo> deleteKeys(
     return ozoneManagerClient.deleteKeys(omDeleteKeys, quiet);
   }
 
+  @Override
+  public CompletableFuture<Map<String, ErrorInfo>> deleteKeysAsync(
+      String volumeName, String bucketName, List<String> keyNameList,
+      boolean quiet) {
+    try {
+      verifyVolumeName(volumeName);
+      verifyBucketName(bucketName);
+      Preconditions.checkNotNull(keyNameList);
+    } catch (IOException | RuntimeException e) {
+      return failedFuture(e);
+    }
+    OmDeleteKeys omDeleteKeys = new OmDeleteKeys(volumeName, bucketName,
+        keyNameList);
+    return ozoneManagerClient.deleteKeysAsync(omDeleteKeys, quiet);
+  }
+
   @Override
   public void renameKey(String volumeName, String bucketName,
       String fromKeyName, String toKeyName) throws IOException {
@@ -1694,16 +1792,7 @@ public List<OzoneKey> listKeys(String volumeName, String bucketName,
       List<BasicOmKeyInfo> keys = ozoneManagerClient.listKeysLight(
           volumeName, bucketName, prevKey, keyPrefix, maxListResult).getKeys();
 
-      return keys.stream().map(key -> new OzoneKey(
-              key.getVolumeName(),
-              key.getBucketName(),
-              key.getKeyName(),
-              key.getDataSize(),
-              key.getCreationTime(),
-              key.getModificationTime(),
-              key.getReplicationConfig(),
-              key.isFile(),
-              key.getOwnerName()))
+      return keys.stream().map(RpcClient::toOzoneKey)
           .collect(Collectors.toList());
     } else {
       List<OmKeyInfo> keys = ozoneManagerClient.listKeys(
@@ -1721,6 +1810,38 @@ public List<OzoneKey> listKeys(String volumeName, String bucketName,
     }
   }
 
+  /**
+   * Lists the keys asynchronously if the OM supports lightweight listing,
+   * otherwise synchronously.
+   */
+  @Override
+  public CompletableFuture<List<OzoneKey>> listKeysAsync(String volumeName,
+      String bucketName, String keyPrefix, String prevKey,
+      int maxListResult) {
+    if (omVersion.compareTo(OzoneManagerVersion.LIGHTWEIGHT_LIST_KEYS) < 0) {
+      return ClientProtocol.super.listKeysAsync(volumeName, bucketName,
+          keyPrefix, prevKey, maxListResult);
+    }
+    return ozoneManagerClient.listKeysLightAsync(volumeName, bucketName,
+            prevKey, keyPrefix, maxListResult)
+        .thenApply(result -> result.getKeys().stream()
+            .map(RpcClient::toOzoneKey)
+            .collect(Collectors.toList()));
+  }
+
+  private static OzoneKey toOzoneKey(BasicOmKeyInfo key) {
+    return new OzoneKey(
+        key.getVolumeName(),
+        key.getBucketName(),
+        key.getKeyName(),
+        key.getDataSize(),
+        key.getCreationTime(),
+        key.getModificationTime(),
+        key.getReplicationConfig(),
+        key.isFile(),
+        key.getOwnerName());
+  }
+
   @Override
   public List<RepeatedOmKeyInfo> listTrash(String volumeName, String bucketName,
       String startKeyName, String keyPrefix, int maxKeys) throws IOException {
@@ -1749,6 +1870,27 @@ public OzoneKeyDetails getKeyDetails(
     return getOzoneKeyDetails(keyInfo);
   }
 
+  /**
+   * Gets the key asynchronously if the OM supports getKeyInfo, otherwise
+   * synchronously.
+   */
+  @Override
+  public CompletableFuture<OzoneKeyDetails> getKeyDetailsAsync(
+      String volumeName, String bucketName, String keyName) {
+    if (omVersion.compareTo(OzoneManagerVersion.OPTIMIZED_GET_KEY_INFO) < 0) {
+      return ClientProtocol.super.getKeyDetailsAsync(volumeName, bucketName,
+          keyName);
+    }
+    final OmKeyArgs keyArgs;
+    try {
+      keyArgs = getKeyArgs(volumeName, bucketName, keyName, false);
+    } catch (RuntimeException e) {
+      return failedFuture(e);
+    }
+    return ozoneManagerClient.getKeyInfoAsync(keyArgs, false)
+        .thenApply(result -> getOzoneKeyDetails(result.getKeyInfo()));
+  }
+
   @Nonnull
   private OzoneKeyDetails getOzoneKeyDetails(OmKeyInfo keyInfo) {
     List<OzoneKeyLocation> ozoneKeyLocations = new ArrayList<>();
@@ -1820,10 +1962,17 @@ private OmKeyInfo getS3KeyInfo(
   private OmKeyInfo getKeyInfo(
       String volumeName, String bucketName, String keyName,
       boolean forceUpdateContainerCache) throws IOException {
+    return getKeyInfo(getKeyArgs(volumeName, bucketName, keyName,
+        forceUpdateContainerCache));
+  }
+
+  private OmKeyArgs getKeyArgs(
+      String volumeName, String bucketName, String keyName,
+      boolean forceUpdateContainerCache) {
     Preconditions.checkNotNull(volumeName);
     Preconditions.checkNotNull(bucketName);
     Preconditions.checkNotNull(keyName);
-    OmKeyArgs keyArgs = new OmKeyArgs.Builder()
+    return new OmKeyArgs.Builder()
         .setVolumeName(volumeName)
         .setBucketName(bucketName)
         .setKeyName(keyName)
@@ -1831,7 +1980,6 @@ private OmKeyInfo getKeyInfo(
         .setLatestVersionLocation(getLatestVersionLocation)
         .setForceUpdateContainerCacheFromSCM(forceUpdateContainerCache)
         .build();
-    return getKeyInfo(keyArgs);
   }
 
   private OmKeyInfo getKeyInfo(OmKeyArgs keyArgs) throws IOException {
@@ -1845,6 +1993,12 @@ private OmKeyInfo getKeyInfo(OmKeyArgs keyArgs) throws IOException {
     return keyInfo;
   }
 
+  private static <T> CompletableFuture<T> failedFuture(Throwable t) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(t);
+    return future;
+  }
+
   @Override
   public void close() throws IOException {
     if (ecReconstructExecutor.isInitialized()) {
@@ -1853,6 +2007,9 @@ public void close() throws IOException {
     if (writeExecutor.isInitialized()) {
       writeExecutor.get().shutdownNow();
     }
+    if (readExecutor.isInitialized()) {
+      readExecutor.get().shutdownNow();
+    }
     IOUtils.cleanupWithLogger(LOG, ozoneManagerClient, xceiverClientManager);
     keyProviderCache.invalidateAll();
     keyProviderCache.cleanUp();
@@ -2368,7 +2525,7 @@ private OzoneInputStream createInputStream(
     if (feInfo == null) {
       LengthInputStream lengthInputStream = KeyInputStream
           .getFromOmKeyInfo(keyInfo, xceiverClientManager, retryFunction,
-              blockInputStreamFactory, clientConfig);
+              blockInputStreamFactory, clientConfig, readExecutor);
       try {
         final GDPRSymmetricKey gk = getGDPRSymmetricKey(
             keyInfo.getMetadata(), Cipher.DECRYPT_MODE);
@@ -190,6 +190,7 @@ private CommitKeyResponse commitKey(CommitKeyRequest commitKeyRequest) {
             .setKeyName(keyArgs.getKeyName())
             .setCreationTime(openKey.getCreationTime())
             .setModificationTime(openKey.getModificationTime())
+            .addAllTags(openKey.getTagsList())
             .setDataSize(keyArgs.getDataSize()).setLatestVersion(0L)
             .addKeyLocationList(KeyLocationList.newBuilder()
                 .addAllKeyLocations(keyArgs.getKeyLocationsList()));
@@ -218,6 +219,7 @@ private CreateKeyResponse createKey(CreateKeyRequest createKeyRequest) {
             .setBucketName(keyArgs.getBucketName())
             .setKeyName(keyArgs.getKeyName()).setCreationTime(now)
             .setModificationTime(now).setDataSize(keyArgs.getDataSize())
+            .addAllTags(keyArgs.getTagsList())
             .setLatestVersion(0L).addKeyLocationList(
             KeyLocationList.newBuilder().addAllKeyLocations(
                 blockAllocator.allocateBlock(createKeyRequest.getKeyArgs(),
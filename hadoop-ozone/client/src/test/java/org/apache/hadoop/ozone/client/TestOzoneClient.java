@@ -20,6 +20,7 @@
 
 import org.apache.hadoop.conf.StorageUnit;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfigValidator;
 import org.apache.hadoop.hdds.client.ReplicationType;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
@@ -42,8 +43,11 @@
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.hadoop.hdds.client.ReplicationFactor.ONE;
@@ -52,6 +56,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 /**
  * Real unit test for OzoneClient.
@@ -172,6 +177,38 @@ public void testPutKeyRatisOneNode() throws IOException {
     }
   }
 
+  @Test
+  public void testAsyncCalls() throws Exception {
+    String value = "sample value";
+    String volumeName = UUID.randomUUID().toString();
+    String bucketName = UUID.randomUUID().toString();
+    store.createVolume(volumeName);
+    OzoneVolume volume = store.getVolumeAsync(volumeName).get();
+    assertEquals(volumeName, volume.getName());
+    volume.createBucket(bucketName);
+    OzoneBucket bucket = volume.getBucketAsync(bucketName).get();
+    assertEquals(bucketName, bucket.getName());
+
+    String keyName = UUID.randomUUID().toString();
+    CompletableFuture<OzoneOutputStream> created = bucket.createKeyAsync(
+        keyName, value.getBytes(UTF_8).length,
+        ReplicationConfig.fromTypeAndFactor(ReplicationType.RATIS, ONE),
+        new HashMap<>(), Collections.singletonMap("tag", "value"));
+    try (OzoneOutputStream out = created.get()) {
+      out.write(value.getBytes(UTF_8));
+    }
+    OzoneKeyDetails key = bucket.getKeyAsync(keyName).get();
+    assertEquals(keyName, key.getName());
+    assertEquals(value.length(), key.getDataSize());
+    assertEquals(Collections.singletonMap("tag", "value"), key.getTags());
+
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> store.getVolumeAsync(UUID.randomUUID().toString()).get());
+    assertInstanceOf(OMException.class, e.getCause());
+    assertEquals(ResultCodes.VOLUME_NOT_FOUND,
+        ((OMException) e.getCause()).getResult());
+  }
+
   @Test
   public void testPutKeyAllocateBlock() throws IOException {
     String value = new String(new byte[1024], UTF_8);
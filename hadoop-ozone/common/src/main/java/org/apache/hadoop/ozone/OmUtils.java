@@ -336,6 +336,80 @@ public static boolean isReadOnly(
     }
   }
 
+  /**
+   * Checks if the OM request may be served by a follower OM.  These are
+   * read-only requests which only depend on the replicated OM metadata, and
+   * not on state kept by the leader only.
+   * @param omRequest OMRequest proto
+   * @return True if a follower can serve it, false otherwise.
+   */
+  public static boolean isFollowerReadable(
+      OzoneManagerProtocolProtos.OMRequest omRequest) {
+    switch (omRequest.getCmdType()) {
+    case InfoVolume:
+    case ListVolume:
+    case InfoBucket:
+    case ListBuckets:
+    case LookupKey:
+    case GetKeyInfo:
+    case ListKeys:
+    case ListKeysLight:
+    case GetFileStatus:
+    case LookupFile:
+    case ListStatus:
+    case ListStatusLight:
+      return !omRequest.hasS3Authentication();
+    default:
+      return false;
+    }
+  }
+
+  /**
+   * @return how far (in milliseconds) behind the leader the OM serving the
+   *         request may be, or 0 if the request must see the latest state
+   */
+  public static long getMaxStalenessMs(
+      OzoneManagerProtocolProtos.OMRequest omRequest) {
+    switch (omRequest.getCmdType()) {
+    case ListKeys:
+    case ListKeysLight:
+      return omRequest.getListKeysRequest().getMaxStalenessMs();
+    case ListStatus:
+    case ListStatusLight:
+      return omRequest.getListStatusRequest().getMaxStalenessMs();
+    default:
+      return 0;
+    }
+  }
+
+  /**
+   * Set the max staleness of a listing request, unless already set.
+   * @return the request with the staleness, or the original request if it
+   *         is not a listing
+   */
+  public static OzoneManagerProtocolProtos.OMRequest withMaxStalenessMs(
+      OzoneManagerProtocolProtos.OMRequest omRequest, long maxStalenessMs) {
+    if (maxStalenessMs <= 0 || getMaxStalenessMs(omRequest) > 0) {
+      return omRequest;
+    }
+    switch (omRequest.getCmdType()) {
+    case ListKeys:
+    case ListKeysLight:
+      return omRequest.toBuilder()
+          .setListKeysRequest(omRequest.getListKeysRequest().toBuilder()
+              .setMaxStalenessMs(maxStalenessMs))
+          .build();
+    case ListStatus:
+    case ListStatusLight:
+      return omRequest.toBuilder()
+          .setListStatusRequest(omRequest.getListStatusRequest().toBuilder()
+              .setMaxStalenessMs(maxStalenessMs))
+          .build();
+    default:
+      return omRequest;
+    }
+  }
+
   public static byte[] getSHADigest() throws IOException {
     try {
       SRAND.nextBytes(randomBytes);
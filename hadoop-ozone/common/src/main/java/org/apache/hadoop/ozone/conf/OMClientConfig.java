@@ -38,6 +38,12 @@ public class OMClientConfig {
   public static final String OM_CLIENT_RPC_TIME_OUT = "rpc.timeout";
   public static final String OM_TRASH_EMPTIER_CORE_POOL_SIZE
       = "trash.core.pool.size";
+  public static final String OM_CLIENT_FOLLOWER_READ_ENABLED =
+      "follower.read.enabled";
+  public static final String OM_CLIENT_FOLLOWER_READ_EXCLUDE_DURATION =
+      "follower.read.exclude.duration";
+  public static final String OM_CLIENT_LIST_MAX_STALENESS =
+      "list.max.staleness";
 
   @Config(key = OM_CLIENT_RPC_TIME_OUT,
       defaultValue = "15m",
@@ -60,6 +66,42 @@ public class OMClientConfig {
       description = "Total number of threads in pool for the Trash Emptier")
   private int trashEmptierPoolSize = 5;
 
+  @Config(key = OM_CLIENT_FOLLOWER_READ_ENABLED,
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      tags = {OZONE, OM, CLIENT},
+      description = "If true, metadata reads (lookups and listings) are " +
+          "sent to the OMs in round robin, instead of only to the leader. " +
+          "Requires ozone.om.follower.read.enabled on the OMs.  Reads " +
+          "which a follower cannot serve are retried on the leader."
+  )
+  private boolean followerReadEnabled = false;
+
+  @Config(key = OM_CLIENT_FOLLOWER_READ_EXCLUDE_DURATION,
+      defaultValue = "30s",
+      type = ConfigType.TIME,
+      tags = {OZONE, OM, CLIENT},
+      timeUnit = TimeUnit.MILLISECONDS,
+      description = "How long an OM which failed to serve a follower read, " +
+          "e.g. because it is down or has follower reads disabled, is " +
+          "skipped for further follower reads."
+  )
+  private long followerReadExcludeDuration = 30 * 1000;
+
+  @Config(key = OM_CLIENT_LIST_MAX_STALENESS,
+      defaultValue = "0s",
+      type = ConfigType.TIME,
+      tags = {OZONE, OM, CLIENT},
+      timeUnit = TimeUnit.MILLISECONDS,
+      description = "If positive, listings (listKeys, listStatus) which do " +
+          "not specify their own max staleness may be served by any OM " +
+          "whose state is at most this far behind the leader, without " +
+          "involving the leader.  Meant for jobs which scan large " +
+          "namespaces and tolerate slightly stale results.  Requires " +
+          "ozone.om.client.follower.read.enabled, and " +
+          "ozone.om.follower.read.enabled on the OMs."
+  )
+  private long listMaxStaleness = 0;
 
   public int getTrashEmptierPoolSize() {
     return trashEmptierPoolSize;
@@ -69,6 +111,30 @@ public void setTrashEmptierPoolSize(int trashEmptierPoolSize) {
     this.trashEmptierPoolSize = trashEmptierPoolSize;
   }
 
+  public boolean isFollowerReadEnabled() {
+    return followerReadEnabled;
+  }
+
+  public void setFollowerReadEnabled(boolean followerReadEnabled) {
+    this.followerReadEnabled = followerReadEnabled;
+  }
+
+  public long getFollowerReadExcludeDuration() {
+    return followerReadExcludeDuration;
+  }
+
+  public void setFollowerReadExcludeDuration(long duration) {
+    this.followerReadExcludeDuration = duration;
+  }
+
+  public long getListMaxStaleness() {
+    return listMaxStaleness;
+  }
+
+  public void setListMaxStaleness(long listMaxStaleness) {
+    this.listMaxStaleness = listMaxStaleness;
+  }
+
   public long getRpcTimeOut() {
     return rpcTimeOut;
   }
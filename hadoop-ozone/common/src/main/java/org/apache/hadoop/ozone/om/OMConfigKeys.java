@@ -247,6 +247,16 @@ private OMConfigKeys() {
   public static final boolean
       OZONE_OM_RATIS_SERVER_ELECTION_PRE_VOTE_DEFAULT = true;
 
+  /**
+   * Read option of the OM Ratis server, see
+   * {@code RaftServerConfigKeys.Read.Option}.  Follower reads require
+   * LINEARIZABLE.
+   */
+  public static final String OZONE_OM_RATIS_SERVER_READ_OPTION =
+      "ozone.om.ratis.server.read.option";
+  public static final String OZONE_OM_RATIS_SERVER_READ_OPTION_DEFAULT =
+      "DEFAULT";
+
   public static final String OZONE_OM_RATIS_SERVER_CLOSE_THRESHOLD_KEY =
       "ozone.om.ratis.server.close.threshold";
   public static final TimeDuration OZONE_OM_RATIS_SERVER_CLOSE_THRESHOLD_DEFAULT =
@@ -459,6 +469,27 @@ private OMConfigKeys() {
   public static final int OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT
       = 10000;
 
+  /**
+   * Number of threads applying transactions of different buckets in
+   * parallel.  With 1, all transactions are applied serially.
+   */
+  public static final String OZONE_OM_APPLY_TRANSACTION_PARTITIONS =
+      "ozone.om.apply.transaction.partitions";
+  public static final int OZONE_OM_APPLY_TRANSACTION_PARTITIONS_DEFAULT = 1;
+
+  /**
+   * Whether follower OMs serve metadata reads, after catching up with the
+   * leader using the Ratis ReadIndex protocol.  Requires the LINEARIZABLE
+   * {@link #OZONE_OM_RATIS_SERVER_READ_OPTION}.
+   */
+  public static final String OZONE_OM_FOLLOWER_READ_ENABLED =
+      "ozone.om.follower.read.enabled";
+  public static final boolean OZONE_OM_FOLLOWER_READ_ENABLED_DEFAULT = false;
+  public static final String OZONE_OM_FOLLOWER_READ_LEADER_LEASE_ENABLED =
+      "ozone.om.follower.read.leader.lease.enabled";
+  public static final boolean
+      OZONE_OM_FOLLOWER_READ_LEADER_LEASE_ENABLED_DEFAULT = false;
+
   /**
    * This configuration shall be enabled to utilize the functionality of the
    * fine-grained KEY_PATH_LOCK.
@@ -519,6 +550,47 @@ private OMConfigKeys() {
   public static final TimeDuration OZONE_OM_CONTAINER_LOCATION_CACHE_TTL_DEFAULT
       = TimeDuration.valueOf(360, TimeUnit.MINUTES);
 
+  /**
+   * Number of blocks OM pre-allocates from SCM per replication config and
+   * block size, to serve key creation without a round-trip to SCM.
+   * 0 disables the pool.
+   */
+  public static final String OZONE_OM_BLOCK_POOL_SIZE
+      = "ozone.om.block.pool.size";
+  public static final int OZONE_OM_BLOCK_POOL_SIZE_DEFAULT = 0;
+
+  public static final String OZONE_OM_BLOCK_POOL_EXPIRY
+      = "ozone.om.block.pool.expiry";
+  public static final TimeDuration OZONE_OM_BLOCK_POOL_EXPIRY_DEFAULT
+      = TimeDuration.valueOf(30, TimeUnit.SECONDS);
+
+  /**
+   * Number of blocks per allocateBlock call to refill the block pool.  Each
+   * call excludes the pipelines of the previous ones.
+   */
+  public static final String OZONE_OM_BLOCK_POOL_REFILL_BATCH_SIZE
+      = "ozone.om.block.pool.refill.batch.size";
+  public static final int OZONE_OM_BLOCK_POOL_REFILL_BATCH_SIZE_DEFAULT = 4;
+
+  public static final String OZONE_OM_BLOCK_POOL_PIPELINE_CHECK_INTERVAL
+      = "ozone.om.block.pool.pipeline.check.interval";
+  public static final TimeDuration
+      OZONE_OM_BLOCK_POOL_PIPELINE_CHECK_INTERVAL_DEFAULT
+      = TimeDuration.valueOf(10, TimeUnit.SECONDS);
+
+  /**
+   * Whether the caches of the key, file, open key and open file tables
+   * store the values encoded in direct memory instead of on the heap.
+   */
+  public static final String OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_ENABLED
+      = "ozone.om.key.table.cache.off-heap.enabled";
+  public static final boolean
+      OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_ENABLED_DEFAULT = false;
+  public static final String OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_MAX_SIZE
+      = "ozone.om.key.table.cache.off-heap.max.size";
+  public static final String
+      OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_MAX_SIZE_DEFAULT = "1GB";
+
   public static final String OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR
       = "ozone.om.enable.ofs.shared.tmp.dir";
   public static final boolean OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR_DEFAULT
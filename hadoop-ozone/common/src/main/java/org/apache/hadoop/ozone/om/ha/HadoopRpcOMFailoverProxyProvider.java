@@ -162,6 +162,27 @@ public synchronized ProxyInfo<T> getProxy() {
     return currentProxyInfo;
   }
 
+  /**
+   * Get the proxy object of the given OM, e.g. to send a read to a follower.
+   * Unlike {@link #getProxy()}, it is not changed by failover.
+   * @return the OM proxy object to invoke methods upon
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized T getProxy(String nodeId) {
+    ProxyInfo<T> proxyInfo = getOMProxyMap().get(nodeId);
+    if (proxyInfo == null) {
+      proxyInfo = createOMProxy(nodeId);
+    }
+    return proxyInfo.proxy;
+  }
+
+  /**
+   * @return the IDs of all OMs
+   */
+  public synchronized List<String> getOMNodeIds() {
+    return Collections.unmodifiableList(getOmNodeIDList());
+  }
+
   /**
    * Creates proxy object.
    */
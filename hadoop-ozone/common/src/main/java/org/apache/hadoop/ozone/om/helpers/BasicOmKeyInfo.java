@@ -18,12 +18,24 @@
 package org.apache.hadoop.ozone.om.helpers;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
+import java.util.Optional;
 
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import jakarta.annotation.Nonnull;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.KeyValue;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.BasicKeyInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfo;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysRequest;
 
 import static org.apache.hadoop.ozone.OzoneConsts.ETAG;
@@ -33,6 +45,18 @@
  */
 public final class BasicOmKeyInfo {
 
+  private static final Codec<BasicOmKeyInfo> CODEC = new KeyInfoCodec();
+
+  /**
+   * Codec to read key table values ({@link KeyInfo}) as BasicOmKeyInfo.
+   * Only the fields needed for listing are decoded, straight from the
+   * buffer; locations, ACLs, tags etc. are skipped without being parsed.
+   * The codec cannot be used to write values.
+   */
+  public static Codec<BasicOmKeyInfo> getCodec() {
+    return CODEC;
+  }
+
   private final String volumeName;
   private final String bucketName;
   private final String keyName;
@@ -110,6 +134,20 @@ public String getOwnerName() {
     return ownerName;
   }
 
+  public Builder toBuilder() {
+    return new Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName(keyName)
+        .setDataSize(dataSize)
+        .setCreationTime(creationTime)
+        .setModificationTime(modificationTime)
+        .setReplicationConfig(replicationConfig)
+        .setIsFile(isFile)
+        .setETag(eTag)
+        .setOwnerName(ownerName);
+  }
+
   /**
    * Builder of BasicOmKeyInfo.
    */
@@ -283,4 +321,128 @@ public int hashCode() {
   public static BasicOmKeyInfo fromOmKeyInfo(OmKeyInfo omKeyInfo) {
     return new BasicOmKeyInfo(omKeyInfo);
   }
+
+  /**
+   * Decodes the fields of a {@link KeyInfo} which BasicOmKeyInfo has,
+   * the same way as {@link OmKeyInfo#getFromProtobuf(KeyInfo)}.
+   */
+  private static BasicOmKeyInfo decode(CodedInputStream in)
+      throws IOException {
+    in.setSizeLimit(Integer.MAX_VALUE);
+    final KeyInfo defaults = KeyInfo.getDefaultInstance();
+    ReplicationType type = defaults.getType();
+    ReplicationFactor factor = defaults.getFactor();
+    HddsProtos.ECReplicationConfig ecConfig =
+        defaults.getEcReplicationConfig();
+    final Builder builder = new Builder();
+    for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+      switch (WireFormat.getTagFieldNumber(tag)) {
+      case KeyInfo.VOLUMENAME_FIELD_NUMBER:
+        builder.setVolumeName(in.readString());
+        break;
+      case KeyInfo.BUCKETNAME_FIELD_NUMBER:
+        builder.setBucketName(in.readString());
+        break;
+      case KeyInfo.KEYNAME_FIELD_NUMBER:
+        builder.setKeyName(in.readString());
+        break;
+      case KeyInfo.DATASIZE_FIELD_NUMBER:
+        builder.setDataSize(in.readUInt64());
+        break;
+      case KeyInfo.TYPE_FIELD_NUMBER:
+        // like protobuf, ignore unknown values
+        type = Optional.ofNullable(ReplicationType.valueOf(in.readEnum()))
+            .orElse(type);
+        break;
+      case KeyInfo.FACTOR_FIELD_NUMBER:
+        factor = Optional.ofNullable(ReplicationFactor.valueOf(in.readEnum()))
+            .orElse(factor);
+        break;
+      case KeyInfo.ECREPLICATIONCONFIG_FIELD_NUMBER:
+        ecConfig = HddsProtos.ECReplicationConfig.parseFrom(in.readBytes());
+        break;
+      case KeyInfo.CREATIONTIME_FIELD_NUMBER:
+        builder.setCreationTime(in.readUInt64());
+        break;
+      case KeyInfo.MODIFICATIONTIME_FIELD_NUMBER:
+        builder.setModificationTime(in.readUInt64());
+        break;
+      case KeyInfo.ISFILE_FIELD_NUMBER:
+        builder.setIsFile(in.readBool());
+        break;
+      case KeyInfo.OWNERNAME_FIELD_NUMBER:
+        builder.setOwnerName(in.readString());
+        break;
+      case KeyInfo.METADATA_FIELD_NUMBER:
+        final String eTag = readETag(in);
+        if (eTag != null) {
+          builder.setETag(eTag);
+        }
+        break;
+      default:
+        in.skipField(tag);
+      }
+    }
+    return builder
+        .setReplicationConfig(ReplicationConfig.fromProto(
+            type, factor, ecConfig))
+        .build();
+  }
+
+  /** @return the value of the metadata entry if it is the ETag */
+  private static String readETag(CodedInputStream in) throws IOException {
+    final int limit = in.pushLimit(in.readRawVarint32());
+    String key = null;
+    String value = null;
+    for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+      switch (WireFormat.getTagFieldNumber(tag)) {
+      case KeyValue.KEY_FIELD_NUMBER:
+        key = in.readString();
+        break;
+      case KeyValue.VALUE_FIELD_NUMBER:
+        value = in.readString();
+        break;
+      default:
+        in.skipField(tag);
+      }
+    }
+    in.popLimit(limit);
+    return ETAG.equals(key) ? value : null;
+  }
+
+  /**
+   * Read-only {@link Codec} of BasicOmKeyInfo for the key tables.
+   */
+  private static final class KeyInfoCodec implements Codec<BasicOmKeyInfo> {
+    @Override
+    public boolean supportCodecBuffer() {
+      return true;
+    }
+
+    @Override
+    public BasicOmKeyInfo fromCodecBuffer(@Nonnull CodecBuffer buffer)
+        throws IOException {
+      try (InputStream in = buffer.getInputStream()) {
+        return decode(CodedInputStream.newInstance(in));
+      }
+    }
+
+    @Override
+    public byte[] toPersistedFormat(BasicOmKeyInfo object) {
+      throw new UnsupportedOperationException(
+          "BasicOmKeyInfo cannot be written to the key table");
+    }
+
+    @Override
+    public BasicOmKeyInfo fromPersistedFormat(byte[] rawData)
+        throws IOException {
+      return decode(CodedInputStream.newInstance(rawData));
+    }
+
+    @Override
+    public BasicOmKeyInfo copyObject(BasicOmKeyInfo object) {
+      // immutable
+      return object;
+    }
+  }
 }
@@ -98,6 +98,8 @@ public static Codec<OmBucketInfo> getCodec() {
 
   private final String sourceBucket;
 
+  // Guarded by this: requests holding a KEY_PATH_LOCK and only the read
+  // lock of the bucket update the cached bucket info concurrently.
   private long usedBytes;
   private long usedNamespace;
   private final long quotaInBytes;
@@ -253,19 +255,19 @@ public String getSourceBucket() {
   }
 
 
-  public long getUsedBytes() {
+  public synchronized long getUsedBytes() {
     return usedBytes;
   }
 
-  public long getUsedNamespace() {
+  public synchronized long getUsedNamespace() {
     return usedNamespace;
   }
 
-  public void incrUsedBytes(long bytes) {
+  public synchronized void incrUsedBytes(long bytes) {
     this.usedBytes += bytes;
   }
 
-  public void incrUsedNamespace(long namespaceToUse) {
+  public synchronized void incrUsedNamespace(long namespaceToUse) {
     this.usedNamespace += namespaceToUse;
   }
 
@@ -325,9 +327,9 @@ public Map<String, String> toAuditMap() {
       auditMap.put(OzoneConsts.SOURCE_VOLUME, sourceVolume);
       auditMap.put(OzoneConsts.SOURCE_BUCKET, sourceBucket);
     }
-    auditMap.put(OzoneConsts.USED_BYTES, String.valueOf(this.usedBytes));
+    auditMap.put(OzoneConsts.USED_BYTES, String.valueOf(getUsedBytes()));
     auditMap.put(OzoneConsts.USED_NAMESPACE,
-        String.valueOf(this.usedNamespace));
+        String.valueOf(getUsedNamespace()));
     auditMap.put(OzoneConsts.OWNER, this.owner);
     auditMap.put(OzoneConsts.REPLICATION_TYPE,
         (this.defaultReplicationConfig != null) ?
@@ -357,7 +359,7 @@ public OmBucketInfo copyObject() {
     return builder.build();
   }
 
-  public Builder toBuilder() {
+  public synchronized Builder toBuilder() {
     return new Builder(this)
         .setVolumeName(volumeName)
         .setBucketName(bucketName)
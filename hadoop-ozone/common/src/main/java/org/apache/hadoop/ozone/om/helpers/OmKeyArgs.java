@@ -54,6 +54,7 @@ public final class OmKeyArgs implements Auditable {
   private final boolean headOp;
   private final boolean forceUpdateContainerCacheFromSCM;
   private final Map<String, String> tags;
+  private final long maxStalenessMs;
 
   private OmKeyArgs(Builder b) {
     this.volumeName = b.volumeName;
@@ -74,6 +75,7 @@ private OmKeyArgs(Builder b) {
     this.forceUpdateContainerCacheFromSCM = b.forceUpdateContainerCacheFromSCM;
     this.ownerName = b.ownerName;
     this.tags = b.tags;
+    this.maxStalenessMs = b.maxStalenessMs;
   }
 
   public boolean getIsMultipartKey() {
@@ -156,6 +158,14 @@ public Map<String, String> getTags() {
     return tags;
   }
 
+  /**
+   * @return how far (in milliseconds) behind the leader the OM answering a
+   *         listing may be, or 0 if it must be up-to-date
+   */
+  public long getMaxStalenessMs() {
+    return maxStalenessMs;
+  }
+
   @Override
   public Map<String, String> toAuditMap() {
     Map<String, String> auditMap = new LinkedHashMap<>();
@@ -196,7 +206,8 @@ public OmKeyArgs.Builder toBuilder() {
         .setLatestVersionLocation(latestVersionLocation)
         .setAcls(acls)
         .setForceUpdateContainerCacheFromSCM(forceUpdateContainerCacheFromSCM)
-        .addAllTags(tags);
+        .addAllTags(tags)
+        .setMaxStalenessMs(maxStalenessMs);
   }
 
   @Nonnull
@@ -236,6 +247,7 @@ public static class Builder {
     private boolean headOp;
     private boolean forceUpdateContainerCacheFromSCM;
     private final Map<String, String> tags = new HashMap<>();
+    private long maxStalenessMs;
 
     public Builder setVolumeName(String volume) {
       this.volumeName = volume;
@@ -345,6 +357,11 @@ public Builder setForceUpdateContainerCacheFromSCM(boolean value) {
       return this;
     }
 
+    public Builder setMaxStalenessMs(long staleness) {
+      this.maxStalenessMs = staleness;
+      return this;
+    }
+
     public OmKeyArgs build() {
       return new OmKeyArgs(this);
     }
@@ -17,7 +17,11 @@
 
 package org.apache.hadoop.ozone.om.lock;
 
+import java.io.IOException;
+import java.util.List;
+
 import com.google.common.annotations.VisibleForTesting;
+import org.apache.ratis.util.function.CheckedSupplier;
 
 /**
  * Interface for OM Metadata locks.
@@ -37,9 +41,27 @@ OMLockDetails acquireWriteLock(OzoneManagerLock.Resource resource,
   OMLockDetails releaseWriteLock(OzoneManagerLock.Resource resource,
                         String... resources);
 
+  /**
+   * Acquire read and write locks on several resources of the same type, in
+   * an order which prevents deadlocks.
+   */
+  OMLockDetails acquireMultiLock(OzoneManagerLock.Resource resource,
+      List<String[]> readResources, List<String[]> writeResources);
+
+  OMLockDetails releaseMultiLock(OzoneManagerLock.Resource resource,
+      List<String[]> readResources, List<String[]> writeResources);
+
   OMLockDetails releaseReadLock(OzoneManagerLock.Resource resource,
                                 String... resources);
 
+  /**
+   * Run a side-effect free reader of the metadata protected by the read
+   * lock, avoiding the lock if no writer interferes.
+   */
+  <T> T readWithOptimisticLock(OzoneManagerLock.Resource resource,
+      CheckedSupplier<T, IOException> reader, String... resources)
+      throws IOException;
+
   @VisibleForTesting
   int getReadHoldCount(OzoneManagerLock.Resource resource,
       String... resources);
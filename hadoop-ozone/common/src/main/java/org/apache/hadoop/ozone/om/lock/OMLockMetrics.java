@@ -25,6 +25,7 @@
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableStat;
 import org.apache.hadoop.ozone.OzoneConsts;
 
@@ -42,6 +43,8 @@ public final class OMLockMetrics implements MetricsSource {
   private final MutableStat readLockHeldTimeMsStat;
   private final MutableStat writeLockWaitingTimeMsStat;
   private final MutableStat writeLockHeldTimeMsStat;
+  private final MutableCounterLong optimisticReads;
+  private final MutableCounterLong optimisticReadFallbacks;
 
   private OMLockMetrics() {
     registry = new MetricsRegistry(SOURCE_NAME);
@@ -57,6 +60,10 @@ private OMLockMetrics() {
     writeLockHeldTimeMsStat = registry.newStat("WriteLockHeldTime",
         "Time (in milliseconds) spent holding the write lock",
         "Ops", "Time", true);
+    optimisticReads = registry.newCounter("OptimisticReads",
+        "Number of reads done without the read lock", 0L);
+    optimisticReadFallbacks = registry.newCounter("OptimisticReadFallbacks",
+        "Number of optimistic reads retried under the read lock", 0L);
   }
 
   /**
@@ -114,6 +121,22 @@ public void setWriteLockHeldTimeMsStat(long writeLockHeldTimeMs) {
     this.writeLockHeldTimeMsStat.add(writeLockHeldTimeMs);
   }
 
+  public void incOptimisticReads() {
+    optimisticReads.incr();
+  }
+
+  public void incOptimisticReadFallbacks() {
+    optimisticReadFallbacks.incr();
+  }
+
+  public long getOptimisticReads() {
+    return optimisticReads.value();
+  }
+
+  public long getOptimisticReadFallbacks() {
+    return optimisticReadFallbacks.value();
+  }
+
   /**
    * Returns a string representation of the object. Provides information on the
    * total number of samples, minimum value, maximum value, arithmetic mean,
@@ -205,5 +228,7 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     readLockWaitingTimeMsStat.snapshot(builder, all);
     writeLockHeldTimeMsStat.snapshot(builder, all);
     writeLockWaitingTimeMsStat.snapshot(builder, all);
+    optimisticReads.snapshot(builder, all);
+    optimisticReadFallbacks.snapshot(builder, all);
   }
 }
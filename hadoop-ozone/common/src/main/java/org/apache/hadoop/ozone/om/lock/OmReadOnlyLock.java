@@ -17,7 +17,11 @@
 
 package org.apache.hadoop.ozone.om.lock;
 
+import java.io.IOException;
+import java.util.List;
+
 import org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource;
+import org.apache.ratis.util.function.CheckedSupplier;
 
 import static org.apache.hadoop.ozone.om.lock.OMLockDetails.EMPTY_DETAILS_LOCK_ACQUIRED;
 import static org.apache.hadoop.ozone.om.lock.OMLockDetails.EMPTY_DETAILS_LOCK_NOT_ACQUIRED;
@@ -50,12 +54,31 @@ public void releaseMultiUserLock(String firstUser, String secondUser) {
   // Intentionally empty
   }
 
+  @Override
+  public OMLockDetails acquireMultiLock(Resource resource,
+      List<String[]> readResources, List<String[]> writeResources) {
+    return EMPTY_DETAILS_LOCK_NOT_ACQUIRED;
+  }
+
+  @Override
+  public OMLockDetails releaseMultiLock(Resource resource,
+      List<String[]> readResources, List<String[]> writeResources) {
+    return EMPTY_DETAILS_LOCK_NOT_ACQUIRED;
+  }
+
   @Override
   public OMLockDetails releaseWriteLock(Resource resource,
       String... resources) {
     return EMPTY_DETAILS_LOCK_NOT_ACQUIRED;
   }
 
+  @Override
+  public <T> T readWithOptimisticLock(Resource resource,
+      CheckedSupplier<T, IOException> reader, String... resources)
+      throws IOException {
+    return reader.get();
+  }
+
   @Override
   public OMLockDetails releaseReadLock(Resource resource, String... resources) {
     return EMPTY_DETAILS_LOCK_NOT_ACQUIRED;
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.lock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A {@link ReentrantReadWriteLock} which also supports optimistic reads:
+ * a reader gets a stamp, reads without holding any lock, and then checks
+ * that no writer held or acquired the write lock meanwhile.  Optimistic
+ * readers only read a volatile version, so they do not contend with each
+ * other, unlike read lock holders which all update the lock state.
+ * <p>
+ * The version is a {@link StampedLock} which is write locked while the
+ * write lock is held (not counting reentrant acquisitions).
+ * <p>
+ * Writers may also modify the protected data under a finer lock while only
+ * holding the read lock, e.g. key writes under a KEY_PATH_LOCK and the
+ * BUCKET_LOCK read lock.  Such writers call {@link #sharedWriteStarted} and
+ * {@link #sharedWriteFinished}, which fail the validation of optimistic
+ * reads overlapping them, without excluding each other.
+ */
+final class OptimisticReadWriteLock extends ReentrantReadWriteLock {
+
+  private final StampedLock version = new StampedLock();
+  /** Stamp of the version write lock, guarded by the write lock. */
+  private long writeStamp;
+  /** Number of writers in progress under the read lock. */
+  private final AtomicInteger sharedWriters = new AtomicInteger();
+  /** Number of writes started under the read lock. */
+  private final AtomicLong sharedWrites = new AtomicLong();
+
+  OptimisticReadWriteLock(boolean fair) {
+    super(fair);
+  }
+
+  /** To be called by the writer after acquiring the write lock. */
+  void writeLocked() {
+    if (getWriteHoldCount() == 1) {
+      writeStamp = version.writeLock();
+    }
+  }
+
+  /** To be called by the writer before releasing the write lock. */
+  void writeUnlocking() {
+    if (getWriteHoldCount() == 1 && isWriteLockedByCurrentThread()) {
+      version.unlockWrite(writeStamp);
+    }
+  }
+
+  /** To be called by a writer holding the read lock, before writing. */
+  void sharedWriteStarted() {
+    // counted as in progress before the start is published, so that a
+    // reader either sees it in progress or sees the count change
+    sharedWriters.incrementAndGet();
+    sharedWrites.incrementAndGet();
+  }
+
+  /** To be called by a writer holding the read lock, after writing. */
+  void sharedWriteFinished() {
+    sharedWriters.decrementAndGet();
+  }
+
+  /**
+   * @return a stamp to validate after reading, or null if a writer is in
+   *         progress
+   */
+  Stamp tryOptimisticRead() {
+    final long writes = sharedWrites.get();
+    final long stamp = version.tryOptimisticRead();
+    if (stamp == 0 || sharedWriters.get() != 0) {
+      return null;
+    }
+    return new Stamp(stamp, writes);
+  }
+
+  /**
+   * @return true if no writer held or acquired the write lock, or wrote
+   *         under the read lock, since the stamp was issued
+   */
+  boolean validate(Stamp stamp) {
+    return version.validate(stamp.version)
+        && sharedWriters.get() == 0 && sharedWrites.get() == stamp.writes;
+  }
+
+  /** State of the lock seen by an optimistic reader. */
+  static final class Stamp {
+    private final long version;
+    private final long writes;
+
+    private Stamp(long version, long writes) {
+      this.version = version;
+      this.writes = writes;
+    }
+  }
+}
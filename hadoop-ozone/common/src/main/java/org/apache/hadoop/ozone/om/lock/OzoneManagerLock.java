@@ -19,15 +19,17 @@
 package org.apache.hadoop.ozone.om.lock;
 
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.Striped;
@@ -35,6 +37,7 @@
 import org.apache.hadoop.ipc.ProcessingDetails.Timing;
 import org.apache.hadoop.ipc.Server;
 import org.apache.hadoop.util.Time;
+import org.apache.ratis.util.function.CheckedSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +45,8 @@
 
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_FAIR_LOCK;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_FAIR_LOCK_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_OPTIMISTIC_READ;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_OPTIMISTIC_READ_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_STRIPED_LOCK_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_STRIPED_LOCK_SIZE_PREFIX;
 import static org.apache.hadoop.hdds.utils.CompositeKey.combineKeys;
@@ -93,6 +98,7 @@ public class OzoneManagerLock implements IOzoneManagerLock {
       LoggerFactory.getLogger(OzoneManagerLock.class);
 
   private final Map<Resource, Striped<ReadWriteLock>> stripedLockByResource;
+  private final boolean optimisticRead;
 
   private OMLockMetrics omLockMetrics;
   private final ThreadLocal<Short> lockSet = ThreadLocal.withInitial(
@@ -113,6 +119,8 @@ public OzoneManagerLock(ConfigurationSource conf) {
       stripedLockMap.put(r, createStripeLock(r, conf));
     }
     this.stripedLockByResource = Collections.unmodifiableMap(stripedLockMap);
+    this.optimisticRead = conf.getBoolean(OZONE_MANAGER_OPTIMISTIC_READ,
+        OZONE_MANAGER_OPTIMISTIC_READ_DEFAULT);
   }
 
   private Striped<ReadWriteLock> createStripeLock(Resource r,
@@ -123,13 +131,22 @@ private Striped<ReadWriteLock> createStripeLock(Resource r,
         r.getName().toLowerCase();
     int size = conf.getInt(stripeSizeKey,
         OZONE_MANAGER_STRIPED_LOCK_SIZE_DEFAULT);
-    return SimpleStriped.readWriteLock(size, fair);
+    return SimpleStriped.custom(size, () -> new OptimisticReadWriteLock(fair));
   }
 
-  private ReentrantReadWriteLock getLock(Resource resource, String... keys) {
+  private OptimisticReadWriteLock getLock(Resource resource, String... keys) {
     Striped<ReadWriteLock> striped = stripedLockByResource.get(resource);
     Object key = combineKeys(keys);
-    return (ReentrantReadWriteLock) striped.get(key);
+    return (OptimisticReadWriteLock) striped.get(key);
+  }
+
+  /**
+   * KEY_PATH_LOCK writers modify keys under the read lock of the bucket, so
+   * optimistic reads of the bucket must see them as writers.
+   * @param keys - KEY_PATH_LOCK resource names, volume and bucket first.
+   */
+  private OptimisticReadWriteLock getBucketLock(String... keys) {
+    return getLock(Resource.BUCKET_LOCK, keys[0], keys[1]);
   }
 
   /**
@@ -187,13 +204,17 @@ private OMLockDetails acquireLock(Resource resource, boolean isReadLock,
 
     long startWaitingTimeNanos = Time.monotonicNowNanos();
 
-    ReentrantReadWriteLock lock = getLock(resource, keys);
+    OptimisticReadWriteLock lock = getLock(resource, keys);
     if (isReadLock) {
       lock.readLock().lock();
       updateReadLockMetrics(resource, lock, startWaitingTimeNanos);
     } else {
       lock.writeLock().lock();
+      lock.writeLocked();
       updateWriteLockMetrics(resource, lock, startWaitingTimeNanos);
+      if (resource == Resource.KEY_PATH_LOCK) {
+        getBucketLock(keys).sharedWriteStarted();
+      }
     }
 
     lockSet.set(resource.setLock(lockSet.get()));
@@ -202,7 +223,7 @@ private OMLockDetails acquireLock(Resource resource, boolean isReadLock,
   }
 
   private void updateReadLockMetrics(Resource resource,
-      ReentrantReadWriteLock lock, long startWaitingTimeNanos) {
+      OptimisticReadWriteLock lock, long startWaitingTimeNanos) {
 
     /*
      *  readHoldCount helps in metrics updation only once in case
@@ -222,7 +243,7 @@ private void updateReadLockMetrics(Resource resource,
   }
 
   private void updateWriteLockMetrics(Resource resource,
-      ReentrantReadWriteLock lock, long startWaitingTimeNanos) {
+      OptimisticReadWriteLock lock, long startWaitingTimeNanos) {
     /*
      *  writeHoldCount helps in metrics updation only once in case
      *  of reentrant locks. Metrics are updated only if the write lock is held
@@ -281,6 +302,7 @@ public boolean acquireMultiUserLock(String firstUser, String secondUser) {
           striped.bulkGet(Arrays.asList(firstUser, secondUser));
       for (ReadWriteLock lock : locks) {
         lock.writeLock().lock();
+        ((OptimisticReadWriteLock) lock).writeLocked();
       }
 
       lockSet.set(resource.setLock(lockSet.get()));
@@ -301,6 +323,7 @@ public void releaseMultiUserLock(String firstUser, String secondUser) {
     Iterable<ReadWriteLock> locks =
         striped.bulkGet(Arrays.asList(firstUser, secondUser));
     for (ReadWriteLock lock : locks) {
+      ((OptimisticReadWriteLock) lock).writeUnlocking();
       lock.writeLock().unlock();
     }
 
@@ -308,6 +331,105 @@ public void releaseMultiUserLock(String firstUser, String secondUser) {
   }
 
 
+  /**
+   * Acquire read and write locks on several resources of the same type,
+   * e.g. KEY_PATH_LOCK on a path and its ancestors.
+   *
+   * The resources may share lock stripes, so each stripe is locked once, in
+   * write mode if any of its resources is to be write locked.  The stripes
+   * are locked in a consistent order, like for {@link
+   * #acquireMultiUserLock}, which prevents deadlocks.
+   * @param resource - Type of the resource.
+   * @param readResources - Resource names to read lock.
+   * @param writeResources - Resource names to write lock.
+   */
+  @Override
+  public OMLockDetails acquireMultiLock(Resource resource,
+      List<String[]> readResources, List<String[]> writeResources) {
+    omLockDetails.get().clear();
+    if (!resource.canLock(lockSet.get())) {
+      String errorMessage = getErrorMessage(resource);
+      LOG.error(errorMessage);
+      throw new RuntimeException(errorMessage);
+    }
+
+    long startWaitingTimeNanos = Time.monotonicNowNanos();
+    getStripeModes(resource, readResources, writeResources)
+        .forEach((lock, write) -> {
+          if (write) {
+            lock.writeLock().lock();
+            lock.writeLocked();
+          } else {
+            lock.readLock().lock();
+          }
+        });
+    updateProcessingDetails(Timing.LOCKWAIT,
+        Time.monotonicNowNanos() - startWaitingTimeNanos);
+    if (resource == Resource.KEY_PATH_LOCK) {
+      for (String[] keys : writeResources) {
+        getBucketLock(keys).sharedWriteStarted();
+      }
+    }
+
+    lockSet.set(resource.setLock(lockSet.get()));
+    omLockDetails.get().setLockAcquired(true);
+    return omLockDetails.get();
+  }
+
+  /**
+   * Release the locks acquired by {@link #acquireMultiLock}.
+   */
+  @Override
+  public OMLockDetails releaseMultiLock(Resource resource,
+      List<String[]> readResources, List<String[]> writeResources) {
+    omLockDetails.get().clear();
+    if (resource == Resource.KEY_PATH_LOCK) {
+      for (String[] keys : writeResources) {
+        getBucketLock(keys).sharedWriteFinished();
+      }
+    }
+    getStripeModes(resource, readResources, writeResources)
+        .forEach((lock, write) -> {
+          if (write) {
+            lock.writeUnlocking();
+            lock.writeLock().unlock();
+          } else {
+            lock.readLock().unlock();
+          }
+        });
+
+    lockSet.set(resource.clearLock(lockSet.get()));
+    return omLockDetails.get();
+  }
+
+  /**
+   * @return whether to write lock each stripe of the resources, in the
+   *         order of the stripes
+   */
+  private Map<OptimisticReadWriteLock, Boolean> getStripeModes(
+      Resource resource, List<String[]> readResources,
+      List<String[]> writeResources) {
+    Striped<ReadWriteLock> striped = stripedLockByResource.get(resource);
+    Map<ReadWriteLock, Boolean> modes = new IdentityHashMap<>();
+    List<Object> keys = new ArrayList<>();
+    for (String[] resourceName : readResources) {
+      Object key = combineKeys(resourceName);
+      keys.add(key);
+      modes.putIfAbsent(striped.get(key), false);
+    }
+    for (String[] resourceName : writeResources) {
+      Object key = combineKeys(resourceName);
+      keys.add(key);
+      modes.put(striped.get(key), true);
+    }
+    // The result of bulkGet is always sorted in a consistent order.
+    Map<OptimisticReadWriteLock, Boolean> ordered = new LinkedHashMap<>();
+    for (ReadWriteLock lock : striped.bulkGet(keys)) {
+      ordered.putIfAbsent((OptimisticReadWriteLock) lock, modes.get(lock));
+    }
+    return ordered;
+  }
+
   /**
    * Release write lock on resource.
    * @param resource - Type of the resource.
@@ -337,12 +459,16 @@ public OMLockDetails releaseReadLock(Resource resource, String... keys) {
   private OMLockDetails releaseLock(Resource resource, boolean isReadLock,
       String... keys) {
     omLockDetails.get().clear();
-    ReentrantReadWriteLock lock = getLock(resource, keys);
+    OptimisticReadWriteLock lock = getLock(resource, keys);
     if (isReadLock) {
       lock.readLock().unlock();
       updateReadUnlockMetrics(resource, lock);
     } else {
       boolean isWriteLocked = lock.isWriteLockedByCurrentThread();
+      if (resource == Resource.KEY_PATH_LOCK) {
+        getBucketLock(keys).sharedWriteFinished();
+      }
+      lock.writeUnlocking();
       lock.writeLock().unlock();
       updateWriteUnlockMetrics(resource, lock, isWriteLocked);
     }
@@ -351,8 +477,57 @@ private OMLockDetails releaseLock(Resource resource, boolean isReadLock,
     return omLockDetails.get();
   }
 
+  /**
+   * Run a reader which only reads OM metadata (table cache and DB), without
+   * taking the read lock if possible.
+   *
+   * If optimistic reads are enabled, the reader is first run without the
+   * lock, and its result is used only if no writer held or acquired the
+   * write lock on the resource meanwhile, nor a KEY_PATH_LOCK write lock
+   * in the bucket for BUCKET_LOCK.  Otherwise, or if the optimistic
+   * read fails validation, the reader is run (again) under the read lock.
+   * The reader must thus have no side effects, and tolerate concurrent
+   * writes: any result or exception of an invalidated run is discarded.
+   *
+   * @param resource - Type of the resource.
+   * @param reader - reads the metadata protected by the lock.
+   * @param keys - Resource names, see {@link #acquireReadLock}.
+   * @return the result of the reader.
+   */
+  @Override
+  public <T> T readWithOptimisticLock(Resource resource,
+      CheckedSupplier<T, IOException> reader, String... keys)
+      throws IOException {
+    if (optimisticRead && resource.canLock(lockSet.get())) {
+      OptimisticReadWriteLock lock = getLock(resource, keys);
+      OptimisticReadWriteLock.Stamp stamp = lock.tryOptimisticRead();
+      if (stamp != null) {
+        try {
+          T result = reader.get();
+          if (lock.validate(stamp)) {
+            omLockMetrics.incOptimisticReads();
+            return result;
+          }
+        } catch (IOException | RuntimeException e) {
+          if (lock.validate(stamp)) {
+            omLockMetrics.incOptimisticReads();
+            throw e;
+          }
+        }
+      }
+      omLockMetrics.incOptimisticReadFallbacks();
+    }
+
+    acquireReadLock(resource, keys);
+    try {
+      return reader.get();
+    } finally {
+      releaseReadLock(resource, keys);
+    }
+  }
+
   private void updateReadUnlockMetrics(Resource resource,
-      ReentrantReadWriteLock lock) {
+      OptimisticReadWriteLock lock) {
     /*
      *  readHoldCount helps in metrics updation only once in case
      *  of reentrant locks.
@@ -369,7 +544,7 @@ private void updateReadUnlockMetrics(Resource resource,
   }
 
   private void updateWriteUnlockMetrics(Resource resource,
-      ReentrantReadWriteLock lock, boolean isWriteLocked) {
+      OptimisticReadWriteLock lock, boolean isWriteLocked) {
     /*
      *  writeHoldCount helps in metrics updation only once in case
      *  of reentrant locks. Metrics are updated only if the write lock is held
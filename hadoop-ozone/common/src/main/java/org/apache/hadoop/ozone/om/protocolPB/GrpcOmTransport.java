@@ -22,6 +22,9 @@
 import java.net.InetAddress;
 import java.security.cert.X509Certificate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -33,6 +36,7 @@
 import io.grpc.Context;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
 import org.apache.hadoop.ipc.RemoteException;
 
 import org.apache.hadoop.hdds.conf.Config;
@@ -59,6 +63,7 @@
 import io.netty.handler.ssl.SslContextBuilder;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,6 +89,10 @@ public class GrpcOmTransport implements OmTransport {
   private OzoneManagerServiceGrpc.OzoneManagerServiceBlockingStub client;
   private Map<String,
       OzoneManagerServiceGrpc.OzoneManagerServiceBlockingStub> clients;
+  private Map<String,
+      OzoneManagerServiceGrpc.OzoneManagerServiceStub> asyncClients;
+  // Delays the retries of asynchronous requests after failover
+  private final ScheduledExecutorService retryExecutor;
   private Map<String, ManagedChannel> channels;
   private int lastVisited = -1;
   private ConfigurationSource conf;
@@ -109,6 +118,7 @@ public GrpcOmTransport(ConfigurationSource conf,
 
     this.channels = new HashMap<>();
     this.clients = new HashMap<>();
+    this.asyncClients = new HashMap<>();
     this.conf = conf;
     this.host = new AtomicReference();
     this.failoverCount = 0;
@@ -119,6 +129,11 @@ public GrpcOmTransport(ConfigurationSource conf,
     maxSize = conf.getInt(OZONE_OM_GRPC_MAXIMUM_RESPONSE_LENGTH,
         OZONE_OM_GRPC_MAXIMUM_RESPONSE_LENGTH_DEFAULT);
 
+    retryExecutor = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat(CLIENT_NAME + "-retry-%d")
+            .build());
+
     omFailoverProxyProvider = new GrpcOMFailoverProxyProvider(
         conf,
         omServiceId,
@@ -170,6 +185,8 @@ public void start() throws IOException {
       clients.put(hostaddr,
           OzoneManagerServiceGrpc
               .newBlockingStub(channels.get(hostaddr)));
+      asyncClients.put(hostaddr,
+          OzoneManagerServiceGrpc.newStub(channels.get(hostaddr)));
     }
     int maxFailovers = conf.getInt(
         OzoneConfigKeys.OZONE_CLIENT_FAILOVER_MAX_ATTEMPTS_KEY,
@@ -217,6 +234,83 @@ public OMResponse submitRequest(OMRequest payload) throws IOException {
     return resp.get();
   }
 
+  /**
+   * Send the request on the non-blocking stub.  gRPC multiplexes the
+   * requests in flight on the channel of the OM, so many requests can be
+   * in flight without a thread waiting for each of them.  Failover retries
+   * are scheduled after the delay of the retry policy, instead of sleeping.
+   */
+  @Override
+  public CompletableFuture<OMResponse> submitRequestAsync(OMRequest payload) {
+    final CompletableFuture<OMResponse> future = new CompletableFuture<>();
+    submitRequestAsync(payload, future);
+    return future;
+  }
+
+  private void submitRequestAsync(OMRequest payload,
+      CompletableFuture<OMResponse> future) {
+    final int expectedFailoverCount = syncFailoverCount.get();
+    final StreamObserver<OMResponse> observer =
+        new StreamObserver<OMResponse>() {
+          @Override
+          public void onNext(OMResponse response) {
+            future.complete(response);
+          }
+
+          @Override
+          public void onError(Throwable t) {
+            onAsyncFailure(payload, future, expectedFailoverCount,
+                t instanceof StatusRuntimeException
+                    ? (StatusRuntimeException) t
+                    : Status.fromThrowable(t).asRuntimeException());
+          }
+
+          @Override
+          public void onCompleted() {
+            // the response is completed by onNext
+          }
+        };
+    try {
+      InetAddress inetAddress = InetAddress.getLocalHost();
+      Context.current()
+          .withValue(GrpcClientConstants.CLIENT_IP_ADDRESS_CTX_KEY,
+              inetAddress.getHostAddress())
+          .withValue(GrpcClientConstants.CLIENT_HOSTNAME_CTX_KEY,
+              inetAddress.getHostName())
+          .run(() -> asyncClients.get(host.get())
+              .submitRequest(payload, observer));
+    } catch (IOException | RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+  }
+
+  private void onAsyncFailure(OMRequest payload,
+      CompletableFuture<OMResponse> future, int expectedFailoverCount,
+      StatusRuntimeException e) {
+    LOG.error("Failed to submit request", e);
+    ResultCodes resultCode = ResultCodes.INTERNAL_ERROR;
+    if (e.getStatus().getCode() == Status.Code.UNAVAILABLE) {
+      if (e.getCause() instanceof javax.net.ssl.SSLHandshakeException) {
+        future.completeExceptionally(
+            new OMException(SSL_CONNECTION_FAILURE));
+        return;
+      }
+      resultCode = ResultCodes.TIMEOUT;
+    }
+    final long delay = failover(unwrapException(new Exception(e)),
+        expectedFailoverCount);
+    if (delay < 0) {
+      future.completeExceptionally(new OMException(resultCode));
+      return;
+    }
+    try {
+      retryExecutor.schedule(() -> submitRequestAsync(payload, future),
+          delay, TimeUnit.MILLISECONDS);
+    } catch (RuntimeException re) {
+      future.completeExceptionally(new OMException(resultCode));
+    }
+  }
+
   private Exception unwrapException(Exception ex) {
     Exception grpcException = null;
     try {
@@ -259,26 +353,34 @@ private Exception unwrapException(Exception ex) {
   }
 
   private boolean shouldRetry(Exception ex, int expectedFailoverCount) {
-    boolean retry = false;
+    final long delay = failover(ex, expectedFailoverCount);
+    if (delay > 0) {
+      try {
+        Thread.sleep(delay);
+      } catch (Exception e) {
+        LOG.error("Error trying sleep thread for {}", delay);
+      }
+    }
+    return delay >= 0;
+  }
+
+  /**
+   * Fail over to the next OM if the retry policy allows retrying.
+   * @return the delay before retrying in milliseconds, or -1 to fail
+   */
+  private long failover(Exception ex, int expectedFailoverCount) {
+    long delay = -1;
     RetryPolicy.RetryAction action = null;
     try {
       action = retryPolicy.shouldRetry((Exception)ex, 0, failoverCount++, true);
       LOG.debug("grpc failover retry action {}", action.action);
       if (action.action == RetryPolicy.RetryAction.RetryDecision.FAIL) {
-        retry = false;
         LOG.error("Retry request failed. Action : {}, {}",
             action.action, ex.toString());
       } else {
         if (action.action == RetryPolicy.RetryAction.RetryDecision.RETRY ||
             (action.action == RetryPolicy.RetryAction.RetryDecision
                 .FAILOVER_AND_RETRY)) {
-          if (action.delayMillis > 0) {
-            try {
-              Thread.sleep(action.delayMillis);
-            } catch (Exception e) {
-              LOG.error("Error trying sleep thread for {}", action.delayMillis);
-            }
-          }
           // switch om host to current proxy OMNodeId
           if (syncFailoverCount.get() == expectedFailoverCount) {
             omFailoverProxyProvider.performFailover(null);
@@ -290,13 +392,13 @@ private boolean shouldRetry(Exception ex, int expectedFailoverCount) {
           host.set(omFailoverProxyProvider
               .getGrpcProxyAddress(
                   omFailoverProxyProvider.getCurrentProxyOMNodeId()));
-          retry = true;
+          delay = Math.max(0, action.delayMillis);
         }
       }
     } catch (Exception e) {
       LOG.error("Failed failover exception {}", e);
     }
-    return retry;
+    return delay;
   }
 
   // stub implementation for interface
@@ -306,6 +408,7 @@ public Text getDelegationTokenService() {
   }
 
   public void shutdown() {
+    retryExecutor.shutdownNow();
     for (Map.Entry<String, ManagedChannel> entry : channels.entrySet()) {
       ManagedChannel channel = entry.getValue();
       channel.shutdown();
@@ -354,6 +457,8 @@ public void startClient(ManagedChannel testChannel) throws IOException {
       clients.put(hostaddr,
           OzoneManagerServiceGrpc
               .newBlockingStub(testChannel));
+      asyncClients.put(hostaddr,
+          OzoneManagerServiceGrpc.newStub(testChannel));
     }
     LOG.info("{}: started", CLIENT_NAME);
   }
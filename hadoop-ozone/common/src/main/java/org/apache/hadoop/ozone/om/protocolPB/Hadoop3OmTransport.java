@@ -18,7 +18,12 @@
 package org.apache.hadoop.ozone.om.protocolPB;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.hadoop.hdds.HddsUtils;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.io.Text;
@@ -26,12 +31,17 @@
 import org.apache.hadoop.ipc.ProtobufHelper;
 import org.apache.hadoop.ipc.ProtobufRpcEngine;
 import org.apache.hadoop.ipc.RPC;
+import org.apache.hadoop.ipc.RemoteException;
+import org.apache.hadoop.ipc.RetriableException;
+import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
+import org.apache.hadoop.ozone.conf.OMClientConfig;
 import org.apache.hadoop.ozone.om.exceptions.OMNotLeaderException;
 import org.apache.hadoop.ozone.om.ha.HadoopRpcOMFailoverProxyProvider;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.util.Time;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.RpcController;
@@ -52,10 +62,19 @@ public class Hadoop3OmTransport implements OmTransport {
   private static final Logger LOG =
       LoggerFactory.getLogger(Hadoop3OmTransport.class);
 
-  private final HadoopRpcOMFailoverProxyProvider omFailoverProxyProvider;
+  private final HadoopRpcOMFailoverProxyProvider<OzoneManagerProtocolPB>
+      omFailoverProxyProvider;
 
   private final OzoneManagerProtocolPB rpcProxy;
 
+  private final boolean followerReadEnabled;
+  private final long listMaxStalenessMs;
+  private final long excludeDurationMs;
+  // OM to send the next follower read to
+  private final AtomicInteger nextReadOm = new AtomicInteger();
+  // OMs which failed to serve a follower read, until when to skip them
+  private final Map<String, Long> excludedOms = new ConcurrentHashMap<>();
+
   public Hadoop3OmTransport(ConfigurationSource conf,
       UserGroupInformation ugi, String omServiceId) throws IOException {
 
@@ -63,7 +82,7 @@ public Hadoop3OmTransport(ConfigurationSource conf,
         OzoneManagerProtocolPB.class,
         ProtobufRpcEngine.class);
 
-    this.omFailoverProxyProvider = new HadoopRpcOMFailoverProxyProvider(
+    this.omFailoverProxyProvider = new HadoopRpcOMFailoverProxyProvider<>(
             conf, ugi, omServiceId, OzoneManagerProtocolPB.class);
 
     int maxFailovers = conf.getInt(
@@ -71,10 +90,22 @@ public Hadoop3OmTransport(ConfigurationSource conf,
         OzoneConfigKeys.OZONE_CLIENT_FAILOVER_MAX_ATTEMPTS_DEFAULT);
 
     this.rpcProxy = createRetryProxy(omFailoverProxyProvider, maxFailovers);
+    OMClientConfig clientConfig = conf.getObject(OMClientConfig.class);
+    this.followerReadEnabled = clientConfig.isFollowerReadEnabled();
+    this.listMaxStalenessMs = clientConfig.getListMaxStaleness();
+    this.excludeDurationMs = clientConfig.getFollowerReadExcludeDuration();
   }
 
   @Override
   public OMResponse submitRequest(OMRequest payload) throws IOException {
+    // the leader ignores the staleness, so only set it for follower reads
+    if (followerReadEnabled && OmUtils.isFollowerReadable(payload)) {
+      payload = OmUtils.withMaxStalenessMs(payload, listMaxStalenessMs);
+      OMResponse omResponse = submitFollowerRead(payload);
+      if (omResponse != null) {
+        return omResponse;
+      }
+    }
     try {
       OMResponse omResponse =
           rpcProxy.submitRequest(NULL_RPC_CONTROLLER, payload);
@@ -98,6 +129,82 @@ public OMResponse submitRequest(OMRequest payload) throws IOException {
     }
   }
 
+  /**
+   * Send the read to the next OM in round robin, which may be a follower.
+   * OMs which recently failed to serve a read are skipped.
+   * @return the response, or null if no OM could serve the read, in which
+   *         case it should be sent to the leader
+   * @throws IOException if the read failed for a reason which the leader
+   *         would not change
+   */
+  private OMResponse submitFollowerRead(OMRequest payload)
+      throws IOException {
+    final String omNodeId = nextFollowerReadOm();
+    if (omNodeId == null) {
+      return null;
+    }
+    try {
+      return omFailoverProxyProvider.getProxy(omNodeId)
+          .submitRequest(NULL_RPC_CONTROLLER, payload);
+    } catch (ServiceException e) {
+      if (!isRetryableOnLeader(e)) {
+        throw ProtobufHelper.getRemoteException(e);
+      }
+      // e.g. follower reads disabled, or the OM is down
+      LOG.debug("Failed to read from OM {}, retrying on the leader",
+          omNodeId, e);
+      excludedOms.put(omNodeId, Time.monotonicNow() + excludeDurationMs);
+      return null;
+    }
+  }
+
+  /**
+   * @return the next OM in round robin which is not excluded, or null if
+   *         none
+   */
+  private String nextFollowerReadOm() {
+    final List<String> omNodeIds = omFailoverProxyProvider.getOMNodeIds();
+    if (omNodeIds.size() <= 1) {
+      return null;
+    }
+    final long now = Time.monotonicNow();
+    for (int i = 0; i < omNodeIds.size(); i++) {
+      final String omNodeId = omNodeIds.get(
+          Math.floorMod(nextReadOm.getAndIncrement(), omNodeIds.size()));
+      final Long excludedUntil = excludedOms.get(omNodeId);
+      if (excludedUntil == null) {
+        return omNodeId;
+      }
+      if (excludedUntil <= now) {
+        excludedOms.remove(omNodeId, excludedUntil);
+        return omNodeId;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return whether the failure of a follower read is specific to the OM
+   *         or the connection to it, so that the read may be retried on the
+   *         leader
+   */
+  @VisibleForTesting
+  static boolean isRetryableOnLeader(ServiceException e) {
+    if (HadoopRpcOMFailoverProxyProvider.getNotLeaderException(e) != null
+        || HadoopRpcOMFailoverProxyProvider.getLeaderNotReadyException(e)
+        != null) {
+      return true;
+    }
+    final Throwable cause = e.getCause();
+    if (cause instanceof RemoteException) {
+      return ((RemoteException) cause).unwrapRemoteException()
+          instanceof RetriableException;
+    }
+    // failed to connect to or to talk with the OM
+    return cause instanceof IOException
+        && !HddsUtils.shouldNotFailoverOnRpcException(cause);
+  }
+
   @Override
   public Text getDelegationTokenService() {
     return omFailoverProxyProvider.getCurrentProxyDelegationToken();
@@ -18,6 +18,17 @@
 
 package org.apache.hadoop.ozone.om.protocolPB;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.hadoop.ozone.om.helpers.ErrorInfo;
+import org.apache.hadoop.ozone.om.helpers.KeyInfoWithVolumeContext;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmDeleteKeys;
+import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
+import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
+import org.apache.hadoop.ozone.om.helpers.OpenKeySession;
 import org.apache.hadoop.ozone.om.protocol.OzoneManagerProtocol;
 import org.apache.hadoop.ozone.om.protocol.S3Auth;
 
@@ -37,4 +48,33 @@ public interface OzoneManagerClientProtocol extends OzoneManagerProtocol {
   void clearThreadLocalS3Auth();
 
   ThreadLocal<S3Auth> getS3CredentialsProvider();
+
+  /*
+   * Asynchronous variants of OzoneManagerProtocol methods.  The request is
+   * sent without waiting for the response, so that many requests can be in
+   * flight, if the transport supports that.  Failures are returned by the
+   * future, wrapped in CompletionException.
+   */
+
+  /** @see #getVolumeInfo(String) */
+  CompletableFuture<OmVolumeArgs> getVolumeInfoAsync(String volume);
+
+  /** @see #getBucketInfo(String, String) */
+  CompletableFuture<OmBucketInfo> getBucketInfoAsync(String volume,
+      String bucket);
+
+  /** @see #getKeyInfo(OmKeyArgs, boolean) */
+  CompletableFuture<KeyInfoWithVolumeContext> getKeyInfoAsync(OmKeyArgs args,
+      boolean assumeS3Context);
+
+  /** @see #listKeysLight(String, String, String, String, int) */
+  CompletableFuture<ListKeysLightResult> listKeysLightAsync(String volumeName,
+      String bucketName, String startKey, String prefix, int maxKeys);
+
+  /** @see #deleteKeys(OmDeleteKeys, boolean) */
+  CompletableFuture<Map<String, ErrorInfo>> deleteKeysAsync(
+      OmDeleteKeys deleteKeys, boolean quiet);
+
+  /** @see #openKey(OmKeyArgs) */
+  CompletableFuture<OpenKeySession> openKeyAsync(OmKeyArgs args);
 }
@@ -24,6 +24,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import com.google.protobuf.Proto2Utils;
@@ -238,6 +240,7 @@
 import com.google.common.base.Strings;
 import com.google.protobuf.ByteString;
 import org.apache.hadoop.util.ProtobufUtils;
+import org.apache.ratis.util.function.CheckedFunction;
 
 import static org.apache.hadoop.ozone.OzoneConsts.OM_S3_CALLER_CONTEXT_PREFIX;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
@@ -309,6 +312,39 @@ private OMRequest.Builder createOMRequest(Type cmdType) {
    */
   private OMResponse submitRequest(OMRequest omRequest)
       throws IOException {
+    return transport.submitRequest(prepareRequest(omRequest));
+  }
+
+  /**
+   * Submits client request to OM server without waiting for the response.
+   * The request is prepared in the calling thread, with its thread local
+   * S3 authentication.
+   * @param omRequest client request
+   * @param handler handles the response, e.g. checks its status and
+   *                converts it to the result
+   * @return the result, or the exception thrown, wrapped in
+   *         {@link CompletionException}
+   */
+  private <T> CompletableFuture<T> submitRequestAsync(OMRequest omRequest,
+      CheckedFunction<OMResponse, T, IOException> handler) {
+    final OMRequest request;
+    try {
+      request = prepareRequest(omRequest);
+    } catch (RuntimeException e) {
+      final CompletableFuture<T> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+    return transport.submitRequestAsync(request).thenApply(response -> {
+      try {
+        return handler.apply(response);
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    });
+  }
+
+  private OMRequest prepareRequest(OMRequest omRequest) {
     OMRequest.Builder  builder = OMRequest.newBuilder(omRequest);
     // Insert S3 Authentication information for each request.
     if (getThreadLocalS3Auth() != null) {
@@ -335,10 +371,7 @@ private OMResponse submitRequest(OMRequest omRequest)
         CallerContext.setCurrent(callerContext);
       }
     }
-    OMResponse response =
-        transport.submitRequest(
-            builder.setTraceID(TracingUtil.exportCurrentSpan()).build());
-    return response;
+    return builder.setTraceID(TracingUtil.exportCurrentSpan()).build();
   }
 
   /**
@@ -448,16 +481,28 @@ public boolean checkVolumeAccess(String volume, OzoneAclInfo userAcl) throws
    */
   @Override
   public OmVolumeArgs getVolumeInfo(String volume) throws IOException {
+    return getVolumeInfo(submitRequest(getVolumeInfoRequest(volume)));
+  }
+
+  @Override
+  public CompletableFuture<OmVolumeArgs> getVolumeInfoAsync(String volume) {
+    return submitRequestAsync(getVolumeInfoRequest(volume),
+        this::getVolumeInfo);
+  }
+
+  private OMRequest getVolumeInfoRequest(String volume) {
     InfoVolumeRequest.Builder req = InfoVolumeRequest.newBuilder();
     req.setVolumeName(volume);
 
-    OMRequest omRequest = createOMRequest(Type.InfoVolume)
+    return createOMRequest(Type.InfoVolume)
         .setInfoVolumeRequest(req)
         .build();
+  }
 
+  private OmVolumeArgs getVolumeInfo(OMResponse omResponse)
+      throws IOException {
     InfoVolumeResponse resp =
-        handleError(submitRequest(omRequest)).getInfoVolumeResponse();
-
+        handleError(omResponse).getInfoVolumeResponse();
 
     return OmVolumeArgs.getFromProtobuf(resp.getVolumeInfo());
   }
@@ -582,17 +627,31 @@ public void createBucket(OmBucketInfo bucketInfo) throws IOException {
   @Override
   public OmBucketInfo getBucketInfo(String volume, String bucket)
       throws IOException {
+    return getBucketInfo(submitRequest(getBucketInfoRequest(volume, bucket)));
+  }
+
+  @Override
+  public CompletableFuture<OmBucketInfo> getBucketInfoAsync(String volume,
+      String bucket) {
+    return submitRequestAsync(getBucketInfoRequest(volume, bucket),
+        this::getBucketInfo);
+  }
+
+  private OMRequest getBucketInfoRequest(String volume, String bucket) {
     InfoBucketRequest.Builder req =
         InfoBucketRequest.newBuilder();
     req.setVolumeName(volume);
     req.setBucketName(bucket);
 
-    OMRequest omRequest = createOMRequest(Type.InfoBucket)
+    return createOMRequest(Type.InfoBucket)
         .setInfoBucketRequest(req)
         .build();
+  }
 
+  private OmBucketInfo getBucketInfo(OMResponse omResponse)
+      throws IOException {
     InfoBucketResponse resp =
-        handleError(submitRequest(omRequest)).getInfoBucketResponse();
+        handleError(omResponse).getInfoBucketResponse();
 
     return OmBucketInfo.getFromProtobuf(resp.getBucketInfo());
   }
@@ -685,6 +744,28 @@ public List<OmBucketInfo> listBuckets(String volumeName,
    */
   @Override
   public OpenKeySession openKey(OmKeyArgs args) throws IOException {
+    return openKey(
+        handleSubmitRequestAndSCMSafeModeRetry(getOpenKeyRequest(args)));
+  }
+
+  /**
+   * Unlike {@link #openKey(OmKeyArgs)}, does not retry while SCM is in safe
+   * mode, the future fails with {@link ResultCodes#SCM_IN_SAFE_MODE}.
+   */
+  @Override
+  public CompletableFuture<OpenKeySession> openKeyAsync(OmKeyArgs args) {
+    return submitRequestAsync(getOpenKeyRequest(args),
+        response -> openKey(handleError(response)));
+  }
+
+  private OpenKeySession openKey(OMResponse omResponse) throws IOException {
+    CreateKeyResponse keyResponse = omResponse.getCreateKeyResponse();
+    return new OpenKeySession(keyResponse.getID(),
+        OmKeyInfo.getFromProtobuf(keyResponse.getKeyInfo()),
+        keyResponse.getOpenVersion());
+  }
+
+  private OMRequest getOpenKeyRequest(OmKeyArgs args) {
     CreateKeyRequest.Builder req = CreateKeyRequest.newBuilder();
     KeyArgs.Builder keyArgs = KeyArgs.newBuilder()
         .setVolumeName(args.getVolumeName())
@@ -735,14 +816,9 @@ public OpenKeySession openKey(OmKeyArgs args) throws IOException {
 
     req.setKeyArgs(keyArgs.build());
 
-    OMRequest omRequest = createOMRequest(Type.CreateKey)
+    return createOMRequest(Type.CreateKey)
         .setCreateKeyRequest(req)
         .build();
-
-    CreateKeyResponse keyResponse = handleSubmitRequestAndSCMSafeModeRetry(omRequest).getCreateKeyResponse();
-    return new OpenKeySession(keyResponse.getID(),
-        OmKeyInfo.getFromProtobuf(keyResponse.getKeyInfo()),
-        keyResponse.getOpenVersion());
   }
 
   private OMResponse handleError(OMResponse resp) throws OMException {
@@ -864,16 +940,32 @@ public OmKeyInfo lookupKey(OmKeyArgs args) throws IOException {
   public KeyInfoWithVolumeContext getKeyInfo(OmKeyArgs args,
                                              boolean assumeS3Context)
       throws IOException {
+    return getKeyInfo(
+        submitRequest(getKeyInfoRequest(args, assumeS3Context)));
+  }
+
+  @Override
+  public CompletableFuture<KeyInfoWithVolumeContext> getKeyInfoAsync(
+      OmKeyArgs args, boolean assumeS3Context) {
+    return submitRequestAsync(getKeyInfoRequest(args, assumeS3Context),
+        this::getKeyInfo);
+  }
+
+  private OMRequest getKeyInfoRequest(OmKeyArgs args,
+      boolean assumeS3Context) {
     GetKeyInfoRequest.Builder req = GetKeyInfoRequest.newBuilder();
     req.setKeyArgs(args.toProtobuf());
     req.setAssumeS3Context(assumeS3Context);
 
-    OMRequest omRequest = createOMRequest(Type.GetKeyInfo)
+    return createOMRequest(Type.GetKeyInfo)
         .setGetKeyInfoRequest(req)
         .build();
+  }
 
+  private KeyInfoWithVolumeContext getKeyInfo(OMResponse omResponse)
+      throws IOException {
     GetKeyInfoResponse resp =
-        handleError(submitRequest(omRequest)).getGetKeyInfoResponse();
+        handleError(omResponse).getGetKeyInfoResponse();
     return KeyInfoWithVolumeContext.fromProtobuf(resp);
   }
 
@@ -962,17 +1054,30 @@ public void deleteKeys(OmDeleteKeys deleteKeys) throws IOException {
   @Override
   public Map<String, ErrorInfo> deleteKeys(OmDeleteKeys deleteKeys, boolean quiet)
       throws IOException {
+    return deleteKeys(submitRequest(getDeleteKeysRequest(deleteKeys)), quiet);
+  }
+
+  @Override
+  public CompletableFuture<Map<String, ErrorInfo>> deleteKeysAsync(
+      OmDeleteKeys deleteKeys, boolean quiet) {
+    return submitRequestAsync(getDeleteKeysRequest(deleteKeys),
+        response -> deleteKeys(response, quiet));
+  }
+
+  private OMRequest getDeleteKeysRequest(OmDeleteKeys deleteKeys) {
     DeleteKeysRequest.Builder req = DeleteKeysRequest.newBuilder();
     DeleteKeyArgs deletedKeys = DeleteKeyArgs.newBuilder()
         .setBucketName(deleteKeys.getBucket())
         .setVolumeName(deleteKeys.getVolume())
         .addAllKeys(deleteKeys.getKeyNames()).build();
     req.setDeleteKeys(deletedKeys);
-    OMRequest omRequest = createOMRequest(Type.DeleteKeys)
+    return createOMRequest(Type.DeleteKeys)
         .setDeleteKeysRequest(req)
         .build();
-    OMResponse omResponse = submitRequest(omRequest);
+  }
 
+  private Map<String, ErrorInfo> deleteKeys(OMResponse omResponse,
+      boolean quiet) throws IOException {
     Map<String, ErrorInfo> keyToErrors = new HashMap<>();
     if (quiet) {
       List<OzoneManagerProtocolProtos.DeleteKeyError> errors =
@@ -1053,7 +1158,23 @@ public ListKeysLightResult listKeysLight(String volumeName,
                                            String bucketName, String startKey,
                                            String prefix,
                                            int maxKeys) throws IOException {
-    List<BasicOmKeyInfo> keys = new ArrayList<>();
+    ListKeysRequest req = getListKeysRequest(volumeName, bucketName,
+        startKey, prefix, maxKeys);
+    return listKeysLight(req, submitRequest(getListKeysLightRequest(req)));
+  }
+
+  @Override
+  public CompletableFuture<ListKeysLightResult> listKeysLightAsync(
+      String volumeName, String bucketName, String startKey, String prefix,
+      int maxKeys) {
+    ListKeysRequest req = getListKeysRequest(volumeName, bucketName,
+        startKey, prefix, maxKeys);
+    return submitRequestAsync(getListKeysLightRequest(req),
+        response -> listKeysLight(req, response));
+  }
+
+  private static ListKeysRequest getListKeysRequest(String volumeName,
+      String bucketName, String startKey, String prefix, int maxKeys) {
     ListKeysRequest.Builder reqBuilder = ListKeysRequest.newBuilder();
     reqBuilder.setVolumeName(volumeName);
     reqBuilder.setBucketName(bucketName);
@@ -1067,14 +1188,20 @@ public ListKeysLightResult listKeysLight(String volumeName,
       reqBuilder.setPrefix(prefix);
     }
 
-    ListKeysRequest req = reqBuilder.build();
+    return reqBuilder.build();
+  }
 
-    OMRequest omRequest = createOMRequest(Type.ListKeysLight)
+  private OMRequest getListKeysLightRequest(ListKeysRequest req) {
+    return createOMRequest(Type.ListKeysLight)
         .setListKeysRequest(req)
         .build();
+  }
 
+  private ListKeysLightResult listKeysLight(ListKeysRequest req,
+      OMResponse omResponse) throws IOException {
+    List<BasicOmKeyInfo> keys = new ArrayList<>();
     ListKeysLightResponse resp =
-        handleError(submitRequest(omRequest)).getListKeysLightResponse();
+        handleError(omResponse).getListKeysLightResponse();
     for (OzoneManagerProtocolProtos.BasicKeyInfo
         basicKeyInfo : resp.getBasicKeyInfoList()) {
       BasicOmKeyInfo fromProtobuf =
@@ -2324,7 +2451,7 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
         .build();
 
     ListStatusRequest.Builder listStatusRequestBuilder = createListStatusRequestBuilder(keyArgs, recursive, startKey,
-        numEntries, allowPartialPrefixes);
+        numEntries, allowPartialPrefixes, args.getMaxStalenessMs());
 
     OMRequest omRequest = createOMRequest(Type.ListStatus)
         .setListStatusRequest(listStatusRequestBuilder.build())
@@ -2353,7 +2480,7 @@ public List<OzoneFileStatusLight> listStatusLight(OmKeyArgs args,
         .build();
 
     ListStatusRequest.Builder listStatusRequestBuilder = createListStatusRequestBuilder(keyArgs, recursive, startKey,
-        numEntries, allowPartialPrefixes);
+        numEntries, allowPartialPrefixes, args.getMaxStalenessMs());
 
     OMRequest omRequest = createOMRequest(Type.ListStatusLight)
         .setListStatusRequest(listStatusRequestBuilder.build())
@@ -2371,7 +2498,7 @@ public List<OzoneFileStatusLight> listStatusLight(OmKeyArgs args,
   }
 
   private ListStatusRequest.Builder createListStatusRequestBuilder(KeyArgs keyArgs, boolean recursive, String startKey,
-      long numEntries, boolean allowPartialPrefixes) {
+      long numEntries, boolean allowPartialPrefixes, long maxStalenessMs) {
     ListStatusRequest.Builder listStatusRequestBuilder =
         ListStatusRequest.newBuilder()
             .setKeyArgs(keyArgs)
@@ -2387,6 +2514,10 @@ private ListStatusRequest.Builder createListStatusRequestBuilder(KeyArgs keyArgs
     if (allowPartialPrefixes) {
       listStatusRequestBuilder.setAllowPartialPrefix(allowPartialPrefixes);
     }
+
+    if (maxStalenessMs > 0) {
+      listStatusRequestBuilder.setMaxStalenessMs(maxStalenessMs);
+    }
     return listStatusRequestBuilder;
   }
 
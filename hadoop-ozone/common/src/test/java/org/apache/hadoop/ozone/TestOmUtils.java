@@ -20,6 +20,10 @@
 
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.S3Authentication;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.io.TempDir;
@@ -44,6 +48,7 @@
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
@@ -68,6 +73,46 @@ void createOMDirCreatesDirectoryIfNecessary() {
     assertTrue(omDir.exists());
   }
 
+  @Test
+  void testIsFollowerReadable() {
+    OMRequest lookup = OMRequest.newBuilder()
+        .setCmdType(Type.LookupKey)
+        .setClientId("test")
+        .build();
+    assertTrue(OmUtils.isFollowerReadable(lookup));
+    assertFalse(OmUtils.isFollowerReadable(lookup.toBuilder()
+        .setCmdType(Type.CreateKey)
+        .build()));
+    // S3 credentials can only be validated by the leader
+    assertFalse(OmUtils.isFollowerReadable(lookup.toBuilder()
+        .setS3Authentication(S3Authentication.newBuilder()
+            .setAccessId("user"))
+        .build()));
+  }
+
+  @Test
+  void testMaxStaleness() {
+    OMRequest listKeys = OMRequest.newBuilder()
+        .setCmdType(Type.ListKeys)
+        .setClientId("test")
+        .setListKeysRequest(ListKeysRequest.newBuilder()
+            .setVolumeName("vol")
+            .setBucketName("bucket"))
+        .build();
+    assertEquals(0, OmUtils.getMaxStalenessMs(listKeys));
+
+    OMRequest stale = OmUtils.withMaxStalenessMs(listKeys, 1000);
+    assertEquals(1000, OmUtils.getMaxStalenessMs(stale));
+    // the staleness of the request has precedence
+    assertEquals(1000, OmUtils.getMaxStalenessMs(
+        OmUtils.withMaxStalenessMs(stale, 5000)));
+
+    OMRequest lookup = listKeys.toBuilder()
+        .setCmdType(Type.LookupKey)
+        .build();
+    assertSame(lookup, OmUtils.withMaxStalenessMs(lookup, 1000));
+  }
+
   @Test
   void createOMDirDoesNotThrowIfAlreadyExists() {
     File omDir = folder.toFile();
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.ozone.om.helpers;
+
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.apache.hadoop.ozone.OzoneAcl;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.apache.hadoop.ozone.OzoneAcl.AclScope.ACCESS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test BasicOmKeyInfo.
+ */
+public class TestBasicOmKeyInfo {
+
+  private static final Codec<OmKeyInfo> KEY_CODEC = OmKeyInfo.getCodec(true);
+
+  @Test
+  public void decodeFromKeyTable() throws IOException {
+    OmKeyInfo key = createOmKeyInfo(
+        RatisReplicationConfig.getInstance(ReplicationFactor.THREE));
+    key.getMetadata().put(OzoneConsts.ETAG, "etag");
+
+    BasicOmKeyInfo basic = BasicOmKeyInfo.getCodec()
+        .fromPersistedFormat(KEY_CODEC.toPersistedFormat(key));
+
+    assertEquals(BasicOmKeyInfo.fromOmKeyInfo(key), basic);
+    assertEquals("etag", basic.getETag());
+    assertEquals(key.isFile(), basic.isFile());
+  }
+
+  @Test
+  public void decodeFromCodecBuffer() throws IOException {
+    OmKeyInfo key = createOmKeyInfo(new ECReplicationConfig(3, 2));
+
+    final BasicOmKeyInfo basic;
+    try (CodecBuffer buffer = KEY_CODEC.toDirectCodecBuffer(key)) {
+      basic = BasicOmKeyInfo.getCodec().fromCodecBuffer(buffer);
+    }
+
+    assertEquals(BasicOmKeyInfo.fromOmKeyInfo(key), basic);
+    assertEquals(new ECReplicationConfig(3, 2),
+        basic.getReplicationConfig());
+    assertNull(basic.getETag());
+  }
+
+  @Test
+  public void cannotWrite() {
+    BasicOmKeyInfo basic = BasicOmKeyInfo.fromOmKeyInfo(createOmKeyInfo(
+        RatisReplicationConfig.getInstance(ReplicationFactor.ONE)));
+    assertThrows(UnsupportedOperationException.class,
+        () -> BasicOmKeyInfo.getCodec().toPersistedFormat(basic));
+  }
+
+  private OmKeyInfo createOmKeyInfo(ReplicationConfig replicationConfig) {
+    OmKeyLocationInfo location = new OmKeyLocationInfo.Builder()
+        .setBlockID(new BlockID(100L, 101L))
+        .setLength(123L)
+        .build();
+    return new OmKeyInfo.Builder()
+        .setKeyName("dir/key1")
+        .setBucketName("bucket")
+        .setVolumeName("vol1")
+        .setCreationTime(123L)
+        .setModificationTime(456L)
+        .setDataSize(123L)
+        .setReplicationConfig(replicationConfig)
+        .setOwnerName("user1")
+        .setFile(true)
+        .addMetadata("key1", "value1")
+        .addTag("tag1", "value1")
+        .addAcl(new OzoneAcl(IAccessAuthorizer.ACLIdentityType.USER, "user1",
+            ACCESS, IAccessAuthorizer.ACLType.WRITE))
+        .setOmKeyLocationInfos(Collections.singletonList(
+            new OmKeyLocationInfoGroup(0,
+                Collections.singletonList(location))))
+        .build();
+  }
+}
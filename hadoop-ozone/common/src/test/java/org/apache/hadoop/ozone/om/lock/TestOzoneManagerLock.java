@@ -19,10 +19,14 @@
 package org.apache.hadoop.ozone.om.lock;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Stack;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.hadoop.metrics2.MetricsRecord;
 import org.apache.hadoop.metrics2.impl.MetricsCollectorImpl;
@@ -34,6 +38,7 @@
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_OPTIMISTIC_READ;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -507,4 +512,128 @@ void testOMLockMetricsRecords() {
       omLockMetrics.unRegister();
     }
   }
+
+  @Test
+  void testOptimisticRead() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_MANAGER_OPTIMISTIC_READ, true);
+    OzoneManagerLock lock = new OzoneManagerLock(conf);
+    String[] bucket = generateResourceName(Resource.BUCKET_LOCK);
+
+    // no writer: the read does not take the lock
+    assertEquals(0, (int) lock.readWithOptimisticLock(Resource.BUCKET_LOCK,
+        () -> lock.getReadHoldCount(Resource.BUCKET_LOCK, bucket), bucket));
+    assertEquals(1, lock.getOMLockMetrics().getOptimisticReads());
+
+    // a writer acquires the lock during the read: read again under the lock
+    AtomicInteger runs = new AtomicInteger();
+    int holdCount = lock.readWithOptimisticLock(Resource.BUCKET_LOCK, () -> {
+      if (runs.incrementAndGet() == 1) {
+        CompletableFuture.runAsync(() -> {
+          lock.acquireWriteLock(Resource.BUCKET_LOCK, bucket);
+          lock.releaseWriteLock(Resource.BUCKET_LOCK, bucket);
+        }).join();
+      }
+      return lock.getReadHoldCount(Resource.BUCKET_LOCK, bucket);
+    }, bucket);
+    assertEquals(2, runs.get());
+    assertEquals(1, holdCount);
+    assertEquals(1, lock.getOMLockMetrics().getOptimisticReadFallbacks());
+
+    // the writer itself reads under the (reentrant) lock
+    lock.acquireWriteLock(Resource.BUCKET_LOCK, bucket);
+    assertEquals(1, (int) lock.readWithOptimisticLock(Resource.BUCKET_LOCK,
+        () -> lock.getReadHoldCount(Resource.BUCKET_LOCK, bucket), bucket));
+    lock.releaseWriteLock(Resource.BUCKET_LOCK, bucket);
+    assertEquals(2, lock.getOMLockMetrics().getOptimisticReadFallbacks());
+    lock.cleanup();
+  }
+
+  @Test
+  void testOptimisticReadWithKeyPathWriter() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_MANAGER_OPTIMISTIC_READ, true);
+    OzoneManagerLock lock = new OzoneManagerLock(conf);
+    String[] bucket = generateResourceName(Resource.BUCKET_LOCK);
+    String[] key = {bucket[0], bucket[1], "key"};
+
+    // a key writer holds the bucket read lock during the read
+    AtomicInteger runs = new AtomicInteger();
+    lock.readWithOptimisticLock(Resource.BUCKET_LOCK, () -> {
+      if (runs.incrementAndGet() == 1) {
+        CompletableFuture.runAsync(() -> {
+          lock.acquireReadLock(Resource.BUCKET_LOCK, bucket);
+          lock.acquireWriteLock(Resource.KEY_PATH_LOCK, key);
+          lock.releaseWriteLock(Resource.KEY_PATH_LOCK, key);
+          lock.releaseReadLock(Resource.BUCKET_LOCK, bucket);
+        }).join();
+      }
+      return null;
+    }, bucket);
+    assertEquals(2, runs.get());
+    assertEquals(1, lock.getOMLockMetrics().getOptimisticReadFallbacks());
+
+    // a key writer in progress
+    CompletableFuture<Void> locked = new CompletableFuture<>();
+    CompletableFuture<Void> release = new CompletableFuture<>();
+    CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+      lock.acquireWriteLock(Resource.KEY_PATH_LOCK, key);
+      locked.complete(null);
+      release.join();
+      lock.releaseWriteLock(Resource.KEY_PATH_LOCK, key);
+    });
+    locked.join();
+    lock.readWithOptimisticLock(Resource.BUCKET_LOCK, () -> null, bucket);
+    assertEquals(2, lock.getOMLockMetrics().getOptimisticReadFallbacks());
+    release.complete(null);
+    writer.join();
+
+    // no writer
+    lock.readWithOptimisticLock(Resource.BUCKET_LOCK, () -> null, bucket);
+    assertEquals(2, lock.getOMLockMetrics().getOptimisticReadFallbacks());
+    lock.cleanup();
+  }
+
+  @Test
+  void testMultiLock() throws Exception {
+    OzoneManagerLock lock = new OzoneManagerLock(new OzoneConfiguration());
+    String[] parent = generateResourceName(Resource.KEY_PATH_LOCK);
+    String[] key = {parent[0], parent[1], "key"};
+    List<String[]> readLocks = Arrays.asList(parent, key);
+    List<String[]> writeLocks = Collections.singletonList(key);
+
+    // a resource both read and write locked is write locked
+    lock.acquireMultiLock(Resource.KEY_PATH_LOCK, readLocks, writeLocks);
+    assertEquals(1, lock.getReadHoldCount(Resource.KEY_PATH_LOCK, parent));
+    assertTrue(lock.isWriteLockedByCurrentThread(Resource.KEY_PATH_LOCK, key));
+    assertEquals(0, lock.getReadHoldCount(Resource.KEY_PATH_LOCK, key));
+
+    // other threads cannot read lock the key
+    CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> {
+      lock.acquireReadLock(Resource.KEY_PATH_LOCK, key);
+      lock.releaseReadLock(Resource.KEY_PATH_LOCK, key);
+    });
+    Thread.sleep(100);
+    assertFalse(reader.isDone());
+
+    lock.releaseMultiLock(Resource.KEY_PATH_LOCK, readLocks, writeLocks);
+    reader.get();
+    assertEquals(0, lock.getReadHoldCount(Resource.KEY_PATH_LOCK, parent));
+    assertFalse(lock.isWriteLockedByCurrentThread(Resource.KEY_PATH_LOCK,
+        key));
+    assertEquals(Collections.emptyList(), lock.getCurrentLocks());
+    lock.cleanup();
+  }
+
+  @Test
+  void testOptimisticReadDisabled() throws Exception {
+    OzoneManagerLock lock = new OzoneManagerLock(new OzoneConfiguration());
+    String[] bucket = generateResourceName(Resource.BUCKET_LOCK);
+
+    assertEquals(1, (int) lock.readWithOptimisticLock(Resource.BUCKET_LOCK,
+        () -> lock.getReadHoldCount(Resource.BUCKET_LOCK, bucket), bucket));
+    assertEquals(0, lock.getReadHoldCount(Resource.BUCKET_LOCK, bucket));
+    assertEquals(0, lock.getOMLockMetrics().getOptimisticReads());
+    lock.cleanup();
+  }
 }
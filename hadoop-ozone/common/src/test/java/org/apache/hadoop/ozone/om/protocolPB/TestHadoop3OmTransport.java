@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.protocolPB;
+
+import java.io.IOException;
+import java.net.ConnectException;
+
+import org.apache.hadoop.ipc.RemoteException;
+import org.apache.hadoop.ipc.RetriableException;
+import org.apache.hadoop.ipc.RpcNoSuchMethodException;
+import org.apache.hadoop.ozone.om.exceptions.OMNotLeaderException;
+import org.apache.hadoop.security.AccessControlException;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.ServiceException;
+
+import static org.apache.hadoop.ozone.om.protocolPB.Hadoop3OmTransport.isRetryableOnLeader;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the follower reads of Hadoop3OmTransport.
+ */
+public class TestHadoop3OmTransport {
+
+  @Test
+  public void testRetryableOnLeader() {
+    // the OM cannot serve follower reads, or cannot be reached
+    assertTrue(isRetryableOnLeader(remote(new OMNotLeaderException("om1"))));
+    assertTrue(isRetryableOnLeader(remote(new RetriableException("busy"))));
+    assertTrue(isRetryableOnLeader(
+        new ServiceException(new ConnectException("refused"))));
+
+    // the leader would fail the same way
+    assertFalse(isRetryableOnLeader(
+        remote(new AccessControlException("denied"))));
+    assertFalse(isRetryableOnLeader(
+        new ServiceException(new RpcNoSuchMethodException("no method"))));
+    assertFalse(isRetryableOnLeader(
+        new ServiceException(new IllegalStateException("bug"))));
+  }
+
+  private static ServiceException remote(IOException e) {
+    return new ServiceException(
+        new RemoteException(e.getClass().getName(), e.getMessage()));
+  }
+}
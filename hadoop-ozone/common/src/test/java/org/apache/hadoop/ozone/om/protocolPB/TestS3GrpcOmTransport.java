@@ -43,6 +43,10 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import com.google.protobuf.ServiceException;
 import org.apache.ratis.protocol.RaftPeerId;
@@ -194,6 +198,60 @@ public void testGrpcFailoverProxy() throws Exception {
     assertEquals(resp.getLeaderOMNodeId(), LEADER_OM_NODE_ID);
   }
 
+  @Test
+  public void testSubmitRequestAsync() throws Exception {
+    final OMRequest omRequest = createServiceListRequest();
+
+    client = new GrpcOmTransport(conf, ugi, omServiceId);
+    client.startClient(channel);
+
+    final List<CompletableFuture<OMResponse>> futures = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      futures.add(client.submitRequestAsync(omRequest));
+    }
+    for (CompletableFuture<OMResponse> future : futures) {
+      assertEquals(LEADER_OM_NODE_ID, future.get().getLeaderOMNodeId());
+    }
+  }
+
+  @Test
+  public void testGrpcFailoverProxyAsync() throws Exception {
+    final OMRequest omRequest = createServiceListRequest();
+
+    client = new GrpcOmTransport(conf, ugi, omServiceId);
+    client.startClient(channel);
+
+    doFailover = true;
+    // the request is retried after failover, without blocking the caller
+    final OMResponse resp = client.submitRequestAsync(omRequest).get();
+    assertEquals(resp.getStatus(), org.apache.hadoop.ozone.protocol
+        .proto.OzoneManagerProtocolProtos.Status.OK);
+    assertEquals(resp.getLeaderOMNodeId(), LEADER_OM_NODE_ID);
+  }
+
+  @Test
+  public void testGrpcFailoverProxyExhaustRetryAsync() throws Exception {
+    final OMRequest omRequest = createServiceListRequest();
+
+    conf.setInt(OzoneConfigKeys.OZONE_CLIENT_FAILOVER_MAX_ATTEMPTS_KEY, 0);
+    client = new GrpcOmTransport(conf, ugi, omServiceId);
+    client.startClient(channel);
+
+    doFailover = true;
+    final CompletableFuture<OMResponse> future =
+        client.submitRequestAsync(omRequest);
+    assertThrows(ExecutionException.class, future::get);
+  }
+
+  private static OMRequest createServiceListRequest() {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.ServiceList)
+        .setVersion(CURRENT_VERSION)
+        .setClientId("test")
+        .setServiceListRequest(ServiceListRequest.newBuilder().build())
+        .build();
+  }
+
   @Test
   public void testGrpcFailoverProxyExhaustRetry() throws Exception {
     ServiceListRequest req = ServiceListRequest.newBuilder().build();
@@ -20,6 +20,7 @@
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.hadoop.hdds.client.BlockID;
@@ -40,6 +41,7 @@
 import org.junit.jupiter.api.Timeout;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -153,6 +155,63 @@ public XceiverClientReply sendCommandAsync(
     assertEquals(0, allDNs.size());
   }
 
+  @Test
+  @Timeout(5)
+  public void testHedgedReadChunk() throws IOException {
+    enableHedgedReads();
+    final List<DatanodeDetails> seenDNs = new ArrayList<>();
+    final ContainerClientMetrics metrics = ContainerClientMetrics.acquire();
+    final long hedgedReads = metrics.getHedgedReadOps();
+    final long hedgedReadWins = metrics.getHedgedReadWins();
+    try (XceiverClientGrpc client = new XceiverClientGrpc(pipeline, conf) {
+      @Override
+      public XceiverClientReply sendCommandAsync(
+          ContainerProtos.ContainerCommandRequestProto request,
+          DatanodeDetails dn) {
+        seenDNs.add(dn);
+        // the first datanode never responds
+        return seenDNs.size() == 1
+            ? new XceiverClientReply(new CompletableFuture<>())
+            : buildValidResponse();
+      }
+    }) {
+      invokeXceiverClientReadChunk(client);
+    } finally {
+      ContainerClientMetrics.release();
+    }
+    assertEquals(2, seenDNs.size());
+    assertEquals(hedgedReads + 1, metrics.getHedgedReadOps());
+    assertEquals(hedgedReadWins + 1, metrics.getHedgedReadWins());
+  }
+
+  @Test
+  @Timeout(5)
+  public void testHedgedReadChunkRetryAllNodes() {
+    enableHedgedReads();
+    final ArrayList<DatanodeDetails> allDNs = new ArrayList<>(dns);
+    try (XceiverClientGrpc client = new XceiverClientGrpc(pipeline, conf) {
+      @Override
+      public XceiverClientReply sendCommandAsync(
+          ContainerProtos.ContainerCommandRequestProto request,
+          DatanodeDetails dn) throws IOException {
+        allDNs.remove(dn);
+        throw new IOException("Failed " + dn);
+      }
+    }) {
+      assertThrows(IOException.class,
+          () -> invokeXceiverClientReadChunk(client));
+    }
+    assertEquals(0, allDNs.size());
+  }
+
+  private void enableHedgedReads() {
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setHedgedReadEnabled(true);
+    clientConfig.setHedgedReadThreshold(Duration.ofMillis(10));
+    clientConfig.setHedgedReadThresholdPercentile(0);
+    conf.setFromObject(clientConfig);
+  }
+
   @Test
   public void testFirstNodeIsCorrectWithTopologyForCommandTarget()
       throws IOException {
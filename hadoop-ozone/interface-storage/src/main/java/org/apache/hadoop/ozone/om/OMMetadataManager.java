@@ -30,6 +30,8 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.common.BlockGroup;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDBAccessIdInfo;
@@ -51,6 +53,7 @@
     OzoneManagerStorageProtos.PersistedUserVolumeInfo;
 import org.apache.hadoop.ozone.security.OzoneTokenIdentifier;
 import org.apache.hadoop.hdds.utils.db.DBStore;
+import org.apache.hadoop.hdds.utils.db.ReadOnlyTable;
 import org.apache.hadoop.hdds.utils.db.Table;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -223,6 +226,14 @@ ListKeysResult listKeys(String volumeName,
                           int maxKeys)
       throws IOException;
 
+  /**
+   * Same as {@link #listKeys(String, String, String, String, int)}, but
+   * returns {@link BasicOmKeyInfo}, whose fields are decoded from the DB
+   * without the rest of the key (locations, ACLs, etc.).
+   */
+  ListKeysLightResult listKeysLight(String volumeName, String bucketName,
+      String startKey, String keyPrefix, int maxKeys) throws IOException;
+
   /**
    * List trash allows the user to list the keys that were marked as deleted,
    * but not actually deleted by Ozone Manager. This allows a user to recover
@@ -358,6 +369,15 @@ List<ExpiredMultipartUploadsBucket> getExpiredMultipartUploads(
 
   Table<String, OmKeyInfo> getKeyTable(BucketLayout bucketLayout);
 
+  /**
+   * Returns the KeyTable read as {@link BasicOmKeyInfo}, for listing.
+   * Its cache is always empty: entries read from it must be merged with
+   * the cache of {@link #getKeyTable(BucketLayout)}.
+   *
+   * @return KeyTable without cache, read-only.
+   */
+  ReadOnlyTable<String, BasicOmKeyInfo> getBasicKeyTable(BucketLayout bucketLayout);
+
   /**
    * Returns the FileTable.
    *
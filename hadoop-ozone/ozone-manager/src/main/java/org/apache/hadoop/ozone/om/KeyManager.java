@@ -21,6 +21,7 @@
 import org.apache.hadoop.ozone.common.BlockGroup;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -107,6 +108,13 @@ ListKeysResult listKeys(String volumeName, String bucketName, String startKey,
                           String keyPrefix, int maxKeys)
       throws IOException;
 
+  /**
+   * Same as {@link #listKeys(String, String, String, String, int)}, but
+   * returns only the basic information of the keys.
+   */
+  ListKeysLightResult listKeysLight(String volumeName, String bucketName,
+      String startKey, String keyPrefix, int maxKeys) throws IOException;
+
   /**
    * List trash allows the user to list the keys that were marked as deleted,
    * but not actually deleted by Ozone Manager. This allows a user to recover
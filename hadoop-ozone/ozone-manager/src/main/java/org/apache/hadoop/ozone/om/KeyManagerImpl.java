@@ -70,6 +70,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.helpers.BucketEncryptionKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
@@ -85,6 +86,7 @@
 import org.apache.hadoop.ozone.om.helpers.OzoneAclUtil;
 import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+import org.apache.hadoop.ozone.om.helpers.OzoneFileStatusLight;
 import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.request.OMClientRequest;
@@ -459,26 +461,25 @@ private OmKeyInfo readKeyInfo(OmKeyArgs args, BucketLayout bucketLayout)
       throws IOException {
     String volumeName = args.getVolumeName();
     String bucketName = args.getBucketName();
-    String keyName = args.getKeyName();
-    OmKeyInfo value = null;
+    String keyName = OMClientRequest.validateAndNormalizeKey(
+        enableFileSystemPaths, args.getKeyName(), bucketLayout);
+    OmKeyInfo value;
 
-    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
-        bucketName);
     try {
-      keyName = OMClientRequest
-          .validateAndNormalizeKey(enableFileSystemPaths, keyName,
-              bucketLayout);
-
-      if (bucketLayout.isFileSystemOptimized()) {
-        value = getOmKeyInfoFSO(volumeName, bucketName, keyName);
-      } else {
-        value = getOmKeyInfo(volumeName, bucketName, keyName, bucketLayout);
-        if (value != null) {
-          // For Legacy & OBS buckets, any key is a file by default. This is to
-          // keep getKeyInfo compatible with OFS clients.
-          value.setFile(true);
-        }
-      }
+      value = metadataManager.getLock().readWithOptimisticLock(BUCKET_LOCK,
+          () -> {
+            if (bucketLayout.isFileSystemOptimized()) {
+              return getOmKeyInfoFSO(volumeName, bucketName, keyName);
+            }
+            OmKeyInfo keyInfo =
+                getOmKeyInfo(volumeName, bucketName, keyName, bucketLayout);
+            if (keyInfo != null) {
+              // For Legacy & OBS buckets, any key is a file by default. This
+              // is to keep getKeyInfo compatible with OFS clients.
+              keyInfo.setFile(true);
+            }
+            return keyInfo;
+          }, volumeName, bucketName);
     } catch (IOException ex) {
       if (ex instanceof OMException) {
         throw ex;
@@ -487,9 +488,6 @@ private OmKeyInfo readKeyInfo(OmKeyArgs args, BucketLayout bucketLayout)
           format("Error reading key metadata: /%s/%s/%s",
               volumeName, bucketName, keyName),
           ex, INTERNAL_ERROR);
-    } finally {
-      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
-          bucketName);
     }
 
     if (value == null) {
@@ -632,17 +630,11 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
       int maxKeys) throws IOException {
     Preconditions.checkNotNull(volumeName);
     Preconditions.checkNotNull(bucketName);
-    OmBucketInfo omBucketInfo = getBucketInfo(volumeName, bucketName);
-    if (omBucketInfo == null) {
-      throw new OMException("Bucket " + bucketName + " not found.",
-          ResultCodes.BUCKET_NOT_FOUND);
-    }
-    BucketLayout bucketLayout = omBucketInfo.getBucketLayout();
     // We don't take a lock in this path, since we walk the
     // underlying table using an iterator. That automatically creates a
     // snapshot of the data, so we don't need these locks at a higher level
     // when we iterate.
-    if (bucketLayout.shouldNormalizePaths(enableFileSystemPaths)) {
+    if (shouldNormalizePaths(volumeName, bucketName)) {
       startKey = OmUtils.normalizeKey(startKey, true);
       keyPrefix = OmUtils.normalizeKey(keyPrefix, true);
     }
@@ -660,6 +652,31 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     return listKeysResult;
   }
 
+  @Override
+  public ListKeysLightResult listKeysLight(String volumeName,
+      String bucketName, String startKey, String keyPrefix, int maxKeys)
+      throws IOException {
+    Preconditions.checkNotNull(volumeName);
+    Preconditions.checkNotNull(bucketName);
+    if (shouldNormalizePaths(volumeName, bucketName)) {
+      startKey = OmUtils.normalizeKey(startKey, true);
+      keyPrefix = OmUtils.normalizeKey(keyPrefix, true);
+    }
+    return metadataManager.listKeysLight(volumeName, bucketName, startKey,
+        keyPrefix, maxKeys);
+  }
+
+  private boolean shouldNormalizePaths(String volumeName, String bucketName)
+      throws IOException {
+    OmBucketInfo omBucketInfo = getBucketInfo(volumeName, bucketName);
+    if (omBucketInfo == null) {
+      throw new OMException("Bucket " + bucketName + " not found.",
+          ResultCodes.BUCKET_NOT_FOUND);
+    }
+    return omBucketInfo.getBucketLayout()
+        .shouldNormalizePaths(enableFileSystemPaths);
+  }
+
   @Override
   public List<RepeatedOmKeyInfo> listTrash(String volumeName,
       String bucketName, String startKeyName, String keyPrefix,
@@ -1353,25 +1370,22 @@ private OzoneFileStatus getOzoneFileStatusFSO(OmKeyArgs args,
     final String volumeName = args.getVolumeName();
     final String bucketName = args.getBucketName();
     final String keyName = args.getKeyName();
-    OzoneFileStatus fileStatus = null;
-    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
-            bucketName);
-    try {
-      // Check if this is the root of the filesystem.
-      if (keyName.length() == 0) {
+    // Check if this is the root of the filesystem.
+    if (keyName.length() == 0) {
+      metadataManager.getLock().readWithOptimisticLock(BUCKET_LOCK, () -> {
         OMFileRequest.validateBucket(metadataManager, volumeName, bucketName);
-        return new OzoneFileStatus();
-      }
-
-      fileStatus = OMFileRequest.getOMKeyInfoIfExists(metadataManager,
-          volumeName, bucketName, keyName, scmBlockSize,
-          ozoneManager.getDefaultReplicationConfig());
-
-    } finally {
-      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
-              bucketName);
+        return null;
+      }, volumeName, bucketName);
+      return new OzoneFileStatus();
     }
 
+    OzoneFileStatus fileStatus = metadataManager.getLock()
+        .readWithOptimisticLock(BUCKET_LOCK,
+            () -> OMFileRequest.getOMKeyInfoIfExists(metadataManager,
+                volumeName, bucketName, keyName, scmBlockSize,
+                ozoneManager.getDefaultReplicationConfig()),
+            volumeName, bucketName);
+
     if (fileStatus != null) {
       // if the key is a file then do refresh pipeline info in OM by asking SCM
       if (fileStatus.isFile()) {
@@ -1615,12 +1629,8 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
 
     if (isBucketFSOptimized(volumeName, bucketName)) {
       Preconditions.checkArgument(!recursive);
-      OzoneListStatusHelper statusHelper =
-          new OzoneListStatusHelper(metadataManager, scmBlockSize,
-              this::getOzoneFileStatusFSO,
-              ozoneManager.getDefaultReplicationConfig());
       Collection<OzoneFileStatus> statuses =
-          statusHelper.listStatusFSO(args, startKey, numEntries,
+          newListStatusHelper().listStatusFSO(args, startKey, numEntries,
           clientAddress, allowPartialPrefixes);
       return buildFinalStatusList(statuses, args, clientAddress);
     }
@@ -1793,6 +1803,30 @@ private void findKeyInDbWithIterator(boolean recursive, String startKey,
     }
   }
 
+  @Override
+  public List<OzoneFileStatusLight> listStatusLight(OmKeyArgs args,
+      boolean recursive, String startKey, long numEntries,
+      String clientAddress, boolean allowPartialPrefixes) throws IOException {
+    Preconditions.checkNotNull(args, "Key args can not be null");
+    if (numEntries > 0
+        && isBucketFSOptimized(args.getVolumeName(), args.getBucketName())) {
+      Preconditions.checkArgument(!recursive);
+      // locations are not returned, so they are neither read nor refreshed
+      return new ArrayList<>(newListStatusHelper().listStatusFSOLight(args,
+          startKey, numEntries, clientAddress, allowPartialPrefixes));
+    }
+    return listStatus(args, recursive, startKey, numEntries, clientAddress,
+        allowPartialPrefixes).stream()
+        .map(OzoneFileStatusLight::fromOzoneFileStatus)
+        .collect(Collectors.toList());
+  }
+
+  private OzoneListStatusHelper newListStatusHelper() {
+    return new OzoneListStatusHelper(metadataManager, scmBlockSize,
+        this::getOzoneFileStatusFSO,
+        ozoneManager.getDefaultReplicationConfig());
+  }
+
   private List<OzoneFileStatus> buildFinalStatusList(
       Collection<OzoneFileStatus> statusesCollection, OmKeyArgs omKeyArgs,
       String clientAddress)
@@ -21,11 +21,14 @@
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.utils.IOUtils;
 import org.apache.hadoop.hdds.utils.db.CopyObject;
+import org.apache.hadoop.hdds.utils.db.ReadOnlyTable;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -117,11 +120,11 @@ public int hashCode() {
     private final TableIterator<String,
         ? extends Table.KeyValue<String, Value>> tableIterator;
 
-    private final Table<String, Value> table;
+    private final ReadOnlyTable<String, Value> table;
     private HeapEntry currentEntry;
     private Predicate<String> doesKeyExistInCache;
 
-    DbTableIter(int entryIteratorId, Table<String, Value> table,
+    DbTableIter(int entryIteratorId, ReadOnlyTable<String, Value> table,
                 String prefixKey, String startKey,
                 Predicate<String> doesKeyExistInCache) throws IOException {
       this.entryIteratorId = entryIteratorId;
@@ -290,20 +293,51 @@ public static class MinHeapIterator implements ClosableIterator {
           omMetadataManager.getKeyTable(bucketLayout));
     }
 
+    /**
+     * Iterate the directory table and the key table, reading the DB entries
+     * of the key table as {@link BasicOmKeyInfo}.  Cached entries are still
+     * {@link OmKeyInfo}.
+     */
+    static MinHeapIterator basic(OMMetadataManager omMetadataManager,
+        String prefixKey, BucketLayout bucketLayout, String startKey,
+        String volumeName, String bucketName) throws IOException {
+      return new MinHeapIterator(omMetadataManager, prefixKey, startKey,
+          volumeName, bucketName,
+          new Table[] {omMetadataManager.getDirectoryTable(),
+              omMetadataManager.getKeyTable(bucketLayout)},
+          new ReadOnlyTable[] {omMetadataManager.getDirectoryTable(),
+              omMetadataManager.getBasicKeyTable(bucketLayout)});
+    }
+
     MinHeapIterator(OMMetadataManager omMetadataManager, String prefixKey,
                     String startKey, String volumeName, String bucketName,
                     Table... tables) throws IOException {
+      this(omMetadataManager, prefixKey, startKey, volumeName, bucketName,
+          tables, tables);
+    }
+
+    /**
+     * @param tables the tables whose cache entries to iterate
+     * @param dbTables the tables whose DB entries to iterate, each of them
+     *                 the same table as in tables, possibly with another
+     *                 value codec
+     */
+    private MinHeapIterator(OMMetadataManager omMetadataManager,
+        String prefixKey, String startKey, String volumeName,
+        String bucketName, Table[] tables, ReadOnlyTable[] dbTables)
+        throws IOException {
       omMetadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
           bucketName);
       try {
         int iteratorId = 0;
-        for (Table table : tables) {
+        for (int i = 0; i < tables.length; i++) {
+          Table table = tables[i];
           CacheIter cacheIter = new CacheIter<>(iteratorId, table.getName(),
               table.cacheIterator(), startKey, prefixKey);
           Predicate<String> doesKeyExistInCache = cacheIter::doesKeyExistInCache;
           iterators.add(cacheIter);
           iteratorId++;
-          iterators.add(new DbTableIter<>(iteratorId, table, prefixKey,
+          iterators.add(new DbTableIter<>(iteratorId, dbTables[i], prefixKey,
               startKey, doesKeyExistInCache));
           iteratorId++;
         }
@@ -123,6 +123,9 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numVolumeListFails;
   private @Metric MutableCounterLong numKeyCommitFails;
   private @Metric MutableCounterLong numBlockAllocationFails;
+  // Block allocations served from / missed by blocks pre-allocated from SCM
+  private @Metric MutableCounterLong numBlockPoolHits;
+  private @Metric MutableCounterLong numBlockPoolMisses;
   private @Metric MutableCounterLong numGetServiceListFails;
   private @Metric MutableCounterLong numBucketS3ListFails;
   private @Metric MutableCounterLong numInitiateMultipartUploadFails;
@@ -186,6 +189,11 @@ public class OMMetrics implements OmMetadataReaderMetrics {
 
   private @Metric MutableCounterLong numRecoverLeaseFails;
 
+  // Metrics for reads served while not the leader
+  private @Metric MutableCounterLong numFollowerReads;
+  private @Metric MutableCounterLong numFollowerReadFails;
+  private @Metric MutableCounterLong numStaleReads;
+
   // Metrics for total amount of data written
   private @Metric MutableCounterLong totalDataCommitted;
 
@@ -817,6 +825,14 @@ public void incNumBlockAllocateCallFails() {
     numBlockAllocationFails.incr();
   }
 
+  public void incNumBlockPoolHits() {
+    numBlockPoolHits.incr();
+  }
+
+  public void incNumBlockPoolMisses() {
+    numBlockPoolMisses.incr();
+  }
+
   public void incNumBucketListFails() {
     numBucketListFails.incr();
   }
@@ -1139,6 +1155,16 @@ public long getNumBlockAllocateFails() {
     return numBlockAllocationFails.value();
   }
 
+  @VisibleForTesting
+  public long getNumBlockPoolHits() {
+    return numBlockPoolHits.value();
+  }
+
+  @VisibleForTesting
+  public long getNumBlockPoolMisses() {
+    return numBlockPoolMisses.value();
+  }
+
   @VisibleForTesting
   public long getNumGetServiceListFails() {
     return numGetServiceListFails.value();
@@ -1474,6 +1500,30 @@ public void incNumRecoverLeaseFails() {
     numRecoverLeaseFails.incr();
   }
 
+  public void incNumFollowerReads() {
+    numFollowerReads.incr();
+  }
+
+  public void incNumFollowerReadFails() {
+    numFollowerReadFails.incr();
+  }
+
+  public void incNumStaleReads() {
+    numStaleReads.incr();
+  }
+
+  public long getNumStaleReads() {
+    return numStaleReads.value();
+  }
+
+  public long getNumFollowerReads() {
+    return numFollowerReads.value();
+  }
+
+  public long getNumFollowerReadFails() {
+    return numFollowerReadFails.value();
+  }
+
   public void unRegister() {
     if (dbCheckpointMetrics != null) {
       dbCheckpointMetrics.unRegister();
@@ -104,6 +104,9 @@ public static void unregister() {
   @Metric(about = "Ratis latency in nano seconds")
   private MutableRate submitToRatisLatencyNs;
 
+  @Metric(about = "Ratis ReadIndex latency of follower reads in nano seconds")
+  private MutableRate readIndexLatencyNs;
+
   @Metric(about = "Convert om request to ratis request nano seconds")
   private MutableRate createRatisRequestLatencyNs;
 
@@ -204,6 +207,10 @@ public MutableRate getSubmitToRatisLatencyNs() {
     return submitToRatisLatencyNs;
   }
 
+  public MutableRate getReadIndexLatencyNs() {
+    return readIndexLatencyNs;
+  }
+
   public MutableRate getCreateRatisRequestLatencyNs() {
     return createRatisRequestLatencyNs;
   }
@@ -24,6 +24,7 @@
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -38,9 +39,11 @@
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.hadoop.conf.StorageUnit;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.utils.db.DBCheckpoint;
@@ -50,11 +53,13 @@
 import org.apache.hadoop.hdds.utils.db.DBStoreBuilder;
 import org.apache.hadoop.hdds.utils.db.RDBCheckpointUtils;
 import org.apache.hadoop.hdds.utils.db.RocksDBConfiguration;
+import org.apache.hadoop.hdds.utils.db.ReadOnlyTable;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.OffHeapTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
 import org.apache.hadoop.ozone.ClientVersion;
 import org.apache.hadoop.ozone.OmUtils;
@@ -63,6 +68,8 @@
 import org.apache.hadoop.ozone.om.codec.TokenIdentifierCodec;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDBAccessIdInfo;
@@ -107,6 +114,10 @@
 import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_FS_SNAPSHOT_MAX_LIMIT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_FS_SNAPSHOT_MAX_LIMIT_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_MAX_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_MAX_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_CHECKPOINT_DIR_CREATION_POLL_TIMEOUT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_CHECKPOINT_DIR_CREATION_POLL_TIMEOUT_DEFAULT;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.BUCKET_NOT_FOUND;
@@ -280,6 +291,9 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   private Table prefixTable;
   private Table<String, OmDirectoryInfo> dirTable;
   private Table<String, OmKeyInfo> fileTable;
+  // views of the key and file tables, whose codec cannot encode values
+  private ReadOnlyTable<String, BasicOmKeyInfo> basicKeyTable;
+  private ReadOnlyTable<String, BasicOmKeyInfo> basicFileTable;
   private Table openFileTable;
   private Table transactionInfoTable;
   private Table metaTable;
@@ -314,6 +328,10 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   private final long omEpoch;
 
   private Map<String, Table> tableMap = new HashMap<>();
+  // Cache type of the key, file, open key and open file tables
+  private CacheType keyTableCacheType = CacheType.PARTIAL_CACHE;
+  // Direct memory limit shared by the off-heap caches of these tables
+  private OffHeapTableCache.MemoryLimit keyTableCacheLimit;
   private final Map<String, TableCacheMetrics> tableCacheMetricsMap =
       new HashMap<>();
   private SnapshotChainManager snapshotChainManager;
@@ -460,6 +478,15 @@ public Table<String, OmKeyInfo> getKeyTable(BucketLayout bucketLayout) {
     return keyTable;
   }
 
+  @Override
+  public ReadOnlyTable<String, BasicOmKeyInfo> getBasicKeyTable(
+      BucketLayout bucketLayout) {
+    if (bucketLayout.isFileSystemOptimized()) {
+      return basicFileTable;
+    }
+    return basicKeyTable;
+  }
+
   @Override
   public Table<String, OmKeyInfo> getFileTable() {
     return fileTable;
@@ -560,6 +587,15 @@ public void start(OzoneConfiguration configuration) throws IOException {
 
       this.store = loadDB(configuration, metaDir);
 
+      keyTableCacheType = configuration.getBoolean(
+          OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_ENABLED,
+          OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_ENABLED_DEFAULT)
+          ? CacheType.PARTIAL_OFF_HEAP_CACHE : CacheType.PARTIAL_CACHE;
+      keyTableCacheLimit = new OffHeapTableCache.MemoryLimit(
+          (long) configuration.getStorageSize(
+              OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_MAX_SIZE,
+              OZONE_OM_KEY_TABLE_CACHE_OFF_HEAP_MAX_SIZE_DEFAULT,
+              StorageUnit.BYTES));
       initializeOmTables(CacheType.FULL_CACHE, true);
     }
 
@@ -634,6 +670,7 @@ public static DBStoreBuilder addOMTablesAndCodecs(DBStoreBuilder builder) {
         .addTable(COMPACTION_LOG_TABLE)
         .addCodec(OzoneTokenIdentifier.class, TokenIdentifierCodec.get())
         .addCodec(OmKeyInfo.class, OmKeyInfo.getCodec(true))
+        .addCodec(BasicOmKeyInfo.class, BasicOmKeyInfo.getCodec())
         .addCodec(RepeatedOmKeyInfo.class, RepeatedOmKeyInfo.getCodec(true))
         .addCodec(OmBucketInfo.class, OmBucketInfo.getCodec())
         .addCodec(OmVolumeArgs.class, OmVolumeArgs.getCodec())
@@ -674,17 +711,17 @@ protected void initializeOmTables(CacheType cacheType,
 
     checkTableStatus(bucketTable, BUCKET_TABLE, addCacheMetrics);
 
-    keyTable = this.store.getTable(KEY_TABLE, String.class, OmKeyInfo.class);
+    keyTable = getKeyInfoTable(KEY_TABLE);
     checkTableStatus(keyTable, KEY_TABLE, addCacheMetrics);
+    basicKeyTable = this.store.getTable(KEY_TABLE, String.class,
+        BasicOmKeyInfo.class);
 
     deletedTable = this.store.getTable(DELETED_TABLE, String.class,
         RepeatedOmKeyInfo.class);
     checkTableStatus(deletedTable, DELETED_TABLE, addCacheMetrics);
     tableLockMap.put(DELETED_TABLE, new ReentrantReadWriteLock(true));
 
-    openKeyTable =
-        this.store.getTable(OPEN_KEY_TABLE, String.class,
-            OmKeyInfo.class);
+    openKeyTable = getKeyInfoTable(OPEN_KEY_TABLE);
     checkTableStatus(openKeyTable, OPEN_KEY_TABLE, addCacheMetrics);
 
     multipartInfoTable = this.store.getTable(MULTIPARTINFO_TABLE,
@@ -707,12 +744,12 @@ protected void initializeOmTables(CacheType cacheType,
             OmDirectoryInfo.class);
     checkTableStatus(dirTable, DIRECTORY_TABLE, addCacheMetrics);
 
-    fileTable = this.store.getTable(FILE_TABLE, String.class,
-            OmKeyInfo.class);
+    fileTable = getKeyInfoTable(FILE_TABLE);
     checkTableStatus(fileTable, FILE_TABLE, addCacheMetrics);
+    basicFileTable = this.store.getTable(FILE_TABLE, String.class,
+        BasicOmKeyInfo.class);
 
-    openFileTable = this.store.getTable(OPEN_FILE_TABLE, String.class,
-            OmKeyInfo.class);
+    openFileTable = getKeyInfoTable(OPEN_FILE_TABLE);
     checkTableStatus(openFileTable, OPEN_FILE_TABLE, addCacheMetrics);
 
     deletedDirTable = this.store.getTable(DELETED_DIR_TABLE, String.class,
@@ -766,6 +803,22 @@ protected void initializeOmTables(CacheType cacheType,
         addCacheMetrics);
   }
 
+  /**
+   * @return the key, file, open key or open file table, with the cache type
+   *         of these tables
+   */
+  private Table<String, OmKeyInfo> getKeyInfoTable(String name)
+      throws IOException {
+    if (keyTableCacheType == CacheType.PARTIAL_OFF_HEAP_CACHE) {
+      // unlike the table codec, the cache has to keep the pipelines, as a
+      // cache on the heap does
+      return store.getTable(name, String.class, OmKeyInfo.class,
+          OmKeyInfo.getCodec(false), keyTableCacheLimit);
+    }
+    return store.getTable(name, String.class, OmKeyInfo.class,
+        keyTableCacheType);
+  }
+
   /**
    * Stop metadata manager.
    */
@@ -775,6 +828,17 @@ public void stop() throws IOException {
       store.close();
       store = null;
     }
+    if (keyTableCacheType == CacheType.PARTIAL_OFF_HEAP_CACHE) {
+      // release the direct memory of the caches
+      for (Table<?, ?> table : Arrays.asList(keyTable,
+          openKeyTable, fileTable, openFileTable)) {
+        try {
+          table.close();
+        } catch (Exception e) {
+          LOG.warn("Failed to close table {}", table.getName(), e);
+        }
+      }
+    }
     tableCacheMetricsMap.values().forEach(TableCacheMetrics::unregister);
     // OzoneManagerLock cleanup
     lock.cleanup();
@@ -1163,12 +1227,40 @@ public List<OmBucketInfo> listBuckets(final String volumeName,
   public ListKeysResult listKeys(String volumeName, String bucketName,
                                  String startKey, String keyPrefix, int maxKeys)
       throws IOException {
-
     List<OmKeyInfo> result = new ArrayList<>();
+    boolean isTruncated = listKeys(volumeName, bucketName, startKey,
+        keyPrefix, maxKeys, getKeyTable(getBucketLayout()),
+        Function.identity(), result);
+    return new ListKeysResult(result, isTruncated);
+  }
+
+  @Override
+  public ListKeysLightResult listKeysLight(String volumeName,
+      String bucketName, String startKey, String keyPrefix, int maxKeys)
+      throws IOException {
+    List<BasicOmKeyInfo> result = new ArrayList<>();
+    boolean isTruncated = listKeys(volumeName, bucketName, startKey,
+        keyPrefix, maxKeys, getBasicKeyTable(getBucketLayout()),
+        BasicOmKeyInfo::fromOmKeyInfo, result);
+    return new ListKeysLightResult(result, isTruncated);
+  }
+
+  /**
+   * List keys from the key table cache and the given view of the key table.
+   *
+   * @param dbTable the key table to read the DB from
+   * @param fromCache converts key table cache values to the result type
+   * @param result the keys found
+   * @return whether there are more keys than maxKeys
+   */
+  private <T> boolean listKeys(String volumeName, String bucketName,
+      String startKey, String keyPrefix, int maxKeys,
+      ReadOnlyTable<String, T> dbTable, Function<OmKeyInfo, T> fromCache,
+      List<T> result) throws IOException {
+
     if (maxKeys <= 0) {
-      return new ListKeysResult(result, false);
+      return false;
     }
-
     if (Strings.isNullOrEmpty(volumeName)) {
       throw new OMException("Volume name is required.",
           ResultCodes.VOLUME_NOT_FOUND);
@@ -1206,7 +1298,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     int currentCount = 0;
 
 
-    TreeMap<String, OmKeyInfo> cacheKeyMap = new TreeMap<>();
+    TreeMap<String, T> cacheKeyMap = new TreeMap<>();
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> iterator =
         keyTable.cacheIterator();
 
@@ -1229,15 +1321,15 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
       if (omKeyInfo != null
           && key.startsWith(seekPrefix)
           && key.compareTo(seekKey) >= 0) {
-        cacheKeyMap.put(key, omKeyInfo);
+        cacheKeyMap.put(key, fromCache.apply(omKeyInfo));
       }
     }
 
     // Get maxKeys from DB if it has.
 
-    try (TableIterator<String, ? extends KeyValue<String, OmKeyInfo>>
-             keyIter = getKeyTable(getBucketLayout()).iterator()) {
-      KeyValue< String, OmKeyInfo > kv;
+    try (TableIterator<String, ? extends KeyValue<String, T>>
+             keyIter = dbTable.iterator()) {
+      KeyValue<String, T> kv;
       keyIter.seek(seekKey);
       // we need to iterate maxKeys + 1 here because if skipStartKey is true,
       // we should skip that entry and return the result.
@@ -1267,7 +1359,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     // of maxKeys from the sorted map.
     currentCount = 0;
 
-    for (Map.Entry<String, OmKeyInfo>  cacheKey : cacheKeyMap.entrySet()) {
+    for (Map.Entry<String, T> cacheKey : cacheKeyMap.entrySet()) {
       if (cacheKey.getKey().equals(seekKey) && skipStartKey) {
         continue;
       }
@@ -1283,7 +1375,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     // Clear map and set.
     cacheKeyMap.clear();
 
-    return new ListKeysResult(result, isTruncated);
+    return isTruncated;
   }
 
   // TODO: HDDS-2419 - Complete stub below for core logic
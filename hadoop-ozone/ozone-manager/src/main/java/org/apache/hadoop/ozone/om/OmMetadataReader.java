@@ -30,7 +30,6 @@
 import org.apache.hadoop.ozone.audit.Auditor;
 import org.apache.hadoop.ozone.audit.OMAction;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
-import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.KeyInfoWithVolumeContext;
@@ -48,7 +47,6 @@
 import java.net.InetAddress;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import static org.apache.hadoop.hdds.server.ServerUtils.getRemoteUserName;
 import static org.apache.hadoop.hdds.utils.HddsServerUtil.getRemoteUser;
@@ -216,7 +214,14 @@ public KeyInfoWithVolumeContext getKeyInfo(final OmKeyArgs args,
   public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       String startKey, long numEntries, boolean allowPartialPrefixes)
       throws IOException {
+    return listStatus(args, numEntries,
+        (resolvedArgs, maxListingPageSize) -> keyManager.listStatus(
+            resolvedArgs, recursive, startKey, maxListingPageSize,
+            getClientAddress(), allowPartialPrefixes));
+  }
 
+  private <T> List<T> listStatus(OmKeyArgs args, long numEntries,
+      StatusLister<T> lister) throws IOException {
     long maxListingPageSize = ozoneManager.getConfiguration().getInt(
         OZONE_FS_LISTING_PAGE_SIZE_MAX,
         OZONE_FS_LISTING_PAGE_SIZE_DEFAULT);
@@ -237,8 +242,7 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
             bucket, args.getKeyName());
       }
       metrics.incNumListStatus();
-      return keyManager.listStatus(args, recursive, startKey,
-          maxListingPageSize, getClientAddress(), allowPartialPrefixes);
+      return lister.list(args, maxListingPageSize);
     } catch (Exception ex) {
       metrics.incNumListStatusFails();
       auditSuccess = false;
@@ -257,12 +261,10 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
   public List<OzoneFileStatusLight> listStatusLight(OmKeyArgs args,
       boolean recursive, String startKey, long numEntries,
       boolean allowPartialPrefixes) throws IOException {
-    List<OzoneFileStatus> ozoneFileStatuses =
-        listStatus(args, recursive, startKey, numEntries, allowPartialPrefixes);
-
-    return ozoneFileStatuses.stream()
-        .map(OzoneFileStatusLight::fromOzoneFileStatus)
-        .collect(Collectors.toList());
+    return listStatus(args, numEntries,
+        (resolvedArgs, maxListingPageSize) -> keyManager.listStatusLight(
+            resolvedArgs, recursive, startKey, maxListingPageSize,
+            getClientAddress(), allowPartialPrefixes));
   }
   
   @Override
@@ -324,6 +326,13 @@ public OmKeyInfo lookupFile(OmKeyArgs args) throws IOException {
   @Override
   public ListKeysResult listKeys(String volumeName, String bucketName,
       String startKey, String keyPrefix, int maxKeys) throws IOException {
+    return listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys,
+        keyManager::listKeys);
+  }
+
+  private <T> T listKeys(String volumeName, String bucketName,
+      String startKey, String keyPrefix, int maxKeys, KeyLister<T> lister)
+      throws IOException {
     long startNanos = Time.monotonicNowNanos();
     ResolvedBucket bucket = captureLatencyNs(
         perfMetrics.getListKeysResolveBucketLatencyNs(),
@@ -344,7 +353,7 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
         );
       }
       metrics.incNumKeyLists();
-      return keyManager.listKeys(bucket.realVolume(), bucket.realBucket(),
+      return lister.list(bucket.realVolume(), bucket.realBucket(),
           startKey, keyPrefix, maxKeys);
     } catch (IOException ex) {
       metrics.incNumKeyListFails();
@@ -366,14 +375,8 @@ public ListKeysLightResult listKeysLight(String volumeName,
                                             String bucketName,
                                             String startKey, String keyPrefix,
                                             int maxKeys) throws IOException {
-    ListKeysResult listKeysResult =
-        listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys);
-    List<OmKeyInfo> keys = listKeysResult.getKeys();
-    List<BasicOmKeyInfo> basicKeysList =
-        keys.stream().map(BasicOmKeyInfo::fromOmKeyInfo)
-            .collect(Collectors.toList());
-
-    return new ListKeysLightResult(basicKeysList, listKeysResult.isTruncated());
+    return listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys,
+        keyManager::listKeysLight);
   }
 
   /**
@@ -624,4 +627,21 @@ private ResourceType getResourceType(OmKeyArgs args) {
     return ResourceType.KEY;
   }
 
+
+  /**
+   * Lists the keys of a resolved bucket.
+   */
+  @FunctionalInterface
+  private interface KeyLister<T> {
+    T list(String volumeName, String bucketName, String startKey,
+        String keyPrefix, int maxKeys) throws IOException;
+  }
+
+  /**
+   * Lists the status of resolved key args.
+   */
+  @FunctionalInterface
+  private interface StatusLister<T> {
+    List<T> list(OmKeyArgs args, long maxListingPageSize) throws IOException;
+  }
 }
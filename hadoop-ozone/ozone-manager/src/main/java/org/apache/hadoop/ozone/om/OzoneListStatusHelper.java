@@ -22,6 +22,7 @@
 import org.apache.hadoop.hdds.client.DefaultReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
@@ -30,6 +31,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
 import org.apache.hadoop.ozone.om.helpers.OzoneFSUtils;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+import org.apache.hadoop.ozone.om.helpers.OzoneFileStatusLight;
 import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +44,7 @@
 import java.util.TreeMap;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -61,6 +64,16 @@ OzoneFileStatus apply(OmKeyArgs args, String clientAddress,
                           boolean skipFileNotFoundError) throws IOException;
   }
 
+  /**
+   * Converts an entry of the directory or key table to a file status.
+   */
+  @FunctionalInterface
+  private interface StatusFactory<T> {
+    T apply(String prefixPath, long scmBlockSz, String volumeName,
+        String bucketName, ReplicationConfig bucketReplication,
+        ListIterator.HeapEntry entry);
+  }
+
   private static final Logger LOG =
       LoggerFactory.getLogger(OzoneListStatusHelper.class);
 
@@ -84,6 +97,33 @@ OzoneFileStatus apply(OmKeyArgs args, String clientAddress,
   public Collection<OzoneFileStatus> listStatusFSO(OmKeyArgs args,
       String startKey, long numEntries, String clientAddress,
       boolean allowPartialPrefixes) throws IOException {
+    return listStatusFSO(args, startKey, numEntries, clientAddress,
+        allowPartialPrefixes, false, Function.identity(), this::getStatus);
+  }
+
+  /**
+   * Same as {@link #listStatusFSO(OmKeyArgs, String, long, String, boolean)},
+   * but files are read from the DB as {@link BasicOmKeyInfo}, without
+   * decoding their locations, ACLs, etc.
+   */
+  public Collection<OzoneFileStatusLight> listStatusFSOLight(OmKeyArgs args,
+      String startKey, long numEntries, String clientAddress,
+      boolean allowPartialPrefixes) throws IOException {
+    return listStatusFSO(args, startKey, numEntries, clientAddress,
+        allowPartialPrefixes, true, OzoneFileStatusLight::fromOzoneFileStatus,
+        this::getStatusLight);
+  }
+
+  /**
+   * @param basic whether to read files from the DB as BasicOmKeyInfo
+   * @param convert converts the status of the listed path
+   * @param statusFactory converts the listed entries
+   */
+  private <T> Collection<T> listStatusFSO(OmKeyArgs args,
+      String startKey, long numEntries, String clientAddress,
+      boolean allowPartialPrefixes, boolean basic,
+      Function<OzoneFileStatus, T> convert, StatusFactory<T> statusFactory)
+      throws IOException {
     Preconditions.checkNotNull(args, "Key args can not be null");
     final String volumeName = args.getVolumeName();
     final String bucketName = args.getBucketName();
@@ -148,7 +188,7 @@ public Collection<OzoneFileStatus> listStatusFSO(OmKeyArgs args,
       // considered as a prefix.
       if (fileStatus.isFile()) {
         if (!allowPartialPrefixes) {
-          return Collections.singletonList(fileStatus);
+          return Collections.singletonList(convert.apply(fileStatus));
         } else {
           try {
             dbPrefixKey = getDbKey(keyName, args, volumeInfo, omBucketInfo);
@@ -175,8 +215,8 @@ public Collection<OzoneFileStatus> listStatusFSO(OmKeyArgs args,
       }
     }
     String startKeyPrefix = getStartKeyPrefixIfPresent(args, startKey, volumeInfo, omBucketInfo);
-    TreeMap<String, OzoneFileStatus> map =
-        getSortedEntries(numEntries,  prefixKey, dbPrefixKey, startKeyPrefix, omBucketInfo);
+    TreeMap<String, T> map = getSortedEntries(numEntries, prefixKey,
+        dbPrefixKey, startKeyPrefix, omBucketInfo, basic, statusFactory);
 
     return map.values().stream().filter(e -> e != null).collect(
         Collectors.toList());
@@ -220,9 +260,10 @@ private String getStartKeyPrefixIfPresent(OmKeyArgs args, String startKey,
    *  every remove from the heap will give the smallest entry and return
    *  a treemap.
    */
-  private TreeMap<String, OzoneFileStatus> getSortedEntries(long numEntries,
+  private <T> TreeMap<String, T> getSortedEntries(long numEntries,
       String prefixKey, String dbPrefixKey, String startKeyPrefix,
-      OmBucketInfo bucketInfo) throws IOException {
+      OmBucketInfo bucketInfo, boolean basic, StatusFactory<T> statusFactory)
+      throws IOException {
     String volumeName = bucketInfo.getVolumeName();
     String bucketName = bucketInfo.getBucketName();
     BucketLayout bucketLayout = bucketInfo.getBucketLayout();
@@ -231,17 +272,19 @@ private TreeMap<String, OzoneFileStatus> getSortedEntries(long numEntries,
             .map(DefaultReplicationConfig::getReplicationConfig)
             .orElse(omDefaultReplication);
 
-    TreeMap<String, OzoneFileStatus> map = new TreeMap<>();
+    TreeMap<String, T> map = new TreeMap<>();
     try (
-        ListIterator.MinHeapIterator heapIterator = new ListIterator.MinHeapIterator(
-            metadataManager, dbPrefixKey, bucketLayout, startKeyPrefix,
-            volumeName, bucketName)) {
+        ListIterator.MinHeapIterator heapIterator = basic
+            ? ListIterator.MinHeapIterator.basic(metadataManager, dbPrefixKey,
+                bucketLayout, startKeyPrefix, volumeName, bucketName)
+            : new ListIterator.MinHeapIterator(metadataManager, dbPrefixKey,
+                bucketLayout, startKeyPrefix, volumeName, bucketName)) {
 
       try {
         while (map.size() < numEntries && heapIterator.hasNext()) {
           ListIterator.HeapEntry entry = heapIterator.next();
-          OzoneFileStatus status = getStatus(prefixKey, scmBlockSize, volumeName, bucketName,
-                  replication, entry);
+          T status = statusFactory.apply(prefixKey, scmBlockSize, volumeName,
+              bucketName, replication, entry);
           // Caution: DO NOT use putIfAbsent. putIfAbsent undesirably overwrites
           // the value with `status` when the existing value in the map is null.
           if (!map.containsKey(entry.getKey())) {
@@ -287,6 +330,23 @@ private OzoneFileStatus getStatus(String prefixPath, long scmBlockSz,
     return new OzoneFileStatus(keyInfo, scmBlockSz, isDir);
   }
 
+  private OzoneFileStatusLight getStatusLight(String prefixPath,
+      long scmBlockSz, String volumeName, String bucketName,
+      ReplicationConfig bucketReplication, ListIterator.HeapEntry entry) {
+    if (entry == null || !(entry.getValue() instanceof BasicOmKeyInfo)) {
+      // directories and files in the cache
+      OzoneFileStatus status = getStatus(prefixPath, scmBlockSz, volumeName,
+          bucketName, bucketReplication, entry);
+      return status == null ? null
+          : OzoneFileStatusLight.fromOzoneFileStatus(status);
+    }
+    BasicOmKeyInfo keyInfo = (BasicOmKeyInfo) entry.getValue();
+    String fullKeyPath = OMFileRequest.getAbsolutePath(prefixPath,
+        keyInfo.getKeyName());
+    return new OzoneFileStatusLight(
+        keyInfo.toBuilder().setKeyName(fullKeyPath).build(), scmBlockSz, false);
+  }
+
   private String getDbKey(String key, OmKeyArgs args,
                           OmVolumeArgs volumeInfo,
                           OmBucketInfo omBucketInfo) throws IOException {
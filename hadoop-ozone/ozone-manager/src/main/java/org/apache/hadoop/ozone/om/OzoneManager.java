@@ -157,7 +157,6 @@
 import org.apache.hadoop.ozone.om.helpers.OmDBUserPrincipalInfo;
 import org.apache.hadoop.ozone.om.helpers.OmDBTenantState;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
-import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -2923,14 +2922,11 @@ public ListKeysLightResult listKeysLight(String volumeName,
                                            String bucketName,
                                            String startKey, String keyPrefix,
                                            int maxKeys) throws IOException {
-    ListKeysResult listKeysResult =
-        listKeys(volumeName, bucketName, startKey, keyPrefix, maxKeys);
-    List<OmKeyInfo> keys = listKeysResult.getKeys();
-    List<BasicOmKeyInfo> basicKeysList =
-        keys.stream().map(BasicOmKeyInfo::fromOmKeyInfo)
-            .collect(Collectors.toList());
-
-    return new ListKeysLightResult(basicKeysList, listKeysResult.isTruncated());
+    try (ReferenceCounted<IOmMetadataReader> rcReader =
+             getReader(volumeName, bucketName, keyPrefix)) {
+      return rcReader.get().listKeysLight(
+          volumeName, bucketName, startKey, keyPrefix, maxKeys);
+    }
   }
 
   @Override
@@ -3704,12 +3700,11 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
   public List<OzoneFileStatusLight> listStatusLight(OmKeyArgs args,
       boolean recursive, String startKey, long numEntries,
       boolean allowPartialPrefixes) throws IOException {
-    List<OzoneFileStatus> ozoneFileStatuses =
-        listStatus(args, recursive, startKey, numEntries, allowPartialPrefixes);
-
-    return ozoneFileStatuses.stream()
-        .map(OzoneFileStatusLight::fromOzoneFileStatus)
-        .collect(Collectors.toList());
+    try (ReferenceCounted<IOmMetadataReader> rcReader =
+        getReader(args)) {
+      return rcReader.get().listStatusLight(
+          args, recursive, startKey, numEntries, allowPartialPrefixes);
+    }
   }
 
   /**
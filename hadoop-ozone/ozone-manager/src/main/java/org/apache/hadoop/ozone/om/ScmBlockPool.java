@@ -0,0 +1,394 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.om;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Blocks allocated by SCM in advance, so that creating a key does not have
+ * to wait for an allocateBlock call to SCM.
+ * <p>
+ * Blocks are pooled per replication config and block size.  When a pool
+ * runs low, it is refilled in the background by allocateBlock calls for
+ * batches of blocks, each excluding the pipelines of the previous batches,
+ * and the blocks are pooled alternating between pipelines, so that
+ * consecutive keys are written to different pipelines.  Only allocations
+ * without excluded nodes are served from the pool.  Pooled blocks are
+ * allocated without a client machine, so their pipeline nodes are not
+ * sorted by distance to the client.
+ * <p>
+ * Pooled blocks expire, since their containers may be closed meanwhile, and
+ * blocks in pipelines which SCM closed, or in pipelines, containers or
+ * datanodes which clients report as failed are dropped.  Dropped blocks are
+ * counted, and each pool shrinks by the blocks which expired unused, so that
+ * it only holds about as many blocks as are taken before they expire.  It
+ * grows back, up to the pool size, when allocations find it empty.
+ */
+public class ScmBlockPool {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ScmBlockPool.class);
+
+  private final ScmBlockLocationProtocol blockClient;
+  private final StorageContainerLocationProtocol containerClient;
+  private final int poolSize;
+  private final int batchSize;
+  private final long expiryMillis;
+  private final ScheduledExecutorService executor;
+  private final Map<PoolKey, Pool> pools = new ConcurrentHashMap<>();
+  private final AtomicLong droppedBlocks = new AtomicLong();
+
+  /**
+   * @param containerClient to check the pipelines of pooled blocks, or null
+   *                        to not check them
+   * @param poolSize max number of blocks pooled per replication config
+   * @param batchSize number of blocks allocated per call to refill a pool
+   * @param expiryMillis time after which pooled blocks are dropped
+   * @param checkIntervalMillis interval of checking the pipelines
+   */
+  ScmBlockPool(ScmBlockLocationProtocol blockClient,
+      StorageContainerLocationProtocol containerClient, int poolSize,
+      int batchSize, long expiryMillis, long checkIntervalMillis) {
+    this.blockClient = blockClient;
+    this.containerClient = containerClient;
+    this.poolSize = poolSize;
+    this.batchSize = Math.max(1, batchSize);
+    this.expiryMillis = expiryMillis;
+    this.executor = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("ScmBlockPool-%d")
+            .build());
+    if (containerClient != null && checkIntervalMillis > 0) {
+      executor.scheduleWithFixedDelay(this::dropClosedPipelines,
+          checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Take blocks from the pool, and refill it in the background if low.
+   *
+   * @param owner owner of the blocks allocated to refill the pool
+   * @return the blocks, or null if the pool does not have enough
+   */
+  public List<AllocatedBlock> take(long blockSize, int num,
+      ReplicationConfig replicationConfig, String owner) {
+    if (num > poolSize) {
+      return null;
+    }
+    final Pool pool = pools.computeIfAbsent(
+        new PoolKey(replicationConfig, blockSize), Pool::new);
+    final List<AllocatedBlock> blocks = pool.take(num);
+    pool.refillIfLow(owner);
+    return blocks;
+  }
+
+  /**
+   * Drop pooled blocks which are in any of the excluded pipelines,
+   * containers or datanodes.
+   */
+  public void invalidate(ExcludeList excludeList) {
+    if (excludeList == null || excludeList.isEmpty()) {
+      return;
+    }
+    for (Pool pool : pools.values()) {
+      pool.invalidate(b -> isExcluded(b.block, excludeList));
+    }
+  }
+
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * @return number of blocks allocated from SCM which were dropped from the
+   *         pool unused
+   */
+  public long getDroppedBlocks() {
+    return droppedBlocks.get();
+  }
+
+  @VisibleForTesting
+  int getPooledBlocks(ReplicationConfig replicationConfig, long blockSize) {
+    final Pool pool = pools.get(new PoolKey(replicationConfig, blockSize));
+    return pool == null ? 0 : pool.size();
+  }
+
+  @VisibleForTesting
+  int getTargetSize(ReplicationConfig replicationConfig, long blockSize) {
+    final Pool pool = pools.get(new PoolKey(replicationConfig, blockSize));
+    return pool == null ? poolSize : pool.getTarget();
+  }
+
+  /** Drop pooled blocks of pipelines which are no longer open. */
+  @VisibleForTesting
+  void dropClosedPipelines() {
+    if (pools.values().stream().allMatch(pool -> pool.size() == 0)) {
+      return;
+    }
+    // blocks allocated later may be in pipelines opened later
+    final long checked = Time.monotonicNow();
+    final Set<PipelineID> open;
+    try {
+      open = containerClient.listPipelines().stream()
+          .filter(Pipeline::isOpen)
+          .map(Pipeline::getId)
+          .collect(Collectors.toSet());
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("Failed to list pipelines", e);
+      return;
+    }
+    for (Pool pool : pools.values()) {
+      pool.invalidate(b -> b.allocated < checked
+          && !open.contains(b.block.getPipeline().getId()));
+    }
+  }
+
+  private static boolean isExcluded(AllocatedBlock block,
+      ExcludeList excludeList) {
+    final Pipeline pipeline = block.getPipeline();
+    if (excludeList.getPipelineIds().contains(pipeline.getId())
+        || excludeList.getContainerIds().contains(ContainerID.valueOf(
+            block.getBlockID().getContainerID()))) {
+      return true;
+    }
+    for (DatanodeDetails dn : pipeline.getNodes()) {
+      if (excludeList.getDatanodes().contains(dn)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the blocks, alternating between their pipelines
+   */
+  @VisibleForTesting
+  static List<AllocatedBlock> interleavePipelines(
+      List<AllocatedBlock> blocks) {
+    final Map<PipelineID, Deque<AllocatedBlock>> byPipeline =
+        new LinkedHashMap<>();
+    for (AllocatedBlock block : blocks) {
+      byPipeline.computeIfAbsent(block.getPipeline().getId(),
+          id -> new ArrayDeque<>()).addLast(block);
+    }
+    final List<AllocatedBlock> interleaved = new ArrayList<>(blocks.size());
+    while (interleaved.size() < blocks.size()) {
+      for (Deque<AllocatedBlock> pipelineBlocks : byPipeline.values()) {
+        if (!pipelineBlocks.isEmpty()) {
+          interleaved.add(pipelineBlocks.pollFirst());
+        }
+      }
+    }
+    return interleaved;
+  }
+
+  /** Blocks of one replication config and block size. */
+  private final class Pool {
+    private final PoolKey key;
+    /** Blocks and their allocation time, oldest first; guarded by this. */
+    private final Deque<PooledBlock> blocks = new ArrayDeque<>();
+    /** Number of blocks to keep, adapted to the demand; guarded by this. */
+    private int target = poolSize;
+    private boolean refilling;
+
+    Pool(PoolKey key) {
+      this.key = key;
+    }
+
+    synchronized int size() {
+      return blocks.size();
+    }
+
+    synchronized int getTarget() {
+      return target;
+    }
+
+    synchronized List<AllocatedBlock> take(int num) {
+      final long oldest = Time.monotonicNow() - expiryMillis;
+      int expired = 0;
+      while (!blocks.isEmpty() && blocks.peekFirst().allocated < oldest) {
+        blocks.pollFirst();
+        expired++;
+      }
+      if (expired > 0) {
+        // more blocks pooled than taken before they expire
+        target = Math.max(1, target - expired);
+        dropped(expired);
+      }
+      if (blocks.size() < num) {
+        if (expired == 0) {
+          // fewer blocks pooled than taken before a refill
+          target = Math.min(poolSize, Math.max(num, 2 * target));
+        }
+        return null;
+      }
+      final List<AllocatedBlock> taken = new ArrayList<>(num);
+      for (int i = 0; i < num; i++) {
+        taken.add(blocks.pollFirst().block);
+      }
+      return taken;
+    }
+
+    synchronized void invalidate(Predicate<PooledBlock> invalid) {
+      final int before = blocks.size();
+      blocks.removeIf(invalid);
+      dropped(before - blocks.size());
+    }
+
+    private void dropped(int num) {
+      if (num > 0) {
+        droppedBlocks.addAndGet(num);
+        LOG.debug("Dropped {} blocks of {} unused", num, key);
+      }
+    }
+
+    void refillIfLow(String owner) {
+      final int num;
+      synchronized (this) {
+        if (refilling || blocks.size() > target / 2) {
+          return;
+        }
+        refilling = true;
+        num = target - blocks.size();
+      }
+      try {
+        executor.execute(() -> refill(num, owner));
+      } catch (RejectedExecutionException e) {
+        // closed
+        synchronized (this) {
+          refilling = false;
+        }
+      }
+    }
+
+    private void refill(int num, String owner) {
+      final List<AllocatedBlock> allocated = new ArrayList<>(num);
+      try {
+        ExcludeList excludeList = new ExcludeList();
+        while (allocated.size() < num) {
+          final List<AllocatedBlock> batch;
+          try {
+            batch = blockClient.allocateBlock(key.blockSize,
+                Math.min(batchSize, num - allocated.size()),
+                key.replicationConfig, owner, excludeList, "");
+          } catch (IOException | RuntimeException e) {
+            if (excludeList.isEmpty()) {
+              // e.g. SCM in safe mode; allocations go to SCM directly
+              LOG.debug("Failed to allocate blocks for {}", key, e);
+              break;
+            }
+            // no other pipelines, allocate from the excluded ones again
+            excludeList = new ExcludeList();
+            continue;
+          }
+          if (batch.isEmpty()) {
+            break;
+          }
+          for (AllocatedBlock block : batch) {
+            excludeList.addPipeline(block.getPipeline().getId());
+          }
+          allocated.addAll(batch);
+        }
+      } finally {
+        synchronized (this) {
+          final long now = Time.monotonicNow();
+          for (AllocatedBlock block : interleavePipelines(allocated)) {
+            blocks.addLast(new PooledBlock(block, now));
+          }
+          refilling = false;
+        }
+      }
+    }
+  }
+
+  /** A pooled block. */
+  private static final class PooledBlock {
+    private final AllocatedBlock block;
+    private final long allocated;
+
+    PooledBlock(AllocatedBlock block, long allocated) {
+      this.block = block;
+      this.allocated = allocated;
+    }
+  }
+
+  /** Blocks of the same pool are interchangeable. */
+  private static final class PoolKey {
+    private final ReplicationConfig replicationConfig;
+    private final long blockSize;
+
+    PoolKey(ReplicationConfig replicationConfig, long blockSize) {
+      this.replicationConfig = replicationConfig;
+      this.blockSize = blockSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final PoolKey that = (PoolKey) o;
+      return blockSize == that.blockSize
+          && replicationConfig.equals(that.replicationConfig);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(replicationConfig, blockSize);
+    }
+
+    @Override
+    public String toString() {
+      return replicationConfig + "/" + blockSize;
+    }
+  }
+}
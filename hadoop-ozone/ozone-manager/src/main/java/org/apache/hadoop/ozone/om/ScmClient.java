@@ -37,6 +37,14 @@
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_EXPIRY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_EXPIRY_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_PIPELINE_CHECK_INTERVAL;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_PIPELINE_CHECK_INTERVAL_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_REFILL_BATCH_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_REFILL_BATCH_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_POOL_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_SIZE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_TTL;
@@ -51,6 +59,7 @@ public class ScmClient {
   private final StorageContainerLocationProtocol containerClient;
   private final LoadingCache<Long, Pipeline> containerLocationCache;
   private final CacheMetrics containerCacheMetrics;
+  private final ScmBlockPool blockPool;
 
   ScmClient(ScmBlockLocationProtocol blockClient,
             StorageContainerLocationProtocol containerClient,
@@ -61,6 +70,29 @@ public class ScmClient {
         createContainerLocationCache(configuration, containerClient);
     this.containerCacheMetrics = CacheMetrics.create(containerLocationCache,
         "ContainerInfo");
+    this.blockPool = createBlockPool(configuration, blockClient,
+        containerClient);
+  }
+
+  static ScmBlockPool createBlockPool(OzoneConfiguration configuration,
+      ScmBlockLocationProtocol blockClient,
+      StorageContainerLocationProtocol containerClient) {
+    int poolSize = configuration.getInt(OZONE_OM_BLOCK_POOL_SIZE,
+        OZONE_OM_BLOCK_POOL_SIZE_DEFAULT);
+    if (poolSize <= 0) {
+      return null;
+    }
+    int batchSize = configuration.getInt(OZONE_OM_BLOCK_POOL_REFILL_BATCH_SIZE,
+        OZONE_OM_BLOCK_POOL_REFILL_BATCH_SIZE_DEFAULT);
+    long expiry = configuration.getTimeDuration(OZONE_OM_BLOCK_POOL_EXPIRY,
+        OZONE_OM_BLOCK_POOL_EXPIRY_DEFAULT.getDuration(),
+        TimeUnit.MILLISECONDS);
+    long checkInterval = configuration.getTimeDuration(
+        OZONE_OM_BLOCK_POOL_PIPELINE_CHECK_INTERVAL,
+        OZONE_OM_BLOCK_POOL_PIPELINE_CHECK_INTERVAL_DEFAULT.getDuration(),
+        TimeUnit.MILLISECONDS);
+    return new ScmBlockPool(blockClient, containerClient, poolSize,
+        batchSize, expiry, checkInterval);
   }
 
   static LoadingCache<Long, Pipeline> createContainerLocationCache(
@@ -101,6 +133,13 @@ public ScmBlockLocationProtocol getBlockClient() {
     return this.blockClient;
   }
 
+  /**
+   * @return blocks pre-allocated from SCM, or null if disabled
+   */
+  public ScmBlockPool getBlockPool() {
+    return blockPool;
+  }
+
   public StorageContainerLocationProtocol getContainerClient() {
     return this.containerClient;
   }
@@ -148,6 +187,9 @@ private <T> T handleCacheExecutionException(ExecutionException e)
 
   public void close() {
     containerCacheMetrics.unregister();
+    if (blockPool != null) {
+      blockPool.close();
+    }
   }
 
 }
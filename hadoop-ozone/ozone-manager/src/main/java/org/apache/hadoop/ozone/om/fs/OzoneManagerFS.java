@@ -22,6 +22,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+import org.apache.hadoop.ozone.om.helpers.OzoneFileStatusLight;
 
 import java.io.IOException;
 import java.util.List;
@@ -117,4 +118,14 @@ List<OzoneFileStatus> listStatus(OmKeyArgs keyArgs, boolean recursive,
       String startKey, long numEntries, String clientAddress,
       boolean allowPartialPrefixes)
           throws IOException;
+
+  /**
+   * Lightweight version of
+   * {@link #listStatus(OmKeyArgs, boolean, String, long, String, boolean)},
+   * which does not return the locations of the files.
+   */
+  List<OzoneFileStatusLight> listStatusLight(OmKeyArgs keyArgs,
+      boolean recursive, String startKey, long numEntries,
+      String clientAddress, boolean allowPartialPrefixes)
+          throws IOException;
 }
@@ -0,0 +1,269 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.om.lock;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.KEY_PATH_LOCK;
+
+/**
+ * Implementation of OzoneLockStrategy interface. Concrete strategy for FSO
+ * KEY_PATH_LOCK.
+ * <p>
+ * Like for OBS, the bucket read lock acts as intention lock, so requests
+ * which still take the bucket write lock (e.g. rename, delete, directory
+ * create) exclude key path lock holders.  Within the bucket, the locks are
+ * taken on (parent object ID, name) path components: a read lock, acting
+ * as intention lock, on each existing parent directory of the key, and the
+ * requested lock on the key itself.  Creating a file may also create its
+ * missing parent directories, so if a parent is missing, the requested
+ * lock is taken on the first missing one instead of the key.
+ * <p>
+ * The path is resolved before locking, so it is resolved again once the
+ * locks are held, and the locks are taken again if a concurrent request
+ * created a parent directory meanwhile.  All the locks of a request are
+ * acquired together, see {@link IOzoneManagerLock#acquireMultiLock}, so
+ * that requests cannot deadlock on lock stripes.
+ */
+public class FSOKeyPathLockStrategy implements OzoneLockStrategy {
+
+  /**
+   * Locks held by the requests of the thread, by key.  The request may
+   * create the missing parent directories of the key, so the locks to
+   * release cannot be resolved again.
+   */
+  private static final ThreadLocal<Map<String, PathLocks>> HELD_LOCKS =
+      ThreadLocal.withInitial(HashMap::new);
+
+  @Override
+  public OMLockDetails acquireWriteLock(OMMetadataManager omMetadataManager,
+                                  String volumeName, String bucketName,
+                                  String keyName) throws IOException {
+    return acquireLock(omMetadataManager, volumeName, bucketName, keyName,
+        true);
+  }
+
+  @Override
+  public OMLockDetails releaseWriteLock(OMMetadataManager omMetadataManager,
+                               String volumeName, String bucketName,
+                               String keyName) {
+    return releaseLock(omMetadataManager, volumeName, bucketName, keyName);
+  }
+
+  @Override
+  public OMLockDetails acquireReadLock(OMMetadataManager omMetadataManager,
+                                 String volumeName, String bucketName,
+                                 String keyName) throws IOException {
+    return acquireLock(omMetadataManager, volumeName, bucketName, keyName,
+        false);
+  }
+
+  @Override
+  public OMLockDetails releaseReadLock(OMMetadataManager omMetadataManager,
+                              String volumeName, String bucketName,
+                              String keyName) {
+    return releaseLock(omMetadataManager, volumeName, bucketName, keyName);
+  }
+
+  private OMLockDetails acquireLock(OMMetadataManager omMetadataManager,
+      String volumeName, String bucketName, String keyName, boolean write)
+      throws IOException {
+    OMFileRequest.validateBucket(omMetadataManager, volumeName, bucketName);
+
+    IOzoneManagerLock lock = omMetadataManager.getLock();
+    OMLockDetails omLockDetails = lock.acquireReadLock(
+        BUCKET_LOCK, volumeName, bucketName);
+
+    Preconditions.checkArgument(omLockDetails.isLockAcquired(),
+        "BUCKET_LOCK should be acquired!");
+
+    PathLocks locked = null;
+    try {
+      PathLocks locks = resolvePath(omMetadataManager, volumeName,
+          bucketName, keyName, write);
+      while (true) {
+        omLockDetails.merge(lock.acquireMultiLock(KEY_PATH_LOCK,
+            locks.getReadLocks(), locks.getWriteLocks()));
+        locked = locks;
+        locks = resolvePath(omMetadataManager, volumeName, bucketName,
+            keyName, write);
+        if (locks.equals(locked)) {
+          break;
+        }
+        // a concurrent request created a parent directory meanwhile
+        lock.releaseMultiLock(KEY_PATH_LOCK,
+            locked.getReadLocks(), locked.getWriteLocks());
+        locked = null;
+      }
+    } catch (IOException | RuntimeException e) {
+      if (locked != null) {
+        lock.releaseMultiLock(KEY_PATH_LOCK,
+            locked.getReadLocks(), locked.getWriteLocks());
+      }
+      lock.releaseReadLock(BUCKET_LOCK, volumeName, bucketName);
+      throw e;
+    }
+    HELD_LOCKS.get().put(
+        getHeldKey(volumeName, bucketName, keyName), locked);
+    return omLockDetails;
+  }
+
+  private OMLockDetails releaseLock(OMMetadataManager omMetadataManager,
+      String volumeName, String bucketName, String keyName) {
+    Map<String, PathLocks> heldLocks = HELD_LOCKS.get();
+    PathLocks locks = heldLocks.remove(
+        getHeldKey(volumeName, bucketName, keyName));
+    Preconditions.checkState(locks != null,
+        "KEY_PATH_LOCK is not held for " + keyName);
+    if (heldLocks.isEmpty()) {
+      HELD_LOCKS.remove();
+    }
+
+    OMLockDetails omLockDetails = omMetadataManager.getLock()
+        .releaseMultiLock(KEY_PATH_LOCK,
+            locks.getReadLocks(), locks.getWriteLocks());
+    omLockDetails.merge(omMetadataManager.getLock()
+        .releaseReadLock(BUCKET_LOCK, volumeName, bucketName));
+    return omLockDetails;
+  }
+
+  private static String getHeldKey(String volumeName, String bucketName,
+      String keyName) {
+    return volumeName + OzoneConsts.OM_KEY_PREFIX + bucketName
+        + OzoneConsts.OM_KEY_PREFIX + keyName;
+  }
+
+  /**
+   * @return the locks to take for the key, given the directories which
+   *         currently exist
+   */
+  @VisibleForTesting
+  static PathLocks resolvePath(OMMetadataManager omMetadataManager,
+      String volumeName, String bucketName, String keyName, boolean write)
+      throws IOException {
+    final long volumeId = omMetadataManager.getVolumeId(volumeName);
+    final long bucketId = omMetadataManager.getBucketId(volumeName,
+        bucketName);
+
+    List<String> parents = new ArrayList<>();
+    long parentId = bucketId;
+    Iterator<Path> elements = Paths.get(keyName).iterator();
+    while (elements.hasNext()) {
+      String fileName = elements.next().toString();
+      String path = parentId + OzoneConsts.OM_KEY_PREFIX + fileName;
+      if (!elements.hasNext()) {
+        return new PathLocks(volumeName, bucketName, parents, path, write);
+      }
+      OmDirectoryInfo omDirInfo = omMetadataManager.getDirectoryTable().get(
+          omMetadataManager.getOzonePathKey(volumeId, bucketId, parentId,
+              fileName));
+      if (omDirInfo == null) {
+        // the request may create the missing parent directories
+        return new PathLocks(volumeName, bucketName, parents, path, write);
+      }
+      parents.add(path);
+      parentId = omDirInfo.getObjectID();
+    }
+    return new PathLocks(volumeName, bucketName, parents,
+        String.valueOf(bucketId), write);
+  }
+
+  /**
+   * The KEY_PATH_LOCKs of a request: read locks on the parent directories,
+   * and the requested lock on the key or its first missing parent.
+   */
+  @VisibleForTesting
+  static final class PathLocks {
+    private final String volumeName;
+    private final String bucketName;
+    private final List<String> parents;
+    private final String path;
+    private final boolean write;
+
+    private PathLocks(String volumeName, String bucketName,
+        List<String> parents, String path, boolean write) {
+      this.volumeName = volumeName;
+      this.bucketName = bucketName;
+      this.parents = parents;
+      this.path = path;
+      this.write = write;
+    }
+
+    List<String> getParents() {
+      return parents;
+    }
+
+    String getPath() {
+      return path;
+    }
+
+    List<String[]> getReadLocks() {
+      List<String[]> locks = new ArrayList<>(parents.size() + 1);
+      for (String parent : parents) {
+        locks.add(new String[] {volumeName, bucketName, parent});
+      }
+      if (!write) {
+        locks.add(new String[] {volumeName, bucketName, path});
+      }
+      return locks;
+    }
+
+    List<String[]> getWriteLocks() {
+      return write
+          ? Collections.singletonList(
+              new String[] {volumeName, bucketName, path})
+          : Collections.emptyList();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PathLocks)) {
+        return false;
+      }
+      PathLocks that = (PathLocks) o;
+      return write == that.write && path.equals(that.path)
+          && parents.equals(that.parents)
+          && volumeName.equals(that.volumeName)
+          && bucketName.equals(that.bucketName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(volumeName, bucketName, parents, path, write);
+    }
+  }
+}
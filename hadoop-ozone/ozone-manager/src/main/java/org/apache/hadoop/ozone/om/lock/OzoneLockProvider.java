@@ -36,10 +36,12 @@ public OzoneLockProvider(boolean keyPathLockEnabled,
 
   public OzoneLockStrategy createLockStrategy(BucketLayout bucketLayout) {
 
-    // TODO: This can be extended to support FSO, LEGACY_FS in the future.
+    // TODO: This can be extended to support LEGACY_FS in the future.
     if (keyPathLockEnabled) {
       if (bucketLayout == BucketLayout.OBJECT_STORE) {
         return new OBSKeyPathLockStrategy();
+      } else if (bucketLayout == BucketLayout.FILE_SYSTEM_OPTIMIZED) {
+        return new FSOKeyPathLockStrategy();
       } else if (!enableFileSystemPaths &&
           bucketLayout == BucketLayout.LEGACY) {
         // old pre-created bucket with enableFileSystemPaths = false.
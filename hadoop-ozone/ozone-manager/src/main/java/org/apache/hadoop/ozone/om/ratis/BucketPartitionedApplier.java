@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.util.concurrent.HadoopExecutors;
+import org.apache.ratis.server.protocol.TermIndex;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies transactions of different buckets concurrently.
+ * <p>
+ * Key requests are assigned to a partition by their bucket, and each
+ * partition applies its transactions in log order on its own thread, so
+ * the transactions of a bucket are applied in the same order on all OMs.
+ * All other requests (volume, bucket, snapshot, tenant, purge, etc.) are
+ * barriers: they are applied alone, after all earlier transactions, and
+ * before any later one.
+ * <p>
+ * Responses are published (i.e. added to the double buffer) in log order,
+ * regardless of the order in which transactions finish.  The double buffer
+ * thus only ever flushes a contiguous prefix of the log, keeping the last
+ * applied index and the OM DB transaction info correct.  Likewise, the
+ * future of a transaction, which Ratis sees as applied once completed, is
+ * only completed after all earlier transactions are applied.
+ * <p>
+ * Requests are partitioned by the bucket named in the request.  Most key
+ * requests name the bucket resolved from bucket links by preExecute on the
+ * leader, but DeleteKeys and RenameKeys only resolve links while applied,
+ * so they are barriers, like all requests which may touch more than one
+ * bucket.
+ * <p>
+ * {@link #apply} must be called in log order, as done by Ratis.
+ */
+final class BucketPartitionedApplier {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(BucketPartitionedApplier.class);
+
+  private final ExecutorService[] partitions;
+  private final ExecutorService barrierExecutor;
+  private final BiConsumer<OMClientResponse, TermIndex> publisher;
+  /** Last transaction of each partition, guarded by this. */
+  private final CompletableFuture<?>[] tails;
+  /** Transactions being applied, in log order, guarded by this. */
+  private final Deque<Slot> inFlight = new ArrayDeque<>();
+
+  /**
+   * @param partitionCount number of buckets applied concurrently
+   * @param threadPrefix prefix of the thread names
+   * @param publisher called with the response of each transaction in log
+   *                  order
+   */
+  BucketPartitionedApplier(int partitionCount, String threadPrefix,
+      BiConsumer<OMClientResponse, TermIndex> publisher) {
+    this.publisher = publisher;
+    this.partitions = new ExecutorService[partitionCount];
+    this.tails = new CompletableFuture<?>[partitionCount];
+    for (int i = 0; i < partitionCount; i++) {
+      partitions[i] = HadoopExecutors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat(threadPrefix
+                  + "OMStateMachineApplyTransactionThread-" + i)
+              .build());
+      tails[i] = CompletableFuture.completedFuture(null);
+    }
+    this.barrierExecutor = HadoopExecutors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat(threadPrefix
+                + "OMStateMachineApplyTransactionThread-barrier")
+            .build());
+  }
+
+  /**
+   * Apply the transaction after the earlier ones it depends on.
+   *
+   * @param request the request of the transaction
+   * @param termIndex the log entry of the transaction
+   * @param task applies the transaction, returning the response to publish,
+   *             or null if none
+   * @return the future response of the transaction
+   */
+  synchronized CompletableFuture<OMClientResponse> apply(OMRequest request,
+      TermIndex termIndex, Supplier<OMClientResponse> task) {
+    final Slot slot = new Slot(termIndex);
+    inFlight.addLast(slot);
+    final Supplier<OMClientResponse> applyAndPublish = () -> {
+      OMClientResponse response = null;
+      Throwable failure = null;
+      try {
+        response = task.get();
+        return response;
+      } catch (RuntimeException | Error e) {
+        failure = e;
+        throw e;
+      } finally {
+        // later transactions must not wait forever, even if this one failed
+        complete(slot, response, failure);
+      }
+    };
+
+    final String bucket = getBucketKey(request);
+    if (bucket == null) {
+      final CompletableFuture<OMClientResponse> future =
+          CompletableFuture.allOf(tails)
+              .handleAsync((r, e) -> applyAndPublish.get(), barrierExecutor);
+      Arrays.fill(tails, future);
+    } else {
+      final int i = Math.floorMod(bucket.hashCode(), partitions.length);
+      tails[i] = tails[i]
+          .handleAsync((r, e) -> applyAndPublish.get(), partitions[i]);
+    }
+    return slot.applied;
+  }
+
+  /**
+   * Publish the responses of all transactions applied up to the gap, and
+   * complete their futures.
+   */
+  private void complete(Slot slot, OMClientResponse response,
+      Throwable failure) {
+    final List<Slot> applied = new ArrayList<>();
+    synchronized (this) {
+      slot.response = response;
+      slot.failure = failure;
+      slot.done = true;
+      while (!inFlight.isEmpty() && inFlight.peekFirst().done) {
+        final Slot head = inFlight.pollFirst();
+        if (head.response != null) {
+          publisher.accept(head.response, head.termIndex);
+        }
+        applied.add(head);
+      }
+    }
+    // outside the lock, since dependent stages run in this thread
+    for (Slot head : applied) {
+      if (head.failure != null) {
+        head.applied.completeExceptionally(head.failure);
+      } else {
+        head.applied.complete(head.response);
+      }
+    }
+  }
+
+  void stop() {
+    for (ExecutorService executor : partitions) {
+      HadoopExecutors.shutdown(executor, LOG, 5, TimeUnit.SECONDS);
+    }
+    HadoopExecutors.shutdown(barrierExecutor, LOG, 5, TimeUnit.SECONDS);
+  }
+
+  @VisibleForTesting
+  int getPartitionCount() {
+    return partitions.length;
+  }
+
+  /**
+   * @return the bucket the request is limited to, or null if it must be
+   *         applied as a barrier
+   */
+  @VisibleForTesting
+  static String getBucketKey(OMRequest request) {
+    final KeyArgs keyArgs;
+    switch (request.getCmdType()) {
+    case CreateDirectory:
+      keyArgs = request.getCreateDirectoryRequest().getKeyArgs();
+      break;
+    case CreateFile:
+      keyArgs = request.getCreateFileRequest().getKeyArgs();
+      break;
+    case CreateKey:
+      keyArgs = request.getCreateKeyRequest().getKeyArgs();
+      break;
+    case AllocateBlock:
+      keyArgs = request.getAllocateBlockRequest().getKeyArgs();
+      break;
+    case CommitKey:
+      keyArgs = request.getCommitKeyRequest().getKeyArgs();
+      break;
+    case DeleteKey:
+      keyArgs = request.getDeleteKeyRequest().getKeyArgs();
+      break;
+    case RenameKey:
+      keyArgs = request.getRenameKeyRequest().getKeyArgs();
+      break;
+    case InitiateMultiPartUpload:
+      keyArgs = request.getInitiateMultiPartUploadRequest().getKeyArgs();
+      break;
+    case CommitMultiPartUpload:
+      keyArgs = request.getCommitMultiPartUploadRequest().getKeyArgs();
+      break;
+    case AbortMultiPartUpload:
+      keyArgs = request.getAbortMultiPartUploadRequest().getKeyArgs();
+      break;
+    case CompleteMultiPartUpload:
+      keyArgs = request.getCompleteMultiPartUploadRequest().getKeyArgs();
+      break;
+    case SetTimes:
+      keyArgs = request.getSetTimesRequest().getKeyArgs();
+      break;
+    case RecoverLease:
+      return bucketKey(request.getRecoverLeaseRequest().getVolumeName(),
+          request.getRecoverLeaseRequest().getBucketName());
+    default:
+      return null;
+    }
+    return bucketKey(keyArgs.getVolumeName(), keyArgs.getBucketName());
+  }
+
+  private static String bucketKey(String volume, String bucket) {
+    return volume + "/" + bucket;
+  }
+
+  /** A transaction being applied. */
+  private static final class Slot {
+    private final TermIndex termIndex;
+    /** Completed in log order, after all earlier transactions. */
+    private final CompletableFuture<OMClientResponse> applied =
+        new CompletableFuture<>();
+    private OMClientResponse response;
+    private Throwable failure;
+    private boolean done;
+
+    Slot(TermIndex termIndex) {
+      this.termIndex = termIndex;
+    }
+  }
+}
@@ -63,6 +63,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.util.Time;
 
 import org.apache.ratis.conf.Parameters;
 import org.apache.ratis.conf.RaftProperties;
@@ -120,6 +121,10 @@ public final class OzoneManagerRatisServer {
   private final OzoneManagerStateMachine omStateMachine;
   private final String ratisStorageDir;
   private final OMPerformanceMetrics perfMetrics;
+  private final boolean followerReadEnabled;
+  // start time of the last successful read index request
+  private final AtomicLong lastReadIndexTime =
+      new AtomicLong(Long.MIN_VALUE);
 
   private final ClientId clientId = ClientId.randomId();
   private static final AtomicLong CALL_ID_COUNTER = new AtomicLong();
@@ -187,6 +192,7 @@ private OzoneManagerRatisServer(ConfigurationSource conf, OzoneManager om,
       }
     });
     this.perfMetrics = om.getPerfMetrics();
+    this.followerReadEnabled = isFollowerReadEnabled(conf);
   }
 
   /**
@@ -327,6 +333,58 @@ private RaftClientReply submitRequestToRatisImpl(
     }
   }
 
+  /**
+   * Wait until this OM has applied all transactions committed before the
+   * call, so that a read served afterwards is linearizable even if this OM
+   * is a follower.  Uses the Ratis ReadIndex protocol: the commit index is
+   * obtained from the leader, and the read request, which carries no
+   * message, completes once the state machine has applied it.
+   *
+   * @throws ServiceException with {@link OMNotLeaderException} if the read
+   *         index could not be obtained, e.g. follower reads are disabled
+   */
+  public void waitForReadIndex() throws ServiceException {
+    final long startTime = Time.monotonicNow();
+    final RaftClientRequest raftClientRequest = RaftClientRequest.newBuilder()
+        .setClientId(clientId)
+        .setServerId(server.getId())
+        .setGroupId(raftGroupId)
+        .setCallId(nextCallId())
+        .setMessage(Message.EMPTY)
+        .setType(RaftClientRequest.readRequestType())
+        .build();
+    final RaftClientReply reply = captureLatencyNs(
+        perfMetrics.getReadIndexLatencyNs(),
+        () -> submitRequestToRatisImpl(raftClientRequest));
+    if (!reply.isSuccess()) {
+      LOG.debug("Failed to get read index: {}", reply);
+      throw new ServiceException(newOMNotLeaderException());
+    }
+    // all transactions committed before the start are applied now
+    lastReadIndexTime.accumulateAndGet(startTime, Math::max);
+  }
+
+  public boolean isFollowerReadEnabled() {
+    return followerReadEnabled;
+  }
+
+  /**
+   * Get how far the state of this follower OM may be behind the leader: the
+   * time since the start of the last {@link #waitForReadIndex}, since this
+   * OM has applied all transactions committed by the leader before then.
+   *
+   * @return staleness in milliseconds, or {@link Long#MAX_VALUE} if this OM
+   *         is not a follower or has not caught up with the leader yet
+   */
+  public long getStalenessMs() {
+    if (!getServerDivision().getInfo().isFollower()) {
+      return Long.MAX_VALUE;
+    }
+    final long caughtUp = lastReadIndexTime.get();
+    return caughtUp == Long.MIN_VALUE ? Long.MAX_VALUE
+        : Time.monotonicNow() - caughtUp;
+  }
+
   /**
    * Add new OM to the Ratis ring.
    */
@@ -643,6 +701,8 @@ public static RaftProperties newRaftProperties(ConfigurationSource conf,
 
     setRaftCloseThreshold(properties, conf);
 
+    setRaftReadProperties(properties, conf);
+
     getOMHAConfigs(conf).forEach(properties::set);
     return properties;
   }
@@ -766,6 +826,43 @@ private static void setRaftCloseThreshold(RaftProperties properties, Configurati
     RaftServerConfigKeys.setCloseThreshold(properties, closeThreshold);
   }
 
+  private static void setRaftReadProperties(RaftProperties properties, ConfigurationSource conf) {
+    // Reads on the leader are served directly, not through Ratis, so the
+    // option only affects the ReadIndex requests of follower reads.
+    final RaftServerConfigKeys.Read.Option option = getReadOption(conf);
+    RaftServerConfigKeys.Read.setOption(properties, option);
+    if (option == RaftServerConfigKeys.Read.Option.LINEARIZABLE) {
+      RaftServerConfigKeys.Read.setLeaderLeaseEnabled(properties, conf.getBoolean(
+          OMConfigKeys.OZONE_OM_FOLLOWER_READ_LEADER_LEASE_ENABLED,
+          OMConfigKeys.OZONE_OM_FOLLOWER_READ_LEADER_LEASE_ENABLED_DEFAULT));
+    }
+  }
+
+  private static RaftServerConfigKeys.Read.Option getReadOption(ConfigurationSource conf) {
+    return RaftServerConfigKeys.Read.Option.valueOf(conf.getTrimmed(
+        OMConfigKeys.OZONE_OM_RATIS_SERVER_READ_OPTION,
+        OMConfigKeys.OZONE_OM_RATIS_SERVER_READ_OPTION_DEFAULT)
+        .toUpperCase());
+  }
+
+  /**
+   * Follower reads use ReadIndex, which requires linearizable Ratis reads.
+   */
+  private static boolean isFollowerReadEnabled(ConfigurationSource conf) {
+    if (!conf.getBoolean(OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED,
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED_DEFAULT)) {
+      return false;
+    }
+    if (getReadOption(conf) != RaftServerConfigKeys.Read.Option.LINEARIZABLE) {
+      LOG.warn("{} is ignored, since {} is not {}",
+          OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED,
+          OMConfigKeys.OZONE_OM_RATIS_SERVER_READ_OPTION,
+          RaftServerConfigKeys.Read.Option.LINEARIZABLE);
+      return false;
+    }
+    return true;
+  }
+
   private static Map<String, String> getOMHAConfigs(
       ConfigurationSource configuration) {
     return configuration
@@ -42,6 +42,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
 import org.apache.hadoop.ozone.protocolPB.OzoneManagerRequestHandler;
 import org.apache.hadoop.ozone.protocolPB.RequestHandler;
 import org.apache.hadoop.security.UserGroupInformation;
@@ -90,6 +91,8 @@ public class OzoneManagerStateMachine extends BaseStateMachine {
   private RaftGroupId raftGroupId;
   private volatile OzoneManagerDoubleBuffer ozoneManagerDoubleBuffer;
   private final ExecutorService executorService;
+  // applies transactions of different buckets concurrently, null if disabled
+  private final BucketPartitionedApplier partitionedApplier;
   private final ExecutorService installSnapshotExecutor;
   private final boolean isTracingEnabled;
   private final AtomicInteger statePausedCount = new AtomicInteger(0);
@@ -115,6 +118,13 @@ public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
         .setNameFormat(threadPrefix +
             "OMStateMachineApplyTransactionThread - %d").build();
     this.executorService = HadoopExecutors.newSingleThreadExecutor(build);
+    final int applyPartitions = ozoneManager.getConfiguration().getInt(
+        OMConfigKeys.OZONE_OM_APPLY_TRANSACTION_PARTITIONS,
+        OMConfigKeys.OZONE_OM_APPLY_TRANSACTION_PARTITIONS_DEFAULT);
+    this.partitionedApplier = applyPartitions > 1
+        ? new BucketPartitionedApplier(applyPartitions, threadPrefix,
+            this::addToDoubleBuffer)
+        : null;
 
     ThreadFactory installSnapshotThreadFactory = new ThreadFactoryBuilder()
         .setNameFormat(threadPrefix + "InstallSnapshotThread").build();
@@ -342,18 +352,22 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
       // applyTransaction will be run on multiple OM's we want to execute the
       // transactions in the same order on all OM's, otherwise there is a
       // chance that OM replica's can be out of sync.
-      // TODO: In this way we are making all applyTransactions in
-      // OM serial order. Revisit this in future to use multiple executors for
-      // volume/bucket.
-
-      // Reason for not immediately implementing executor per volume is, if
-      // one executor operations are slow, we cannot update the
-      // lastAppliedIndex in OzoneManager StateMachine, even if other
-      // executor has completed the transactions with id more.
+      // With ozone.om.apply.transaction.partitions > 1, transactions of
+      // different buckets are applied concurrently, while the transactions
+      // of each bucket are still applied in log order, see
+      // BucketPartitionedApplier.  Responses are then added to the double
+      // buffer, and the futures completed, in log order, so that the
+      // lastAppliedIndex only covers transactions which are all applied.
 
       //if there are too many pending requests, wait for doubleBuffer flushing
       ozoneManagerDoubleBuffer.acquireUnFlushedTransactions(1);
 
+      if (partitionedApplier != null) {
+        return partitionedApplier.apply(request, termIndex,
+                () -> applyWithoutAdding(request, termIndex))
+            .thenApply(this::toOMResponse)
+            .thenApply(this::processResponse);
+      }
       return CompletableFuture.supplyAsync(() -> runCommand(request, termIndex), executorService)
           .thenApply(this::processResponse);
     } catch (Exception e) {
@@ -391,6 +405,11 @@ private static void terminate(OMResponse omResponse, OMException.ResultCodes res
    */
   @Override
   public CompletableFuture<Message> query(Message request) {
+    if (request.getContent().isEmpty()) {
+      // ReadIndex of a follower read, see
+      // OzoneManagerRatisServer#waitForReadIndex
+      return CompletableFuture.completedFuture(Message.EMPTY);
+    }
     try {
       OMRequest omRequest = OMRatisHelper.convertByteStringToOMRequest(
           request.getContent());
@@ -538,14 +557,7 @@ private OMResponse runCommand(OMRequest request, TermIndex termIndex) {
     try {
       final OMClientResponse omClientResponse = handler.handleWriteRequest(
           request, termIndex, ozoneManagerDoubleBuffer);
-      OMLockDetails omLockDetails = omClientResponse.getOmLockDetails();
-      OMResponse omResponse = omClientResponse.getOMResponse();
-      if (omLockDetails != null) {
-        return omResponse.toBuilder()
-            .setOmLockDetails(omLockDetails.toProtobufBuilder()).build();
-      } else {
-        return omResponse;
-      }
+      return toOMResponse(omClientResponse);
     } catch (IOException e) {
       LOG.warn("Failed to write, Exception occurred ", e);
       return createErrorResponse(request, e, termIndex);
@@ -557,8 +569,59 @@ private OMResponse runCommand(OMRequest request, TermIndex termIndex) {
     return null;
   }
 
+  private OMResponse toOMResponse(OMClientResponse omClientResponse) {
+    OMLockDetails omLockDetails = omClientResponse.getOmLockDetails();
+    OMResponse omResponse = omClientResponse.getOMResponse();
+    if (omLockDetails != null) {
+      return omResponse.toBuilder()
+          .setOmLockDetails(omLockDetails.toProtobufBuilder()).build();
+    } else {
+      return omResponse;
+    }
+  }
+
+  /**
+   * Same as {@link #runCommand}, but leaves adding the response to the
+   * double buffer to the caller, see {@link #addToDoubleBuffer}.
+   */
+  private OMClientResponse applyWithoutAdding(OMRequest request,
+      TermIndex termIndex) {
+    try {
+      return handler.handleWriteRequestImpl(request, termIndex);
+    } catch (IOException e) {
+      LOG.warn("Failed to write, Exception occurred ", e);
+      return new DummyOMClientResponse(errorResponse(request, e));
+    } catch (Throwable e) {
+      // For any Runtime exceptions, terminate OM.
+      String errorMessage = "Request " + request + " failed with exception";
+      ExitUtils.terminate(1, errorMessage, e, LOG);
+    }
+    return null;
+  }
+
+  /**
+   * Add the response of an applied transaction to the double buffer, like
+   * {@link RequestHandler#handleWriteRequest} and
+   * {@link #createErrorResponse} do.
+   */
+  private void addToDoubleBuffer(OMClientResponse response,
+      TermIndex termIndex) {
+    if (response.getOMResponse().getCmdType() != Type.Prepare
+        || response instanceof DummyOMClientResponse) {
+      ozoneManagerDoubleBuffer.add(response, termIndex);
+    }
+  }
+
   private OMResponse createErrorResponse(
       OMRequest omRequest, IOException exception, TermIndex termIndex) {
+    OMResponse omResponse = errorResponse(omRequest, exception);
+    OMClientResponse omClientResponse = new DummyOMClientResponse(omResponse);
+    ozoneManagerDoubleBuffer.add(omClientResponse, termIndex);
+    return omResponse;
+  }
+
+  private static OMResponse errorResponse(OMRequest omRequest,
+      IOException exception) {
     OMResponse.Builder omResponseBuilder = OMResponse.newBuilder()
         .setStatus(OzoneManagerRatisUtils.exceptionToResponseStatus(exception))
         .setCmdType(omRequest.getCmdType())
@@ -567,10 +630,7 @@ private OMResponse createErrorResponse(
     if (exception.getMessage() != null) {
       omResponseBuilder.setMessage(exception.getMessage());
     }
-    OMResponse omResponse = omResponseBuilder.build();
-    OMClientResponse omClientResponse = new DummyOMClientResponse(omResponse);
-    ozoneManagerDoubleBuffer.add(omClientResponse, termIndex);
-    return omResponse;
+    return omResponseBuilder.build();
   }
 
   public void loadSnapshotInfoFromDB() throws IOException {
@@ -619,6 +679,9 @@ public OzoneManagerRequestHandler getHandler() {
   public void stop() {
     ozoneManagerDoubleBuffer.stop();
     HadoopExecutors.shutdown(executorService, LOG, 5, TimeUnit.SECONDS);
+    if (partitionedApplier != null) {
+      partitionedApplier.stop();
+    }
     HadoopExecutors.shutdown(installSnapshotExecutor, LOG, 5, TimeUnit.SECONDS);
   }
 
@@ -51,8 +51,6 @@
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
-
 /**
  * Handles create file request layout version1.
  */
@@ -115,8 +113,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
       }
 
       // acquire lock
-      mergeOmLockDetails(omMetadataManager.getLock()
-          .acquireWriteLock(BUCKET_LOCK, volumeName, bucketName));
+      mergeOmLockDetails(getOzoneLockStrategy(ozoneManager)
+          .acquireWriteLock(omMetadataManager, volumeName, bucketName,
+              keyName));
       acquiredLock = getOmLockDetails().isLockAcquired();
 
       validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
@@ -192,10 +191,13 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
       long preAllocatedSpace =
           newLocationList.size() * ozoneManager.getScmBlockSize() * repConfig
               .getRequiredNodes();
-      checkBucketQuotaInBytes(omMetadataManager, omBucketInfo,
-          preAllocatedSpace);
-      checkBucketQuotaInNamespace(omBucketInfo, numKeysCreated + 1L);
-      omBucketInfo.incrUsedNamespace(numKeysCreated);
+      // concurrent key path lock holders update the usage of the bucket
+      synchronized (omBucketInfo) {
+        checkBucketQuotaInBytes(omMetadataManager, omBucketInfo,
+            preAllocatedSpace);
+        checkBucketQuotaInNamespace(omBucketInfo, numKeysCreated + 1L);
+        omBucketInfo.incrUsedNamespace(numKeysCreated);
+      }
 
       // Add to cache entry can be done outside of lock for this openKey.
       // Even if bucket gets deleted, when commitKey we shall identify if
@@ -232,8 +234,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
             omResponse, exception), getBucketLayout());
     } finally {
       if (acquiredLock) {
-        mergeOmLockDetails(omMetadataManager.getLock()
-            .releaseWriteLock(BUCKET_LOCK, volumeName, bucketName));
+        mergeOmLockDetails(getOzoneLockStrategy(ozoneManager)
+            .releaseWriteLock(omMetadataManager, volumeName, bucketName,
+                keyName));
       }
       if (omClientResponse != null) {
         omClientResponse.setOmLockDetails(getOmLockDetails());
@@ -56,7 +56,6 @@
 import java.util.Map;
 
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.KEY_NOT_FOUND;
-import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
 
 /**
  * Handles allocate block request - prefix layout.
@@ -129,9 +128,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
       List<OmKeyLocationInfo> newLocationList = Collections.singletonList(
               OmKeyLocationInfo.getFromProtobuf(blockLocation));
 
-      mergeOmLockDetails(
-          omMetadataManager.getLock().acquireWriteLock(BUCKET_LOCK,
-              volumeName, bucketName));
+      mergeOmLockDetails(getOzoneLockStrategy(ozoneManager)
+          .acquireWriteLock(omMetadataManager, volumeName, bucketName,
+              keyName));
       acquiredLock = getOmLockDetails().isLockAcquired();
       omBucketInfo = getBucketInfo(omMetadataManager, volumeName, bucketName);
       // check bucket and volume quota
@@ -175,9 +174,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
               "Exception:{}", volumeName, bucketName, openKeyName, exception);
     } finally {
       if (acquiredLock) {
-        mergeOmLockDetails(
-            omMetadataManager.getLock().releaseWriteLock(
-                BUCKET_LOCK, volumeName, bucketName));
+        mergeOmLockDetails(getOzoneLockStrategy(ozoneManager)
+            .releaseWriteLock(omMetadataManager, volumeName, bucketName,
+                keyName));
       }
       if (omClientResponse != null) {
         omClientResponse.setOmLockDetails(getOmLockDetails());
@@ -54,7 +54,6 @@
 import java.util.Map;
 
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.KEY_NOT_FOUND;
-import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
 
 /**
  * Handles CommitKey request - prefix layout.
@@ -118,8 +117,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
       List<OmKeyLocationInfo>
           locationInfoList = getOmKeyLocationInfos(ozoneManager, commitKeyArgs);
 
-      mergeOmLockDetails(omMetadataManager.getLock()
-          .acquireWriteLock(BUCKET_LOCK, volumeName, bucketName));
+      mergeOmLockDetails(getOzoneLockStrategy(ozoneManager)
+          .acquireWriteLock(omMetadataManager, volumeName, bucketName,
+              keyName));
       bucketLockAcquired = getOmLockDetails().isLockAcquired();
 
       validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
@@ -190,17 +190,14 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
 
       // if keyToDelete isn't null, usedNamespace shouldn't check and
       // increase.
+      long namespaceToUse = 0;
       if (keyToDelete != null && (isHSync || isPreviousCommitHsync)) {
         correctedSpace -= keyToDelete.getReplicatedSize();
-        checkBucketQuotaInBytes(omMetadataManager, omBucketInfo,
-            correctedSpace);
       } else if (keyToDelete != null && !omBucketInfo.getIsVersionEnabled()) {
         // Subtract the size of blocks to be overwritten.
         correctedSpace -= keyToDelete.getReplicatedSize();
         RepeatedOmKeyInfo oldVerKeyInfo = getOldVersionsToCleanUp(
             keyToDelete, trxnLogIndex, ozoneManager.isRatisEnabled());
-        checkBucketQuotaInBytes(omMetadataManager, omBucketInfo,
-            correctedSpace);
         String delKeyName = omMetadataManager
             .getOzoneKey(volumeName, bucketName, fileName);
         // using pseudoObjId as objectId can be same in case of overwrite key
@@ -221,10 +218,18 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
           oldKeyVersionsToDeleteMap.put(delKeyName, oldVerKeyInfo);
         }
       } else {
-        checkBucketQuotaInNamespace(omBucketInfo, 1L);
+        namespaceToUse = 1L;
+      }
+
+      // concurrent key path lock holders update the usage of the bucket
+      synchronized (omBucketInfo) {
+        if (namespaceToUse > 0) {
+          checkBucketQuotaInNamespace(omBucketInfo, namespaceToUse);
+        }
         checkBucketQuotaInBytes(omMetadataManager, omBucketInfo,
             correctedSpace);
-        omBucketInfo.incrUsedNamespace(1L);
+        omBucketInfo.incrUsedNamespace(namespaceToUse);
+        omBucketInfo.incrUsedBytes(correctedSpace);
       }
 
       // let the uncommitted blocks pretend as key's old version blocks
@@ -256,8 +261,6 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
       OMFileRequest.addFileTableCacheEntry(omMetadataManager, dbFileKey,
               omKeyInfo, fileName, trxnLogIndex);
 
-      omBucketInfo.incrUsedBytes(correctedSpace);
-
       omClientResponse = new OMKeyCommitResponseWithFSO(omResponse.build(),
               omKeyInfo, dbFileKey, dbOpenFileKey, omBucketInfo.copyObject(),
           oldKeyVersionsToDeleteMap, volumeId, isHSync);
@@ -270,8 +273,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
               omResponse, exception), getBucketLayout());
     } finally {
       if (bucketLockAcquired) {
-        mergeOmLockDetails(omMetadataManager.getLock()
-            .releaseWriteLock(BUCKET_LOCK, volumeName, bucketName));
+        mergeOmLockDetails(getOzoneLockStrategy(ozoneManager)
+            .releaseWriteLock(omMetadataManager, volumeName, bucketName,
+                keyName));
       }
       if (omClientResponse != null) {
         omClientResponse.setOmLockDetails(getOmLockDetails());
@@ -50,7 +50,6 @@
 import java.util.stream.Collectors;
 
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.NOT_A_FILE;
-import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.Resource.BUCKET_LOCK;
 import static org.apache.hadoop.ozone.om.request.file.OMFileRequest.OMDirectoryResult.DIRECTORY_EXISTS;
 import static org.apache.hadoop.ozone.om.request.file.OMFileRequest.OMDirectoryResult.FILE_EXISTS_IN_GIVENPATH;
 
@@ -95,8 +94,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
     List<OmDirectoryInfo> missingParentInfos;
     int numKeysCreated = 0;
     try {
-      mergeOmLockDetails(omMetadataManager.getLock()
-          .acquireWriteLock(BUCKET_LOCK, volumeName, bucketName));
+      mergeOmLockDetails(getOzoneLockStrategy(ozoneManager)
+          .acquireWriteLock(omMetadataManager, volumeName, bucketName,
+              keyName));
       acquireLock = getOmLockDetails().isLockAcquired();
       validateBucketAndVolume(omMetadataManager, volumeName, bucketName);
 
@@ -177,10 +177,13 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
       long preAllocatedSpace =
           newLocationList.size() * ozoneManager.getScmBlockSize() * repConfig
               .getRequiredNodes();
-      checkBucketQuotaInBytes(omMetadataManager, omBucketInfo,
-          preAllocatedSpace);
-      checkBucketQuotaInNamespace(omBucketInfo, numKeysCreated + 1L);
-      omBucketInfo.incrUsedNamespace(numKeysCreated);
+      // concurrent key path lock holders update the usage of the bucket
+      synchronized (omBucketInfo) {
+        checkBucketQuotaInBytes(omMetadataManager, omBucketInfo,
+            preAllocatedSpace);
+        checkBucketQuotaInNamespace(omBucketInfo, numKeysCreated + 1L);
+        omBucketInfo.incrUsedNamespace(numKeysCreated);
+      }
 
       // Add to cache entry can be done outside of lock for this openKey.
       // Even if bucket gets deleted, when commitKey we shall identify if
@@ -218,8 +221,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, TermIn
               createErrorOMResponse(omResponse, exception), getBucketLayout());
     } finally {
       if (acquireLock) {
-        mergeOmLockDetails(omMetadataManager.getLock()
-            .releaseWriteLock(BUCKET_LOCK, volumeName, bucketName));
+        mergeOmLockDetails(getOzoneLockStrategy(ozoneManager)
+            .releaseWriteLock(omMetadataManager, volumeName, bucketName,
+                keyName));
       }
       if (omClientResponse != null) {
         omClientResponse.setOmLockDetails(getOmLockDetails());
@@ -79,6 +79,7 @@
 import org.apache.hadoop.ipc.Server;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.ScmBlockPool;
 import org.apache.hadoop.ozone.om.ScmClient;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.request.OMClientRequest;
@@ -201,11 +202,28 @@ protected List< OmKeyLocationInfo > allocateBlock(ScmClient scmClient,
 
     List<OmKeyLocationInfo> locationInfos = new ArrayList<>(numBlocks);
     String remoteUser = getRemoteUser().getShortUserName();
-    List<AllocatedBlock> allocatedBlocks;
+    List<AllocatedBlock> allocatedBlocks = null;
+    ScmBlockPool blockPool = scmClient.getBlockPool();
+    if (blockPool != null) {
+      if (excludeList.isEmpty()) {
+        allocatedBlocks = blockPool.take(scmBlockSize, numBlocks,
+            replicationConfig, serviceID);
+        if (allocatedBlocks != null) {
+          omMetrics.incNumBlockPoolHits();
+        } else {
+          omMetrics.incNumBlockPoolMisses();
+        }
+      } else {
+        // the client failed to write to these, do not hand them out again
+        blockPool.invalidate(excludeList);
+      }
+    }
     try {
-      allocatedBlocks = scmClient.getBlockClient()
-          .allocateBlock(scmBlockSize, numBlocks, replicationConfig, serviceID,
-              excludeList, clientMachine);
+      if (allocatedBlocks == null) {
+        allocatedBlocks = scmClient.getBlockClient()
+            .allocateBlock(scmBlockSize, numBlocks, replicationConfig,
+                serviceID, excludeList, clientMachine);
+      }
     } catch (SCMException ex) {
       omMetrics.incNumBlockAllocateCallFails();
       if (ex.getResult()
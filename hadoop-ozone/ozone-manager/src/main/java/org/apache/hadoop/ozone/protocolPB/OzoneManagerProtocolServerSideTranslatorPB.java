@@ -259,11 +259,39 @@ private OMResponse submitReadRequestToOM(OMRequest request)
     if (raftServerStatus == LEADER_AND_READY ||
         request.getCmdType().equals(PrepareStatus)) {
       return handler.handleReadRequest(request);
+    } else if (raftServerStatus == NOT_LEADER
+        && omRatisServer.isFollowerReadEnabled()
+        && OmUtils.isFollowerReadable(request)) {
+      return submitFollowerReadRequest(request);
     } else {
       throw createLeaderErrorException(raftServerStatus);
     }
   }
 
+  /**
+   * Serve the read on this follower, after catching up with the leader,
+   * unless the request tolerates the current staleness of this OM.
+   * The read itself is done by this handler thread, like on the leader, so
+   * that it is authorized as the caller.
+   */
+  private OMResponse submitFollowerReadRequest(OMRequest request)
+      throws ServiceException {
+    final long maxStalenessMs = OmUtils.getMaxStalenessMs(request);
+    if (maxStalenessMs > 0
+        && omRatisServer.getStalenessMs() <= maxStalenessMs) {
+      ozoneManager.getMetrics().incNumStaleReads();
+      return handler.handleReadRequest(request);
+    }
+    try {
+      omRatisServer.waitForReadIndex();
+    } catch (ServiceException e) {
+      ozoneManager.getMetrics().incNumFollowerReadFails();
+      throw e;
+    }
+    ozoneManager.getMetrics().incNumFollowerReads();
+    return handler.handleReadRequest(request);
+  }
+
   private ServiceException createLeaderErrorException(
       RaftServerStatus raftServerStatus) {
     if (raftServerStatus == NOT_LEADER) {
@@ -24,13 +24,19 @@
 import jakarta.annotation.Nonnull;
 import org.junit.jupiter.api.Test;
 
-import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * This class tests KeyInputStream and KeyOutputStream.
@@ -81,6 +87,94 @@ public void testErrorReadGroupInputStream() throws Exception {
     }
   }
 
+  @Test
+  public void testReadFullyRanges() throws Exception {
+    String dataString = RandomStringUtils.randomAscii(500);
+    byte[] data = dataString.getBytes(UTF_8);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (KeyInputStream groupInputStream = new KeyInputStream("key",
+        createInputStreams(dataString), () -> executor)) {
+      groupInputStream.seek(50);
+      // the third range spans two blocks, the last one ends at EOF
+      long[] positions = {10, 150, 190, 420};
+      int[] lengths = {20, 30, 50, 80};
+      List<ByteBuffer> buffers = new ArrayList<>();
+      for (int length : lengths) {
+        buffers.add(ByteBuffer.allocate(length));
+      }
+
+      groupInputStream.readFully(positions, buffers);
+
+      for (int i = 0; i < positions.length; i++) {
+        ByteBuffer buffer = buffers.get(i);
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+        assertEquals(ByteBuffer.wrap(data, (int) positions[i], lengths[i]),
+            buffer);
+      }
+      // the position of the stream is unchanged
+      assertEquals(50, groupInputStream.getPos());
+      byte[] resBuf = new byte[100];
+      assertEquals(100, groupInputStream.read(resBuf, 0, 100));
+      assertEquals(dataString.substring(50, 150), new String(resBuf, UTF_8));
+
+      assertThrows(EOFException.class, () -> groupInputStream.readFully(
+          new long[] {490}, singletonList(ByteBuffer.allocate(20))));
+
+      // the async read runs on the read executor
+      ByteBuffer buffer = ByteBuffer.allocate(100);
+      groupInputStream.readFullyAsync(new long[] {150},
+          singletonList(buffer)).get();
+      buffer.flip();
+      assertEquals(ByteBuffer.wrap(data, 150, 100), buffer);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testReadAhead() throws Exception {
+    String dataString = RandomStringUtils.randomAscii(500);
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setReadPrefetchBlocks(2);
+    // segments smaller than the reads, not aligned with the blocks
+    clientConfig.setReadPrefetchBufferSize(80);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (KeyInputStream groupInputStream = new KeyInputStream("key",
+        createInputStreams(dataString), () -> executor, clientConfig)) {
+      byte[] resBuf = new byte[500];
+      int pos = 0;
+      while (pos < 500) {
+        int len = groupInputStream.read(resBuf, pos, Math.min(37, 500 - pos));
+        pos += len;
+        assertEquals(pos, groupInputStream.getPos());
+      }
+      assertEquals(dataString, new String(resBuf, UTF_8));
+      assertEquals(-1, groupInputStream.read(resBuf, 0, 1));
+
+      // read after seeking back, then continue sequentially
+      groupInputStream.seek(120);
+      assertEquals(100, groupInputStream.read(resBuf, 0, 100));
+      assertEquals(dataString.substring(120, 220),
+          new String(resBuf, 0, 100, UTF_8));
+      assertEquals(250, groupInputStream.read(resBuf, 0, 250));
+      assertEquals(dataString.substring(220, 470),
+          new String(resBuf, 0, 250, UTF_8));
+
+      // positioned reads do not change the position
+      ByteBuffer buffer = ByteBuffer.allocate(30);
+      groupInputStream.readFully(new long[] {10}, singletonList(buffer));
+      assertEquals(ByteBuffer.wrap(dataString.getBytes(UTF_8), 10, 30),
+          (ByteBuffer) buffer.flip());
+      assertEquals(470, groupInputStream.getPos());
+      assertEquals(30, groupInputStream.read(resBuf, 0, 100));
+      assertEquals(dataString.substring(470),
+          new String(resBuf, 0, 30, UTF_8));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Nonnull
   private List<BlockInputStream> createInputStreams(String dataString) throws IOException {
     byte[] buf = dataString.getBytes(UTF_8);
@@ -100,12 +194,10 @@ private BlockInputStream createStream(byte[] buf, int offset) throws IOException
     return new BlockInputStream(null, 100, null, null, null,
         clientConfig) {
       private long pos;
-      private final ByteArrayInputStream in =
-          new ByteArrayInputStream(buf, offset, 100);
 
       @Override
-      public synchronized void seek(long pos) {
-        throw new UnsupportedOperationException();
+      public synchronized void seek(long newPos) {
+        pos = newPos;
       }
 
       @Override
@@ -120,12 +212,21 @@ public synchronized boolean seekToNewSource(long targetPos) {
 
       @Override
       public synchronized int read() {
-        return in.read();
+        return pos < 100 ? buf[offset + (int) pos++] & 0xff : -1;
       }
 
       @Override
       public synchronized int read(byte[] b, int off, int len) {
-        int readLen = in.read(b, off, len);
+        return read(ByteBuffer.wrap(b, off, len));
+      }
+
+      @Override
+      public synchronized int read(ByteBuffer target) {
+        int readLen = (int) Math.min(target.remaining(), 100 - pos);
+        if (readLen <= 0 && target.hasRemaining()) {
+          return -1;
+        }
+        target.put(buf, offset + (int) pos, readLen);
         pos += readLen;
         return readLen;
       }
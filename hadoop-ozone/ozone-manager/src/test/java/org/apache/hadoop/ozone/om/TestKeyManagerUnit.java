@@ -30,6 +30,7 @@
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.hadoop.hdds.HddsConfigKeys;
@@ -68,6 +69,7 @@
 import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
 import org.apache.hadoop.ozone.om.helpers.OpenKeySession;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+import org.apache.hadoop.ozone.om.helpers.OzoneFileStatusLight;
 import org.apache.hadoop.ozone.om.protocol.OzoneManagerProtocol;
 import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
 import org.apache.hadoop.security.UserGroupInformation;
@@ -702,4 +704,53 @@ public void listStatus() throws Exception {
         null, Long.MAX_VALUE, client);
     verify(containerClient, times(1)).getContainerWithPipelineBatch(anySet());
   }
+
+  @Test
+  public void listStatusLightFSO() throws Exception {
+    String volume = volumeName();
+    String bucket = "fsobucket";
+    String client = "client.host";
+
+    OMRequestTestUtils.addVolumeToDB(volume, OzoneConsts.OZONE,
+        metadataManager);
+    final long bucketID = OMRequestTestUtils.addBucketToDB(volume, bucket,
+        metadataManager, BucketLayout.FILE_SYSTEM_OPTIMIZED).getObjectID();
+
+    OMRequestTestUtils.addDirKeyToDirTable(false,
+        OMRequestTestUtils.createOmDirectoryInfo("dir", bucketID + 100,
+            bucketID), volume, bucket, 1L, metadataManager);
+    for (int i = 1; i <= 4; i++) {
+      OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo(volume, bucket,
+              "file" + i, RatisReplicationConfig.getInstance(
+                  ReplicationFactor.THREE))
+          .setObjectID(bucketID + i)
+          .setParentObjectID(bucketID)
+          .setDataSize(i * 1000L)
+          .setFile(true)
+          .build();
+      // some files are read from the cache, others from the DB
+      OMRequestTestUtils.addFileToKeyTable(false, i % 2 == 0, "file" + i,
+          keyInfo, -1, i, metadataManager);
+    }
+
+    OmKeyArgs args = new OmKeyArgs.Builder()
+        .setVolumeName(volume)
+        .setBucketName(bucket)
+        .setKeyName("")
+        .build();
+    List<OzoneFileStatusLight> light = keyManager.listStatusLight(args,
+        false, null, Long.MAX_VALUE, client, false);
+    List<OzoneFileStatusLight> expected = keyManager.listStatus(args, false,
+            null, Long.MAX_VALUE, client).stream()
+        .map(OzoneFileStatusLight::fromOzoneFileStatus)
+        .collect(Collectors.toList());
+
+    assertEquals(5, light.size());
+    assertEquals(expected, light);
+    for (int i = 0; i < light.size(); i++) {
+      assertEquals(expected.get(i).isDirectory(), light.get(i).isDirectory());
+      assertEquals(expected.get(i).getKeyInfo().getDataSize(),
+          light.get(i).getKeyInfo().getDataSize());
+    }
+  }
 }
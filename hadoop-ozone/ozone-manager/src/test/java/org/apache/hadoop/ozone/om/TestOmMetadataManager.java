@@ -24,7 +24,10 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
+import org.apache.hadoop.ozone.om.helpers.BasicOmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.ListKeysLightResult;
+import org.apache.hadoop.ozone.om.helpers.ListKeysResult;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
@@ -76,6 +79,7 @@
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.VOLUME_NOT_FOUND;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -564,6 +568,48 @@ public void testListKeysWithFewDeleteEntriesInCache() throws Exception {
 
   }
 
+  @Test
+  public void testListKeysLight() throws Exception {
+    String volumeName = "volumeA";
+    String bucketName = "ozoneBucket";
+    OMRequestTestUtils.addVolumeToDB(volumeName, omMetadataManager);
+    addBucketsToCache(volumeName, bucketName);
+
+    // keys in both DB and cache, some deleted in cache
+    String prefix = "key-";
+    for (int i = 1; i <= 30; i++) {
+      addKeysToOM(volumeName, bucketName, prefix + i, i);
+      if (i % 3 == 0) {
+        omMetadataManager.getKeyTable(getDefaultBucketLayout()).addCacheEntry(
+            new CacheKey<>(omMetadataManager.getOzoneKey(volumeName,
+                bucketName, prefix + i)),
+            CacheValue.get(100L));
+      }
+    }
+
+    String startKey = null;
+    for (int page = 0; page < 3; page++) {
+      ListKeysResult keys = omMetadataManager.listKeys(volumeName,
+          bucketName, startKey, prefix, 8);
+      ListKeysLightResult basicKeys = omMetadataManager.listKeysLight(
+          volumeName, bucketName, startKey, prefix, 8);
+
+      assertEquals(keys.isTruncated(), basicKeys.isTruncated());
+      assertEquals(keys.getKeys().size(), basicKeys.getKeys().size());
+      for (int i = 0; i < keys.getKeys().size(); i++) {
+        OmKeyInfo key = keys.getKeys().get(i);
+        BasicOmKeyInfo basicKey = basicKeys.getKeys().get(i);
+        assertEquals(key.getKeyName(), basicKey.getKeyName());
+        assertEquals(key.getDataSize(), basicKey.getDataSize());
+        assertEquals(key.getReplicationConfig(),
+            basicKey.getReplicationConfig());
+        startKey = basicKey.getKeyName();
+      }
+    }
+    assertFalse(omMetadataManager.listKeysLight(volumeName, bucketName,
+        startKey, prefix, 8).isTruncated());
+  }
+
   private static BucketLayout getDefaultBucketLayout() {
     return BucketLayout.DEFAULT;
   }
@@ -0,0 +1,243 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.om;
+
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.MockDatanodeDetails;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ScmBlockPool}.
+ */
+public class TestScmBlockPool {
+
+  private static final int POOL_SIZE = 8;
+  private static final long BLOCK_SIZE = 1024;
+  private static final ReplicationConfig RATIS_THREE =
+      RatisReplicationConfig.getInstance(ReplicationFactor.THREE);
+
+  private final AtomicLong localIds = new AtomicLong();
+  private final List<Pipeline> pipelines = new ArrayList<>();
+  private Pipeline pipeline;
+  private ScmBlockLocationProtocol blockClient;
+  private StorageContainerLocationProtocol containerClient;
+  private ScmBlockPool pool;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      pipelines.add(Pipeline.newBuilder()
+          .setState(Pipeline.PipelineState.OPEN)
+          .setId(PipelineID.randomId())
+          .setReplicationConfig(RATIS_THREE)
+          .setNodes(Collections.singletonList(
+              MockDatanodeDetails.randomDatanodeDetails()))
+          .build());
+    }
+    pipeline = pipelines.get(0);
+    blockClient = mock(ScmBlockLocationProtocol.class);
+    // like SCM, allocate each batch from the first pipeline not excluded
+    when(blockClient.allocateBlock(anyLong(), anyInt(), any(), anyString(),
+        any(), anyString())).thenAnswer(i -> {
+          final ExcludeList excludeList = i.getArgument(4);
+          final Pipeline target = pipelines.stream()
+              .filter(p -> !excludeList.getPipelineIds().contains(p.getId()))
+              .findFirst()
+              .orElseThrow(() -> new IOException("No pipeline"));
+          final List<AllocatedBlock> blocks = new ArrayList<>();
+          for (int n = 0; n < (int) i.getArgument(1); n++) {
+            blocks.add(new AllocatedBlock.Builder()
+                .setContainerBlockID(
+                    new ContainerBlockID(1, localIds.incrementAndGet()))
+                .setPipeline(target)
+                .build());
+          }
+          return blocks;
+        });
+    containerClient = mock(StorageContainerLocationProtocol.class);
+    when(containerClient.listPipelines()).thenReturn(pipelines);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
+  @Test
+  public void testTakeRefillsInBackground() throws Exception {
+    pool = newPool(60_000);
+
+    // the first allocation finds the pool empty
+    assertNull(pool.take(BLOCK_SIZE, 1, RATIS_THREE, "om"));
+    waitForPooledBlocks(POOL_SIZE);
+
+    final List<AllocatedBlock> blocks =
+        pool.take(BLOCK_SIZE, 2, RATIS_THREE, "om");
+    assertNotNull(blocks);
+    assertEquals(2, blocks.size());
+    assertEquals(POOL_SIZE - 2, pool.getPooledBlocks(RATIS_THREE, BLOCK_SIZE));
+
+    // pools of other block sizes are separate
+    assertNull(pool.take(2 * BLOCK_SIZE, 1, RATIS_THREE, "om"));
+
+    // more blocks than ever pooled
+    assertNull(pool.take(BLOCK_SIZE, POOL_SIZE + 1, RATIS_THREE, "om"));
+  }
+
+  @Test
+  public void testExpiredBlocksAreDropped() throws Exception {
+    pool = newPool(0);
+
+    assertNull(pool.take(BLOCK_SIZE, 1, RATIS_THREE, "om"));
+    waitForPooledBlocks(POOL_SIZE);
+    Thread.sleep(10);
+
+    assertNull(pool.take(BLOCK_SIZE, 1, RATIS_THREE, "om"));
+  }
+
+  @Test
+  public void testInvalidateExcludedPipeline() throws Exception {
+    pool = newPool(60_000);
+    pool.take(BLOCK_SIZE, 1, RATIS_THREE, "om");
+    waitForPooledBlocks(POOL_SIZE);
+
+    final ExcludeList excludeList = new ExcludeList();
+    excludeList.addDatanode(MockDatanodeDetails.randomDatanodeDetails());
+    pool.invalidate(excludeList);
+    assertEquals(POOL_SIZE, pool.getPooledBlocks(RATIS_THREE, BLOCK_SIZE));
+
+    // 2 batches of 2 blocks were allocated from the pipeline
+    excludeList.addPipeline(pipeline.getId());
+    pool.invalidate(excludeList);
+    assertEquals(POOL_SIZE - 4,
+        pool.getPooledBlocks(RATIS_THREE, BLOCK_SIZE));
+  }
+
+  @Test
+  public void testRefillSpreadsOverPipelines() throws Exception {
+    pool = newPool(60_000);
+    pool.take(BLOCK_SIZE, 1, RATIS_THREE, "om");
+    waitForPooledBlocks(POOL_SIZE);
+
+    // batches of 2 blocks from different pipelines, starting over once
+    // all pipelines are used
+    final List<AllocatedBlock> blocks =
+        pool.take(BLOCK_SIZE, POOL_SIZE, RATIS_THREE, "om");
+    for (int i = 0; i < 3; i++) {
+      assertEquals(pipelines.get(i), blocks.get(i).getPipeline());
+    }
+    assertEquals(pipelines.get(0), blocks.get(3).getPipeline());
+  }
+
+  @Test
+  public void testInterleavePipelines() {
+    final List<AllocatedBlock> blocks = asList(block(0), block(0), block(0),
+        block(1), block(2), block(2));
+    final List<Pipeline> interleaved =
+        ScmBlockPool.interleavePipelines(blocks).stream()
+            .map(AllocatedBlock::getPipeline)
+            .collect(Collectors.toList());
+    assertEquals(asList(pipelines.get(0), pipelines.get(1), pipelines.get(2),
+        pipelines.get(0), pipelines.get(2), pipelines.get(0)), interleaved);
+  }
+
+  @Test
+  public void testClosedPipelinesAreDropped() throws Exception {
+    pool = newPool(60_000);
+    pool.take(BLOCK_SIZE, 1, RATIS_THREE, "om");
+    waitForPooledBlocks(POOL_SIZE);
+    // blocks allocated after the check started are kept
+    Thread.sleep(10);
+
+    pool.dropClosedPipelines();
+    assertEquals(POOL_SIZE, pool.getPooledBlocks(RATIS_THREE, BLOCK_SIZE));
+
+    when(containerClient.listPipelines())
+        .thenReturn(pipelines.subList(1, pipelines.size()));
+    pool.dropClosedPipelines();
+    final int remaining = pool.getPooledBlocks(RATIS_THREE, BLOCK_SIZE);
+    assertEquals(POOL_SIZE - remaining, pool.getDroppedBlocks());
+    for (AllocatedBlock block
+        : pool.take(BLOCK_SIZE, remaining, RATIS_THREE, "om")) {
+      assertNotEquals(pipeline, block.getPipeline());
+    }
+  }
+
+  @Test
+  public void testPoolShrinksWhenBlocksExpire() throws Exception {
+    pool = newPool(0);
+    assertNull(pool.take(BLOCK_SIZE, 1, RATIS_THREE, "om"));
+    waitForPooledBlocks(POOL_SIZE);
+    Thread.sleep(10);
+
+    assertNull(pool.take(BLOCK_SIZE, 1, RATIS_THREE, "om"));
+    assertEquals(POOL_SIZE, pool.getDroppedBlocks());
+    assertEquals(1, pool.getTargetSize(RATIS_THREE, BLOCK_SIZE));
+  }
+
+  private ScmBlockPool newPool(long expiryMillis) {
+    return new ScmBlockPool(blockClient, containerClient, POOL_SIZE, 2,
+        expiryMillis, 0);
+  }
+
+  private AllocatedBlock block(int pipelineIndex) {
+    return new AllocatedBlock.Builder()
+        .setContainerBlockID(
+            new ContainerBlockID(1, localIds.incrementAndGet()))
+        .setPipeline(pipelines.get(pipelineIndex))
+        .build();
+  }
+
+  private void waitForPooledBlocks(int expected) throws Exception {
+    GenericTestUtils.waitFor(
+        () -> pool.getPooledBlocks(RATIS_THREE, BLOCK_SIZE) == expected,
+        10, 10_000);
+  }
+}
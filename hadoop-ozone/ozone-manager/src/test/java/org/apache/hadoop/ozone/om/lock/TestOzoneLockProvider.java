@@ -18,9 +18,13 @@
 
 package org.apache.hadoop.ozone.om.lock;
 
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.slf4j.Logger;
@@ -28,8 +32,13 @@
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -84,6 +93,8 @@ public void testOzoneLockProviderUtil(BucketLayout bucketLayout) {
     if (keyPathLockEnabled) {
       if (bucketLayout == BucketLayout.OBJECT_STORE) {
         assertInstanceOf(OBSKeyPathLockStrategy.class, ozoneLockStrategy);
+      } else if (bucketLayout == BucketLayout.FILE_SYSTEM_OPTIMIZED) {
+        assertInstanceOf(FSOKeyPathLockStrategy.class, ozoneLockStrategy);
       } else if (!enableFileSystemPaths &&
           bucketLayout == BucketLayout.LEGACY) {
         assertInstanceOf(OBSKeyPathLockStrategy.class, ozoneLockStrategy);
@@ -92,4 +103,40 @@ public void testOzoneLockProviderUtil(BucketLayout bucketLayout) {
       assertInstanceOf(RegularBucketLockStrategy.class, ozoneLockStrategy);
     }
   }
+
+  @Test
+  public void testFSOPathLocks() throws Exception {
+    OMMetadataManager omMetadataManager = mock(OMMetadataManager.class);
+    when(omMetadataManager.getVolumeId("vol")).thenReturn(1L);
+    when(omMetadataManager.getBucketId("vol", "bucket")).thenReturn(2L);
+    when(omMetadataManager.getOzonePathKey(anyLong(), anyLong(), anyLong(),
+        anyString())).thenAnswer(i -> i.getArgument(2) + "/"
+            + i.getArgument(3));
+    Table<String, OmDirectoryInfo> directoryTable = mock(Table.class);
+    when(omMetadataManager.getDirectoryTable()).thenReturn(directoryTable);
+    // the bucket has the directory "a" only
+    when(directoryTable.get("2/a")).thenReturn(OmDirectoryInfo.newBuilder()
+        .setName("a").setObjectID(3).setParentObjectID(2).build());
+
+    // intention locks on the parents, the lock on the key
+    FSOKeyPathLockStrategy.PathLocks locks = FSOKeyPathLockStrategy
+        .resolvePath(omMetadataManager, "vol", "bucket", "a/file", true);
+    assertEquals(Collections.singletonList("2/a"), locks.getParents());
+    assertEquals("3/file", locks.getPath());
+    assertEquals(1, locks.getReadLocks().size());
+    assertArrayEquals(new String[] {"vol", "bucket", "3/file"},
+        locks.getWriteLocks().get(0));
+
+    // the lock on the first missing parent, which the request may create
+    locks = FSOKeyPathLockStrategy.resolvePath(omMetadataManager, "vol",
+        "bucket", "/a/b/c/file", true);
+    assertEquals(Collections.singletonList("2/a"), locks.getParents());
+    assertEquals("3/b", locks.getPath());
+    locks = FSOKeyPathLockStrategy.resolvePath(omMetadataManager, "vol",
+        "bucket", "x/file", false);
+    assertEquals(Collections.emptyList(), locks.getParents());
+    assertEquals("2/x", locks.getPath());
+    assertEquals(1, locks.getReadLocks().size());
+    assertEquals(0, locks.getWriteLocks().size());
+  }
 }
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership.  The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.hadoop.ozone.om.ratis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.ozone.om.response.DummyOMClientResponse;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateVolumeRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteKeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.VolumeInfo;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link BucketPartitionedApplier}.
+ */
+public class TestBucketPartitionedApplier {
+
+  private final List<Long> published =
+      Collections.synchronizedList(new ArrayList<>());
+  private BucketPartitionedApplier applier;
+
+  @BeforeEach
+  public void setup() {
+    applier = new BucketPartitionedApplier(4, "test-",
+        (response, termIndex) -> published.add(termIndex.getIndex()));
+  }
+
+  @AfterEach
+  public void cleanup() {
+    applier.stop();
+  }
+
+  @Test
+  public void testBucketKey() {
+    assertEquals("vol/bucket",
+        BucketPartitionedApplier.getBucketKey(createKey("vol", "bucket")));
+    assertNull(BucketPartitionedApplier.getBucketKey(createVolume()));
+    // the bucket may be a link, only resolved while applied
+    assertNull(BucketPartitionedApplier.getBucketKey(deleteKeys()));
+  }
+
+  @Test
+  public void testResponsesArePublishedInLogOrder() throws Exception {
+    final CountDownLatch slowBucket = new CountDownLatch(1);
+    final String[] buckets = findBucketsOfDifferentPartitions();
+
+    final CompletableFuture<OMClientResponse> first = applier.apply(
+        createKey("vol", buckets[0]), TermIndex.valueOf(1, 1),
+        () -> await(slowBucket));
+    final CountDownLatch secondApplied = new CountDownLatch(1);
+    final CompletableFuture<OMClientResponse> second = applier.apply(
+        createKey("vol", buckets[1]), TermIndex.valueOf(1, 2), () -> {
+          secondApplied.countDown();
+          return response();
+        });
+
+    // the other bucket is not blocked, but its completion is held back
+    assertTrue(secondApplied.await(10, TimeUnit.SECONDS));
+    Thread.sleep(100);
+    assertFalse(first.isDone());
+    assertFalse(second.isDone());
+    assertTrue(published.isEmpty());
+
+    slowBucket.countDown();
+    second.get(10, TimeUnit.SECONDS);
+    assertTrue(first.isDone());
+    assertEquals(asList(1L, 2L), published);
+  }
+
+  @Test
+  public void testBarrierWaitsForEarlierTransactions() throws Exception {
+    final CountDownLatch slowBucket = new CountDownLatch(1);
+
+    final CompletableFuture<OMClientResponse> key = applier.apply(
+        createKey("vol", "bucket"), TermIndex.valueOf(1, 1),
+        () -> await(slowBucket));
+    final CompletableFuture<OMClientResponse> volume = applier.apply(
+        createVolume(), TermIndex.valueOf(1, 2),
+        TestBucketPartitionedApplier::response);
+    final CompletableFuture<OMClientResponse> otherKey = applier.apply(
+        createKey("vol", "other"), TermIndex.valueOf(1, 3),
+        TestBucketPartitionedApplier::response);
+
+    Thread.sleep(100);
+    assertFalse(volume.isDone());
+    assertFalse(otherKey.isDone());
+
+    slowBucket.countDown();
+    otherKey.get(10, TimeUnit.SECONDS);
+    assertTrue(key.isDone());
+    assertTrue(volume.isDone());
+    assertEquals(asList(1L, 2L, 3L), published);
+  }
+
+  @Test
+  public void testFailedTransactionDoesNotBlockLaterOnes() throws Exception {
+    final CompletableFuture<OMClientResponse> failed = applier.apply(
+        createKey("vol", "bucket"), TermIndex.valueOf(1, 1), () -> {
+          throw new IllegalStateException("failed");
+        });
+    applier.apply(createKey("vol", "bucket"), TermIndex.valueOf(1, 2),
+        TestBucketPartitionedApplier::response).get(10, TimeUnit.SECONDS);
+
+    assertTrue(failed.isCompletedExceptionally());
+    assertEquals(asList(2L), published);
+  }
+
+  /** @return two buckets which are applied by different threads */
+  private String[] findBucketsOfDifferentPartitions() {
+    final int first = partition("bucket0");
+    for (int i = 1;; i++) {
+      if (partition("bucket" + i) != first) {
+        return new String[] {"bucket0", "bucket" + i};
+      }
+    }
+  }
+
+  private int partition(String bucket) {
+    return Math.floorMod(("vol/" + bucket).hashCode(),
+        applier.getPartitionCount());
+  }
+
+  private static OMClientResponse await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return response();
+  }
+
+  private static OMClientResponse response() {
+    return new DummyOMClientResponse(OMResponse.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setStatus(Status.OK)
+        .build());
+  }
+
+  private static OMRequest createKey(String volume, String bucket) {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setClientId("test")
+        .setCreateKeyRequest(CreateKeyRequest.newBuilder()
+            .setKeyArgs(KeyArgs.newBuilder()
+                .setVolumeName(volume)
+                .setBucketName(bucket)
+                .setKeyName("key")))
+        .build();
+  }
+
+  private static OMRequest deleteKeys() {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.DeleteKeys)
+        .setClientId("test")
+        .setDeleteKeysRequest(DeleteKeysRequest.newBuilder()
+            .setDeleteKeys(DeleteKeyArgs.newBuilder()
+                .setVolumeName("vol")
+                .setBucketName("link")
+                .addKeys("key")))
+        .build();
+  }
+
+  private static OMRequest createVolume() {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.CreateVolume)
+        .setClientId("test")
+        .setCreateVolumeRequest(CreateVolumeRequest.newBuilder()
+            .setVolumeInfo(VolumeInfo.newBuilder()
+                .setVolume("vol")
+                .setAdminName("admin")
+                .setOwnerName("owner")))
+        .build();
+  }
+}
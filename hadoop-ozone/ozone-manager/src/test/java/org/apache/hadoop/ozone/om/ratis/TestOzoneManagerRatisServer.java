@@ -37,6 +37,7 @@
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OMPerformanceMetrics;
 import org.apache.hadoop.ozone.om.helpers.OMNodeDetails;
 import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
 import org.apache.hadoop.ozone.om.OzoneManager;
@@ -44,7 +45,9 @@
     .OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.ozone.test.GenericTestUtils;
+import org.apache.ratis.conf.RaftProperties;
 import org.apache.ratis.protocol.RaftGroupId;
+import org.apache.ratis.server.RaftServerConfigKeys;
 import org.apache.ratis.server.protocol.TermIndex;
 import org.apache.ratis.statemachine.SnapshotInfo;
 import org.apache.ratis.util.ExitUtils;
@@ -60,6 +63,7 @@
 import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -122,6 +126,8 @@ public void init(@TempDir Path metaDirPath) throws Exception {
     initialTermIndex = TermIndex.valueOf(0, 0);
     when(ozoneManager.getTransactionInfo()).thenReturn(TransactionInfo.DEFAULT_VALUE);
     when(ozoneManager.getConfiguration()).thenReturn(conf);
+    when(ozoneManager.getPerfMetrics())
+        .thenReturn(OMPerformanceMetrics.register());
     secConfig = new SecurityConfig(conf);
     HddsProtos.OzoneManagerDetailsProto omInfo =
         OzoneManager.getOmDetailsProto(conf, omID);
@@ -138,6 +144,7 @@ public void shutdown() throws IOException {
     if (omRatisServer != null) {
       omRatisServer.stop();
     }
+    OMPerformanceMetrics.unregister();
     certClient.close();
   }
 
@@ -151,6 +158,42 @@ public void testStartOMRatisServer() throws Exception {
         "Ratis Server should be in running state");
   }
 
+  @Test
+  public void testWaitForReadIndex() throws Exception {
+    GenericTestUtils.waitFor(() -> omRatisServer.checkLeaderStatus()
+        == OzoneManagerRatisServer.RaftServerStatus.LEADER_AND_READY,
+        100, 10_000);
+    // a single OM is the leader, so it has applied everything committed
+    omRatisServer.waitForReadIndex();
+    // only followers serve stale reads
+    assertEquals(Long.MAX_VALUE, omRatisServer.getStalenessMs());
+  }
+
+  @Test
+  public void testFollowerReadProperties() {
+    OzoneConfiguration newConf = new OzoneConfiguration();
+    String storageDir = folder.toString();
+    assertEquals(RaftServerConfigKeys.Read.Option.DEFAULT,
+        RaftServerConfigKeys.Read.option(OzoneManagerRatisServer
+            .newRaftProperties(newConf, 9873, storageDir)));
+
+    // follower reads do not change the read option by themselves
+    newConf.setBoolean(OMConfigKeys.OZONE_OM_FOLLOWER_READ_ENABLED, true);
+    assertEquals(RaftServerConfigKeys.Read.Option.DEFAULT,
+        RaftServerConfigKeys.Read.option(OzoneManagerRatisServer
+            .newRaftProperties(newConf, 9873, storageDir)));
+
+    newConf.set(OMConfigKeys.OZONE_OM_RATIS_SERVER_READ_OPTION,
+        "LINEARIZABLE");
+    newConf.setBoolean(
+        OMConfigKeys.OZONE_OM_FOLLOWER_READ_LEADER_LEASE_ENABLED, true);
+    RaftProperties properties = OzoneManagerRatisServer.newRaftProperties(
+        newConf, 9873, storageDir);
+    assertEquals(RaftServerConfigKeys.Read.Option.LINEARIZABLE,
+        RaftServerConfigKeys.Read.option(properties));
+    assertTrue(RaftServerConfigKeys.Read.leaderLeaseEnabled(properties));
+  }
+
   @Test
   public void testLoadSnapshotInfoOnStart() throws Exception {
     // Stop the Ratis server and manually update the snapshotInfo.
@@ -68,6 +68,7 @@
 import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.ScmClient;
+import org.apache.hadoop.ozone.om.lock.OzoneLockProvider;
 import org.apache.hadoop.hdds.security.token.OzoneBlockTokenSecretManager;
 import org.apache.hadoop.util.Time;
 import org.slf4j.event.Level;
@@ -158,6 +159,8 @@ public void setup() throws Exception {
         .thenReturn(ozoneBlockTokenSecretManager);
     when(ozoneManager.getScmBlockSize()).thenReturn(scmBlockSize);
     when(ozoneManager.getPreallocateBlocksMax()).thenReturn(2);
+    when(ozoneManager.getOzoneLockProvider()).thenReturn(
+        new OzoneLockProvider(false, false));
     when(ozoneManager.isGrpcBlockTokenEnabled()).thenReturn(false);
     when(ozoneManager.getOMNodeId()).thenReturn(UUID.randomUUID().toString());
     when(ozoneManager.getOMServiceId()).thenReturn(
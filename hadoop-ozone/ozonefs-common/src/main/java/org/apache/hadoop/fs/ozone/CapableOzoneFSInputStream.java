@@ -17,11 +17,28 @@
  */
 package org.apache.hadoop.fs.ozone;
 
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.StreamCapabilities;
+import org.apache.hadoop.fs.impl.CombinedFileRange;
+import org.apache.hadoop.hdds.tracing.TracingUtil;
+import org.apache.hadoop.ozone.client.io.KeyInputStream;
 import org.apache.hadoop.util.StringUtils;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
+
+import static org.apache.hadoop.fs.VectoredReadUtils.mergeSortedRanges;
+import static org.apache.hadoop.fs.VectoredReadUtils.sliceTo;
+import static org.apache.hadoop.fs.VectoredReadUtils.validateNonOverlappingAndReturnSortedRanges;
+import static org.apache.hadoop.fs.VectoredReadUtils.validateRangeRequest;
 
 final class CapableOzoneFSInputStream extends OzoneFSInputStream
     implements StreamCapabilities {
@@ -35,9 +52,84 @@ public boolean hasCapability(String capability) {
     switch (StringUtils.toLowerCase(capability)) {
     case StreamCapabilities.READBYTEBUFFER:
     case StreamCapabilities.UNBUFFER:
+    case StreamCapabilities.VECTOREDIO:
       return true;
     default:
       return false;
     }
   }
+
+  /**
+   * Nearby ranges are merged, and the merged ranges are read by
+   * {@link KeyInputStream#readFullyAsync(long[], List)}, which reads
+   * different blocks in parallel on the client read executor.  This returns
+   * once the reads are submitted, and the futures of the ranges are
+   * completed as the reads finish.  Encrypted keys fall back to reading the
+   * ranges one by one.
+   */
+  @Override
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    if (!(getInputStream() instanceof KeyInputStream)) {
+      super.readVectored(ranges, allocate);
+      return;
+    }
+    TracingUtil.executeInNewSpan("OzoneFSInputStream.readVectored",
+        () -> readVectoredInTrace(ranges, allocate));
+  }
+
+  private void readVectoredInTrace(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    final List<? extends FileRange> sortedRanges =
+        validateNonOverlappingAndReturnSortedRanges(ranges);
+    for (FileRange range : ranges) {
+      validateRangeRequest(range);
+      range.setData(new CompletableFuture<>());
+    }
+    final List<CombinedFileRange> merged = mergeSortedRanges(sortedRanges,
+        1, minSeekForVectorReads(), maxReadSizeForVectorReads());
+
+    final long[] positions = new long[merged.size()];
+    final List<ByteBuffer> buffers = new ArrayList<>(merged.size());
+    long bytes = 0;
+    for (int i = 0; i < positions.length; i++) {
+      final CombinedFileRange range = merged.get(i);
+      positions[i] = range.getOffset();
+      final ByteBuffer buffer = allocate.apply(range.getLength());
+      buffer.limit(range.getLength());
+      buffers.add(buffer);
+      bytes += range.getLength();
+    }
+
+    final long totalBytes = bytes;
+    ((KeyInputStream) getInputStream()).readFullyAsync(positions, buffers)
+        .whenComplete((v, e) -> {
+          if (e != null) {
+            final Throwable cause = unwrap(e);
+            for (FileRange range : ranges) {
+              range.getData().completeExceptionally(cause);
+            }
+            return;
+          }
+          incrementBytesRead(totalBytes);
+          for (int i = 0; i < positions.length; i++) {
+            final ByteBuffer buffer = buffers.get(i);
+            buffer.flip();
+            for (FileRange range : merged.get(i).getUnderlying()) {
+              range.getData().complete(sliceTo(buffer, positions[i], range));
+            }
+          }
+        });
+  }
+
+  /** @return the {@link IOException} failing the read, if any */
+  private static Throwable unwrap(Throwable e) {
+    Throwable cause = e;
+    while ((cause instanceof CompletionException
+        || cause instanceof UncheckedIOException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
 }
@@ -155,6 +155,16 @@ private int readInTrace(ByteBuffer buf) throws IOException {
     return bytesRead;
   }
 
+  InputStream getInputStream() {
+    return inputStream;
+  }
+
+  void incrementBytesRead(long bytesRead) {
+    if (statistics != null) {
+      statistics.incrementBytesRead(bytesRead);
+    }
+  }
+
   @Override
   public void unbuffer() {
     if (inputStream instanceof CanUnbuffer) {
@@ -19,6 +19,7 @@
 
 import org.apache.hadoop.fs.CommonPathCapabilities;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.StreamCapabilities;
 
 import static org.apache.hadoop.fs.impl.PathCapabilitiesSupport.validatePathCapabilityArgs;
 
@@ -44,6 +45,7 @@ public static boolean hasPathCapability(final Path path,
     case CommonPathCapabilities.FS_ACLS:
     case CommonPathCapabilities.FS_CHECKSUMS:
     case CommonPathCapabilities.FS_SNAPSHOTS:
+    case StreamCapabilities.VECTOREDIO:
       return true;
     default:
       return false;
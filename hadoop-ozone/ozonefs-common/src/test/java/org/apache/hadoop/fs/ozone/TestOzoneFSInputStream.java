@@ -24,6 +24,7 @@
 import org.apache.hadoop.crypto.CryptoCodec;
 import org.apache.hadoop.crypto.CryptoInputStream;
 import org.apache.hadoop.crypto.Decryptor;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.StreamCapabilities;
 import org.apache.hadoop.ozone.client.io.KeyInputStream;
@@ -35,14 +36,22 @@
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.IntFunction;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -138,6 +147,8 @@ public void testStreamCapability() throws IOException {
 
       assertTrue(capableOzoneFSInputStream.
           hasCapability(StreamCapabilities.READBYTEBUFFER));
+      assertTrue(capableOzoneFSInputStream.
+          hasCapability(StreamCapabilities.VECTOREDIO));
     } finally {
       if (capableOzoneFSInputStream != null) {
         capableOzoneFSInputStream.close();
@@ -145,6 +156,57 @@ public void testStreamCapability() throws IOException {
     }
   }
 
+  @Test
+  public void testReadVectoredMergesNearbyRanges() throws Exception {
+    final byte[] data = RandomUtils.nextBytes(20_000);
+    KeyInputStream keyInputStream = mock(KeyInputStream.class);
+    List<long[]> reads = new ArrayList<>();
+    CountDownLatch readStarted = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    doAnswer(invocation -> {
+      long[] positions = invocation.getArgument(0);
+      List<ByteBuffer> buffers = invocation.getArgument(1);
+      reads.add(positions);
+      return CompletableFuture.runAsync(() -> {
+        try {
+          readStarted.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        for (int i = 0; i < positions.length; i++) {
+          buffers.get(i).put(data, (int) positions[i],
+              buffers.get(i).remaining());
+        }
+      }, executor);
+    }).when(keyInputStream).readFullyAsync(any(), any());
+
+    final List<FileRange> ranges = Arrays.asList(
+        FileRange.createFileRange(10_000, 100),
+        FileRange.createFileRange(0, 10),
+        FileRange.createFileRange(12, 10));
+    try (CapableOzoneFSInputStream subject = new CapableOzoneFSInputStream(
+        keyInputStream, new FileSystem.Statistics("test"))) {
+      subject.readVectored(ranges, ByteBuffer::allocate);
+      // the ranges are completed asynchronously
+      for (FileRange range : ranges) {
+        assertFalse(range.getData().isDone());
+      }
+      readStarted.countDown();
+      CompletableFuture.allOf(ranges.stream().map(FileRange::getData)
+          .toArray(CompletableFuture[]::new)).get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // the first two ranges are read together
+    assertEquals(1, reads.size());
+    assertArrayEquals(new long[] {0, 10_000}, reads.get(0));
+    for (FileRange range : ranges) {
+      assertEquals(ByteBuffer.wrap(data, (int) range.getOffset(),
+          range.getLength()), range.getData().get());
+    }
+  }
+
   @Test
   public void testCryptoStreamUnbuffer()
       throws IOException, GeneralSecurityException {
@@ -31,6 +31,7 @@
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
 import org.apache.hadoop.ozone.container.common.interfaces.VolumeChoosingPolicy;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext.WriteChunkStage;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
@@ -83,6 +84,19 @@ public class ChunkManagerDiskWrite extends BaseFreonGenerator implements
   )
   private ContainerLayoutVersion containerLayout;
 
+  @Option(names = {"--split-io"},
+      description = "Split each chunk write into parallel requests, used by "
+          + "FILE_PER_BLOCK and PACKED_BLOCK layouts",
+      defaultValue = "false"
+  )
+  private boolean splitIo;
+
+  @Option(names = {"--split-io-threads"},
+      description = "Number of threads per volume doing split I/O requests",
+      defaultValue = "4"
+  )
+  private int splitIoThreads;
+
   private ChunkManager chunkManager;
 
   private final Map<Integer, KeyValueContainer> containersPerThread =
@@ -102,6 +116,11 @@ public Void call() throws Exception {
     try {
       init();
       OzoneConfiguration ozoneConfiguration = createOzoneConfiguration();
+      ozoneConfiguration.setBoolean(
+          DatanodeConfiguration.CHUNK_SPLIT_IO_ENABLED_KEY, splitIo);
+      ozoneConfiguration.setInt(
+          DatanodeConfiguration.CHUNK_SPLIT_IO_THREADS_PER_VOLUME_KEY,
+          splitIoThreads);
 
       VolumeSet volumeSet =
           new MutableVolumeSet("dnid", "clusterid", ozoneConfiguration, null,
@@ -143,8 +162,8 @@ public Void call() throws Exception {
       timer = getMetrics().timer("chunk-write");
 
       LOG.info("Running chunk write test: threads={} chunkSize={} " +
-              "chunksPerBlock={} layout={}",
-          threadCount, chunkSize, chunksPerBlock, containerLayout);
+              "chunksPerBlock={} layout={} splitIo={}",
+          threadCount, chunkSize, chunksPerBlock, containerLayout, splitIo);
 
       runTests(this::writeChunk);
 
@@ -91,7 +91,7 @@
 
 /**
  * Benchmark for scm throughput.
- * - allocate blocks (ops)
+ * - allocate blocks (ops), optionally several blocks per call
  * - allocate containers (ops)
  * - process reports(container reports only) (ops)
  *
@@ -138,6 +138,11 @@ public enum BenchmarkType {
       defaultValue = "1000")
   private int numBlocks = 1000;
 
+  @CommandLine.Option(names = {"--batch-size"},
+      description = "Number of blocks allocated per call (1-1000).",
+      defaultValue = "1")
+  private int batchSize = 1;
+
   @CommandLine.Option(names = {"--block-size"},
       description = "Block size.",
       defaultValue = "4096")
@@ -204,7 +209,8 @@ private ThroughputBenchmark createBenchmark() {
     BenchmarkType type = BenchmarkType.valueOf(benchmarkType);
     switch (type) {
     case AllocateBlocks:
-      benchmark = new BlockBenchmark(numThreads, numBlocks, blockSize);
+      benchmark = new BlockBenchmark(numThreads, numBlocks, blockSize,
+          batchSize);
       break;
     case AllocateContainers:
       benchmark = new ContainerBenchmark(numThreads, numContainers);
@@ -440,13 +446,21 @@ private class BlockBenchmark extends ThroughputBenchmark {
     private AtomicLong totalBlockCounter;
     private AtomicLong succBlockCounter;
     private AtomicLong failBlockCounter;
+    private AtomicLong callCounter;
     private int totalBlocks;
     private long blockSize;
+    private int batchSize;
 
-    BlockBenchmark(int threads, int blocks, long blockSize) {
+    BlockBenchmark(int threads, int blocks, long blockSize, int batchSize) {
       super(threads);
+      if (batchSize < 1 || batchSize > 1000) {
+        throw new IllegalArgumentException(
+            "Batch size must be between 1 and 1000: " + batchSize);
+      }
       this.totalBlocks = blocks;
       this.blockSize = blockSize;
+      this.batchSize = batchSize;
+      this.callCounter = new AtomicLong();
       this.totalBlockCounter = new AtomicLong();
       this.succBlockCounter = new AtomicLong();
       this.failBlockCounter = new AtomicLong();
@@ -478,14 +492,18 @@ public void showSummary() {
           TimeUnit.NANOSECONDS);
       long blocks = succBlockCounter.get();
       float blocksPerSec = execSecs != 0 ? (float) blocks / execSecs : blocks;
+      long calls = callCounter.get();
+      float callsPerSec = execSecs != 0 ? (float) calls / execSecs : calls;
 
       System.out.println("***************************************");
       System.out.printf("Total allocated blocks: %d%n",
           succBlockCounter.get());
       System.out.printf("Total failed blocks: %d%n",
           failBlockCounter.get());
+      System.out.printf("Blocks per call: %d%n", batchSize);
       System.out.printf("Execution Time: %s%n", getFormattedTime());
       System.out.printf("Throughput: %f (ops)%n", blocksPerSec);
+      System.out.printf("Call rate: %f (calls/s)%n", callsPerSec);
       System.out.println("***************************************");
     }
 
@@ -498,14 +516,18 @@ public void waitForComplete() throws InterruptedException {
       }
     }
 
-    private void doAllocateBlock(long size, ReplicationConfig config) {
+    private void doAllocateBlock(long size, int num,
+        ReplicationConfig config) {
       try {
-        scmBlockClient.allocateBlock(size, 1, config, "STB", excludeList);
-        succBlockCounter.incrementAndGet();
+        int allocated = scmBlockClient.allocateBlock(size, num, config, "STB",
+            excludeList).size();
+        succBlockCounter.addAndGet(allocated);
+        failBlockCounter.addAndGet(num - allocated);
       } catch (IOException e) {
         LOG.error("Failed to allocate block", e);
-        failBlockCounter.incrementAndGet();
+        failBlockCounter.addAndGet(num);
       }
+      callCounter.incrementAndGet();
     }
 
     private class BlockTask implements Runnable {
@@ -520,8 +542,11 @@ private class BlockTask implements Runnable {
 
       @Override
       public void run() {
-        while (totalBlockCounter.getAndIncrement() < totalBlocks) {
-          doAllocateBlock(blockSize, replicationConfig);
+        long start;
+        while ((start = totalBlockCounter.getAndAdd(batchSize))
+            < totalBlocks) {
+          int num = (int) Math.min(batchSize, totalBlocks - start);
+          doAllocateBlock(blockSize, num, replicationConfig);
         }
       }
     }